@@ -0,0 +1,93 @@
+package com.atendimento.app.configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.atendimento.app.filters.AdaptiveLimiter;
+import com.atendimento.app.filters.ConcurrencyLimitFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Configuração do limitador de concorrência por grupo de rotas.
+ *
+ * <p>
+ * O filtro é registrado antes da cadeia do Spring Security, para que requisições
+ * excedentes sejam descartadas antes de qualquer validação de JWT ou acesso ao banco.
+ * </p>
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Value("${atendimento.limites.limite-inicial:20}")
+    private int limiteInicial;
+
+    @Value("${atendimento.limites.limite-minimo:4}")
+    private int limiteMinimo;
+
+    @Value("${atendimento.limites.limite-maximo:200}")
+    private int limiteMaximo;
+
+    @Value("${atendimento.limites.tolerancia:1.5}")
+    private double tolerancia;
+
+    @Value("${atendimento.limites.fracao-baixa-prioridade:0.5}")
+    private double fracaoBaixaPrioridade;
+
+    @Value("${atendimento.limites.enabled:true}")
+    private boolean habilitado;
+
+    /**
+     * Cria o filtro de limite de concorrência.
+     *
+     * @return Instância do {@link ConcurrencyLimitFilter}.
+     */
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter() {
+        return new ConcurrencyLimitFilter(limiteInicial, limiteMinimo, limiteMaximo, tolerancia, fracaoBaixaPrioridade);
+    }
+
+    /**
+     * Registra o filtro de limite de concorrência antes do Spring Security.
+     *
+     * @param filter Filtro de limite de concorrência.
+     * @return Registro do filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registro = new FilterRegistrationBean<>(filter);
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registro.setEnabled(habilitado);
+        return registro;
+    }
+
+    /**
+     * Publica o estado do limitador de cada grupo de rotas, para acompanhar e alertar o
+     * descarte de carga: limite atual, requisições em andamento e rejeições.
+     *
+     * @param filter Filtro de limite de concorrência.
+     * @return Registro das métricas.
+     */
+    @Bean
+    public MeterBinder metricasLimites(ConcurrencyLimitFilter filter) {
+        return registro -> filter.getLimitadores().forEach((grupo, limitador) -> {
+            Gauge.builder("atendimento.limites.limite", limitador, AdaptiveLimiter::getLimite)
+                    .description("Limite atual de requisições simultâneas do grupo de rotas")
+                    .tag("grupo", grupo.name())
+                    .register(registro);
+            Gauge.builder("atendimento.limites.em.andamento", limitador, AdaptiveLimiter::getEmAndamento)
+                    .description("Requisições em andamento no grupo de rotas")
+                    .tag("grupo", grupo.name())
+                    .register(registro);
+            FunctionCounter.builder("atendimento.limites.rejeicoes", limitador, AdaptiveLimiter::getRejeicoes)
+                    .description("Requisições descartadas com 503 pelo limitador do grupo de rotas")
+                    .tag("grupo", grupo.name())
+                    .register(registro);
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.atendimento.app.configurations;
+
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Grupos de rotas da aplicação.
+ *
+ * <p>
+ * Usados pelo {@link SecurityConfig} para as regras de autorização e pelo limitador de
+ * concorrência para isolar a carga de cada grupo. A prioridade define quem é preservado
+ * sob sobrecarga: quanto menor o valor, maior a prioridade.
+ * </p>
+ *
+ * <p>
+ * As rotas do Actuator ficam fora dos grupos: verificações de saúde e coletas de métricas
+ * não podem ser descartadas justamente quando a aplicação está sobrecarregada.
+ * </p>
+ */
+public enum GrupoRota {
+    USER(0, "/user/**", "/atendimentos/**"),
+    PUBLIC(1, "/auth/**"),
+    ADMIN(1, "/admin/**"),
+    SUPERVISOR(2, "/supervisor/**");
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final int prioridade;
+    private final String[] padroes;
+
+    /**
+     * Construtor para GrupoRota.
+     *
+     * @param prioridade Prioridade do grupo (0 é a maior).
+     * @param padroes Padrões de rota do grupo.
+     */
+    GrupoRota(int prioridade, String... padroes) {
+        this.prioridade = prioridade;
+        this.padroes = padroes;
+    }
+
+    /**
+     * Retorna a prioridade do grupo.
+     *
+     * @return Prioridade (0 é a maior).
+     */
+    public int getPrioridade() {
+        return prioridade;
+    }
+
+    /**
+     * Retorna os padrões de rota do grupo.
+     *
+     * @return Cópia dos padrões de rota.
+     */
+    public String[] getPadroes() {
+        return padroes.clone();
+    }
+
+    /**
+     * Localiza o grupo de um caminho de requisição.
+     *
+     * @param caminho Caminho da requisição (sem o context path).
+     * @return O grupo correspondente, ou {@code null} se o caminho não pertencer a nenhum grupo.
+     */
+    public static GrupoRota de(String caminho) {
+        for (GrupoRota grupo : values()) {
+            for (String padrao : grupo.padroes) {
+                if (MATCHER.match(padrao, caminho)) {
+                    return grupo;
+                }
+            }
+        }
+        return null;
+    }
+}
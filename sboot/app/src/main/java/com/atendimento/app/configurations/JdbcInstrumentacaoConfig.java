@@ -0,0 +1,119 @@
+package com.atendimento.app.configurations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.atendimento.app.datasource.InstrumentacaoJdbcListener;
+import com.atendimento.app.datasource.OrigemConsulta;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Instrumentação dos comandos JDBC (desabilitável com
+ * {@code atendimento.jdbc.instrumentacao.enabled=false}).
+ *
+ * <p>
+ * Envolve o DataSource principal (o do Spring Boot, ou o roteador da réplica ou dos shards)
+ * em um proxy que entrega cada comando a {@link InstrumentacaoJdbcListener}, e marca cada
+ * chamada aos repositórios do Spring Data com o método de origem ({@link OrigemConsulta}).
+ * As métricas dos pools Hikari e os tempos por método de repositório
+ * ({@code spring.data.repository.invocations}) são registrados pelo Actuator.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "atendimento.jdbc.instrumentacao.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcInstrumentacaoConfig {
+
+    /**
+     * Ouvinte que mede os comandos e registra as consultas lentas.
+     *
+     * @param registro Registro de métricas.
+     * @param limiar Duração a partir da qual um comando é considerado lento.
+     * @param maxConsultasLentas Quantidade de consultas lentas mantidas em memória.
+     * @return Instância do {@link InstrumentacaoJdbcListener}.
+     */
+    @Bean
+    public InstrumentacaoJdbcListener instrumentacaoJdbcListener(
+            MeterRegistry registro,
+            @Value("${atendimento.jdbc.consulta-lenta:200ms}") Duration limiar,
+            @Value("${atendimento.jdbc.max-consultas-lentas:100}") int maxConsultasLentas) {
+        return new InstrumentacaoJdbcListener(registro, limiar, maxConsultasLentas);
+    }
+
+    /**
+     * Envolve o bean {@code dataSource} no proxy de instrumentação.
+     *
+     * <p>
+     * O ouvinte é obtido apenas no primeiro comando, para que o pós-processador (criado antes
+     * dos demais beans) não antecipe a criação do registro de métricas.
+     * </p>
+     *
+     * @param ouvinte Provedor do ouvinte de comandos.
+     * @return Pós-processador do DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor instrumentarDataSource(ObjectProvider<InstrumentacaoJdbcListener> ouvinte) {
+        Supplier<InstrumentacaoJdbcListener> tardio = SingletonSupplier.of(ouvinte::getObject);
+        QueryExecutionListener delegado = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execucao, List<QueryInfo> consultas) {
+                tardio.get().beforeQuery(execucao, consultas);
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execucao, List<QueryInfo> consultas) {
+                tardio.get().afterQuery(execucao, consultas);
+            }
+        };
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                if (!"dataSource".equals(nome) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(nome)
+                        .listener(delegado)
+                        .build();
+            }
+        };
+    }
+
+    /**
+     * Adiciona aos repositórios do Spring Data o registro do método em execução.
+     *
+     * @return Pós-processador das fábricas de repositórios.
+     */
+    @Bean
+    public static BeanPostProcessor registrarOrigemRepositorios() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nome) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+                    fabrica.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, repositorio) -> proxy.addAdvice(OrigemConsulta.interceptador(repositorio))));
+                }
+                return bean;
+            }
+        };
+    }
+}
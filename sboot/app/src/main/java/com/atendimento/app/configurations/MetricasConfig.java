@@ -0,0 +1,109 @@
+package com.atendimento.app.configurations;
+
+import java.util.function.Function;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Métricas da aplicação, publicadas pelo Actuator em {@code /actuator/prometheus}.
+ *
+ * <p>
+ * As etiquetas têm sempre poucos valores possíveis (métodos de controlador, regiões de cache,
+ * tipos de atendimento): nunca CPF, protocolo, usuário ou caminho concreto da requisição.
+ * Cada série custa memória e tempo de coleta, mesmo sem receber valores.
+ * </p>
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Regiões do cache de segundo nível com os usuários (ver {@code caffeine-jcache.conf}).
+     */
+    private static final String REGIAO_USUARIOS = "usuarios";
+    private static final String REGIAO_CONSULTAS_USUARIOS = "usuarios-consultas";
+
+    /**
+     * Acrescenta ao {@code http.server.requests} o método de controlador que atendeu a
+     * requisição (ex.: {@code AtendimentoController.criarAtendimento}).
+     *
+     * @return Convenção das observações de requisições HTTP.
+     */
+    @Bean
+    public DefaultServerRequestObservationConvention convencaoRequisicoes() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                String controlador = handler instanceof HandlerMethod metodo
+                        ? metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName()
+                        : "none"; // Sem controlador: recurso estático, 404 ou requisição barrada nos filtros
+                return super.getLowCardinalityKeyValues(context).and(KeyValue.of("controlador", controlador));
+            }
+        };
+    }
+
+    /**
+     * Acertos e faltas das regiões de usuários no cache de segundo nível do Hibernate, que
+     * atende a busca do usuário feita a cada requisição autenticada.
+     *
+     * @param entityManagerFactory Fábrica de EntityManagers do JPA.
+     * @return Registro das métricas.
+     */
+    @Bean
+    public MeterBinder metricasCacheUsuarios(EntityManagerFactory entityManagerFactory) {
+        return registro -> {
+            Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            registrarRegiao(registro, estatisticas, REGIAO_USUARIOS,
+                    e -> e.getDomainDataRegionStatistics(REGIAO_USUARIOS));
+            registrarRegiao(registro, estatisticas, REGIAO_CONSULTAS_USUARIOS,
+                    e -> e.getQueryRegionStatistics(REGIAO_CONSULTAS_USUARIOS));
+        };
+    }
+
+    /**
+     * Etiqueta comum a todas as métricas, para separar esta aplicação das demais no Prometheus.
+     *
+     * @return Personalização do registro de métricas.
+     */
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> personalizacaoMetricas() {
+        return registro -> registro.config().commonTags("aplicacao", "atendimento");
+    }
+
+    private static void registrarRegiao(MeterRegistry registro, Statistics estatisticas, String regiao,
+            Function<Statistics, CacheRegionStatistics> estatisticasRegiao) {
+        FunctionCounter.builder("atendimento.cache.hibernate.gets", estatisticas,
+                        e -> contagem(estatisticasRegiao.apply(e), true))
+                .description("Leituras do cache de segundo nível do Hibernate")
+                .tags("regiao", regiao, "resultado", "acerto")
+                .register(registro);
+        FunctionCounter.builder("atendimento.cache.hibernate.gets", estatisticas,
+                        e -> contagem(estatisticasRegiao.apply(e), false))
+                .description("Leituras do cache de segundo nível do Hibernate")
+                .tags("regiao", regiao, "resultado", "falta")
+                .register(registro);
+    }
+
+    private static double contagem(CacheRegionStatistics regiao, boolean acertos) {
+        if (regiao == null) {
+            return 0; // Região ainda não criada
+        }
+        return acertos ? regiao.getHitCount() : regiao.getMissCount();
+    }
+}
@@ -0,0 +1,83 @@
+package com.atendimento.app.configurations;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Configuração do acesso reativo (R2DBC) usado pelas consultas de alto volume.
+ *
+ * <p>
+ * O pool R2DBC não é exposto como bean: um {@code ConnectionFactory} no contexto faria o
+ * Spring Boot deixar de criar o {@code DataSource} usado pelo JPA. Apenas o
+ * {@link DatabaseClient} é publicado, e o pool é encerrado junto com o contexto.
+ * </p>
+ *
+ * <p>
+ * Por padrão a URL aponta para o mesmo banco H2 em memória do JDBC. Em produção, deve
+ * apontar para um driver de fato não bloqueante (ex.: {@code r2dbc:postgresql://...}).
+ * </p>
+ *
+ * <p>
+ * A URL aponta para um único banco: com os shards ou a réplica de leitura habilitados, o
+ * acesso reativo (e as rotas {@code /atendimentos/reativo}) fica desabilitado, em vez de
+ * devolver resultados de apenas um dos bancos.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = {"atendimento.shards.enabled", "atendimento.replica.enabled"}, havingValue = "false", matchIfMissing = true)
+public class ReactiveDatabaseConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveDatabaseConfig.class);
+
+    @Value("${atendimento.reativo.url:r2dbc:h2:mem:///testdb}")
+    private String url;
+
+    @Value("${spring.datasource.username:sa}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    @Value("${atendimento.reativo.pool.max-size:10}")
+    private int maxSize;
+
+    private ConnectionPool connectionPool;
+
+    /**
+     * Cria o cliente reativo sobre um pool de conexões R2DBC.
+     *
+     * @return Instância do {@link DatabaseClient}.
+     */
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .build());
+        logger.info("Pool R2DBC configurado para {} (máximo de {} conexões).", url, maxSize);
+        return DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * Encerra o pool R2DBC.
+     */
+    @PreDestroy
+    public void encerrar() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
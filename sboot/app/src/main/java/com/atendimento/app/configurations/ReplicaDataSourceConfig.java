@@ -0,0 +1,157 @@
+package com.atendimento.app.configurations;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.atendimento.app.datasource.LeituraPropriaGuard;
+import com.atendimento.app.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Configuração da réplica de leitura (habilitada com {@code atendimento.replica.enabled=true}).
+ *
+ * <p>
+ * Substitui o DataSource do Spring Boot por um {@link ReadWriteRoutingDataSource}: transações
+ * {@code readOnly} (incluindo os métodos de consulta dos repositórios) vão à réplica e as
+ * demais ao primário, configurado em {@code spring.datasource.*}. Como a rota é decidida por
+ * transação, o Hibernate passa a devolver a conexão ao fim de cada transação, em vez de
+ * mantê-la durante toda a requisição.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "atendimento.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    @Autowired
+    private ObjectProvider<ReadWriteRoutingDataSource> roteador;
+
+    @Value("${atendimento.replica.url}")
+    private String url;
+
+    @Value("${atendimento.replica.username:sa}")
+    private String username;
+
+    @Value("${atendimento.replica.password:}")
+    private String password;
+
+    @Value("${atendimento.replica.janela-leitura-propria:5s}")
+    private Duration janelaLeituraPropria;
+
+    @Value("${atendimento.replica.timeout-verificacao-segundos:1}")
+    private int timeoutVerificacao;
+
+    /**
+     * DataSource do primário, configurado pelas propriedades padrão do Spring Boot.
+     *
+     * @param properties Propriedades {@code spring.datasource.*}.
+     * @return Pool de conexões do primário.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    /**
+     * DataSource da réplica de leitura.
+     *
+     * @return Pool de conexões somente leitura da réplica.
+     */
+    @Bean
+    @ConfigurationProperties("atendimento.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Roteador entre primário e réplica.
+     *
+     * @param primarioDataSource Pool do primário.
+     * @param replicaDataSource Pool da réplica.
+     * @return Instância do {@link ReadWriteRoutingDataSource}.
+     */
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primarioDataSource,
+                                                                 HikariDataSource replicaDataSource) {
+        LeituraPropriaGuard guard = new LeituraPropriaGuard(janelaLeituraPropria, Clock.systemUTC());
+        logger.info("Réplica de leitura habilitada: {} (janela de leitura própria: {}).", url, janelaLeituraPropria);
+        return new ReadWriteRoutingDataSource(primarioDataSource, replicaDataSource, guard,
+                ReplicaDataSourceConfig::usuarioAtual);
+    }
+
+    /**
+     * DataSource usado pelo JPA; adia a obtenção da conexão até o primeiro comando SQL.
+     *
+     * @param readWriteRoutingDataSource Roteador entre primário e réplica.
+     * @return DataSource principal da aplicação.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    /**
+     * Faz o Hibernate liberar a conexão ao fim de cada transação, para que a próxima
+     * transação da mesma requisição possa ser roteada a outro destino.
+     *
+     * @return Customizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAposTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Verifica periodicamente a réplica; enquanto estiver indisponível, as leituras vão ao primário.
+     */
+    @Scheduled(fixedDelayString = "${atendimento.replica.intervalo-verificacao-ms:5000}")
+    public void verificarReplica() {
+        roteador.ifAvailable(dataSource -> dataSource.verificarReplica(timeoutVerificacao));
+    }
+
+    private static String usuarioAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
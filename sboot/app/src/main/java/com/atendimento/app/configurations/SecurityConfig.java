@@ -2,7 +2,9 @@ package com.atendimento.app.configurations;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,10 +19,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.atendimento.app.security.BoundedPasswordEncoder;
 import com.atendimento.app.security.CustomAuthenticationEntryPoint;
 import com.atendimento.app.security.JwtAuthFilter;
 import com.atendimento.app.services.AuthService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -54,13 +61,22 @@ public class SecurityConfig {
     @Autowired
     private CustomAuthenticationEntryPoint authenticationEntryPoint;
 
+    @Value("${atendimento.bcrypt.max-concorrencia:0}")
+    private int maxConcorrenciaBcrypt;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> registroMetricas;
+
     private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
 
     // Constantes para rotas públicas e protegidas
-    private static final String[] PUBLIC_ROUTES = { "/auth/**" };
-    private static final String[] ADMIN_ROUTES = { "/admin/**" };
-    private static final String[] USER_ROUTES = { "/user/**", "/atendimentos/**" };
-    private static final String[] SUPERVISOR_ROUTES = { "/supervisor/**" };
+    private static final String[] PUBLIC_ROUTES = GrupoRota.PUBLIC.getPadroes();
+    private static final String[] ADMIN_ROUTES = GrupoRota.ADMIN.getPadroes();
+    private static final String[] USER_ROUTES = GrupoRota.USER.getPadroes();
+    private static final String[] SUPERVISOR_ROUTES = GrupoRota.SUPERVISOR.getPadroes();
+    private static final String PROMETHEUS_ROUTE = "/actuator/prometheus";
+    private static final String[] HEALTH_ROUTES = {"/actuator/health", "/actuator/health/**"};
+    private static final String ACTUATOR_ROUTES = "/actuator/**";
 
     /**
      * Configuração principal da cadeia de filtros de segurança.
@@ -127,6 +143,15 @@ public class SecurityConfig {
      * <li>Rotas de usuários: acessíveis para usuários com os papéis "USER" ou
      * "ADMIN".</li>
      * </ul>
+     * A verificação de saúde ({@code /actuator/health}) é pública, para balanceadores e
+     * orquestradores; os demais endpoints do Actuator são de administradores. A coleta de
+     * métricas ({@code /actuator/prometheus}) aceita também o token de coleta
+     * (ver {@link JwtAuthFilter}).
+     * </p>
+     * 
+     * <p>
+     * Despachos assíncronos (respostas reativas do MVC) são liberados: a requisição
+     * original já passou pela autenticação e autorização no despacho inicial.
      * </p>
      * 
      * @param http Instância do {@link HttpSecurity}.
@@ -134,7 +159,11 @@ public class SecurityConfig {
      */
     private void configureAuthorization(HttpSecurity http) throws Exception {
         http.authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Retomada de respostas assíncronas
                 .requestMatchers(PUBLIC_ROUTES).permitAll() // Rotas públicas
+                .requestMatchers(HEALTH_ROUTES).permitAll() // Verificação de saúde
+                .requestMatchers(PROMETHEUS_ROUTE).hasAnyRole("ADMIN", JwtAuthFilter.ROLE_METRICAS) // Coleta do Prometheus
+                .requestMatchers(ACTUATOR_ROUTES).hasRole("ADMIN") // Demais endpoints do Actuator
                 .requestMatchers(ADMIN_ROUTES).hasRole("ADMIN") // Rotas para administradores
                 .requestMatchers(USER_ROUTES).hasAnyRole("USER", "ADMIN") // Rotas para usuários e administradores
                 .requestMatchers(SUPERVISOR_ROUTES).hasRole("SUPERVISOR") // Rotas para supervisores
@@ -177,11 +206,21 @@ public class SecurityConfig {
     /**
      * Configura o codificador de senha utilizando BCrypt.
      * 
+     * <p>
+     * A quantidade de hashes simultâneos é limitada (por padrão, ao número de núcleos),
+     * já que o BCrypt é limitado por CPU e não se beneficia de mais threads. O tempo de
+     * cada hash e a espera pela vez são registrados como métricas.
+     * </p>
+     * 
      * @return Instância do {@link PasswordEncoder}.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Fator de custo ajustado
+        int maxConcorrencia = maxConcorrenciaBcrypt > 0
+                ? maxConcorrenciaBcrypt
+                : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), maxConcorrencia, // Fator de custo ajustado
+                registroMetricas.getIfAvailable(CompositeMeterRegistry::new));
     }
 
     /**
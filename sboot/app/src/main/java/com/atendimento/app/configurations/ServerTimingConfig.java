@@ -0,0 +1,152 @@
+package com.atendimento.app.configurations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import com.atendimento.app.filters.FasesRequisicao;
+import com.atendimento.app.filters.ServerTimingFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuração do cabeçalho {@code Server-Timing} e dos histogramas por fase da requisição
+ * (desabilitável com {@code atendimento.server-timing.enabled=false}).
+ *
+ * <p>
+ * As fases são alimentadas pelo {@code JwtAuthFilter} (validação do token e carga do usuário),
+ * pelos serviços (interceptador abaixo), pelos repositórios ({@code OrigemConsulta}), pelos
+ * mappers e pela serialização do JSON (conversor abaixo).
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "atendimento.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig {
+
+    private static final String PACOTE_SERVICOS = "com.atendimento.app.services.";
+
+    /**
+     * Cria o filtro que mede as fases da requisição.
+     *
+     * @param meterRegistry Registro das métricas.
+     * @param papeis Papéis que recebem o cabeçalho ({@code *} para todos; vazio para nenhum).
+     * @return Instância do {@link ServerTimingFilter}.
+     */
+    @Bean
+    public ServerTimingFilter serverTimingFilter(MeterRegistry meterRegistry,
+                                                 @Value("${atendimento.server-timing.cabecalho:ADMIN}") Set<String> papeis) {
+        return new ServerTimingFilter(meterRegistry, papeis);
+    }
+
+    /**
+     * Registra o filtro logo após o limitador de concorrência e antes do Spring Security,
+     * para que a validação do JWT seja medida.
+     *
+     * @param filter Filtro das fases da requisição.
+     * @return Registro do filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilterRegistration(ServerTimingFilter filter) {
+        FilterRegistrationBean<ServerTimingFilter> registro = new FilterRegistrationBean<>(filter);
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registro;
+    }
+
+    /**
+     * Mede a fase {@code servico} nas chamadas aos serviços da aplicação.
+     *
+     * <p>
+     * O {@code AuthService} fica de fora: sua chamada no {@code JwtAuthFilter} já é medida como
+     * a fase {@code usuario}. Estático e de infraestrutura para ser aplicado pelo mesmo criador
+     * de proxies das transações, sem antecipar a criação dos demais beans.
+     * </p>
+     *
+     * @return Advisor dos serviços.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serverTimingServicosAdvisor() {
+        ClassFilter aplicacao = classe -> classe.getName().startsWith(PACOTE_SERVICOS)
+                && !UserDetailsService.class.isAssignableFrom(classe);
+        ComposablePointcut servicos = new ComposablePointcut(new AnnotationMatchingPointcut(Service.class, true))
+                .intersection(aplicacao);
+        MethodInterceptor medicao = invocacao -> {
+            try (FasesRequisicao.Medicao medicaoServico = FasesRequisicao.medir(FasesRequisicao.Fase.SERVICO)) {
+                return invocacao.proceed();
+            }
+        };
+        return new DefaultPointcutAdvisor(servicos, medicao);
+    }
+
+    /**
+     * Conversor de JSON que mede a serialização e inclui o cabeçalho {@code Server-Timing}.
+     *
+     * <p>
+     * Substitui o conversor padrão do Spring Boot, com o mesmo {@link ObjectMapper}. Quando o
+     * cabeçalho deve ser enviado, o JSON é serializado em memória antes, para que o tempo de
+     * serialização conste do cabeçalho (que precisa sair antes do corpo); caso contrário, a
+     * serialização é direta na resposta.
+     * </p>
+     *
+     * @param objectMapper ObjectMapper configurado pelo Spring Boot.
+     * @return Conversor de JSON.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                FasesRequisicao fases = FasesRequisicao.atual();
+                if (fases == null || !fases.deveEnviarCabecalho()) {
+                    try (FasesRequisicao.Medicao medicao = FasesRequisicao.medir(FasesRequisicao.Fase.JSON)) {
+                        super.writeInternal(object, type, outputMessage);
+                    }
+                    return;
+                }
+
+                ByteArrayOutputStream corpo = new ByteArrayOutputStream(1024);
+                try (FasesRequisicao.Medicao medicao = FasesRequisicao.medir(FasesRequisicao.Fase.JSON)) {
+                    super.writeInternal(object, type, new HttpOutputMessage() {
+                        @Override
+                        public OutputStream getBody() {
+                            return corpo;
+                        }
+
+                        @Override
+                        public HttpHeaders getHeaders() {
+                            return outputMessage.getHeaders();
+                        }
+                    });
+                }
+                outputMessage.getHeaders().add(ServerTimingFilter.CABECALHO, fases.cabecalho());
+                fases.marcarCabecalhoEnviado();
+                corpo.writeTo(outputMessage.getBody());
+            }
+        };
+    }
+}
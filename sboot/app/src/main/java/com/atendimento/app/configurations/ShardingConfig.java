@@ -0,0 +1,209 @@
+package com.atendimento.app.configurations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.atendimento.app.datasource.CapturaMetadata;
+import com.atendimento.app.datasource.InicializadorShards;
+import com.atendimento.app.datasource.MapaShards;
+import com.atendimento.app.datasource.ReplicadorTipos;
+import com.atendimento.app.datasource.ReplicadorUsuarios;
+import com.atendimento.app.datasource.ShardDataSources;
+import com.atendimento.app.datasource.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Configuração do sharding de atendimentos (habilitado com {@code atendimento.shards.enabled=true}).
+ *
+ * <p>
+ * O shard 0 é o banco configurado em {@code spring.datasource.*}; os demais são listados em
+ * {@code atendimento.shards.urls}. Atendimentos, resumos e arquivados são distribuídos pelo
+ * hash do CPF (ver {@link MapaShards}); as demais tabelas ficam no shard 0, e a de usuários é
+ * copiada para todos. Não pode ser combinado com a réplica de leitura.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "atendimento.shards.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Value("${atendimento.shards.urls}")
+    private List<String> urls;
+
+    @Value("${atendimento.shards.pool.max-size:10}")
+    private int maxPoolSize;
+
+    @Value("${atendimento.replica.enabled:false}")
+    private boolean replicaHabilitada;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> registroMetricas;
+
+    /**
+     * Pools de conexões de todos os shards.
+     *
+     * @param properties Propriedades {@code spring.datasource.*}, usadas no shard 0 e como
+     *                   credenciais dos demais.
+     * @return Pools de cada shard.
+     * @throws IllegalStateException Caso a réplica de leitura também esteja habilitada.
+     */
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(DataSourceProperties properties) {
+        if (replicaHabilitada) {
+            throw new IllegalStateException(
+                    "atendimento.shards.enabled e atendimento.replica.enabled não podem ser usados juntos.");
+        }
+
+        List<String> todas = new ArrayList<>();
+        todas.add(properties.determineUrl());
+        todas.addAll(urls);
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int shard = 0; shard < todas.size(); shard++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(todas.get(shard))
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setMaximumPoolSize(maxPoolSize);
+            // Os pools dos shards não são beans; as métricas hikaricp.* são registradas aqui
+            registroMetricas.ifAvailable(registro ->
+                    dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registro)));
+            pools.add(dataSource);
+        }
+        logger.info("Sharding habilitado com {} shards: {}.", todas.size(), todas);
+        return new ShardDataSources(pools);
+    }
+
+    /**
+     * DataSource usado pelo JPA; a conexão é obtida no shard definido para a thread
+     * apenas no primeiro comando SQL.
+     *
+     * @param shardDataSources Pools de cada shard.
+     * @return DataSource principal da aplicação.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        ShardRoutingDataSource roteador = new ShardRoutingDataSource(shardDataSources.getTodos());
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+
+    /**
+     * Mapa de buckets para shards, persistido no shard 0.
+     *
+     * @param shardDataSources Pools de cada shard.
+     * @return Instância do {@link MapaShards}, carregada por {@link InicializadorShards}.
+     */
+    @Bean
+    public MapaShards mapaShards(ShardDataSources shardDataSources) {
+        return new MapaShards(shardDataSources.get(0), shardDataSources.size());
+    }
+
+    /**
+     * Replicador da tabela de usuários.
+     *
+     * @param shardDataSources Pools de cada shard.
+     * @return Instância do {@link ReplicadorUsuarios}.
+     */
+    @Bean
+    public ReplicadorUsuarios replicadorUsuarios(ShardDataSources shardDataSources) {
+        return new ReplicadorUsuarios(shardDataSources);
+    }
+
+    /**
+     * Replicador da tabela de tipos de atendimento.
+     *
+     * @param shardDataSources Pools de cada shard.
+     * @return Instância do {@link ReplicadorTipos}.
+     */
+    @Bean
+    public ReplicadorTipos replicadorTipos(ShardDataSources shardDataSources) {
+        return new ReplicadorTipos(shardDataSources);
+    }
+
+    /**
+     * Mapeamento das entidades, usado para atualizar o esquema dos demais shards.
+     *
+     * @return Instância do {@link CapturaMetadata}.
+     */
+    @Bean
+    public CapturaMetadata capturaMetadata() {
+        return new CapturaMetadata();
+    }
+
+    /**
+     * Registra a captura do mapeamento na inicialização do Hibernate.
+     *
+     * @param capturaMetadata Captura do mapeamento.
+     * @return Customizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer capturarMetadataShards(CapturaMetadata capturaMetadata) {
+        return propriedades -> propriedades.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(capturaMetadata));
+    }
+
+    /**
+     * Atualiza o esquema dos shards e carrega o mapa de buckets.
+     *
+     * @param shardDataSources Pools de cada shard.
+     * @param entityManagerFactory Fábrica do JPA.
+     * @param capturaMetadata Mapeamento das entidades.
+     * @param mapaShards Mapa de buckets.
+     * @param replicadorUsuarios Replicador da tabela de usuários.
+     * @param replicadorTipos Replicador da tabela de tipos de atendimento.
+     * @return Instância do {@link InicializadorShards}.
+     */
+    @Bean
+    public InicializadorShards inicializadorShards(ShardDataSources shardDataSources,
+                                                   EntityManagerFactory entityManagerFactory,
+                                                   CapturaMetadata capturaMetadata,
+                                                   MapaShards mapaShards,
+                                                   ReplicadorUsuarios replicadorUsuarios,
+                                                   ReplicadorTipos replicadorTipos) {
+        return new InicializadorShards(shardDataSources, entityManagerFactory, capturaMetadata, mapaShards,
+                replicadorUsuarios, replicadorTipos);
+    }
+
+    /**
+     * Faz o Hibernate liberar a conexão ao fim de cada transação, para que a próxima
+     * transação da mesma requisição possa ir a outro shard.
+     *
+     * @return Customizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAposTransacaoShards() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,46 @@
+package com.atendimento.app.configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Ajustes do perfil {@code virtual} (threads virtuais no Tomcat e nos executores).
+ *
+ * <p>
+ * O driver H2 usa blocos {@code synchronized}, que prendem a thread portadora durante a
+ * chamada; por isso o pool de conexões é limitado à quantidade de portadoras, que por padrão
+ * é o número de núcleos disponíveis para a JVM.
+ * </p>
+ */
+@Configuration
+@Profile("virtual")
+public class ThreadsVirtuaisConfig {
+
+    /**
+     * Dimensiona o pool de conexões principal pelo número de núcleos.
+     *
+     * @param tamanho Tamanho do pool, ou 0 para usar o número de núcleos.
+     * @return Pós-processador do DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor dimensionarPoolThreadsVirtuais(
+            @Value("${atendimento.virtual.pool-conexoes:0}") int tamanho) {
+        int conexoes = tamanho > 0 ? tamanho : Runtime.getRuntime().availableProcessors();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nome) {
+                // Executado após a ligação de spring.datasource.hikari.* e antes de o pool iniciar
+                if (bean instanceof HikariDataSource pool) {
+                    pool.setMaximumPoolSize(conexoes);
+                    pool.setMinimumIdle(conexoes);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.atendimento.app.controllers;
+
+import com.atendimento.app.entities.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controlador para acompanhar o cache de segundo nível do Hibernate (admin).
+ */
+@Tag(name = "Admin", description = "Endpoints para acompanhar o cache de segundo nível (somente administradores)")
+@RestController
+@RequestMapping("/admin/cache")
+public class AdminCacheController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminCacheController.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Lista as estatísticas do cache de segundo nível e do cache de consultas.
+     *
+     * @return Acertos, faltas e gravações por região, e carregamentos de usuários do banco.
+     */
+    @Operation(summary = "Consultar cache", description = "Retorna acertos, faltas e gravações de cada região do cache de segundo nível (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> consultarCache() {
+        Statistics estatisticas = estatisticas();
+
+        // A lista inclui as regiões de consultas (ex.: default-query-results-region), que não são
+        // de entidades: getCacheRegionStatistics atende aos dois tipos
+        Map<String, Object> regioes = new LinkedHashMap<>();
+        for (String regiao : estatisticas.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics estatisticasRegiao = estatisticas.getCacheRegionStatistics(regiao);
+            if (estatisticasRegiao != null) {
+                regioes.put(regiao, regiao(estatisticasRegiao));
+            }
+        }
+
+        EntityStatistics usuarios = estatisticas.getEntityStatistics(User.class.getName());
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("estatisticasHabilitadas", estatisticas.isStatisticsEnabled());
+        resposta.put("acertos", estatisticas.getSecondLevelCacheHitCount());
+        resposta.put("faltas", estatisticas.getSecondLevelCacheMissCount());
+        resposta.put("gravacoes", estatisticas.getSecondLevelCachePutCount());
+        resposta.put("consultasAcertos", estatisticas.getQueryCacheHitCount());
+        resposta.put("consultasFaltas", estatisticas.getQueryCacheMissCount());
+        resposta.put("usuariosCarregadosDoBanco", usuarios.getLoadCount());
+        resposta.put("regioes", regioes);
+        return ResponseEntity.ok(resposta);
+    }
+
+    /**
+     * Esvazia todas as regiões do cache, por exemplo após alterações feitas diretamente no banco.
+     *
+     * @return Resposta sem conteúdo.
+     */
+    @Operation(summary = "Limpar cache", description = "Esvazia todas as regiões do cache de segundo nível (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @PostMapping("/limpar")
+    public ResponseEntity<Void> limparCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        logger.info("Cache de segundo nível esvaziado.");
+        return ResponseEntity.noContent().build();
+    }
+
+    private Statistics estatisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Map<String, Object> regiao(CacheRegionStatistics estatisticas) {
+        Map<String, Object> regiao = new LinkedHashMap<>();
+        regiao.put("acertos", estatisticas.getHitCount());
+        regiao.put("faltas", estatisticas.getMissCount());
+        regiao.put("gravacoes", estatisticas.getPutCount());
+        regiao.put("elementos", estatisticas.getElementCountInMemory());
+        return regiao;
+    }
+}
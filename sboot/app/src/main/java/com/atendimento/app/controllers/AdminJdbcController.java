@@ -0,0 +1,90 @@
+package com.atendimento.app.controllers;
+
+import com.atendimento.app.datasource.InstrumentacaoJdbcListener;
+import com.atendimento.app.datasource.ShardDataSources;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador para acompanhar os pools de conexões e as consultas lentas (admin).
+ */
+@Tag(name = "Admin", description = "Endpoints para acompanhar o acesso ao banco (somente administradores)")
+@RestController
+@RequestMapping("/admin/jdbc")
+@ConditionalOnProperty(name = "atendimento.jdbc.instrumentacao.enabled", havingValue = "true", matchIfMissing = true)
+public class AdminJdbcController {
+
+    @Autowired
+    private InstrumentacaoJdbcListener instrumentacaoJdbcListener;
+
+    @Autowired
+    private ObjectProvider<DataSource> dataSources;
+
+    @Autowired
+    private ObjectProvider<ShardDataSources> shardDataSources;
+
+    /**
+     * Lista o estado dos pools de conexões e as consultas lentas mais recentes.
+     *
+     * @return Conexões ativas, ociosas e threads aguardando por pool, o limiar e as consultas lentas.
+     */
+    @Operation(summary = "Consultar acesso ao banco", description = "Retorna o estado dos pools de conexões e as consultas lentas mais recentes (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> consultar() {
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("pools", pools());
+        resposta.put("limiarConsultaLentaMs", instrumentacaoJdbcListener.getLimiarMillis());
+        resposta.put("consultasLentas", instrumentacaoJdbcListener.getConsultasLentas());
+        return ResponseEntity.ok(resposta);
+    }
+
+    private Map<String, Object> pools() {
+        List<HikariDataSource> hikari = new ArrayList<>();
+        dataSources.forEach(dataSource -> hikari(dataSource, hikari));
+        shardDataSources.ifAvailable(shards -> hikari.addAll(shards.getTodos()));
+
+        Map<String, Object> pools = new LinkedHashMap<>();
+        for (HikariDataSource dataSource : hikari) {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null || pools.containsKey(dataSource.getPoolName())) {
+                continue; // Pool ainda não iniciado, ou já listado por outro DataSource
+            }
+            Map<String, Object> estado = new LinkedHashMap<>();
+            estado.put("ativas", pool.getActiveConnections());
+            estado.put("ociosas", pool.getIdleConnections());
+            estado.put("total", pool.getTotalConnections());
+            estado.put("maximo", dataSource.getMaximumPoolSize());
+            estado.put("aguardando", pool.getThreadsAwaitingConnection());
+            pools.put(dataSource.getPoolName(), estado);
+        }
+        return pools;
+    }
+
+    private static void hikari(DataSource dataSource, List<HikariDataSource> hikari) {
+        try {
+            if (dataSource instanceof HikariDataSource pool) {
+                hikari.add(pool);
+            } else if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                hikari.add(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException e) {
+            // DataSource sem pool Hikari acessível; não entra na listagem
+        }
+    }
+}
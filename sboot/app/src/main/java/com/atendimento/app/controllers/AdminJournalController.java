@@ -0,0 +1,71 @@
+package com.atendimento.app.controllers;
+
+import com.atendimento.app.journal.EntradaJournal;
+import com.atendimento.app.services.JournalAtendimentoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador para consultar e compactar o journal de alterações (admin).
+ */
+@Tag(name = "Admin", description = "Endpoints para consultar o journal de alterações (somente administradores)")
+@RestController
+@RequestMapping("/admin/journal")
+@ConditionalOnProperty(name = "atendimento.journal.enabled", havingValue = "true")
+public class AdminJournalController {
+
+    /**
+     * Quantidade máxima de entradas por consulta.
+     */
+    private static final int MAX_ENTRADAS = 1000;
+
+    @Autowired
+    private JournalAtendimentoService journalAtendimentoService;
+
+    /**
+     * Lista entradas do journal a partir de um offset.
+     *
+     * @param desde Offset inicial (inclusivo).
+     * @param limite Quantidade máxima de entradas (até 1000).
+     * @return Entradas do journal e o offset para a próxima consulta.
+     */
+    @Operation(summary = "Consultar journal", description = "Retorna as alterações registradas a partir de um offset (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> consultar(
+            @Parameter(description = "Offset inicial") @RequestParam(defaultValue = "0") long desde,
+            @Parameter(description = "Quantidade máxima de entradas") @RequestParam(defaultValue = "100") int limite) {
+        List<EntradaJournal> entradas = journalAtendimentoService.reproduzir(Math.max(desde, 0),
+                Math.clamp(limite, 1, MAX_ENTRADAS));
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("entradas", entradas);
+        resposta.put("proximo", entradas.isEmpty() ? desde : entradas.get(entradas.size() - 1).offset() + 1);
+        return ResponseEntity.ok(resposta);
+    }
+
+    /**
+     * Compacta o journal, mantendo apenas a entrada mais recente de cada registro e campo.
+     *
+     * @return Quantidade de entradas removidas e de segmentos restantes.
+     */
+    @Operation(summary = "Compactar journal", description = "Remove dos segmentos fechados as entradas substituídas por outras mais recentes (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @PostMapping("/compactar")
+    public ResponseEntity<Map<String, Object>> compactar() {
+        int removidas = journalAtendimentoService.compactar();
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("removidas", removidas);
+        resposta.put("segmentos", journalAtendimentoService.getQuantidadeSegmentos());
+        return ResponseEntity.ok(resposta);
+    }
+}
@@ -0,0 +1,48 @@
+package com.atendimento.app.controllers;
+
+import com.atendimento.app.filters.ConcurrencyLimitFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador para acompanhar o limitador de concorrência (admin).
+ */
+@Tag(name = "Admin", description = "Endpoints para acompanhar o limite de concorrência (somente administradores)")
+@RestController
+@RequestMapping("/admin/limites")
+public class AdminLimiteController {
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    /**
+     * Lista o estado do limitador de cada grupo de rotas.
+     *
+     * @return Limite atual, requisições em andamento e total de rejeições por grupo.
+     */
+    @Operation(summary = "Consultar limites de concorrência", description = "Retorna o limite atual, as requisições em andamento e as rejeições de cada grupo de rotas (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> consultarLimites() {
+        List<Map<String, Object>> grupos = concurrencyLimitFilter.getLimitadores().entrySet().stream()
+                .map(entrada -> {
+                    Map<String, Object> grupo = new LinkedHashMap<>();
+                    grupo.put("grupo", entrada.getKey());
+                    grupo.put("prioridade", entrada.getKey().getPrioridade());
+                    grupo.put("limite", entrada.getValue().getLimite());
+                    grupo.put("emAndamento", entrada.getValue().getEmAndamento());
+                    grupo.put("rejeicoes", entrada.getValue().getRejeicoes());
+                    return grupo;
+                })
+                .toList();
+        return ResponseEntity.ok(grupos);
+    }
+}
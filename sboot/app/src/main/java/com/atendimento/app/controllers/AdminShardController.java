@@ -0,0 +1,82 @@
+package com.atendimento.app.controllers;
+
+import com.atendimento.app.datasource.MapaShards;
+import com.atendimento.app.services.ReshardingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controlador para acompanhar e redistribuir os shards de atendimentos (admin).
+ */
+@Tag(name = "Admin", description = "Endpoints para redistribuir os shards de atendimentos (somente administradores)")
+@RestController
+@RequestMapping("/admin/shards")
+@ConditionalOnProperty(name = "atendimento.shards.enabled", havingValue = "true")
+public class AdminShardController {
+
+    @Autowired
+    private MapaShards mapaShards;
+
+    @Autowired
+    private ReshardingService reshardingService;
+
+    /**
+     * Lista a quantidade de buckets de cada shard.
+     *
+     * @return Quantidade de shards, de buckets e distribuição dos buckets.
+     */
+    @Operation(summary = "Consultar shards", description = "Retorna a quantidade de buckets de cada shard (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> consultarShards() {
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("shards", mapaShards.getNumShards());
+        resposta.put("buckets", MapaShards.NUM_BUCKETS);
+        resposta.put("bucketsPorShard", mapaShards.distribuicao());
+        return ResponseEntity.ok(resposta);
+    }
+
+    /**
+     * Move um bucket para outro shard.
+     *
+     * @param bucket Bucket a mover.
+     * @param destino Shard de destino.
+     * @return Quantidade de linhas movidas.
+     */
+    @Operation(summary = "Mover bucket", description = "Copia as linhas do bucket para o shard de destino e o remove da origem (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @PostMapping("/buckets/{bucket}/mover")
+    public ResponseEntity<Map<String, Object>> moverBucket(@PathVariable int bucket, @RequestParam int destino) {
+        try {
+            int linhas = reshardingService.moverBucket(bucket, destino);
+            Map<String, Object> resposta = new LinkedHashMap<>();
+            resposta.put("bucket", bucket);
+            resposta.put("shard", destino);
+            resposta.put("linhasMovidas", linhas);
+            return ResponseEntity.ok(resposta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "timestamp", LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Redistribui os buckets igualmente entre os shards.
+     *
+     * @return Shard de destino de cada bucket movido.
+     */
+    @Operation(summary = "Rebalancear shards", description = "Move buckets até que todos os shards tenham a mesma quantidade (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @PostMapping("/rebalancear")
+    public ResponseEntity<Map<Integer, Integer>> rebalancear() {
+        return ResponseEntity.ok(reshardingService.rebalancear());
+    }
+}
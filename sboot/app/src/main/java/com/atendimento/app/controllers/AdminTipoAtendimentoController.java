@@ -0,0 +1,53 @@
+package com.atendimento.app.controllers;
+
+import com.atendimento.app.services.TipoAtendimentoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Controlador para gerenciar os tipos de atendimento (admin).
+ */
+@Tag(name = "Admin", description = "Endpoints para gerenciar tipos de atendimento (somente administradores)")
+@RestController
+@RequestMapping("/admin/tipos")
+public class AdminTipoAtendimentoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminTipoAtendimentoController.class);
+
+    @Autowired
+    private TipoAtendimentoService tipoAtendimentoService;
+
+    /**
+     * Cadastra um novo tipo de atendimento.
+     *
+     * @param nome Nome do tipo.
+     * @return O nome cadastrado do tipo.
+     */
+    @Operation(summary = "Cadastrar tipo de atendimento", description = "Cadastra um novo tipo de atendimento (somente administradores).")
+    @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
+    @PostMapping
+    public ResponseEntity<?> cadastrarTipo(@RequestParam String nome) {
+        if (nome.isBlank() || nome.trim().length() > 50) {
+            logger.warn("Tentativa de cadastrar tipo de atendimento inválido: {}", nome);
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "O tipo deve ter entre 1 e 50 caracteres",
+                "timestamp", LocalDateTime.now()
+            ));
+        }
+
+        String tipo = tipoAtendimentoService.registrar(nome);
+        return ResponseEntity.ok(Map.of(
+            "tipo", tipo,
+            "timestamp", LocalDateTime.now()
+        ));
+    }
+}
@@ -1,17 +1,26 @@
 package com.atendimento.app.controllers;
 
 import com.atendimento.app.entities.User;
+import com.atendimento.app.events.UsuarioEvent;
+import com.atendimento.app.repositories.ProjectionRepository;
 import com.atendimento.app.repositories.UserRepository;
+import com.atendimento.app.security.UserPrincipal;
+import com.atendimento.app.utils.Fieldset;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,16 +36,29 @@ public class AdminUserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Lista todos os usuários.
      *
+     * @param fields Campos a serem retornados, separados por vírgula (opcional).
      * @return Lista de usuários.
      */
     @Operation(summary = "Listar usuários", description = "Lista todos os usuários cadastrados (somente administradores).")
     @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
     @GetMapping
-    public ResponseEntity<List<User>> listarUsuarios() {
+    public ResponseEntity<?> listarUsuarios(
+            @Parameter(description = "Campos a serem retornados, ex.: id,username,role")
+            @RequestParam(required = false) String fields) {
         logger.info("Listando todos os usuários (somente administradores).");
+        Optional<Fieldset> fieldset = Fieldset.parse(fields, Fieldset.USUARIO);
+        if (fieldset.isPresent()) {
+            return ResponseEntity.ok(projectionRepository.buscar(User.class, fieldset.get(), Map.of()));
+        }
         List<User> usuarios = userRepository.findAll();
         return ResponseEntity.ok(usuarios);
     }
@@ -44,14 +66,20 @@ public class AdminUserController {
     /**
      * Lista todos os usuários bloqueados.
      *
+     * @param fields Campos a serem retornados, separados por vírgula (opcional).
      * @return Lista de usuários bloqueados.
      */
     @Operation(summary = "Listar usuários bloqueados", description = "Lista todos os usuários que estão bloqueados (somente administradores).")
     @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
     @GetMapping("/blocked")
-    public ResponseEntity<List<User>> listarUsuariosBloqueados() {
+    public ResponseEntity<?> listarUsuariosBloqueados(
+            @Parameter(description = "Campos a serem retornados, ex.: id,username")
+            @RequestParam(required = false) String fields) {
         logger.info("Listando todos os usuários bloqueados (somente administradores).");
-        List<User> usuariosBloqueados = userRepository.findAllByIsLockedTrue();
+        Optional<Fieldset> fieldset = Fieldset.parse(fields, Fieldset.USUARIO);
+        List<?> usuariosBloqueados = fieldset.isPresent()
+                ? projectionRepository.buscar(User.class, fieldset.get(), Map.of("isLocked", true))
+                : userRepository.findAllByIsLockedTrue();
         if (usuariosBloqueados.isEmpty()) {
             logger.info("Nenhum usuário bloqueado encontrado.");
             return ResponseEntity.noContent().build(); // Retorna 204 No Content se não houver usuários bloqueados
@@ -63,12 +91,14 @@ public class AdminUserController {
      * Bloqueia um usuário pelo ID.
      *
      * @param userId ID do usuário a ser bloqueado.
+     * @param principal Administrador autenticado.
      * @return Mensagem de sucesso ou erro.
      */
     @Operation(summary = "Bloquear usuário", description = "Bloqueia um usuário pelo ID (somente administradores).")
     @PreAuthorize("hasRole('ADMIN')") // Somente administradores podem acessar este método
     @PatchMapping("/{userId}/block")
-    public ResponseEntity<?> bloquearUsuario(@PathVariable Long userId) {
+    public ResponseEntity<?> bloquearUsuario(@PathVariable Long userId,
+                                             @AuthenticationPrincipal UserPrincipal principal) {
         logger.info("Solicitação para bloquear o usuário com ID: {}", userId);
 
         Optional<User> usuarioOptional = userRepository.findById(userId);
@@ -85,6 +115,8 @@ public class AdminUserController {
 
         usuario.setLocked(true); // Bloqueia o usuário
         userRepository.save(usuario);
+        eventPublisher.publishEvent(new UsuarioEvent(UsuarioEvent.Tipo.BLOQUEADO, usuario.getId(),
+                usuario.getUsername(), principal.getUsername(), LocalDateTime.now()));
         logger.info("Usuário com ID {} foi bloqueado com sucesso.", userId);
         return ResponseEntity.ok("Usuário bloqueado com sucesso.");
     }
@@ -1,20 +1,37 @@
 package com.atendimento.app.controllers;
 
 import com.atendimento.app.dto.AtendimentoRequest;
+import com.atendimento.app.dto.ConsultaLoteRequest;
+import com.atendimento.app.dto.ConsultaLoteResponse;
+import com.atendimento.app.dto.ResumoClienteResponse;
+import com.atendimento.app.dto.SugestaoResponse;
 import com.atendimento.app.dto.AtendimentoResponse;
 import com.atendimento.app.entities.Atendimento;
 import com.atendimento.app.mappers.AtendimentoMapper;
+import com.atendimento.app.mappers.ResumoClienteMapper;
+import com.atendimento.app.security.UserPrincipal;
 import com.atendimento.app.services.AtendimentoService;
+import com.atendimento.app.services.AutocompleteService;
+import com.atendimento.app.services.ResumoClienteService;
+import com.atendimento.app.services.TipoAtendimentoService;
+import com.atendimento.app.utils.Fieldset;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,37 +44,93 @@ public class AtendimentoController {
 
     private static final Logger logger = LoggerFactory.getLogger(AtendimentoController.class);
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     @Autowired
     private AtendimentoService atendimentoService;
 
     @Autowired
     private AtendimentoMapper atendimentoMapper;
 
+    @Autowired
+    private TipoAtendimentoService tipoAtendimentoService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private ResumoClienteService resumoClienteService;
+
+    @Autowired
+    private ResumoClienteMapper resumoClienteMapper;
+
     /**
      * Cria um novo atendimento.
      *
      * @param request Dados do atendimento.
+     * @param principal Usuário autenticado, registrado como atendente.
      * @return Atendimento criado.
      */
     @Operation(summary = "Criar um novo atendimento", description = "Recebe os dados de um cliente e cria um atendimento.")
     @PostMapping
-    public ResponseEntity<AtendimentoResponse> criarAtendimento(@Valid @RequestBody AtendimentoRequest request) {
+    public ResponseEntity<AtendimentoResponse> criarAtendimento(@Valid @RequestBody AtendimentoRequest request,
+                                                                @AuthenticationPrincipal UserPrincipal principal) {
         logger.info("Recebendo solicitação para criar atendimento: {}", request);
-        Atendimento novoAtendimento = atendimentoService.criarAtendimento(atendimentoMapper.toEntity(request));
+        Atendimento atendimento = atendimentoMapper.toEntity(request);
+        atendimento.setAtendente(principal.getUser());
+        Atendimento novoAtendimento = atendimentoService.criarAtendimento(atendimento);
         logger.info("Atendimento criado com sucesso: {}", novoAtendimento.getProtocolo());
         return ResponseEntity.ok(atendimentoMapper.toResponse(novoAtendimento));
     }
 
+    /**
+     * Lista os tipos de atendimento aceitos.
+     *
+     * @return Nomes dos tipos cadastrados.
+     */
+    @Operation(summary = "Listar tipos de atendimento", description = "Retorna os tipos de atendimento aceitos na criação de atendimentos.")
+    @GetMapping("/tipos")
+    public ResponseEntity<List<String>> listarTipos() {
+        return ResponseEntity.ok(tipoAtendimentoService.listar());
+    }
+
+    /**
+     * Sugere clientes cujo nome começa com o prefixo digitado.
+     *
+     * @param prefixo Início do nome do cliente.
+     * @param limite Quantidade máxima de sugestões.
+     * @return Clientes mais frequentes com o prefixo informado.
+     */
+    @Operation(summary = "Sugerir clientes por nome", description = "Retorna os clientes mais frequentes cujo nome começa com o prefixo informado (acentos e maiúsculas são ignorados).")
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<SugestaoResponse>> sugerirClientes(@RequestParam String prefixo,
+                                                                  @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(autocompleteService.sugerir(prefixo, limite));
+    }
+
     /**
      * Consulta atendimentos pelo CPF.
      *
      * @param cpf CPF do cliente.
+     * @param fields Campos a serem retornados, separados por vírgula (opcional).
      * @return Lista de atendimentos associados ao CPF.
      */
     @Operation(summary = "Consultar atendimentos por CPF", description = "Retorna todos os atendimentos associados ao CPF fornecido.")
     @GetMapping("/cpf/{cpf}")
-    public ResponseEntity<List<AtendimentoResponse>> consultarPorCpf(@PathVariable String cpf) {
+    public ResponseEntity<?> consultarPorCpf(@PathVariable String cpf,
+            @Parameter(description = "Campos a serem retornados, ex.: protocolo,nomeCliente,createdAt")
+            @RequestParam(required = false) String fields) {
         logger.info("Consultando atendimentos para o CPF: {}", cpf);
+        Optional<Fieldset> fieldset = Fieldset.parse(fields, Fieldset.ATENDIMENTO_PUBLICO);
+        if (fieldset.isPresent()) {
+            List<Map<String, Object>> parciais = atendimentoService.consultarPorCpf(cpf, fieldset.get());
+            if (parciais.isEmpty()) {
+                logger.warn("Nenhum atendimento encontrado para o CPF: {}", cpf);
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(parciais);
+        }
+
         List<Atendimento> atendimentos = atendimentoService.consultarPorCpf(cpf);
         if (atendimentos.isEmpty()) {
             logger.warn("Nenhum atendimento encontrado para o CPF: {}", cpf);
@@ -69,21 +142,113 @@ public class AtendimentoController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Consulta o resumo do histórico de um cliente.
+     *
+     * @param cpf CPF do cliente.
+     * @return Quantidade de atendimentos, último contato, último tipo e protocolos mais recentes.
+     */
+    @Operation(summary = "Consultar resumo do cliente", description = "Retorna a quantidade de atendimentos, o último contato, o último tipo e os protocolos mais recentes do CPF fornecido.")
+    @GetMapping("/cpf/{cpf}/resumo")
+    public ResponseEntity<ResumoClienteResponse> consultarResumo(@PathVariable String cpf) {
+        logger.info("Consultando resumo do cliente com CPF: {}", cpf);
+        return resumoClienteService.consultar(cpf)
+                .map(resumo -> ResponseEntity.ok(resumoClienteMapper.toResponse(resumo)))
+                .orElseGet(() -> {
+                    logger.warn("Nenhum resumo encontrado para o CPF: {}", cpf);
+                    return ResponseEntity.notFound().build();
+                });
+    }
+
+    /**
+     * Consulta, de forma paginada, o histórico completo de um cliente.
+     *
+     * @param cpf CPF do cliente.
+     * @param page Número da página (a partir de 0).
+     * @param size Tamanho da página (máximo de 100).
+     * @return Página de atendimentos do CPF, do mais recente para o mais antigo.
+     */
+    @Operation(summary = "Consultar histórico do cliente", description = "Retorna, de forma paginada, os atendimentos do CPF fornecido, do mais recente para o mais antigo.")
+    @GetMapping("/cpf/{cpf}/historico")
+    public ResponseEntity<Page<AtendimentoResponse>> consultarHistorico(@PathVariable String cpf,
+                                                                        @RequestParam(defaultValue = "0") int page,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        logger.info("Consultando histórico do CPF: {} (página {})", cpf, page);
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), TAMANHO_MAXIMO_PAGINA),
+                Sort.by(Sort.Direction.DESC, "dataHora"));
+        return ResponseEntity.ok(atendimentoService.consultarHistorico(cpf, pageable).map(atendimentoMapper::toResponse));
+    }
+
     /**
      * Consulta um atendimento pelo número de protocolo.
      *
      * @param protocolo Número de protocolo.
+     * @param fields Campos a serem retornados, separados por vírgula (opcional).
      * @return Atendimento correspondente ao protocolo.
      */
     @Operation(summary = "Consultar atendimento por protocolo", description = "Retorna o atendimento associado ao protocolo fornecido.")
     @GetMapping("/protocolo/{protocolo}")
-    public ResponseEntity<AtendimentoResponse> consultarPorProtocolo(@PathVariable String protocolo) {
+    public ResponseEntity<?> consultarPorProtocolo(@PathVariable String protocolo,
+            @Parameter(description = "Campos a serem retornados, ex.: protocolo,tipo,createdAt")
+            @RequestParam(required = false) String fields) {
         logger.info("Consultando atendimento para o protocolo: {}", protocolo);
+        Optional<Fieldset> fieldset = Fieldset.parse(fields, Fieldset.ATENDIMENTO_PUBLICO);
+        if (fieldset.isPresent()) {
+            return atendimentoService.consultarPorProtocolo(protocolo, fieldset.get())
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> {
+                        logger.warn("Atendimento não encontrado para o protocolo: {}", protocolo);
+                        return ResponseEntity.notFound().build();
+                    });
+        }
+
         Optional<Atendimento> atendimento = atendimentoService.consultarPorProtocolo(protocolo);
-        return atendimento.map(a -> ResponseEntity.ok(atendimentoMapper.toResponse(a)))
+        return atendimento.<ResponseEntity<?>>map(a -> ResponseEntity.ok(atendimentoMapper.toResponse(a)))
                           .orElseGet(() -> {
                               logger.warn("Atendimento não encontrado para o protocolo: {}", protocolo);
                               return ResponseEntity.notFound().build();
                           });
     }
-}
\ No newline at end of file
+
+    /**
+     * Consulta atendimentos de vários CPFs em uma única requisição.
+     *
+     * @param request Lista de CPFs.
+     * @return Atendimentos agrupados por CPF e a lista de CPFs sem atendimentos.
+     */
+    @Operation(summary = "Consultar atendimentos de vários CPFs", description = "Retorna, em uma única requisição, os atendimentos agrupados por CPF e os CPFs não encontrados.")
+    @PostMapping("/cpf/lote")
+    public ResponseEntity<ConsultaLoteResponse<List<AtendimentoResponse>>> consultarPorCpfs(@Valid @RequestBody ConsultaLoteRequest request) {
+        logger.info("Consultando atendimentos em lote para {} CPFs", request.getChaves().size());
+        Map<String, List<AtendimentoResponse>> resultados = new LinkedHashMap<>();
+        atendimentoService.consultarPorCpfs(request.getChaves()).forEach((cpf, atendimentos) ->
+                resultados.put(cpf, atendimentos.stream().map(atendimentoMapper::toResponse).toList()));
+        return ResponseEntity.ok(new ConsultaLoteResponse<>(resultados, naoEncontrados(request, resultados)));
+    }
+
+    /**
+     * Consulta atendimentos de vários protocolos em uma única requisição.
+     *
+     * @param request Lista de protocolos.
+     * @return Atendimentos indexados por protocolo e a lista de protocolos não encontrados.
+     */
+    @Operation(summary = "Consultar atendimentos de vários protocolos", description = "Retorna, em uma única requisição, os atendimentos indexados por protocolo e os protocolos não encontrados.")
+    @PostMapping("/protocolo/lote")
+    public ResponseEntity<ConsultaLoteResponse<AtendimentoResponse>> consultarPorProtocolos(@Valid @RequestBody ConsultaLoteRequest request) {
+        logger.info("Consultando atendimentos em lote para {} protocolos", request.getChaves().size());
+        Map<String, AtendimentoResponse> resultados = new LinkedHashMap<>();
+        atendimentoService.consultarPorProtocolos(request.getChaves()).forEach((protocolo, atendimento) ->
+                resultados.put(protocolo, atendimentoMapper.toResponse(atendimento)));
+        return ResponseEntity.ok(new ConsultaLoteResponse<>(resultados, naoEncontrados(request, resultados)));
+    }
+
+    /**
+     * Lista as chaves solicitadas que não possuem resultado, sem repetições.
+     */
+    private List<String> naoEncontrados(ConsultaLoteRequest request, Map<String, ?> resultados) {
+        return request.getChaves().stream()
+                .distinct()
+                .filter(chave -> !resultados.containsKey(chave))
+                .toList();
+    }
+}
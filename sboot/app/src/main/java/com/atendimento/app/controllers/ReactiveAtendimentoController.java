@@ -0,0 +1,87 @@
+package com.atendimento.app.controllers;
+
+import com.atendimento.app.dto.AtendimentoResponse;
+import com.atendimento.app.mappers.AtendimentoMapper;
+import com.atendimento.app.repositories.ReactiveAtendimentoRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Controlador de consultas reativas de atendimentos.
+ *
+ * <p>
+ * Oferece as mesmas consultas por CPF e protocolo de {@link AtendimentoController}, mas
+ * retornando tipos reativos: o Spring MVC processa a resposta de forma assíncrona e a
+ * thread do Tomcat é liberada enquanto a consulta R2DBC está em andamento. As rotas
+ * convivem com os controladores MVC e seguem as mesmas regras de segurança.
+ * </p>
+ *
+ * <p>
+ * Como nas rotas MVC, atendimentos fora da tabela quente são procurados no arquivo. Com os
+ * shards ou a réplica de leitura habilitados, as rotas não são registradas (ver
+ * {@code ReactiveDatabaseConfig}).
+ * </p>
+ */
+@Tag(name = "Atendimentos (reativo)", description = "Consultas de atendimentos por CPF e protocolo sem bloquear threads do servidor")
+@RestController
+@ConditionalOnProperty(name = {"atendimento.shards.enabled", "atendimento.replica.enabled"}, havingValue = "false", matchIfMissing = true)
+@RequestMapping("/atendimentos/reativo")
+public class ReactiveAtendimentoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAtendimentoController.class);
+
+    @Autowired
+    private ReactiveAtendimentoRepository reactiveAtendimentoRepository;
+
+    @Autowired
+    private AtendimentoMapper atendimentoMapper;
+
+    /**
+     * Consulta atendimentos pelo CPF.
+     *
+     * @param cpf CPF do cliente.
+     * @return Lista de atendimentos associados ao CPF.
+     */
+    @Operation(summary = "Consultar atendimentos por CPF (reativo)", description = "Retorna todos os atendimentos associados ao CPF fornecido.")
+    @GetMapping("/cpf/{cpf}")
+    public Mono<ResponseEntity<List<AtendimentoResponse>>> consultarPorCpf(@PathVariable String cpf) {
+        logger.info("Consultando atendimentos (reativo) para o CPF: {}", cpf);
+        return reactiveAtendimentoRepository.findByCpf(cpf)
+                .map(atendimentoMapper::toResponse)
+                .collectList()
+                .map(responses -> {
+                    if (responses.isEmpty()) {
+                        logger.warn("Nenhum atendimento encontrado para o CPF: {}", cpf);
+                        return ResponseEntity.notFound().build();
+                    }
+                    return ResponseEntity.ok(responses);
+                });
+    }
+
+    /**
+     * Consulta um atendimento pelo número de protocolo.
+     *
+     * @param protocolo Número de protocolo.
+     * @return Atendimento correspondente ao protocolo.
+     */
+    @Operation(summary = "Consultar atendimento por protocolo (reativo)", description = "Retorna o atendimento associado ao protocolo fornecido.")
+    @GetMapping("/protocolo/{protocolo}")
+    public Mono<ResponseEntity<AtendimentoResponse>> consultarPorProtocolo(@PathVariable String protocolo) {
+        logger.info("Consultando atendimento (reativo) para o protocolo: {}", protocolo);
+        return reactiveAtendimentoRepository.findByProtocolo(protocolo)
+                .map(atendimento -> ResponseEntity.ok(atendimentoMapper.toResponse(atendimento)))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("Atendimento não encontrado para o protocolo: {}", protocolo);
+                    return ResponseEntity.notFound().<AtendimentoResponse>build();
+                }));
+    }
+}
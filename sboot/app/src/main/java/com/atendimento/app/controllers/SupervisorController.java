@@ -1,19 +1,36 @@
 package com.atendimento.app.controllers;
 
+import com.atendimento.app.dto.EdicaoLoteRequest;
+import com.atendimento.app.dto.EdicaoLoteResponse;
+import com.atendimento.app.dto.PeriodoConsulta;
 import com.atendimento.app.entities.Atendimento;
-import com.atendimento.app.repositories.AtendimentoRepository;
 import com.atendimento.app.repositories.UserRepository;
+import com.atendimento.app.security.UserPrincipal;
+import com.atendimento.app.services.AtendimentoService;
+import com.atendimento.app.services.TipoAtendimentoService;
+import com.atendimento.app.utils.Fieldset;
 
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controlador para gerenciar atendimentos (supervisor).
@@ -25,85 +42,239 @@ public class SupervisorController {
 
     private static final Logger logger = LoggerFactory.getLogger(SupervisorController.class);
 
-    @Autowired
-    private AtendimentoRepository atendimentoRepository;
+    private static final int TAMANHO_MAXIMO_PAGINA = 200;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AtendimentoService atendimentoService;
+
+    @Autowired
+    private TipoAtendimentoService tipoAtendimentoService;
+
     /**
      * Lista todos os atendimentos.
      *
+     * @param fields Campos a serem retornados, separados por vírgula (opcional).
      * @return Lista de atendimentos.
      */
     @Operation(summary = "Listar atendimentos", description = "Lista todos os atendimentos registrados (somente supervisores).")
     @PreAuthorize("hasRole('SUPERVISOR')") // Somente supervisores podem acessar este método
     @GetMapping
-    public ResponseEntity<List<Atendimento>> listarAtendimentos() {
+    public ResponseEntity<?> listarAtendimentos(
+            @Parameter(description = "Campos a serem retornados, ex.: protocolo,nomeCliente,dataHora")
+            @RequestParam(required = false) String fields) {
         logger.info("Listando todos os atendimentos (somente supervisores).");
-        List<Atendimento> atendimentos = atendimentoRepository.findAll();
+        Optional<Fieldset> fieldset = Fieldset.parse(fields, Fieldset.ATENDIMENTO);
+        if (fieldset.isPresent()) {
+            return ResponseEntity.ok(atendimentoService.listarTodos(fieldset.get()));
+        }
+
+        List<Atendimento> atendimentos = atendimentoService.listarTodos();
         return ResponseEntity.ok(atendimentos);
     }
 
+    /**
+     * Lista, de forma paginada, os atendimentos de um período.
+     *
+     * @param periodo Período pré-definido (HOJE ou SEMANA); ignorado se inicio e fim forem informados.
+     * @param inicio Início do intervalo (inclusivo).
+     * @param fim Fim do intervalo (exclusivo).
+     * @param tipo Tipo do atendimento (opcional).
+     * @param atendenteId ID do atendente (opcional).
+     * @param page Número da página (a partir de 0).
+     * @param size Tamanho da página (máximo de 200).
+     * @return Página de atendimentos do período, do mais recente para o mais antigo.
+     */
+    @Operation(summary = "Listar atendimentos por período", description = "Lista, de forma paginada, os atendimentos de um período, com filtros opcionais por tipo e atendente (somente supervisores).")
+    @PreAuthorize("hasRole('SUPERVISOR')") // Somente supervisores podem acessar este método
+    @GetMapping("/periodo")
+    public ResponseEntity<?> listarAtendimentosPorPeriodo(
+            @RequestParam(required = false) PeriodoConsulta periodo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) Long atendenteId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (inicio == null || fim == null) {
+            if (periodo == null) {
+                logger.warn("Consulta por período sem período ou intervalo informado.");
+                return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Informe o período (HOJE ou SEMANA) ou o intervalo (inicio e fim)",
+                    "timestamp", LocalDateTime.now()
+                ));
+            }
+            LocalDate hoje = LocalDate.now();
+            inicio = periodo.inicio(hoje);
+            fim = periodo.fim(hoje);
+        }
+        if (tipo != null && !tipoAtendimentoService.existe(tipo)) {
+            logger.warn("Tipo de atendimento desconhecido na consulta por período: {}", tipo);
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Tipo de atendimento desconhecido",
+                "timestamp", LocalDateTime.now()
+            ));
+        }
+        if (!fim.isAfter(inicio) || page < 0 || size < 1) {
+            logger.warn("Parâmetros inválidos na consulta por período: inicio={}, fim={}, page={}, size={}", inicio, fim, page, size);
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Intervalo ou paginação inválidos",
+                "timestamp", LocalDateTime.now()
+            ));
+        }
+
+        logger.info("Listando atendimentos entre {} e {} (tipo: {}, atendente: {}, página: {}).", inicio, fim, tipo, atendenteId, page);
+        PageRequest pageable = PageRequest.of(page, Math.min(size, TAMANHO_MAXIMO_PAGINA), Sort.by(Sort.Direction.DESC, "dataHora"));
+        return ResponseEntity.ok(atendimentoService.consultarPorPeriodo(inicio, fim, tipo, atendenteId, pageable));
+    }
+
     /**
      * Atualiza a descrição de um atendimento.
      *
+     * <p>
+     * Com o cabeçalho {@code If-Match} (ETag devolvido na consulta por protocolo), a
+     * edição só é aplicada se o atendimento não tiver sido alterado desde a leitura;
+     * caso contrário, a resposta é 409 com o estado atual.
+     * </p>
+     *
      * @param atendimentoId ID do atendimento a ser atualizado.
      * @param novaDescricao Nova descrição para o atendimento.
+     * @param ifMatch Versão esperada do atendimento (opcional).
      * @return Mensagem de sucesso ou erro.
      */
-    @Operation(summary = "Editar atendimento", description = "Atualiza a descrição de um atendimento (somente supervisores).")
+    @Operation(summary = "Editar atendimento", description = "Atualiza a descrição de um atendimento (somente supervisores). Com If-Match, retorna 409 se o atendimento foi alterado por outro supervisor.")
     @PreAuthorize("hasRole('SUPERVISOR')") // Somente supervisores podem acessar este método
     @PatchMapping("/{atendimentoId}/editar")
-    public ResponseEntity<?> editarAtendimento(@PathVariable Long atendimentoId, @RequestParam String novaDescricao) {
+    public ResponseEntity<?> editarAtendimento(@PathVariable Long atendimentoId, @RequestParam String novaDescricao,
+            @Parameter(description = "Versão esperada do atendimento (ETag da consulta por protocolo)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserPrincipal principal) {
         logger.info("Solicitação para atualizar a descrição do atendimento com ID: {}", atendimentoId);
 
-        var atendimentoOptional = atendimentoRepository.findById(atendimentoId);
-        if (atendimentoOptional.isEmpty()) {
+        Long versaoEsperada;
+        try {
+            versaoEsperada = versaoDe(ifMatch);
+        } catch (NumberFormatException e) {
+            logger.warn("Cabeçalho If-Match inválido para o atendimento com ID {}: {}", atendimentoId, ifMatch);
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Cabeçalho If-Match inválido",
+                    "timestamp", LocalDateTime.now()));
+        }
+
+        if (!atendimentoService.editarAtendimento(atendimentoId, novaDescricao, versaoEsperada, principal.getUsername())) {
             logger.warn("Atendimento com ID {} não encontrado.", atendimentoId);
             return ResponseEntity.notFound().build();
         }
 
-        Atendimento atendimento = atendimentoOptional.get();
-        atendimento.setDescricao(novaDescricao);
-        atendimentoRepository.save(atendimento);
-
         logger.info("Descrição do atendimento com ID {} atualizada com sucesso.", atendimentoId);
-        return ResponseEntity.ok("Descrição atualizada com sucesso.");
+        var resposta = ResponseEntity.ok();
+        if (versaoEsperada != null) {
+            resposta.eTag(String.valueOf(versaoEsperada + 1));
+        }
+        return resposta.body("Descrição atualizada com sucesso.");
+    }
+
+    /**
+     * Altera a descrição e/ou o tipo de vários atendimentos, selecionados por IDs ou por filtro.
+     *
+     * @param request IDs ou filtro dos atendimentos e as alterações a aplicar.
+     * @param principal Supervisor autenticado.
+     * @return Resultado da edição de cada atendimento.
+     */
+    @Operation(summary = "Editar atendimentos em lote", description = "Altera a descrição e/ou o tipo de até " + EdicaoLoteRequest.MAX_ITENS + " atendimentos em uma única transação (somente supervisores).")
+    @PreAuthorize("hasRole('SUPERVISOR')") // Somente supervisores podem acessar este método
+    @PostMapping("/editar-lote")
+    public ResponseEntity<?> editarEmLote(@Valid @RequestBody EdicaoLoteRequest request,
+                                          @AuthenticationPrincipal UserPrincipal principal) {
+        List<Long> ids = request.getIds();
+        if (request.getFiltro() != null) {
+            EdicaoLoteRequest.Filtro filtro = request.getFiltro();
+            if (!filtro.getInicio().isBefore(filtro.getFim())) {
+                logger.warn("Período inválido para edição em lote: {} a {}", filtro.getInicio(), filtro.getFim());
+                return ResponseEntity.badRequest().body(Map.of(
+                        "error", "O início do período deve ser anterior ao fim",
+                        "timestamp", LocalDateTime.now()));
+            }
+            if (filtro.getTipo() != null && !tipoAtendimentoService.existe(filtro.getTipo())) {
+                logger.warn("Tipo de atendimento desconhecido na edição em lote: {}", filtro.getTipo());
+                return ResponseEntity.badRequest().body(Map.of(
+                        "error", "Tipo de atendimento desconhecido",
+                        "tipo", filtro.getTipo(),
+                        "timestamp", LocalDateTime.now()));
+            }
+
+            ids = atendimentoService.selecionarIdsPorPeriodo(filtro.getInicio(), filtro.getFim(), filtro.getTipo(),
+                    filtro.getAtendenteId(), EdicaoLoteRequest.MAX_ITENS + 1);
+            if (ids.size() > EdicaoLoteRequest.MAX_ITENS) {
+                logger.warn("Filtro da edição em lote abrange mais de {} atendimentos.", EdicaoLoteRequest.MAX_ITENS);
+                return ResponseEntity.badRequest().body(Map.of(
+                        "error", "O filtro abrange mais de " + EdicaoLoteRequest.MAX_ITENS + " atendimentos",
+                        "timestamp", LocalDateTime.now()));
+            }
+        }
+
+        logger.info("Editando {} atendimentos em lote.", ids.size());
+        Map<Long, EdicaoLoteResponse.Resultado> resultados = atendimentoService.editarEmLote(ids,
+                blankToNull(request.getDescricao()), blankToNull(request.getTipo()), principal.getUsername());
+        int atualizados = (int) resultados.values().stream()
+                .filter(EdicaoLoteResponse.Resultado.ATUALIZADO::equals)
+                .count();
+        logger.info("Edição em lote concluída: {} de {} atendimentos atualizados.", atualizados, resultados.size());
+        return ResponseEntity.ok(new EdicaoLoteResponse(resultados, atualizados));
     }
 
     /**
      * Consulta atendimentos por um número de protocolo.
      *
      * @param protocolo Número de protocolo.
+     * @param fields Campos a serem retornados, separados por vírgula (opcional).
      * @return Atendimento correspondente.
      */
     @Operation(summary = "Consultar atendimento por protocolo", description = "Consulta um atendimento pelo número de protocolo (somente supervisores).")
     @PreAuthorize("hasRole('SUPERVISOR')") // Somente supervisores podem acessar este método
     @GetMapping("/protocolo/{protocolo}")
-    public ResponseEntity<?> consultarPorProtocolo(@PathVariable String protocolo) {
+    public ResponseEntity<?> consultarPorProtocolo(@PathVariable String protocolo,
+            @Parameter(description = "Campos a serem retornados, ex.: protocolo,descricao,atendente")
+            @RequestParam(required = false) String fields) {
         logger.info("Consultando atendimento pelo protocolo: {}", protocolo);
 
-        var atendimentoOptional = atendimentoRepository.findByProtocolo(protocolo);
+        Optional<Fieldset> fieldset = Fieldset.parse(fields, Fieldset.ATENDIMENTO);
+        if (fieldset.isPresent()) {
+            var parcial = atendimentoService.consultarPorProtocolo(protocolo, fieldset.get());
+            if (parcial.isEmpty()) {
+                logger.warn("Atendimento com protocolo {} não encontrado.", protocolo);
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(parcial.get());
+        }
+
+        var atendimentoOptional = atendimentoService.consultarPorProtocolo(protocolo);
         if (atendimentoOptional.isEmpty()) {
             logger.warn("Atendimento com protocolo {} não encontrado.", protocolo);
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(atendimentoOptional.get());
+        Atendimento atendimento = atendimentoOptional.get();
+        return ResponseEntity.ok().eTag(String.valueOf(atendimento.getVersao())).body(atendimento);
     }
 
     /**
      * Consulta atendimentos de um atendente.
      *
      * @param atendenteId ID do atendente.
+     * @param fields Campos a serem retornados, separados por vírgula (opcional).
      * @return Lista de atendimentos associados ao atendente.
      */
     @Operation(summary = "Consultar atendimentos de um atendente", description = "Lista todos os atendimentos registrados por um atendente específico (somente supervisores).")
     @PreAuthorize("hasRole('SUPERVISOR')") // Somente supervisores podem acessar este método
     @GetMapping("/atendente/{atendenteId}")
-    public ResponseEntity<?> consultarAtendimentosPorAtendente(@PathVariable Long atendenteId) {
+    public ResponseEntity<?> consultarAtendimentosPorAtendente(@PathVariable Long atendenteId,
+            @Parameter(description = "Campos a serem retornados, ex.: protocolo,tipo,dataHora")
+            @RequestParam(required = false) String fields) {
         logger.info("Consultando atendimentos do atendente com ID: {}", atendenteId);
+        Optional<Fieldset> fieldset = Fieldset.parse(fields, Fieldset.ATENDIMENTO);
 
         // Verifica se o atendente existe
         var atendenteOptional = userRepository.findById(atendenteId);
@@ -112,8 +283,18 @@ public class SupervisorController {
             return ResponseEntity.notFound().build();
         }
 
+        // Com seleção de campos, filtra direto pela FK do atendente
+        if (fieldset.isPresent()) {
+            var parciais = atendimentoService.listarPorAtendente(atendenteId, fieldset.get());
+            if (parciais.isEmpty()) {
+                logger.info("Nenhum atendimento encontrado para o atendente com ID: {}", atendenteId);
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(parciais);
+        }
+
         // Recupera os atendimentos do atendente
-        var atendimentos = atendimentoRepository.findAllByAtendente(atendenteOptional.get());
+        var atendimentos = atendimentoService.listarPorAtendente(atendenteOptional.get());
         if (atendimentos.isEmpty()) {
             logger.info("Nenhum atendimento encontrado para o atendente com ID: {}", atendenteId);
             return ResponseEntity.noContent().build(); // Retorna 204 No Content se não houver atendimentos
@@ -121,4 +302,22 @@ public class SupervisorController {
 
         return ResponseEntity.ok(atendimentos);
     }
-}
\ No newline at end of file
+
+    private static String blankToNull(String valor) {
+        return valor == null || valor.isBlank() ? null : valor;
+    }
+
+    /**
+     * Extrai a versão do cabeçalho If-Match; {@code null} ou {@code *} aceitam qualquer versão.
+     */
+    private static Long versaoDe(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        return Long.valueOf(valor.replace("\"", ""));
+    }
+}
@@ -0,0 +1,44 @@
+package com.atendimento.app.datasource;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Guarda o mapeamento do Hibernate montado na inicialização.
+ *
+ * <p>
+ * O Hibernate atualiza o esquema ({@code ddl-auto}) apenas no shard 0; com o mapeamento,
+ * {@link InicializadorShards} aplica a mesma atualização aos demais shards.
+ * </p>
+ */
+public class CapturaMetadata implements Integrator {
+
+    private volatile Metadata metadata;
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        metadata = null;
+    }
+
+    /**
+     * Retorna o mapeamento capturado.
+     *
+     * @return Mapeamento das entidades.
+     * @throws IllegalStateException Caso a fábrica do JPA ainda não tenha sido criada.
+     */
+    public Metadata getMetadata() {
+        if (metadata == null) {
+            throw new IllegalStateException("O mapeamento do Hibernate ainda não foi montado.");
+        }
+        return metadata;
+    }
+}
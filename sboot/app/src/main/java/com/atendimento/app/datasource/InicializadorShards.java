@@ -0,0 +1,150 @@
+package com.atendimento.app.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Prepara os shards na inicialização da aplicação.
+ *
+ * <p>
+ * O shard 0 recebe o esquema pelo próprio Hibernate ({@code ddl-auto}). Nos demais, o
+ * esquema é atualizado a cada inicialização com o mesmo mapeamento ({@code update}), de
+ * modo que colunas e tabelas novas cheguem também aos shards existentes. Quando o shard é
+ * novo, a numeração dos IDs de atendimentos passa a começar em
+ * {@code shard * }{@value #FAIXA_IDS_POR_SHARD}{@code + 1}, para que os IDs continuem
+ * únicos entre shards (a edição por ID procura o atendimento shard a shard, e o
+ * rebalanceamento move as linhas mantendo o ID). Em seguida, o mapa de buckets é carregado
+ * e os usuários são copiados para todos os shards.
+ * </p>
+ */
+public class InicializadorShards implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(InicializadorShards.class);
+
+    /**
+     * Tamanho da faixa de IDs reservada a cada shard.
+     */
+    public static final long FAIXA_IDS_POR_SHARD = 1_000_000_000_000L;
+
+    private final ShardDataSources shards;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CapturaMetadata capturaMetadata;
+    private final MapaShards mapaShards;
+    private final ReplicadorUsuarios replicador;
+    private final ReplicadorTipos replicadorTipos;
+
+    /**
+     * Construtor para InicializadorShards.
+     *
+     * @param shards Pools de cada shard.
+     * @param entityManagerFactory Fábrica do JPA, usada para atualizar o esquema.
+     * @param capturaMetadata Mapeamento das entidades.
+     * @param mapaShards Mapa de buckets.
+     * @param replicador Replicador da tabela de usuários.
+     * @param replicadorTipos Replicador da tabela de tipos de atendimento.
+     */
+    public InicializadorShards(ShardDataSources shards, EntityManagerFactory entityManagerFactory,
+                               CapturaMetadata capturaMetadata, MapaShards mapaShards,
+                               ReplicadorUsuarios replicador, ReplicadorTipos replicadorTipos) {
+        this.shards = shards;
+        this.entityManagerFactory = entityManagerFactory;
+        this.capturaMetadata = capturaMetadata;
+        this.mapaShards = mapaShards;
+        this.replicador = replicador;
+        this.replicadorTipos = replicadorTipos;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 1; shard < shards.size(); shard++) {
+            boolean novo = !possuiTabelaAtendimentos(shards.get(shard));
+            if (!novo) {
+                // Os tipos precisam existir antes de a atualização criar a FK sobre atendimentos já gravados
+                replicadorTipos.sincronizar(shard);
+            }
+            atualizarEsquema(shards.get(shard));
+            if (novo) {
+                reiniciarIds(shards.get(shard), shard * FAIXA_IDS_POR_SHARD + 1);
+                logger.info("Esquema criado no shard {}.", shard);
+            }
+        }
+
+        mapaShards.carregar();
+        int usuarios = replicador.sincronizar();
+        int tipos = replicadorTipos.sincronizar();
+        logger.info("Sharding habilitado: {} shards, {} usuários e {} tipos replicados.", shards.size(), usuarios,
+                tipos);
+    }
+
+    /**
+     * Aplica o mapeamento ao shard, criando as tabelas, colunas e índices ausentes.
+     *
+     * <p>A atualização usa serviços do Hibernate próprios do shard: os da fábrica do JPA
+     * guardam o catálogo do shard 0 e procurariam nele as tabelas existentes.</p>
+     */
+    private void atualizarEsquema(DataSource dataSource) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Map<String, Object> configuracao = new HashMap<>(sessionFactory.getProperties());
+        configuracao.keySet().removeIf(chave -> chave.contains("persistence.schema-generation."));
+        configuracao.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        configuracao.put(AvailableSettings.DATASOURCE, dataSource);
+        configuracao.put(AvailableSettings.HBM2DDL_AUTO, "update");
+        configuracao.put(AvailableSettings.HBM2DDL_HALT_ON_ERROR, true);
+
+        StandardServiceRegistry servicos = new StandardServiceRegistryBuilder().applySettings(configuracao).build();
+        try {
+            SchemaManagementToolCoordinator.process(capturaMetadata.getMetadata(), servicos, configuracao, acao -> { });
+        } finally {
+            StandardServiceRegistryBuilder.destroy(servicos);
+        }
+    }
+
+    /**
+     * Faz a coluna de identidade dos atendimentos continuar a partir do valor informado.
+     */
+    private static void reiniciarIds(DataSource dataSource, long inicio) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String produto = jdbc.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        switch (produto) {
+            case "H2" -> jdbc.execute("alter table atendimentos alter column id restart with " + inicio);
+            // Vale para colunas identity e serial
+            case "PostgreSQL" -> jdbc.queryForObject(
+                    "select setval(pg_get_serial_sequence('atendimentos', 'id'), ?, false)", Long.class, inicio);
+            default -> throw new IllegalStateException(
+                    "Não é possível reservar a faixa de IDs do shard no banco " + produto + ".");
+        }
+    }
+
+    private static boolean possuiTabelaAtendimentos(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            // H2 guarda os nomes em maiúsculas e o PostgreSQL em minúsculas
+            for (String nome : new String[] { "ATENDIMENTOS", "atendimentos" }) {
+                try (ResultSet tabelas = connection.getMetaData().getTables(null, null, nome, null)) {
+                    if (tabelas.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível verificar o esquema do shard.", e);
+        }
+    }
+}
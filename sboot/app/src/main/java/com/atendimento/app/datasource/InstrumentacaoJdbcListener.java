@@ -0,0 +1,227 @@
+package com.atendimento.app.datasource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Mede cada comando SQL executado pelo DataSource da aplicação.
+ *
+ * <p>
+ * A duração é registrada no timer {@code atendimento.jdbc.consultas}, com histograma e
+ * etiquetas de tipo de comando, método de repositório de origem ({@link OrigemConsulta}) e
+ * sucesso. Comandos que excedem o limiar são registrados em log (WARN) e mantidos em memória
+ * ({@link #getConsultasLentas()}) com o SQL, o formato dos parâmetros e o endpoint que os
+ * originou. Apenas os tipos dos parâmetros são registrados, nunca os valores, que podem
+ * conter CPFs e nomes de clientes.
+ * </p>
+ *
+ * <p>
+ * Substitui o {@code spring.jpa.show-sql}: com o nível DEBUG para esta classe, todos os
+ * comandos são registrados em uma linha, no mesmo formato das consultas lentas.
+ * </p>
+ */
+public class InstrumentacaoJdbcListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentacaoJdbcListener.class);
+
+    private static final int TAMANHO_MAXIMO_SQL = 2000;
+    private static final String SEM_ORIGEM = "-";
+
+    private final MeterRegistry registro;
+    private final long limiarMillis;
+    private final int maxConsultasLentas;
+    private final Counter contadorLentas;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Deque<ConsultaLenta> consultasLentas = new ArrayDeque<>();
+
+    /**
+     * Construtor para InstrumentacaoJdbcListener.
+     *
+     * @param registro Registro de métricas.
+     * @param limiar Duração a partir da qual um comando é considerado lento.
+     * @param maxConsultasLentas Quantidade de consultas lentas mantidas em memória.
+     */
+    public InstrumentacaoJdbcListener(MeterRegistry registro, Duration limiar, int maxConsultasLentas) {
+        this.registro = registro;
+        this.limiarMillis = limiar.toMillis();
+        this.maxConsultasLentas = maxConsultasLentas;
+        this.contadorLentas = Counter.builder("atendimento.jdbc.consultas.lentas")
+                .description("Comandos SQL acima do limiar de consulta lenta")
+                .register(registro);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execucao, List<QueryInfo> consultas) {
+        // Nada a fazer: a duração é medida pelo próprio proxy
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execucao, List<QueryInfo> consultas) {
+        String sql = sql(consultas);
+        String tipo = QueryUtils.getQueryType(sql).name().toLowerCase();
+        String origem = OrigemConsulta.atual();
+        long duracao = execucao.getElapsedTime();
+
+        Timer.builder("atendimento.jdbc.consultas")
+                .description("Duração dos comandos SQL")
+                .tag("tipo", tipo)
+                .tag("origem", origem != null ? origem : SEM_ORIGEM)
+                .tag("sucesso", String.valueOf(execucao.isSuccess()))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registro)
+                .record(duracao, TimeUnit.MILLISECONDS);
+
+        boolean lenta = duracao >= limiarMillis;
+        if (!lenta && !logger.isDebugEnabled()) {
+            return;
+        }
+
+        ConsultaLenta consulta = new ConsultaLenta(LocalDateTime.now(), duracao, tipo,
+                origem != null ? origem : SEM_ORIGEM, endpoint(), parametros(consultas),
+                execucao.isBatch() ? execucao.getBatchSize() : 1, execucao.isSuccess(), sql);
+        if (lenta) {
+            contadorLentas.increment();
+            registrar(consulta);
+            logger.warn("Consulta lenta: duracaoMs={} tipo={} origem={} endpoint={} lote={} sucesso={} parametros={} sql={}",
+                    consulta.duracaoMs(), consulta.tipo(), consulta.origem(), consulta.endpoint(),
+                    consulta.lote(), consulta.sucesso(), consulta.parametros(), consulta.sql());
+        } else {
+            logger.debug("Consulta: duracaoMs={} tipo={} origem={} endpoint={} lote={} sucesso={} parametros={} sql={}",
+                    consulta.duracaoMs(), consulta.tipo(), consulta.origem(), consulta.endpoint(),
+                    consulta.lote(), consulta.sucesso(), consulta.parametros(), consulta.sql());
+        }
+    }
+
+    /**
+     * Retorna as consultas lentas mais recentes.
+     *
+     * @return Consultas lentas, da mais recente à mais antiga.
+     */
+    public List<ConsultaLenta> getConsultasLentas() {
+        trava.lock();
+        try {
+            return new ArrayList<>(consultasLentas);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Retorna o limiar de consulta lenta.
+     *
+     * @return Limiar em milissegundos.
+     */
+    public long getLimiarMillis() {
+        return limiarMillis;
+    }
+
+    private void registrar(ConsultaLenta consulta) {
+        trava.lock();
+        try {
+            consultasLentas.addFirst(consulta);
+            if (consultasLentas.size() > maxConsultasLentas) {
+                consultasLentas.removeLast();
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private static String sql(List<QueryInfo> consultas) {
+        String sql = consultas.size() == 1
+                ? consultas.get(0).getQuery()
+                : String.join("; ", consultas.stream().map(QueryInfo::getQuery).toList());
+        return sql.length() > TAMANHO_MAXIMO_SQL ? sql.substring(0, TAMANHO_MAXIMO_SQL) + "..." : sql;
+    }
+
+    /**
+     * Descreve os parâmetros do primeiro conjunto de cada comando pelos tipos, por exemplo
+     * {@code [String, Long, null]}; em lotes, acrescenta a quantidade de conjuntos.
+     */
+    static String parametros(List<QueryInfo> consultas) {
+        StringJoiner formatos = new StringJoiner("; ");
+        for (QueryInfo consulta : consultas) {
+            List<List<ParameterSetOperation>> conjuntos = consulta.getParametersList();
+            if (conjuntos.isEmpty()) {
+                formatos.add("[]");
+                continue;
+            }
+            StringJoiner tipos = new StringJoiner(", ", "[", "]");
+            for (ParameterSetOperation operacao : conjuntos.get(0)) {
+                tipos.add(tipoParametro(operacao));
+            }
+            formatos.add(conjuntos.size() > 1 ? tipos + " x" + conjuntos.size() : tipos.toString());
+        }
+        return formatos.toString();
+    }
+
+    private static String tipoParametro(ParameterSetOperation operacao) {
+        String metodo = operacao.getMethod().getName();
+        if ("setNull".equals(metodo)) {
+            return "null";
+        }
+        Object[] argumentos = operacao.getArgs();
+        if ("setObject".equals(metodo) && argumentos.length > 1) {
+            return argumentos[1] != null ? argumentos[1].getClass().getSimpleName() : "null";
+        }
+        return metodo.startsWith("set") ? metodo.substring(3) : metodo;
+    }
+
+    /**
+     * Endpoint da requisição em andamento na thread: o padrão mapeado pelo Spring MVC (por
+     * exemplo {@code GET /atendimentos/cpf/{cpf}}) ou, antes do mapeamento, o caminho.
+     */
+    private static String endpoint() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (!(atributos instanceof ServletRequestAttributes servlet)) {
+            return SEM_ORIGEM;
+        }
+        HttpServletRequest request = servlet.getRequest();
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (padrao != null ? padrao : request.getRequestURI());
+    }
+
+    /**
+     * Comando SQL acima do limiar (ou registrado em DEBUG).
+     *
+     * @param ocorridaEm Momento do término do comando.
+     * @param duracaoMs Duração em milissegundos.
+     * @param tipo Tipo do comando (select, insert, update, delete ou other).
+     * @param origem Método de repositório que originou o comando.
+     * @param endpoint Endpoint da requisição que originou o comando.
+     * @param parametros Tipos dos parâmetros.
+     * @param lote Quantidade de comandos no lote JDBC.
+     * @param sucesso Se o comando terminou sem erro.
+     * @param sql Texto do comando, com marcadores no lugar dos valores.
+     */
+    public record ConsultaLenta(LocalDateTime ocorridaEm, long duracaoMs, String tipo, String origem,
+                                String endpoint, String parametros, int lote, boolean sucesso, String sql) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.atendimento.app.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Garante que um usuário leia as próprias escritas recentes mesmo com atraso de replicação.
+ *
+ * <p>
+ * Cada escrita registra o instante por usuário; durante a janela configurada (maior que o
+ * atraso típico da réplica), as leituras desse usuário continuam no primário. Registros
+ * vencidos são descartados de forma preguiçosa quando o mapa cresce.
+ * </p>
+ */
+public class LeituraPropriaGuard {
+
+    private static final int LIMPEZA_A_CADA = 1024;
+
+    private final Map<String, Long> ultimasEscritas = new ConcurrentHashMap<>();
+    private final long janelaMillis;
+    private final Clock clock;
+
+    /**
+     * Construtor para LeituraPropriaGuard.
+     *
+     * @param janela Tempo durante o qual as leituras de quem escreveu ficam no primário.
+     * @param clock Relógio usado para medir a janela.
+     */
+    public LeituraPropriaGuard(Duration janela, Clock clock) {
+        this.janelaMillis = janela.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Registra uma escrita do usuário.
+     *
+     * @param usuario Nome do usuário; ignorado se nulo.
+     */
+    public void registrarEscrita(String usuario) {
+        if (usuario == null) {
+            return;
+        }
+        long agora = clock.millis();
+        ultimasEscritas.put(usuario, agora);
+        if (ultimasEscritas.size() % LIMPEZA_A_CADA == 0) {
+            ultimasEscritas.values().removeIf(instante -> agora - instante > janelaMillis);
+        }
+    }
+
+    /**
+     * Indica se as leituras do usuário devem ir ao primário.
+     *
+     * @param usuario Nome do usuário; usuários anônimos nunca são desviados.
+     * @return {@code true} se o usuário escreveu dentro da janela.
+     */
+    public boolean exigePrimario(String usuario) {
+        if (usuario == null) {
+            return false;
+        }
+        Long instante = ultimasEscritas.get(usuario);
+        return instante != null && clock.millis() - instante <= janelaMillis;
+    }
+}
@@ -0,0 +1,205 @@
+package com.atendimento.app.datasource;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Mapa de buckets virtuais para shards.
+ *
+ * <p>
+ * O CPF é distribuído por hash em {@value #NUM_BUCKETS} buckets virtuais, e cada bucket
+ * pertence a um shard. O protocolo carrega o bucket (ex.: {@code 1a3-<uuid>}), de modo que
+ * a consulta por protocolo vai direto ao shard certo mesmo depois de o bucket ter sido
+ * movido. O mapa fica na tabela {@code shard_buckets} do shard 0, com uma cópia imutável
+ * em memória.
+ * </p>
+ *
+ * <p>
+ * Cada bucket possui uma trava: escritas usam a trava compartilhada e a movimentação do
+ * bucket entre shards usa a exclusiva. As travas valem apenas para esta instância da
+ * aplicação.
+ * </p>
+ */
+public class MapaShards {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapaShards.class);
+
+    /**
+     * Quantidade de buckets virtuais.
+     */
+    public static final int NUM_BUCKETS = 1024;
+
+    private static final Pattern PROTOCOLO_COM_BUCKET = Pattern.compile("^([0-9a-f]{3})-");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int numShards;
+    private final ReentrantReadWriteLock[] travas = new ReentrantReadWriteLock[NUM_BUCKETS];
+    private volatile int[] shardPorBucket = new int[NUM_BUCKETS];
+
+    /**
+     * Construtor para MapaShards.
+     *
+     * @param shardPrincipal DataSource do shard 0, onde o mapa é persistido.
+     * @param numShards Quantidade de shards configurados.
+     */
+    public MapaShards(DataSource shardPrincipal, int numShards) {
+        this.jdbcTemplate = new JdbcTemplate(shardPrincipal);
+        this.numShards = numShards;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            travas[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Carrega o mapa persistido; na primeira execução, distribui os buckets em rodízio.
+     *
+     * @throws IllegalStateException Caso algum bucket aponte para um shard não configurado.
+     */
+    public void carregar() {
+        jdbcTemplate.execute("create table if not exists shard_buckets (bucket int primary key, shard int not null)");
+        List<int[]> linhas = jdbcTemplate.query("select bucket, shard from shard_buckets",
+                (rs, i) -> new int[] { rs.getInt(1), rs.getInt(2) });
+
+        int[] mapa = new int[NUM_BUCKETS];
+        if (linhas.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into shard_buckets (bucket, shard) values (?, ?)",
+                    IntStream.range(0, NUM_BUCKETS)
+                            .mapToObj(bucket -> new Object[] { bucket, bucket % numShards })
+                            .toList());
+            for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+                mapa[bucket] = bucket % numShards;
+            }
+            logger.info("Mapa de shards criado: {} buckets distribuídos em {} shards.", NUM_BUCKETS, numShards);
+        } else {
+            for (int[] linha : linhas) {
+                if (linha[1] >= numShards) {
+                    throw new IllegalStateException("O bucket " + linha[0] + " pertence ao shard " + linha[1]
+                            + ", mas apenas " + numShards + " shards estão configurados.");
+                }
+                mapa[linha[0]] = linha[1];
+            }
+        }
+        shardPorBucket = mapa;
+    }
+
+    /**
+     * Calcula o bucket de um CPF (apenas os dígitos são considerados).
+     *
+     * @param cpf CPF do cliente, com ou sem formatação.
+     * @return Bucket entre 0 e {@value #NUM_BUCKETS} - 1.
+     */
+    public static int bucketDe(String cpf) {
+        int hash = cpf.replaceAll("\\D", "").hashCode();
+        // Espalha os bits antes do módulo (finalização do MurmurHash3)
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, NUM_BUCKETS);
+    }
+
+    /**
+     * Gera um protocolo que carrega o bucket.
+     *
+     * @param bucket Bucket do CPF do atendimento.
+     * @return Protocolo no formato {@code bbb-<uuid>}, com o bucket em hexadecimal.
+     */
+    public static String gerarProtocolo(int bucket) {
+        return String.format("%03x-%s", bucket, UUID.randomUUID());
+    }
+
+    /**
+     * Extrai o bucket de um protocolo.
+     *
+     * @param protocolo Número de protocolo.
+     * @return O bucket, ou vazio para protocolos sem bucket (anteriores ao sharding) ou
+     *         com um bucket inexistente (ex.: {@code fff-x}), que não são de nenhum shard.
+     */
+    public static OptionalInt bucketDoProtocolo(String protocolo) {
+        // Protocolos antigos são UUIDs puros, cujo primeiro grupo tem 8 caracteres
+        Matcher matcher = PROTOCOLO_COM_BUCKET.matcher(protocolo);
+        if (!matcher.find()) {
+            return OptionalInt.empty();
+        }
+        int bucket = Integer.parseInt(matcher.group(1), 16);
+        return bucket < NUM_BUCKETS ? OptionalInt.of(bucket) : OptionalInt.empty();
+    }
+
+    /**
+     * Retorna o shard de um bucket.
+     *
+     * @param bucket Bucket.
+     * @return Índice do shard.
+     */
+    public int shardDoBucket(int bucket) {
+        return shardPorBucket[bucket];
+    }
+
+    /**
+     * Retorna a trava compartilhada do bucket, usada pelas escritas.
+     *
+     * @param bucket Bucket.
+     * @return Trava de escrita.
+     */
+    public Lock travaEscrita(int bucket) {
+        return travas[bucket].readLock();
+    }
+
+    /**
+     * Retorna a trava exclusiva do bucket, usada ao movê-lo entre shards.
+     *
+     * @param bucket Bucket.
+     * @return Trava de movimentação.
+     */
+    public Lock travaMovimentacao(int bucket) {
+        return travas[bucket].writeLock();
+    }
+
+    /**
+     * Atribui o bucket a outro shard, persistindo o mapa.
+     *
+     * @param bucket Bucket.
+     * @param shard Novo shard.
+     */
+    public void atribuir(int bucket, int shard) {
+        jdbcTemplate.update("update shard_buckets set shard = ? where bucket = ?", shard, bucket);
+        int[] mapa = shardPorBucket.clone();
+        mapa[bucket] = shard;
+        shardPorBucket = mapa;
+    }
+
+    /**
+     * Conta os buckets de cada shard.
+     *
+     * @return Quantidade de buckets por índice de shard.
+     */
+    public int[] distribuicao() {
+        int[] contagem = new int[numShards];
+        for (int shard : shardPorBucket) {
+            contagem[shard]++;
+        }
+        return contagem;
+    }
+
+    /**
+     * Retorna a quantidade de shards configurados.
+     *
+     * @return Quantidade de shards.
+     */
+    public int getNumShards() {
+        return numShards;
+    }
+}
@@ -0,0 +1,55 @@
+package com.atendimento.app.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.data.repository.core.RepositoryInformation;
+
+import com.atendimento.app.filters.FasesRequisicao;
+
+/**
+ * Método de repositório em execução na thread atual.
+ *
+ * <p>
+ * Definido pelo interceptador de {@link #interceptador(RepositoryInformation)}, adicionado a
+ * cada repositório do Spring Data, e lido por {@link InstrumentacaoJdbcListener} para
+ * identificar a origem de cada comando SQL. Em chamadas aninhadas (métodos {@code default}
+ * que chamam outros métodos do repositório), vale o método mais externo, cujo tempo também é
+ * somado à fase {@code banco} da requisição ({@link FasesRequisicao}).
+ * </p>
+ */
+public final class OrigemConsulta {
+
+    private static final ThreadLocal<String> ATUAL = new ThreadLocal<>();
+
+    private OrigemConsulta() {
+    }
+
+    /**
+     * Retorna o método de repositório em execução.
+     *
+     * @return Nome no formato {@code Repositorio.metodo}, ou {@code null} fora de um repositório.
+     */
+    public static String atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Cria o interceptador que registra o método em execução de um repositório.
+     *
+     * @param repositorio Informações do repositório.
+     * @return Interceptador a adicionar ao proxy do repositório.
+     */
+    public static MethodInterceptor interceptador(RepositoryInformation repositorio) {
+        String nome = repositorio.getRepositoryInterface().getSimpleName();
+        return invocacao -> {
+            if (ATUAL.get() != null) {
+                return invocacao.proceed();
+            }
+            ATUAL.set(nome + "." + invocacao.getMethod().getName());
+            try (FasesRequisicao.Medicao medicao = FasesRequisicao.medir(FasesRequisicao.Fase.BANCO)) {
+                return invocacao.proceed();
+            } finally {
+                ATUAL.remove();
+            }
+        };
+    }
+}
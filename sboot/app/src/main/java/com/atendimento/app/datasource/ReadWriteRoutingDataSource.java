@@ -0,0 +1,110 @@
+package com.atendimento.app.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envia transações somente leitura à réplica e o restante ao primário.
+ *
+ * <p>
+ * A rota é decidida no momento em que a conexão é obtida, por isso este DataSource deve
+ * ser envolvido por um {@code LazyConnectionDataSourceProxy}: assim a conexão física só é
+ * pedida depois que a transação já marcou se é somente leitura. Leituras vão ao primário
+ * quando não há transação, quando a réplica está indisponível ou quando o usuário atual
+ * escreveu recentemente (ver {@link LeituraPropriaGuard}).
+ * </p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource replica;
+    private final LeituraPropriaGuard leituraPropriaGuard;
+    private final Supplier<String> usuarioAtual;
+    private volatile boolean replicaDisponivel = true;
+
+    /**
+     * Construtor para ReadWriteRoutingDataSource.
+     *
+     * @param primario DataSource do primário (escritas).
+     * @param replica DataSource da réplica (leituras).
+     * @param leituraPropriaGuard Guarda de leitura das próprias escritas.
+     * @param usuarioAtual Fornece o nome do usuário da requisição atual, ou {@code null}.
+     */
+    public ReadWriteRoutingDataSource(DataSource primario, DataSource replica,
+                                      LeituraPropriaGuard leituraPropriaGuard, Supplier<String> usuarioAtual) {
+        this.replica = replica;
+        this.leituraPropriaGuard = leituraPropriaGuard;
+        this.usuarioAtual = usuarioAtual;
+        setTargetDataSources(Map.of(RotaDataSource.PRIMARIO, primario, RotaDataSource.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return rotaAtual();
+    }
+
+    /**
+     * Determina a rota da conexão pedida agora e registra as escritas do usuário.
+     *
+     * @return Rota escolhida.
+     */
+    public RotaDataSource rotaAtual() {
+        boolean transacao = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean somenteLeitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String usuario = usuarioAtual.get();
+
+        if (transacao && !somenteLeitura) {
+            leituraPropriaGuard.registrarEscrita(usuario);
+            return RotaDataSource.PRIMARIO;
+        }
+        if (transacao && replicaDisponivel && !leituraPropriaGuard.exigePrimario(usuario)) {
+            return RotaDataSource.REPLICA;
+        }
+        return RotaDataSource.PRIMARIO;
+    }
+
+    /**
+     * Verifica se a réplica responde; enquanto não responder, as leituras vão ao primário.
+     *
+     * @param timeoutSegundos Tempo máximo de espera pela validação da conexão.
+     * @return {@code true} se a réplica está disponível.
+     */
+    public boolean verificarReplica(int timeoutSegundos) {
+        boolean disponivel;
+        try (Connection conexao = replica.getConnection()) {
+            disponivel = conexao.isValid(timeoutSegundos);
+        } catch (SQLException e) {
+            disponivel = false;
+        }
+
+        if (disponivel != replicaDisponivel) {
+            if (disponivel) {
+                logger.info("Réplica de leitura disponível novamente; leituras voltam a ser enviadas à réplica.");
+            } else {
+                logger.warn("Réplica de leitura indisponível; leituras serão enviadas ao primário.");
+            }
+        }
+        replicaDisponivel = disponivel;
+        return disponivel;
+    }
+
+    /**
+     * Indica se a réplica estava disponível na última verificação.
+     *
+     * @return {@code true} se a réplica está recebendo leituras.
+     */
+    public boolean isReplicaDisponivel() {
+        return replicaDisponivel;
+    }
+}
@@ -0,0 +1,42 @@
+package com.atendimento.app.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.atendimento.app.entities.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Replica as inclusões e alterações de usuários nos demais shards.
+ *
+ * <p>
+ * O listener apenas publica um {@link ReplicadorUsuarios.UsuarioGravado}; a cópia é feita
+ * por {@link ReplicadorUsuarios} depois que a transação do shard 0 é confirmada, para que
+ * um usuário desfeito no shard 0 não permaneça nos demais. Sem sharding habilitado, não há
+ * {@link ReplicadorUsuarios} no contexto e o listener não faz nada.
+ * </p>
+ */
+public class ReplicacaoUsuarioListener {
+
+    @Autowired
+    private ObjectProvider<ReplicadorUsuarios> replicador;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Agenda a cópia do usuário gravado para os demais shards.
+     *
+     * @param user Usuário incluído ou alterado.
+     */
+    @PostPersist
+    @PostUpdate
+    public void replicar(User user) {
+        if (replicador.getIfAvailable() != null) {
+            eventPublisher.publishEvent(new ReplicadorUsuarios.UsuarioGravado(user));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.atendimento.app.datasource;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Copia os tipos de atendimento do shard 0 para os demais shards.
+ *
+ * <p>
+ * A coluna {@code tipo_id} dos atendimentos tem chave estrangeira para
+ * {@code tipos_atendimento}, por isso cada shard mantém uma cópia dessa tabela (poucas
+ * linhas, escrita apenas no cadastro de um tipo). A cópia é idempotente; se falhar, os
+ * shards são corrigidos na próxima inicialização.
+ * </p>
+ */
+public class ReplicadorTipos {
+
+    private static final String ATUALIZAR = "update tipos_atendimento set nome = ? where id = ?";
+    private static final String INSERIR = "insert into tipos_atendimento (nome, id) values (?, ?)";
+
+    private final ShardDataSources shards;
+
+    /**
+     * Construtor para ReplicadorTipos.
+     *
+     * @param shards Pools de cada shard.
+     */
+    public ReplicadorTipos(ShardDataSources shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Copia todos os tipos do shard 0 para os shards 1 em diante.
+     *
+     * @return Quantidade de tipos copiados.
+     */
+    public int sincronizar() {
+        List<Map<String, Object>> tipos = lerTipos();
+        for (int shard = 1; shard < shards.size(); shard++) {
+            gravar(shard, tipos);
+        }
+        return tipos.size();
+    }
+
+    /**
+     * Copia todos os tipos do shard 0 para um shard.
+     *
+     * @param shard Número do shard (1 em diante).
+     */
+    public void sincronizar(int shard) {
+        gravar(shard, lerTipos());
+    }
+
+    private List<Map<String, Object>> lerTipos() {
+        return new JdbcTemplate(shards.get(0)).queryForList("select nome, id from tipos_atendimento");
+    }
+
+    private void gravar(int shard, List<Map<String, Object>> tipos) {
+        JdbcTemplate destino = new JdbcTemplate(shards.get(shard));
+        for (Map<String, Object> tipo : tipos) {
+            Object[] valores = tipo.values().toArray();
+            if (destino.update(ATUALIZAR, valores) == 0) {
+                destino.update(INSERIR, valores);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.atendimento.app.datasource;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.atendimento.app.entities.User;
+
+/**
+ * Copia os usuários do shard 0 para os demais shards.
+ *
+ * <p>
+ * Os atendimentos referenciam o atendente por chave estrangeira e o carregam junto, por
+ * isso cada shard mantém uma cópia da tabela {@code users} (tabela pequena, escrita
+ * raramente). A cópia é feita após a confirmação da transação do shard 0 e é idempotente;
+ * se falhar, os shards são corrigidos por {@link #sincronizar()} na próxima inicialização.
+ * </p>
+ */
+public class ReplicadorUsuarios {
+
+    private static final String ATUALIZAR = "update users set username = ?, password = ?, is_locked = ?, role = ?, "
+            + "created_at = ?, updated_at = ? where id = ?";
+    private static final String INSERIR = "insert into users (username, password, is_locked, role, created_at, "
+            + "updated_at, id) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ShardDataSources shards;
+
+    /**
+     * Construtor para ReplicadorUsuarios.
+     *
+     * @param shards Pools de cada shard.
+     */
+    public ReplicadorUsuarios(ShardDataSources shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Usuário incluído ou alterado no shard 0.
+     *
+     * @param user Usuário gravado.
+     */
+    public record UsuarioGravado(User user) {
+    }
+
+    /**
+     * Copia o usuário gravado depois que a transação do shard 0 é confirmada.
+     *
+     * @param evento Usuário gravado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoGravar(UsuarioGravado evento) {
+        replicar(evento.user());
+    }
+
+    /**
+     * Copia um usuário para os shards 1 em diante.
+     *
+     * @param user Usuário gravado no shard 0.
+     */
+    public void replicar(User user) {
+        Object[] valores = {
+                user.getUsername(), user.getPassword(), user.isLocked(),
+                user.getRole() == null ? null : user.getRole().name(),
+                user.getCreatedAt(), user.getUpdatedAt(), user.getId()
+        };
+        for (int shard = 1; shard < shards.size(); shard++) {
+            gravar(new JdbcTemplate(shards.get(shard)), valores);
+        }
+    }
+
+    /**
+     * Copia todos os usuários do shard 0 para os demais shards.
+     *
+     * @return Quantidade de usuários copiados.
+     */
+    public int sincronizar() {
+        List<Map<String, Object>> usuarios = new JdbcTemplate(shards.get(0)).queryForList(
+                "select username, password, is_locked, role, created_at, updated_at, id from users");
+        for (int shard = 1; shard < shards.size(); shard++) {
+            JdbcTemplate destino = new JdbcTemplate(shards.get(shard));
+            usuarios.forEach(usuario -> gravar(destino, usuario.values().toArray()));
+        }
+        return usuarios.size();
+    }
+
+    private static void gravar(JdbcTemplate destino, Object[] valores) {
+        if (destino.update(ATUALIZAR, valores) == 0) {
+            destino.update(INSERIR, valores);
+        }
+    }
+}
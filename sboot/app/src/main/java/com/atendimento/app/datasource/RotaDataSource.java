@@ -0,0 +1,9 @@
+package com.atendimento.app.datasource;
+
+/**
+ * Destinos possíveis de uma conexão quando a réplica de leitura está habilitada.
+ */
+public enum RotaDataSource {
+    PRIMARIO,
+    REPLICA
+}
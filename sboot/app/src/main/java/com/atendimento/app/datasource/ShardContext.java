@@ -0,0 +1,51 @@
+package com.atendimento.app.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard em uso pela thread atual.
+ *
+ * <p>
+ * Lido por {@link ShardRoutingDataSource} no momento em que a conexão física é obtida.
+ * Sem shard definido, as conexões vão ao shard 0, que também guarda as tabelas não
+ * particionadas por CPF (usuários, tipos e o mapa de buckets).
+ * </p>
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> ATUAL = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Retorna o shard da thread atual.
+     *
+     * @return Índice do shard, ou {@code null} se nenhum foi definido.
+     */
+    public static Integer atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Executa a ação com o shard informado, restaurando o anterior ao final.
+     *
+     * @param shard Índice do shard.
+     * @param acao Ação a executar.
+     * @param <T> Tipo do resultado.
+     * @return Resultado da ação.
+     */
+    public static <T> T executar(int shard, Supplier<T> acao) {
+        Integer anterior = ATUAL.get();
+        ATUAL.set(shard);
+        try {
+            return acao.get();
+        } finally {
+            if (anterior == null) {
+                ATUAL.remove();
+            } else {
+                ATUAL.set(anterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.atendimento.app.datasource;
+
+import java.util.List;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Pools de conexões de cada shard, na ordem dos índices.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+
+    /**
+     * Construtor para ShardDataSources.
+     *
+     * @param shards Pools de cada shard; o primeiro é o shard 0.
+     */
+    public ShardDataSources(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * Retorna o pool de um shard.
+     *
+     * @param shard Índice do shard.
+     * @return Pool de conexões do shard.
+     */
+    public HikariDataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    /**
+     * Retorna os pools de todos os shards.
+     *
+     * @return Lista imutável de pools.
+     */
+    public List<HikariDataSource> getTodos() {
+        return shards;
+    }
+
+    /**
+     * Retorna a quantidade de shards.
+     *
+     * @return Quantidade de shards.
+     */
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
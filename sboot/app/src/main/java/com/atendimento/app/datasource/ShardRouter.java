@@ -0,0 +1,304 @@
+package com.atendimento.app.datasource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Encaminha o acesso a atendimentos para o shard do CPF, ou para todos os shards.
+ *
+ * <p>
+ * Com o sharding desabilitado ({@code atendimento.shards.enabled=false}), todas as ações
+ * são executadas diretamente, na transação corrente. Com o sharding habilitado, cada ação
+ * é executada em uma transação própria ({@code REQUIRES_NEW}) no shard escolhido, pois uma
+ * transação fica presa à conexão do primeiro shard que acessa.
+ * </p>
+ */
+@Component
+public class ShardRouter {
+
+    @Autowired
+    private ObjectProvider<MapaShards> mapaShards;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Indica se o sharding está habilitado.
+     *
+     * @return {@code true} se há mais de um banco de atendimentos.
+     */
+    public boolean isHabilitado() {
+        return mapaShards.getIfAvailable() != null;
+    }
+
+    /**
+     * Executa a ação no shard do CPF.
+     *
+     * @param cpf CPF do cliente.
+     * @param somenteLeitura Se a ação apenas lê dados; escritas respeitam a trava do bucket.
+     * @param acao Ação a executar.
+     * @param <T> Tipo do resultado.
+     * @return Resultado da ação.
+     */
+    public <T> T paraCpf(String cpf, boolean somenteLeitura, Supplier<T> acao) {
+        MapaShards mapa = mapaShards.getIfAvailable();
+        if (mapa == null) {
+            return acao.get();
+        }
+
+        int bucket = MapaShards.bucketDe(cpf);
+        if (somenteLeitura) {
+            return noShard(mapa.shardDoBucket(bucket), true, acao);
+        }
+        Lock trava = mapa.travaEscrita(bucket);
+        trava.lock();
+        try {
+            return noShard(mapa.shardDoBucket(bucket), false, acao);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Executa uma consulta no shard indicado pelo protocolo; protocolos sem bucket são
+     * procurados em todos os shards.
+     *
+     * @param protocolo Número de protocolo.
+     * @param acao Consulta a executar.
+     * @param <T> Tipo do resultado.
+     * @return Resultado da consulta.
+     */
+    public <T> Optional<T> paraProtocolo(String protocolo, Supplier<Optional<T>> acao) {
+        MapaShards mapa = mapaShards.getIfAvailable();
+        if (mapa == null) {
+            return acao.get();
+        }
+
+        OptionalInt bucket = MapaShards.bucketDoProtocolo(protocolo);
+        if (bucket.isPresent()) {
+            return noShard(mapa.shardDoBucket(bucket.getAsInt()), true, acao);
+        }
+        return primeiroEncontrado(true, acao);
+    }
+
+    /**
+     * Executa a ação shard a shard até que algum retorne resultado.
+     *
+     * @param somenteLeitura Se a ação apenas lê dados.
+     * @param acao Ação a executar.
+     * @param <T> Tipo do resultado.
+     * @return O primeiro resultado encontrado.
+     */
+    public <T> Optional<T> primeiroEncontrado(boolean somenteLeitura, Supplier<Optional<T>> acao) {
+        MapaShards mapa = mapaShards.getIfAvailable();
+        if (mapa == null) {
+            return acao.get();
+        }
+
+        for (int shard = 0; shard < mapa.getNumShards(); shard++) {
+            Optional<T> resultado = noShard(shard, somenteLeitura, acao);
+            if (resultado.isPresent()) {
+                return resultado;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retorna a quantidade de shards.
+     *
+     * @return Quantidade de shards (1 com o sharding desabilitado).
+     */
+    public int getQuantidadeShards() {
+        MapaShards mapa = mapaShards.getIfAvailable();
+        return mapa == null ? 1 : mapa.getNumShards();
+    }
+
+    /**
+     * Executa a ação em um shard específico (usado por tarefas que percorrem os shards
+     * um a um, como o despacho do outbox).
+     *
+     * @param shard Índice do shard, entre 0 e {@link #getQuantidadeShards()} - 1.
+     * @param somenteLeitura Se a ação apenas lê dados.
+     * @param acao Ação a executar.
+     * @param <T> Tipo do resultado.
+     * @return Resultado da ação.
+     */
+    public <T> T emShard(int shard, boolean somenteLeitura, Supplier<T> acao) {
+        return isHabilitado() ? noShard(shard, somenteLeitura, acao) : acao.get();
+    }
+
+    /**
+     * Executa a ação em todos os shards.
+     *
+     * @param somenteLeitura Se a ação apenas lê dados.
+     * @param acao Ação a executar.
+     * @param <T> Tipo do resultado.
+     * @return Resultados de cada shard, na ordem dos shards.
+     */
+    public <T> List<T> emTodos(boolean somenteLeitura, Supplier<T> acao) {
+        MapaShards mapa = mapaShards.getIfAvailable();
+        if (mapa == null) {
+            return List.of(acao.get());
+        }
+
+        List<T> resultados = new ArrayList<>(mapa.getNumShards());
+        for (int shard = 0; shard < mapa.getNumShards(); shard++) {
+            resultados.add(noShard(shard, somenteLeitura, acao));
+        }
+        return resultados;
+    }
+
+    /**
+     * Executa a ação em todos os shards e concatena as listas retornadas, na ordem informada.
+     *
+     * @param acao Consulta a executar.
+     * @param ordem Ordem do resultado combinado.
+     * @param <T> Tipo dos elementos.
+     * @return Lista combinada.
+     */
+    public <T> List<T> listarEmTodos(Supplier<List<T>> acao, Comparator<T> ordem) {
+        if (!isHabilitado()) {
+            return acao.get();
+        }
+        List<T> combinados = new ArrayList<>();
+        emTodos(true, acao).forEach(combinados::addAll);
+        combinados.sort(ordem);
+        return combinados;
+    }
+
+    /**
+     * Executa uma ação para cada shard com as chaves que lhe pertencem.
+     *
+     * @param chaves Chaves (CPFs ou protocolos).
+     * @param bucketDe Bucket de cada chave; chaves sem bucket são enviadas a todos os shards.
+     * @param acao Ação a executar com as chaves do shard.
+     * @param <K> Tipo das chaves.
+     * @param <V> Tipo dos valores do resultado.
+     * @return Resultados combinados de todos os shards.
+     */
+    public <K, V> Map<K, V> porShard(Collection<K> chaves, Function<K, OptionalInt> bucketDe,
+                                     Function<Collection<K>, Map<K, V>> acao) {
+        MapaShards mapa = mapaShards.getIfAvailable();
+        if (mapa == null) {
+            return acao.apply(chaves);
+        }
+
+        Map<Integer, List<K>> chavesPorShard = new LinkedHashMap<>();
+        for (K chave : chaves) {
+            OptionalInt bucket = bucketDe.apply(chave);
+            if (bucket.isPresent()) {
+                chavesPorShard.computeIfAbsent(mapa.shardDoBucket(bucket.getAsInt()), s -> new ArrayList<>()).add(chave);
+            } else {
+                for (int shard = 0; shard < mapa.getNumShards(); shard++) {
+                    chavesPorShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(chave);
+                }
+            }
+        }
+
+        Map<K, V> combinados = new LinkedHashMap<>();
+        chavesPorShard.forEach((shard, chavesDoShard) ->
+                combinados.putAll(noShard(shard, true, () -> acao.apply(chavesDoShard))));
+        return combinados;
+    }
+
+    /**
+     * Executa uma consulta paginada em todos os shards, combinando ordem e paginação.
+     *
+     * <p>
+     * Cada shard devolve os primeiros {@code (página + 1) × tamanho} elementos na mesma
+     * ordenação; o resultado combinado é reordenado e recortado na página pedida. O custo
+     * cresce com o número da página, por isso as consultas paginadas limitam o tamanho.
+     * </p>
+     *
+     * @param pageable Página pedida.
+     * @param consulta Consulta paginada executada em cada shard.
+     * @param <T> Tipo dos elementos.
+     * @return Página combinada.
+     */
+    public <T> Page<T> paginarEmTodos(Pageable pageable, Function<Pageable, Page<T>> consulta) {
+        if (!isHabilitado()) {
+            return consulta.apply(pageable);
+        }
+
+        int ate = (pageable.getPageNumber() + 1) * pageable.getPageSize();
+        Pageable topo = PageRequest.of(0, ate, pageable.getSort());
+        List<Page<T>> paginas = emTodos(true, () -> consulta.apply(topo));
+
+        long total = paginas.stream().mapToLong(Page::getTotalElements).sum();
+        List<T> combinados = new ArrayList<>();
+        paginas.forEach(pagina -> combinados.addAll(pagina.getContent()));
+        combinados.sort(comparador(pageable.getSort()));
+
+        int inicio = (int) Math.min(pageable.getOffset(), combinados.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), combinados.size());
+        return new PageImpl<>(new ArrayList<>(combinados.subList(inicio, fim)), pageable, total);
+    }
+
+    /**
+     * Cria um comparador equivalente à ordenação informada (valores nulos por último).
+     *
+     * <p>
+     * Empates (inclusive sem ordenação) são desfeitos pelo ID crescente, quando os elementos o
+     * possuem: a combinação dos shards não depende da ordem em que cada um respondeu.
+     * </p>
+     *
+     * @param sort Ordenação.
+     * @param <T> Tipo dos elementos.
+     * @return Comparador das propriedades da ordenação.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <T> Comparator<T> comparador(Sort sort) {
+        Comparator<Comparable> natural = Comparator.naturalOrder();
+        Comparator<T> comparador = (a, b) -> 0;
+        for (Sort.Order ordem : sort) {
+            Comparator<Comparable> valores = Comparator.nullsLast(ordem.isAscending() ? natural : natural.reversed());
+            Comparator<T> propriedade = Comparator.comparing(
+                    elemento -> (Comparable) new BeanWrapperImpl(elemento).getPropertyValue(ordem.getProperty()),
+                    valores);
+            comparador = comparador.thenComparing(propriedade);
+        }
+        return comparador.thenComparing(ShardRouter::idDe, Comparator.nullsLast(natural));
+    }
+
+    /**
+     * Retorna o ID do elemento, ou {@code null} se ele não tiver essa propriedade.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Comparable idDe(Object elemento) {
+        BeanWrapperImpl propriedades = new BeanWrapperImpl(elemento);
+        return propriedades.isReadableProperty("id") ? (Comparable) propriedades.getPropertyValue("id") : null;
+    }
+
+    /**
+     * Executa a ação em uma transação própria no shard informado.
+     */
+    private <T> T noShard(int shard, boolean somenteLeitura, Supplier<T> acao) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transacao.setReadOnly(somenteLeitura);
+        return ShardContext.executar(shard, () -> transacao.execute(status -> acao.get()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.atendimento.app.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource que envia cada conexão ao shard definido em {@link ShardContext}.
+ *
+ * <p>
+ * Assim como o roteamento para a réplica, deve ser envolvido por um
+ * {@code LazyConnectionDataSourceProxy}, para que o shard seja lido apenas quando o
+ * primeiro comando SQL da transação for executado.
+ * </p>
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Construtor para ShardRoutingDataSource.
+     *
+     * @param shards DataSources de cada shard, na ordem dos índices.
+     */
+    public ShardRoutingDataSource(List<? extends DataSource> shards) {
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            destinos.put(i, shards.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.atual();
+        return shard == null ? 0 : shard;
+    }
+}
@@ -1,5 +1,6 @@
 package com.atendimento.app.dto;
 
+import com.atendimento.app.utils.TipoAtendimentoValido;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -20,5 +21,6 @@ public class AtendimentoRequest {
 
     @NotBlank(message = "O tipo do atendimento é obrigatório")
     @Size(max = 50, message = "O tipo deve ter no máximo 50 caracteres")
+    @TipoAtendimentoValido
     private String tipo;
 }
\ No newline at end of file
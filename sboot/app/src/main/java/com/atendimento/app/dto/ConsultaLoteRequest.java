@@ -0,0 +1,21 @@
+package com.atendimento.app.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ConsultaLoteRequest {
+
+    /**
+     * Quantidade máxima de chaves (CPFs ou protocolos) aceitas em uma única consulta.
+     */
+    public static final int MAX_CHAVES = 1000;
+
+    @NotEmpty(message = "Informe ao menos uma chave para consulta")
+    @Size(max = MAX_CHAVES, message = "A consulta em lote aceita no máximo " + MAX_CHAVES + " chaves")
+    private List<@NotBlank(message = "As chaves não podem ser vazias") String> chaves;
+}
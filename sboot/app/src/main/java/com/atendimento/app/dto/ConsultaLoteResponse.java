@@ -0,0 +1,17 @@
+package com.atendimento.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultaLoteResponse<T> {
+
+    private Map<String, T> resultados;
+    private List<String> naoEncontrados;
+}
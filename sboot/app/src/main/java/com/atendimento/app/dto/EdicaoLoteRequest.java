@@ -0,0 +1,62 @@
+package com.atendimento.app.dto;
+
+import com.atendimento.app.utils.TipoAtendimentoValido;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class EdicaoLoteRequest {
+
+    /**
+     * Quantidade máxima de atendimentos alterados em uma única edição em lote.
+     */
+    public static final int MAX_ITENS = 1000;
+
+    @Size(max = MAX_ITENS, message = "A edição em lote aceita no máximo " + MAX_ITENS + " atendimentos")
+    private List<@NotNull(message = "Os IDs não podem ser nulos") Long> ids;
+
+    @Valid
+    private Filtro filtro;
+
+    @Size(max = 500, message = "A descrição deve ter no máximo 500 caracteres")
+    private String descricao;
+
+    @TipoAtendimentoValido
+    private String tipo;
+
+    @JsonIgnore
+    @AssertTrue(message = "Informe os IDs ou o filtro, mas não ambos")
+    public boolean isSelecaoValida() {
+        return (ids != null && !ids.isEmpty()) != (filtro != null);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Informe a nova descrição e/ou o novo tipo")
+    public boolean isAlteracaoInformada() {
+        return (descricao != null && !descricao.isBlank()) || (tipo != null && !tipo.isBlank());
+    }
+
+    /**
+     * Seleção dos atendimentos por período, tipo atual e atendente.
+     */
+    @Data
+    public static class Filtro {
+
+        @NotNull(message = "O início do período é obrigatório")
+        private LocalDateTime inicio;
+
+        @NotNull(message = "O fim do período é obrigatório")
+        private LocalDateTime fim;
+
+        private String tipo;
+
+        private Long atendenteId;
+    }
+}
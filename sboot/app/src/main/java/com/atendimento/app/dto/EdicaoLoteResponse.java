@@ -0,0 +1,25 @@
+package com.atendimento.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EdicaoLoteResponse {
+
+    private Map<Long, Resultado> resultados;
+    private int atualizados;
+
+    /**
+     * Resultado da edição de cada atendimento.
+     */
+    public enum Resultado {
+        ATUALIZADO,
+        SEM_ALTERACAO,
+        NAO_ENCONTRADO
+    }
+}
@@ -0,0 +1,40 @@
+package com.atendimento.app.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Períodos pré-definidos para as consultas de atendimentos por data.
+ */
+public enum PeriodoConsulta {
+    HOJE,
+    SEMANA;
+
+    /**
+     * Retorna o início (inclusivo) do período.
+     *
+     * @param hoje Data atual.
+     * @return Início do período.
+     */
+    public LocalDateTime inicio(LocalDate hoje) {
+        return switch (this) {
+            case HOJE -> hoje.atStartOfDay();
+            case SEMANA -> hoje.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        };
+    }
+
+    /**
+     * Retorna o fim (exclusivo) do período.
+     *
+     * @param hoje Data atual.
+     * @return Fim do período.
+     */
+    public LocalDateTime fim(LocalDate hoje) {
+        return switch (this) {
+            case HOJE -> hoje.plusDays(1).atStartOfDay();
+            case SEMANA -> hoje.with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.atendimento.app.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ResumoClienteResponse {
+
+    private String cpf;
+    private String nomeCliente;
+    private long totalAtendimentos;
+    private LocalDateTime ultimoContato;
+    private String ultimoTipo;
+    private List<String> ultimosProtocolos;
+}
@@ -0,0 +1,14 @@
+package com.atendimento.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugestaoResponse {
+
+    private String nomeCliente;
+    private String cpf;
+}
@@ -4,13 +4,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.atendimento.app.datasource.MapaShards;
+import com.atendimento.app.utils.TipoAtendimentoConverter;
 import com.atendimento.app.utils.ValidCPF;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -21,9 +26,31 @@ import java.time.LocalDateTime;
  * CPF, descrição, tipo, protocolo e datas de auditoria. As datas de criação
  * e atualização são gerenciadas automaticamente pelo Spring Data JPA.
  * </p>
+ *
+ * <p>
+ * O dia de {@code dataHora} é gravado em {@code dataReferencia}, que encabeça o índice
+ * composto (dia, tipo, atendente). Consultas por período filtram primeiro pelo dia, de
+ * modo que apenas a fatia correspondente da tabela é percorrida. No PostgreSQL,
+ * {@code dataReferencia} também é a chave de partição mensal da tabela (ver
+ * {@code db/postgresql/V1__particionar_atendimentos.sql}).
+ * </p>
+ *
+ * <p>
+ * O tipo é exposto como texto, mas gravado como a chave inteira da tabela
+ * {@code tipos_atendimento} (ver {@link TipoAtendimentoConverter}). A chave estrangeira
+ * {@code fk_atendimentos_tipo} garante que a chave exista nessa tabela.
+ * </p>
+ *
+ * <p>
+ * A coluna {@code versao} implementa o bloqueio otimista: edições concorrentes sobre a
+ * mesma versão não se sobrescrevem, e a segunda recebe um conflito.
+ * </p>
  */
 @Entity
-@Table(name = "atendimentos")
+@Table(name = "atendimentos", indexes = {
+        @Index(name = "idx_atendimentos_data_tipo_atendente", columnList = "data_referencia, tipo_id, atendente_id"),
+        @Index(name = "idx_atendimentos_cpf_data_hora", columnList = "cpf, data_hora")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data // Gera getters, setters, equals, hashCode e toString automaticamente
 @NoArgsConstructor // Gera um construtor vazio
@@ -49,11 +76,24 @@ public class Atendimento {
 
     @NotBlank(message = "O tipo do atendimento é obrigatório")
     @Size(max = 50, message = "O tipo deve ter no máximo 50 caracteres")
+    @Convert(converter = TipoAtendimentoConverter.class)
+    @Column(name = "tipo_id")
     private String tipo;
 
-    @CreationTimestamp
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY) // Somente leitura: existe para criar a FK de tipo_id; o valor vem de tipo
+    @JoinColumn(name = "tipo_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_atendimentos_tipo"))
+    private TipoAtendimento tipoCadastrado;
+
     private LocalDateTime dataHora;
 
+    @JsonIgnore
+    @Column(nullable = false)
+    private LocalDate dataReferencia; // Dia de dataHora, usado como bucket nas consultas por período
+
     @Column(nullable = false, unique = true)
     private String protocolo;
 
@@ -63,7 +103,27 @@ public class Atendimento {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Version // Incrementada a cada atualização, usada no bloqueio otimista
+    @Column(nullable = false)
+    private Long versao;
+
+    @JsonIgnore
+    private Integer bucket; // Bucket virtual do CPF, usado para mover atendimentos entre shards
+
     @ManyToOne // Relacionamento com o atendente (usuário responsável)
+    @Fetch(FetchMode.SELECT) // Pelo ID, a partir do cache de usuários; as listagens usam JOIN (ver AtendimentoRepository)
     @JoinColumn(name = "atendente_id", nullable = false) // Cria a FK no banco de dados
     private User atendente;
+
+    /**
+     * Define a data/hora do atendimento, o respectivo dia e o bucket do CPF antes da inserção.
+     */
+    @PrePersist
+    void definirDataHora() {
+        if (dataHora == null) {
+            dataHora = LocalDateTime.now();
+        }
+        dataReferencia = dataHora.toLocalDate();
+        bucket = MapaShards.bucketDe(cpf);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.atendimento.app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade com um atendimento antigo movido para o armazenamento frio.
+ *
+ * <p>
+ * Apenas as chaves de consulta (protocolo e CPF) e o dia do atendimento ficam em colunas;
+ * o atendimento completo é gravado como JSON comprimido com gzip em {@code conteudo}. A
+ * tabela quente {@code atendimentos} fica restrita ao período recente.
+ * </p>
+ */
+@Entity
+@Table(name = "atendimentos_arquivados", indexes = {
+        @Index(name = "idx_arquivados_cpf", columnList = "cpf")
+})
+@Data // Gera getters, setters, equals, hashCode e toString automaticamente
+@NoArgsConstructor // Gera um construtor vazio
+@AllArgsConstructor // Gera um construtor com todos os campos
+@Builder // Adiciona o padrão Builder para facilitar a criação de objetos
+public class AtendimentoArquivado {
+
+    @Id
+    private Long id; // Mesmo ID do atendimento original
+
+    @Column(nullable = false, unique = true)
+    private String protocolo;
+
+    @Column(nullable = false)
+    private String cpf;
+
+    @Column(nullable = false)
+    private LocalDate dataReferencia;
+
+    private Integer bucket; // Bucket virtual do CPF, usado para mover atendimentos entre shards
+
+    @Column(nullable = false)
+    private LocalDateTime arquivadoEm;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] conteudo; // Atendimento serializado em JSON e comprimido com gzip
+}
@@ -0,0 +1,71 @@
+package com.atendimento.app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento pendente de envio aos sistemas externos (outbox transacional).
+ *
+ * <p>
+ * Gravado na mesma transação que altera o atendimento, de modo que o evento existe se, e
+ * somente se, a alteração foi confirmada. O despacho é feito depois, por
+ * {@code OutboxRelay}; eventos entregues são removidos da tabela.
+ * </p>
+ */
+@Entity
+@Table(name = "outbox_eventos", indexes = {
+        @Index(name = "idx_outbox_disponivel", columnList = "status, disponivel_em"),
+        @Index(name = "idx_outbox_reivindicacao", columnList = "reivindicacao"),
+        @Index(name = "idx_outbox_atendimento", columnList = "atendimento_id, id")
+})
+@Data // Gera getters, setters, equals, hashCode e toString automaticamente
+@NoArgsConstructor // Gera um construtor vazio
+@AllArgsConstructor // Gera um construtor com todos os campos
+@Builder // Adiciona o padrão Builder para facilitar a criação de objetos
+public class OutboxEvento {
+
+    /**
+     * Situação de um evento no outbox.
+     */
+    public enum Status {
+        PENDENTE,
+        FALHOU
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String tipo;
+
+    private Long atendimentoId;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload; // Evento serializado em JSON
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDENTE;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(nullable = false)
+    private LocalDateTime disponivelEm; // Próxima tentativa de envio
+
+    @Builder.Default
+    private int tentativas = 0;
+
+    @Column(length = 36)
+    private String reivindicacao; // Lote do despacho que reservou o evento
+
+    private LocalDateTime reivindicadoAte; // Fim da reserva; depois disso outro despacho pode assumir o evento
+
+    @Column(length = 500)
+    private String ultimoErro;
+}
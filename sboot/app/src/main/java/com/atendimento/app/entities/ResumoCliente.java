@@ -0,0 +1,91 @@
+package com.atendimento.app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import com.atendimento.app.utils.TipoAtendimentoConverter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entidade com o resumo do histórico de atendimentos de um cliente.
+ *
+ * <p>
+ * Mantida na mesma transação em que os atendimentos são criados ou editados, permite
+ * abrir o histórico de um cliente com a leitura de uma única linha, indexada pelo CPF.
+ * </p>
+ */
+@Entity
+@Table(name = "resumos_clientes")
+@EntityListeners(AuditingEntityListener.class)
+@Data // Gera getters, setters, equals, hashCode e toString automaticamente
+@NoArgsConstructor // Gera um construtor vazio
+@AllArgsConstructor // Gera um construtor com todos os campos
+@Builder // Adiciona o padrão Builder para facilitar a criação de objetos
+public class ResumoCliente {
+
+    /**
+     * Quantidade de protocolos mantidos em {@code ultimosProtocolos}.
+     */
+    public static final int MAX_ULTIMOS_PROTOCOLOS = 5;
+
+    @Id
+    private String cpf;
+
+    private String nomeCliente;
+
+    private long totalAtendimentos;
+
+    private LocalDateTime ultimoContato;
+
+    @Convert(converter = TipoAtendimentoConverter.class)
+    @Column(name = "ultimo_tipo_id")
+    private String ultimoTipo;
+
+    private String ultimoProtocolo;
+
+    @Column(length = 512)
+    private String ultimosProtocolos; // Protocolos mais recentes, separados por vírgula (do mais novo ao mais antigo)
+
+    private Integer bucket; // Bucket virtual do CPF, usado para mover resumos entre shards
+
+    @Version
+    private Long versao;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    /**
+     * Registra um novo atendimento do cliente no resumo.
+     *
+     * @param atendimento Atendimento recém-criado.
+     */
+    public void registrar(Atendimento atendimento) {
+        totalAtendimentos++;
+        nomeCliente = atendimento.getNomeCliente();
+        ultimoContato = atendimento.getDataHora();
+        ultimoTipo = atendimento.getTipo();
+        ultimoProtocolo = atendimento.getProtocolo();
+
+        List<String> protocolos = new ArrayList<>(getListaUltimosProtocolos());
+        protocolos.add(0, atendimento.getProtocolo());
+        ultimosProtocolos = String.join(",", protocolos.subList(0, Math.min(protocolos.size(), MAX_ULTIMOS_PROTOCOLOS)));
+    }
+
+    /**
+     * Retorna os protocolos mais recentes do cliente.
+     *
+     * @return Protocolos, do mais novo ao mais antigo.
+     */
+    public List<String> getListaUltimosProtocolos() {
+        if (ultimosProtocolos == null || ultimosProtocolos.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(ultimosProtocolos.split(","));
+    }
+}
@@ -0,0 +1,32 @@
+package com.atendimento.app.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Entidade de referência para os tipos de atendimento.
+ *
+ * <p>
+ * Os atendimentos armazenam apenas a chave inteira do tipo; o nome é resolvido pelo
+ * dicionário em memória {@link com.atendimento.app.services.TipoAtendimentoService}.
+ * </p>
+ */
+@Entity
+@Table(name = "tipos_atendimento")
+@Data // Gera getters, setters, equals, hashCode e toString automaticamente
+@NoArgsConstructor // Gera um construtor vazio
+@AllArgsConstructor // Gera um construtor com todos os campos
+@Builder // Adiciona o padrão Builder para facilitar a criação de objetos
+public class TipoAtendimento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @NotBlank(message = "O nome do tipo é obrigatório")
+    @Size(max = 50, message = "O tipo deve ter no máximo 50 caracteres")
+    @Column(nullable = false, unique = true, length = 50)
+    private String nome;
+}
@@ -5,10 +5,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.atendimento.app.datasource.ReplicacaoUsuarioListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDateTime;
@@ -21,10 +24,18 @@ import java.time.LocalDateTime;
  * senha, papel e status de bloqueio. As datas de criação e atualização são gerenciadas
  * automaticamente pelo Spring Data JPA.
  * </p>
+ *
+ * <p>
+ * Os usuários são lidos a cada requisição autenticada e a cada atendimento carregado, e
+ * mudam raramente: ficam no cache de segundo nível (região {@code usuarios}), atualizado
+ * pelo próprio Hibernate a cada alteração.
+ * </p>
  */
 @Entity
 @Table(name = "users")
-@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios")
+@EntityListeners({ AuditingEntityListener.class, ReplicacaoUsuarioListener.class })
 @Data // Gera getters, setters, equals, hashCode e toString automaticamente
 @NoArgsConstructor // Gera um construtor vazio
 @AllArgsConstructor // Gera um construtor com todos os campos
@@ -0,0 +1,40 @@
+package com.atendimento.app.events;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Evento de alteração de um atendimento, publicado dentro da transação que o alterou.
+ *
+ * <p>
+ * Ouvintes que mantêm caches ou feeds de alterações devem usar
+ * {@code @TransactionalEventListener} para reagir apenas após o commit. Em edições
+ * atômicas (um único UPDATE, sem leitura prévia), protocolo e CPF não são conhecidos e
+ * chegam nulos.
+ * </p>
+ *
+ * @param tipo Tipo da alteração.
+ * @param atendimentoId ID do atendimento.
+ * @param protocolo Protocolo do atendimento (pode ser nulo em edições atômicas).
+ * @param cpf CPF do cliente (pode ser nulo em edições atômicas).
+ * @param alteracoes Campos alterados e seus novos valores.
+ * @param autor Usuário que realizou a alteração.
+ * @param ocorridoEm Data/hora da alteração.
+ */
+public record AtendimentoEvent(
+        Tipo tipo,
+        Long atendimentoId,
+        String protocolo,
+        String cpf,
+        Map<String, Object> alteracoes,
+        String autor,
+        LocalDateTime ocorridoEm) {
+
+    /**
+     * Tipos de alteração de um atendimento.
+     */
+    public enum Tipo {
+        CRIADO,
+        EDITADO
+    }
+}
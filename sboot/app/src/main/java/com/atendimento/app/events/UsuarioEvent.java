@@ -0,0 +1,27 @@
+package com.atendimento.app.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de alteração administrativa de um usuário.
+ *
+ * @param tipo Tipo da alteração.
+ * @param usuarioId ID do usuário alterado.
+ * @param username Nome do usuário alterado.
+ * @param autor Administrador que realizou a alteração.
+ * @param ocorridoEm Data/hora da alteração.
+ */
+public record UsuarioEvent(
+        Tipo tipo,
+        Long usuarioId,
+        String username,
+        String autor,
+        LocalDateTime ocorridoEm) {
+
+    /**
+     * Tipos de alteração de um usuário.
+     */
+    public enum Tipo {
+        BLOQUEADO
+    }
+}
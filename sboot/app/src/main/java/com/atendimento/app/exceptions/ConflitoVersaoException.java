@@ -0,0 +1,28 @@
+package com.atendimento.app.exceptions;
+
+/**
+ * Exceção lançada quando uma edição é feita sobre uma versão desatualizada do recurso.
+ */
+public class ConflitoVersaoException extends RuntimeException {
+
+    private final transient Object atual;
+
+    /**
+     * Construtor para ConflitoVersaoException.
+     *
+     * @param atual Estado atual do recurso, devolvido ao cliente para que ele reaplique a edição.
+     */
+    public ConflitoVersaoException(Object atual) {
+        super("O recurso foi alterado por outra requisição.");
+        this.atual = atual;
+    }
+
+    /**
+     * Retorna o estado atual do recurso.
+     *
+     * @return Estado atual.
+     */
+    public Object getAtual() {
+        return atual;
+    }
+}
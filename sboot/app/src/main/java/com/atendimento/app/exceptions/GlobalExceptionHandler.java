@@ -1,7 +1,10 @@
 package com.atendimento.app.exceptions;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,13 +13,28 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Manipulador global de exceções para toda a aplicação.
+ *
+ * <p>
+ * As falhas de validação são contadas em {@code atendimento.validacao.falhas}, por origem
+ * (corpo, parâmetro ou seleção de campos) e por campo. Os campos vêm das classes da
+ * aplicação, e não da requisição; por isso, o número de séries é limitado.
+ * </p>
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Índices de listas (ex.: {@code chaves[37]}), removidos do nome do campo nas métricas.
+     */
+    private static final Pattern INDICE = Pattern.compile("\\[[^\\]]*\\]");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Manipula exceções de validação de argumentos.
      *
@@ -26,9 +44,10 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
         Map<String, Object> errors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(error -> 
-            errors.put(error.getField(), error.getDefaultMessage())
-        );
+        ex.getBindingResult().getFieldErrors().forEach(error -> {
+            errors.put(error.getField(), error.getDefaultMessage());
+            registrarFalhaValidacao("corpo", error.getField());
+        });
         errors.put("error", "Erro de validação");
         errors.put("timestamp", LocalDateTime.now());
         return ResponseEntity.badRequest().body(errors);
@@ -43,14 +62,63 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Map<String, Object>> handleConstraintViolationException(ConstraintViolationException ex) {
         Map<String, Object> errors = new HashMap<>();
-        ex.getConstraintViolations().forEach(violation -> 
-            errors.put(violation.getPropertyPath().toString(), violation.getMessage())
-        );
+        ex.getConstraintViolations().forEach(violation -> {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+            registrarFalhaValidacao("parametro", violation.getPropertyPath().toString());
+        });
         errors.put("error", "Erro de validação");
         errors.put("timestamp", LocalDateTime.now());
         return ResponseEntity.badRequest().body(errors);
     }
 
+    /**
+     * Manipula solicitações de campos (parâmetro {@code fields}) fora da lista branca.
+     *
+     * @param ex Exceção com os campos inválidos.
+     * @return Detalhes dos campos inválidos e dos campos permitidos.
+     */
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidFields(InvalidFieldsException ex) {
+        registrarFalhaValidacao("campos", "fields");
+        Map<String, Object> errors = new HashMap<>();
+        errors.put("error", "Campos inválidos");
+        errors.put("campos", ex.getInvalidos());
+        errors.put("permitidos", ex.getPermitidos());
+        errors.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    /**
+     * Manipula edições feitas sobre uma versão desatualizada, devolvendo o estado atual.
+     *
+     * @param ex Exceção com o estado atual do recurso.
+     * @return Detalhes do conflito e o estado atual.
+     */
+    @ExceptionHandler(ConflitoVersaoException.class)
+    public ResponseEntity<Map<String, Object>> handleConflitoVersao(ConflitoVersaoException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Conflito de versão");
+        error.put("message", ex.getMessage());
+        error.put("atual", ex.getAtual());
+        error.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Manipula conflitos de bloqueio otimista detectados pelo JPA ao gravar uma entidade versionada.
+     *
+     * @param ex Exceção de bloqueio otimista.
+     * @return Detalhes do conflito.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLocking(ObjectOptimisticLockingFailureException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Conflito de versão");
+        error.put("message", "O recurso foi alterado por outra requisição.");
+        error.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     /**
      * Manipula exceções genéricas não tratadas.
      *
@@ -65,4 +133,15 @@ public class GlobalExceptionHandler {
         error.put("timestamp", LocalDateTime.now());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
-}
\ No newline at end of file
+
+    /**
+     * Conta uma falha de validação.
+     *
+     * @param origem Onde estava o valor inválido (corpo, parametro ou campos).
+     * @param campo Campo ou parâmetro inválido.
+     */
+    private void registrarFalhaValidacao(String origem, String campo) {
+        String semIndices = INDICE.matcher(campo).replaceAll("[]");
+        meterRegistry.counter("atendimento.validacao.falhas", "origem", origem, "campo", semIndices).increment();
+    }
+}
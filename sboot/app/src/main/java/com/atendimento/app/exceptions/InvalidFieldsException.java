@@ -0,0 +1,43 @@
+package com.atendimento.app.exceptions;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Exceção lançada quando o parâmetro {@code fields} contém campos fora da lista branca do recurso.
+ */
+public class InvalidFieldsException extends RuntimeException {
+
+    private final List<String> invalidos;
+    private final List<String> permitidos;
+
+    /**
+     * Construtor para InvalidFieldsException.
+     *
+     * @param invalidos Campos solicitados que não são permitidos.
+     * @param permitidos Campos aceitos pelo recurso.
+     */
+    public InvalidFieldsException(Collection<String> invalidos, Collection<String> permitidos) {
+        super("Campos inválidos: " + String.join(", ", invalidos));
+        this.invalidos = List.copyOf(invalidos);
+        this.permitidos = List.copyOf(permitidos);
+    }
+
+    /**
+     * Retorna os campos solicitados que não são permitidos.
+     *
+     * @return Campos inválidos.
+     */
+    public List<String> getInvalidos() {
+        return invalidos;
+    }
+
+    /**
+     * Retorna os campos aceitos pelo recurso.
+     *
+     * @return Campos permitidos.
+     */
+    public List<String> getPermitidos() {
+        return permitidos;
+    }
+}
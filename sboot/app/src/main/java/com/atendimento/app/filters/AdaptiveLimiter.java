@@ -0,0 +1,153 @@
+package com.atendimento.app.filters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limitador de concorrência adaptativo, baseado no gradiente de latência.
+ *
+ * <p>
+ * Compara a latência recente (média curta) com a latência de referência (média longa).
+ * Enquanto a latência recente se mantém dentro da tolerância, o limite cresce com uma
+ * folga de fila de √limite; quando a latência sobe, o limite é reduzido proporcionalmente
+ * (no máximo pela metade a cada amostra). O limite só cresce quando está de fato sendo
+ * usado, evitando que períodos ociosos o inflem.
+ * </p>
+ *
+ * <p>
+ * A aquisição é lock-free; a atualização do limite usa {@code tryLock} e simplesmente
+ * descarta a amostra se outra thread estiver atualizando.
+ * </p>
+ */
+public class AdaptiveLimiter {
+
+    private static final double SUAVIZACAO = 0.2;
+    private static final double PESO_CURTO = 0.1;
+    private static final double PESO_LONGO = 0.01;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double tolerancia;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final LongAdder rejeicoes = new LongAdder();
+    private final ReentrantLock atualizacao = new ReentrantLock();
+
+    private volatile double limite;
+    private double rttCurto;
+    private double rttLongo;
+
+    /**
+     * Construtor para AdaptiveLimiter.
+     *
+     * @param limiteInicial Limite inicial de requisições simultâneas.
+     * @param limiteMinimo Limite mínimo.
+     * @param limiteMaximo Limite máximo.
+     * @param tolerancia Aumento de latência tolerado em relação à referência (ex.: 1.5).
+     */
+    public AdaptiveLimiter(int limiteInicial, int limiteMinimo, int limiteMaximo, double tolerancia) {
+        this.limite = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.tolerancia = tolerancia;
+    }
+
+    /**
+     * Tenta reservar uma vaga.
+     *
+     * @param fracao Fração do limite disponível para a requisição (1.0 = limite inteiro).
+     * @return {@code true} se a vaga foi reservada; {@code false} se a requisição deve ser rejeitada.
+     */
+    public boolean tentarAdquirir(double fracao) {
+        int limiteEfetivo = Math.max(1, (int) (limite * fracao));
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= limiteEfetivo) {
+                rejeicoes.increment();
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga e registra a latência observada.
+     *
+     * @param rttNanos Duração da requisição, em nanossegundos.
+     * @param amostrar {@code false} para não usar a latência (ex.: requisição com erro).
+     */
+    public void liberar(long rttNanos, boolean amostrar) {
+        int emAndamentoNaAmostra = emAndamento.getAndDecrement();
+        if (amostrar && rttNanos > 0 && atualizacao.tryLock()) {
+            try {
+                atualizar(rttNanos, emAndamentoNaAmostra);
+            } finally {
+                atualizacao.unlock();
+            }
+        }
+    }
+
+    private void atualizar(long rtt, int emAndamentoNaAmostra) {
+        if (rttLongo == 0) {
+            rttCurto = rtt;
+            rttLongo = rtt;
+            return;
+        }
+        rttCurto += (rtt - rttCurto) * PESO_CURTO;
+        rttLongo += (rtt - rttLongo) * PESO_LONGO;
+
+        // Após uma degradação longa, a referência acompanha a latência atual para permitir a recuperação
+        if (rttLongo / rttCurto > 2) {
+            rttLongo *= 0.95;
+        }
+
+        // Sem uso de ao menos metade do limite, a latência não diz nada sobre a capacidade
+        if (emAndamentoNaAmostra < limite / 2) {
+            return;
+        }
+
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * rttLongo / rttCurto));
+        double novoLimite = limite * gradiente + Math.sqrt(limite);
+        novoLimite = limite * (1 - SUAVIZACAO) + novoLimite * SUAVIZACAO;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, novoLimite));
+    }
+
+    /**
+     * Retorna o limite atual.
+     *
+     * @return Limite de requisições simultâneas.
+     */
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    /**
+     * Retorna a quantidade de requisições em andamento.
+     *
+     * @return Requisições em andamento.
+     */
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+
+    /**
+     * Retorna a utilização do limite atual.
+     *
+     * @return Razão entre requisições em andamento e o limite.
+     */
+    public double getUtilizacao() {
+        return emAndamento.get() / limite;
+    }
+
+    /**
+     * Retorna o total de requisições rejeitadas.
+     *
+     * @return Total de rejeições.
+     */
+    public long getRejeicoes() {
+        return rejeicoes.sum();
+    }
+}
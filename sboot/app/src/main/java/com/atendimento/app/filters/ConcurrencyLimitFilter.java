@@ -0,0 +1,187 @@
+package com.atendimento.app.filters;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.atendimento.app.configurations.GrupoRota;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que limita a concorrência de cada grupo de rotas e descarta o excesso com 503.
+ *
+ * <p>
+ * Cada {@link GrupoRota} possui seu próprio {@link AdaptiveLimiter}. Quando um grupo de
+ * maior prioridade está próximo do seu limite, os grupos de menor prioridade passam a
+ * usar apenas uma fração do próprio limite, de modo que criações e consultas dos
+ * atendentes sejam preservadas em detrimento das listagens dos supervisores.
+ * </p>
+ *
+ * <p>
+ * A requisição rejeitada recebe 503 imediatamente, sem ocupar fila no Tomcat.
+ * </p>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Utilização a partir da qual um grupo é considerado sob pressão.
+     */
+    private static final double UTILIZACAO_PRESSAO = 0.9;
+
+    private final Map<GrupoRota, AdaptiveLimiter> limitadores = new EnumMap<>(GrupoRota.class);
+    private final double fracaoBaixaPrioridade;
+
+    /**
+     * Construtor para ConcurrencyLimitFilter.
+     *
+     * @param limiteInicial Limite inicial de cada grupo.
+     * @param limiteMinimo Limite mínimo de cada grupo.
+     * @param limiteMaximo Limite máximo de cada grupo.
+     * @param tolerancia Aumento de latência tolerado antes de reduzir o limite.
+     * @param fracaoBaixaPrioridade Fração do limite concedida aos grupos de menor prioridade sob pressão.
+     */
+    public ConcurrencyLimitFilter(int limiteInicial, int limiteMinimo, int limiteMaximo, double tolerancia,
+                                  double fracaoBaixaPrioridade) {
+        for (GrupoRota grupo : GrupoRota.values()) {
+            limitadores.put(grupo, new AdaptiveLimiter(limiteInicial, limiteMinimo, limiteMaximo, tolerancia));
+        }
+        this.fracaoBaixaPrioridade = fracaoBaixaPrioridade;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        GrupoRota grupo = GrupoRota.de(request.getRequestURI().substring(request.getContextPath().length()));
+        if (grupo == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveLimiter limitador = limitadores.get(grupo);
+        if (!limitador.tentarAdquirir(fracaoDisponivel(grupo))) {
+            rejeitar(request, response, grupo, limitador);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean sucesso = false;
+        try {
+            filterChain.doFilter(request, response);
+            sucesso = true;
+        } finally {
+            if (sucesso && request.isAsyncStarted()) {
+                // Respostas assíncronas liberam a vaga apenas quando concluídas
+                request.getAsyncContext().addListener(new LiberacaoAssincrona(limitador, inicio));
+            } else {
+                limitador.liberar(System.nanoTime() - inicio, sucesso && response.getStatus() < 500);
+            }
+        }
+    }
+
+    /**
+     * Calcula a fração do limite disponível para o grupo, considerando a pressão dos grupos prioritários.
+     */
+    private double fracaoDisponivel(GrupoRota grupo) {
+        for (Map.Entry<GrupoRota, AdaptiveLimiter> outro : limitadores.entrySet()) {
+            if (outro.getKey().getPrioridade() < grupo.getPrioridade()
+                    && outro.getValue().getUtilizacao() >= UTILIZACAO_PRESSAO) {
+                return fracaoBaixaPrioridade;
+            }
+        }
+        return 1.0;
+    }
+
+    private void rejeitar(HttpServletRequest request, HttpServletResponse response, GrupoRota grupo,
+                          AdaptiveLimiter limitador) throws IOException {
+        logger.warn("Requisição descartada por sobrecarga. Grupo: {}, Limite: {}, Em andamento: {}, Endpoint: {}",
+                grupo, limitador.getLimite(), limitador.getEmAndamento(), request.getRequestURI());
+
+        response.setContentType("application/json");
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        response.getWriter().write(String.format(
+                "{" +
+                        "\"error\": \"Servidor sobrecarregado\"," +
+                        "\"grupo\": \"%s\"," +
+                        "\"status\": %d," +
+                        "\"timestamp\": \"%s\"" +
+                        "}",
+                grupo,
+                HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                LocalDateTime.now().format(DATE_TIME_FORMATTER)
+        ));
+    }
+
+    /**
+     * Retorna a maior utilização entre os grupos de rotas, usada por tarefas em segundo plano
+     * para não competir com o tráfego.
+     *
+     * @return Utilização entre 0 e 1 (ou acima, momentaneamente, após redução do limite).
+     */
+    public double getUtilizacaoMaxima() {
+        return limitadores.values().stream()
+                .mapToDouble(AdaptiveLimiter::getUtilizacao)
+                .max()
+                .orElse(0.0);
+    }
+
+    /**
+     * Retorna os limitadores de cada grupo de rotas.
+     *
+     * @return Mapa imutável de grupo para limitador.
+     */
+    public Map<GrupoRota, AdaptiveLimiter> getLimitadores() {
+        return Collections.unmodifiableMap(limitadores);
+    }
+
+    /**
+     * Libera a vaga de uma requisição assíncrona ao término do processamento.
+     */
+    private static final class LiberacaoAssincrona implements AsyncListener {
+
+        private final AdaptiveLimiter limitador;
+        private final long inicio;
+
+        private LiberacaoAssincrona(AdaptiveLimiter limitador, long inicio) {
+            this.limitador = limitador;
+            this.inicio = inicio;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            limitador.liberar(System.nanoTime() - inicio, response.getStatus() < 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // A liberação ocorre em onComplete, chamado também após timeout ou erro
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // A liberação ocorre em onComplete, chamado também após timeout ou erro
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.atendimento.app.filters;
+
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tempo gasto em cada fase da requisição em andamento na thread atual.
+ *
+ * <p>
+ * Aberta e encerrada pelo {@link ServerTimingFilter}; alimentada pelo {@code JwtAuthFilter},
+ * pelos serviços, pelos repositórios e pelos mappers, com {@link #medir(Fase)}. Em uma
+ * mesma fase, só a medição mais externa conta (um serviço que chama outro serviço não soma
+ * o tempo duas vezes). Fora de uma requisição, {@link #medir(Fase)} não mede nada.
+ * </p>
+ *
+ * <p>
+ * O custo por medição é uma leitura de {@link ThreadLocal} e duas de {@link System#nanoTime()}.
+ * Respostas assíncronas (endpoints reativos) só têm medidas as fases do despacho inicial.
+ * </p>
+ */
+public final class FasesRequisicao {
+
+    /**
+     * Fases medidas. As fases podem se sobrepor: o tempo dos repositórios está contido no
+     * dos serviços.
+     */
+    public enum Fase {
+        JWT("jwt"),
+        USUARIO("usuario"),
+        SERVICO("servico"),
+        BANCO("banco"),
+        MAPEAMENTO("map"),
+        JSON("json");
+
+        private final String nome;
+
+        Fase(String nome) {
+            this.nome = nome;
+        }
+
+        /**
+         * Nome da fase no cabeçalho {@code Server-Timing} e nas métricas.
+         *
+         * @return Nome curto da fase.
+         */
+        public String getNome() {
+            return nome;
+        }
+    }
+
+    /**
+     * Medição em andamento, encerrada com {@link #close()} (try-with-resources).
+     */
+    public interface Medicao extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final ThreadLocal<FasesRequisicao> ATUAL = new ThreadLocal<>();
+    private static final Fase[] FASES = Fase.values();
+    private static final Medicao NADA = () -> { };
+
+    private final long inicio = System.nanoTime();
+    private final long[] duracoes = new long[FASES.length];
+    private final int[] abertas = new int[FASES.length];
+    private final BooleanSupplier cabecalhoPermitido;
+    private boolean cabecalhoEnviado;
+
+    private FasesRequisicao(BooleanSupplier cabecalhoPermitido) {
+        this.cabecalhoPermitido = cabecalhoPermitido;
+    }
+
+    /**
+     * Inicia a medição da requisição na thread atual.
+     *
+     * @param cabecalhoPermitido Indica se o usuário da requisição pode receber o cabeçalho;
+     *        avaliado só no envio, depois da autenticação.
+     * @return Fases da requisição.
+     */
+    static FasesRequisicao iniciar(BooleanSupplier cabecalhoPermitido) {
+        FasesRequisicao fases = new FasesRequisicao(cabecalhoPermitido);
+        ATUAL.set(fases);
+        return fases;
+    }
+
+    /**
+     * Encerra a medição da requisição na thread atual.
+     */
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Retorna as fases da requisição em andamento.
+     *
+     * @return Fases da requisição, ou {@code null} fora de uma requisição.
+     */
+    public static FasesRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Inicia a medição de uma fase.
+     *
+     * @param fase Fase a medir.
+     * @return Medição a encerrar ao fim da fase.
+     */
+    public static Medicao medir(Fase fase) {
+        FasesRequisicao fases = ATUAL.get();
+        if (fases == null) {
+            return NADA;
+        }
+        int indice = fase.ordinal();
+        if (fases.abertas[indice]++ > 0) {
+            return () -> fases.abertas[indice]--; // Aninhada: o tempo já está na medição externa
+        }
+        long inicio = System.nanoTime();
+        return () -> {
+            fases.abertas[indice]--;
+            fases.duracoes[indice] += System.nanoTime() - inicio;
+        };
+    }
+
+    /**
+     * Tempo acumulado em uma fase.
+     *
+     * @param fase Fase.
+     * @return Duração em nanossegundos (0 se a fase não ocorreu).
+     */
+    public long duracao(Fase fase) {
+        return duracoes[fase.ordinal()];
+    }
+
+    /**
+     * Tempo desde o início da requisição.
+     *
+     * @return Duração em nanossegundos.
+     */
+    public long total() {
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Valor do cabeçalho {@code Server-Timing} com as fases até agora, em milissegundos.
+     *
+     * @return Ex.: {@code jwt;dur=0.210, banco;dur=3.482, json;dur=0.305, total;dur=4.801}.
+     */
+    public String cabecalho() {
+        StringBuilder valor = new StringBuilder(128);
+        for (Fase fase : FASES) {
+            long duracao = duracoes[fase.ordinal()];
+            if (duracao > 0) {
+                entrada(valor, fase.getNome(), duracao);
+            }
+        }
+        entrada(valor, "total", total());
+        return valor.toString();
+    }
+
+    /**
+     * Indica se o cabeçalho deve ser incluído agora na resposta.
+     *
+     * @return true se ainda não foi enviado e o usuário pode recebê-lo.
+     */
+    public boolean deveEnviarCabecalho() {
+        return !cabecalhoEnviado && cabecalhoPermitido.getAsBoolean();
+    }
+
+    /**
+     * Registra que o cabeçalho foi incluído na resposta.
+     */
+    public void marcarCabecalhoEnviado() {
+        cabecalhoEnviado = true;
+    }
+
+    private static void entrada(StringBuilder valor, String nome, long duracaoNanos) {
+        if (!valor.isEmpty()) {
+            valor.append(", ");
+        }
+        valor.append(nome).append(";dur=").append(String.format(Locale.ROOT, "%.3f", duracaoNanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,104 @@
+package com.atendimento.app.filters;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que mede as fases de cada requisição ({@link FasesRequisicao}).
+ *
+ * <p>
+ * Ao fim da requisição, o tempo de cada fase é registrado no histograma
+ * {@code atendimento.requisicao.fase}. O cabeçalho {@code Server-Timing} é incluído pelo
+ * conversor de JSON, antes do corpo, apenas para os papéis configurados: ele expõe detalhes
+ * internos (ex.: tempo de banco) que não devem chegar a qualquer cliente.
+ * </p>
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /**
+     * Nome do cabeçalho de resposta.
+     */
+    public static final String CABECALHO = "Server-Timing";
+
+    /**
+     * Valor de papéis que libera o cabeçalho para todos os usuários, inclusive anônimos.
+     */
+    public static final String TODOS = "*";
+
+    private final Map<FasesRequisicao.Fase, Timer> histogramas = new EnumMap<>(FasesRequisicao.Fase.class);
+    private final Set<String> autoridades;
+    private final boolean todos;
+
+    /**
+     * Construtor para ServerTimingFilter.
+     *
+     * @param meterRegistry Registro das métricas.
+     * @param papeis Papéis que recebem o cabeçalho ({@code *} para todos; vazio para nenhum).
+     */
+    public ServerTimingFilter(MeterRegistry meterRegistry, Set<String> papeis) {
+        for (FasesRequisicao.Fase fase : FasesRequisicao.Fase.values()) {
+            histogramas.put(fase, Timer.builder("atendimento.requisicao.fase")
+                    .description("Tempo gasto em cada fase da requisição")
+                    .tag("fase", fase.getNome())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.todos = papeis.contains(TODOS);
+        this.autoridades = papeis.stream().map(papel -> "ROLE_" + papel).collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        FasesRequisicao fases = FasesRequisicao.iniciar(this::cabecalhoPermitido);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            FasesRequisicao.encerrar();
+            for (Map.Entry<FasesRequisicao.Fase, Timer> histograma : histogramas.entrySet()) {
+                long duracao = fases.duracao(histograma.getKey());
+                if (duracao > 0) {
+                    histograma.getValue().record(duracao, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indica se o usuário autenticado na thread atual pode receber o cabeçalho.
+     */
+    private boolean cabecalhoPermitido() {
+        if (todos) {
+            return true;
+        }
+        if (autoridades.isEmpty()) {
+            return false;
+        }
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null) {
+            return false;
+        }
+        for (GrantedAuthority autoridade : autenticacao.getAuthorities()) {
+            if (autoridades.contains(autoridade.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package com.atendimento.app.journal;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.atendimento.app.events.AtendimentoEvent;
+import com.atendimento.app.events.UsuarioEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Entrada do journal de alterações, gravada como JSON.
+ *
+ * @param offset Posição da entrada no journal (preenchida apenas na leitura).
+ * @param tipo Tipo da alteração (ex.: {@code ATENDIMENTO_EDITADO}, {@code USUARIO_BLOQUEADO}).
+ * @param id ID do atendimento ou do usuário.
+ * @param protocolo Protocolo do atendimento, quando conhecido.
+ * @param cpf CPF do cliente, quando conhecido.
+ * @param alteracoes Campos alterados e seus novos valores.
+ * @param autor Usuário que realizou a alteração.
+ * @param ocorridoEm Data/hora da alteração.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EntradaJournal(
+        Long offset,
+        String tipo,
+        Long id,
+        String protocolo,
+        String cpf,
+        Map<String, Object> alteracoes,
+        String autor,
+        LocalDateTime ocorridoEm) {
+
+    /**
+     * Cria a entrada de uma alteração de atendimento.
+     *
+     * @param evento Evento publicado pelo serviço de atendimentos.
+     * @return Entrada do journal.
+     */
+    public static EntradaJournal de(AtendimentoEvent evento) {
+        return new EntradaJournal(null, "ATENDIMENTO_" + evento.tipo(), evento.atendimentoId(), evento.protocolo(),
+                evento.cpf(), evento.alteracoes(), evento.autor(), evento.ocorridoEm());
+    }
+
+    /**
+     * Cria a entrada de uma alteração de usuário.
+     *
+     * @param evento Evento publicado na administração de usuários.
+     * @return Entrada do journal.
+     */
+    public static EntradaJournal de(UsuarioEvent evento) {
+        return new EntradaJournal(null, "USUARIO_" + evento.tipo(), evento.usuarioId(), null, null,
+                Map.of("username", evento.username()), evento.autor(), evento.ocorridoEm());
+    }
+
+    /**
+     * Retorna a mesma entrada com o offset preenchido.
+     *
+     * @param offset Posição da entrada no journal.
+     * @return Entrada com offset.
+     */
+    public EntradaJournal comOffset(long offset) {
+        return new EntradaJournal(offset, tipo, id, protocolo, cpf, alteracoes, autor, ocorridoEm);
+    }
+
+    /**
+     * Chave de compactação: tipo, ID e campos alterados. Na compactação, apenas a entrada
+     * mais recente de cada chave é mantida, o que preserva a criação e o último valor de
+     * cada campo, mas descarta os valores intermediários.
+     *
+     * @return Chave de compactação.
+     */
+    public String chaveCompactacao() {
+        Iterable<String> campos = alteracoes == null ? List.of() : new TreeSet<>(alteracoes.keySet());
+        return tipo + ":" + id + ":" + String.join(",", campos);
+    }
+}
@@ -0,0 +1,576 @@
+package com.atendimento.app.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log somente de acréscimo, dividido em segmentos de tamanho fixo mapeados em memória.
+ *
+ * <p>
+ * Cada registro é gravado como {@code [tamanho:int][crc32c:int][offset:long][dados]}; o
+ * offset é sequencial a partir de 0 e o CRC cobre offset e dados. O segmento ativo é
+ * mapeado por inteiro ({@link MappedByteBuffer}), de modo que o acréscimo é apenas uma
+ * cópia em memória. Cada segmento é nomeado pelo offset do seu primeiro registro.
+ * </p>
+ *
+ * <p>
+ * A gravação em disco ({@code force}) é feita por uma thread própria, em grupo: quem
+ * precisa de durabilidade aguarda {@link #aguardarGravacao(long)}, e todos os registros
+ * acrescentados desde a última gravação são confirmados juntos. Na abertura, o segmento
+ * ativo é percorrido até o primeiro registro incompleto ou com CRC inválido, e o restante
+ * é descartado.
+ * </p>
+ *
+ * <p>
+ * O diretório é de uso exclusivo: a abertura trava o arquivo {@code journal.lock} e falha
+ * se outro processo (ou outra instância no mesmo processo) já o tiver travado, pois duas
+ * instâncias recuperariam o mesmo final de segmento e gravariam offsets repetidos.
+ * </p>
+ */
+public class JournalSegmentado implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalSegmentado.class);
+
+    /**
+     * Tamanho do cabeçalho de cada registro: tamanho, CRC e offset.
+     */
+    static final int CABECALHO = 16;
+
+    private static final String EXTENSAO = ".log";
+    private static final String ARQUIVO_TRAVA = "journal.lock";
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final long intervaloGravacaoNanos;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition haEspera = trava.newCondition();
+    private final ReentrantLock travaCompactacao = new ReentrantLock();
+    private final NavigableMap<Long, Path> segmentos = new TreeMap<>();
+    private final List<Espera> esperas = new ArrayList<>();
+    private final Thread gravador;
+    private final FileChannel canalTrava;
+    private final FileLock travaDiretorio;
+
+    private FileChannel canalAtivo;
+    private MappedByteBuffer ativo;
+    private long proximoOffset;
+    private long offsetGravado;
+    private boolean sujo;
+    private boolean fechado;
+
+    /**
+     * Abre (ou cria) o journal no diretório informado.
+     *
+     * @param diretorio Diretório dos segmentos.
+     * @param tamanhoSegmento Tamanho de cada segmento, em bytes.
+     * @param intervaloGravacao Intervalo máximo entre gravações em disco.
+     * @throws IOException Caso o diretório ou os segmentos não possam ser abertos, ou o
+     *         diretório já esteja em uso por outro journal.
+     */
+    public JournalSegmentado(Path diretorio, int tamanhoSegmento, Duration intervaloGravacao) throws IOException {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.intervaloGravacaoNanos = intervaloGravacao.toNanos();
+
+        Files.createDirectories(diretorio);
+        canalTrava = FileChannel.open(diretorio.resolve(ARQUIVO_TRAVA), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        travaDiretorio = travar(canalTrava, diretorio);
+        try {
+            try (Stream<Path> arquivos = Files.list(diretorio)) {
+                arquivos.filter(arquivo -> arquivo.getFileName().toString().endsWith(EXTENSAO))
+                        .forEach(arquivo -> segmentos.put(baseDe(arquivo), arquivo));
+            }
+            if (segmentos.isEmpty()) {
+                abrirSegmento(0L);
+            } else {
+                recuperar(segmentos.lastKey());
+            }
+        } catch (IOException | RuntimeException e) {
+            canalTrava.close(); // Libera também a trava
+            throw e;
+        }
+        offsetGravado = proximoOffset;
+
+        gravador = Thread.ofPlatform().daemon().name("journal-gravador").start(this::gravarEmGrupo);
+    }
+
+    /**
+     * Acrescenta um registro ao journal.
+     *
+     * @param dados Conteúdo do registro.
+     * @return Offset atribuído ao registro.
+     * @throws IllegalArgumentException Caso o registro não caiba em um segmento.
+     */
+    public long adicionar(byte[] dados) {
+        int tamanhoRegistro = CABECALHO + dados.length;
+        if (tamanhoRegistro > tamanhoSegmento) {
+            throw new IllegalArgumentException("Registro de " + dados.length + " bytes excede o tamanho do segmento.");
+        }
+
+        trava.lock();
+        try {
+            if (fechado) {
+                throw new IllegalStateException("O journal está fechado.");
+            }
+            if (ativo.remaining() < tamanhoRegistro) {
+                rolarSegmento();
+            }
+
+            long offset = proximoOffset++;
+            int posicao = ativo.position();
+            ativo.putLong(posicao + 8, offset);
+            ativo.putInt(posicao + 4, crc(offset, dados));
+            ativo.put(posicao + CABECALHO, dados);
+            // O tamanho é escrito por último: um registro sem tamanho marca o fim do segmento
+            ativo.putInt(posicao, dados.length);
+            ativo.position(posicao + tamanhoRegistro);
+            sujo = true;
+            return offset;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Aguarda a gravação em disco de um registro.
+     *
+     * @param offset Offset do registro.
+     * @return Futuro concluído quando o registro (e todos os anteriores) estiver em disco.
+     */
+    public CompletableFuture<Void> aguardarGravacao(long offset) {
+        trava.lock();
+        try {
+            if (offset < offsetGravado) {
+                return CompletableFuture.completedFuture(null);
+            }
+            Espera espera = new Espera(offset, new CompletableFuture<>());
+            esperas.add(espera);
+            haEspera.signal();
+            return espera.futuro();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Lê registros a partir de um offset.
+     *
+     * @param desde Offset inicial (inclusivo).
+     * @param limite Quantidade máxima de registros.
+     * @return Registros lidos, em ordem de offset.
+     */
+    public List<Registro> ler(long desde, int limite) {
+        NavigableMap<Long, Path> instantaneo;
+        long fim;
+        trava.lock();
+        try {
+            instantaneo = new TreeMap<>(segmentos);
+            fim = proximoOffset;
+        } finally {
+            trava.unlock();
+        }
+
+        Long inicio = instantaneo.floorKey(desde);
+        List<Registro> registros = new ArrayList<>();
+        for (Path segmento : instantaneo.tailMap(inicio == null ? instantaneo.firstKey() : inicio, true).values()) {
+            percorrer(mapearLeitura(segmento), (offset, dados) -> {
+                if (offset >= desde && offset < fim && registros.size() < limite) {
+                    registros.add(new Registro(offset, dados));
+                }
+                return registros.size() < limite;
+            });
+            if (registros.size() >= limite) {
+                break;
+            }
+        }
+        return registros;
+    }
+
+    /**
+     * Compacta os segmentos fechados, mantendo apenas o registro mais recente de cada chave.
+     *
+     * <p>
+     * Os registros mantidos conservam seus offsets. Registros sem chave ({@code null}) são
+     * sempre mantidos, e o segmento ativo não é alterado (mas seus registros tornam
+     * obsoletos os de mesma chave nos segmentos fechados).
+     * </p>
+     *
+     * @param chave Extrai a chave de compactação do conteúdo de um registro.
+     * @return Quantidade de registros removidos.
+     */
+    public int compactar(Function<byte[], String> chave) {
+        travaCompactacao.lock();
+        try {
+            NavigableMap<Long, Path> instantaneo;
+            long baseAtiva;
+            long fim;
+            trava.lock();
+            try {
+                instantaneo = new TreeMap<>(segmentos);
+                baseAtiva = segmentos.lastKey();
+                fim = proximoOffset;
+            } finally {
+                trava.unlock();
+            }
+
+            Map<String, Long> ultimos = new HashMap<>();
+            for (Path segmento : instantaneo.values()) {
+                percorrer(mapearLeitura(segmento), (offset, dados) -> {
+                    String valor = chave.apply(dados);
+                    if (valor != null && offset < fim) {
+                        ultimos.put(valor, offset);
+                    }
+                    return true;
+                });
+            }
+
+            int removidos = 0;
+            for (Map.Entry<Long, Path> entrada : instantaneo.headMap(baseAtiva, false).entrySet()) {
+                removidos += reescrever(entrada.getKey(), entrada.getValue(), chave, ultimos);
+            }
+            if (removidos > 0) {
+                logger.info("Journal compactado: {} registros removidos.", removidos);
+            }
+            return removidos;
+        } finally {
+            travaCompactacao.unlock();
+        }
+    }
+
+    /**
+     * Retorna o offset que será atribuído ao próximo registro.
+     *
+     * @return Próximo offset.
+     */
+    public long getProximoOffset() {
+        trava.lock();
+        try {
+            return proximoOffset;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de segmentos.
+     *
+     * @return Quantidade de segmentos em disco.
+     */
+    public int getQuantidadeSegmentos() {
+        trava.lock();
+        try {
+            return segmentos.size();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        trava.lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            haEspera.signal();
+        } finally {
+            trava.unlock();
+        }
+        try {
+            gravador.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        trava.lock();
+        try {
+            ativo.force();
+            concluirEsperas(proximoOffset);
+            canalAtivo.close();
+        } finally {
+            trava.unlock();
+            travaDiretorio.release();
+            canalTrava.close();
+        }
+    }
+
+    /**
+     * Trava o diretório para este journal.
+     *
+     * @throws IOException Caso o diretório já esteja travado.
+     */
+    private static FileLock travar(FileChannel canal, Path diretorio) throws IOException {
+        FileLock travaArquivo;
+        try {
+            travaArquivo = canal.tryLock();
+        } catch (OverlappingFileLockException e) {
+            travaArquivo = null; // Travado por outra instância neste processo
+        }
+        if (travaArquivo == null) {
+            canal.close();
+            throw new IOException("O diretório " + diretorio + " já está em uso por outro journal.");
+        }
+        return travaArquivo;
+    }
+
+    /**
+     * Laço da thread de gravação: grava o segmento ativo a cada intervalo, ou assim que
+     * alguém aguardar, e confirma todas as esperas cobertas pela gravação.
+     */
+    private void gravarEmGrupo() {
+        while (true) {
+            MappedByteBuffer buffer;
+            long limite;
+            trava.lock();
+            try {
+                if (esperas.isEmpty() && !fechado) {
+                    haEspera.awaitNanos(intervaloGravacaoNanos);
+                }
+                if (fechado) {
+                    return;
+                }
+                if (!sujo) {
+                    concluirEsperas(proximoOffset);
+                    continue;
+                }
+                buffer = ativo;
+                limite = proximoOffset;
+                sujo = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                trava.unlock();
+            }
+
+            // Fora da trava: os acréscimos continuam enquanto o disco grava
+            buffer.force();
+
+            trava.lock();
+            try {
+                concluirEsperas(limite);
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+
+    /**
+     * Marca como gravados os registros anteriores ao limite e conclui as esperas correspondentes.
+     * Deve ser chamado com a trava adquirida.
+     */
+    private void concluirEsperas(long limite) {
+        offsetGravado = Math.max(offsetGravado, limite);
+        Iterator<Espera> iterator = esperas.iterator();
+        while (iterator.hasNext()) {
+            Espera espera = iterator.next();
+            if (espera.offset() < offsetGravado) {
+                espera.futuro().complete(null);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Fecha o segmento ativo (gravando-o em disco) e abre o próximo. Deve ser chamado com a
+     * trava adquirida.
+     */
+    private void rolarSegmento() {
+        try {
+            ativo.force();
+            canalAtivo.close();
+            concluirEsperas(proximoOffset);
+            abrirSegmento(proximoOffset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir um novo segmento do journal.", e);
+        }
+    }
+
+    private void abrirSegmento(long base) throws IOException {
+        Path arquivo = diretorio.resolve(String.format("%020d%s", base, EXTENSAO));
+        canalAtivo = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ativo = canalAtivo.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+        segmentos.put(base, arquivo);
+        proximoOffset = base;
+    }
+
+    /**
+     * Reabre o último segmento, posicionando a escrita após o último registro íntegro.
+     */
+    private void recuperar(long base) throws IOException {
+        abrirSegmento(base);
+        long[] ultimo = { base - 1 };
+        int fim = percorrer(ativo.duplicate(), (offset, dados) -> {
+            ultimo[0] = offset;
+            return true;
+        });
+        if (fim + 4 <= tamanhoSegmento && ativo.getInt(fim) != 0) {
+            logger.warn("Registro incompleto ou corrompido no offset {} do journal; o restante do segmento foi descartado.",
+                    ultimo[0] + 1);
+            for (int i = fim; i < tamanhoSegmento; i++) {
+                ativo.put(i, (byte) 0);
+            }
+            ativo.force();
+        }
+        ativo.position(fim);
+        proximoOffset = ultimo[0] + 1;
+    }
+
+    /**
+     * Reescreve um segmento fechado sem os registros obsoletos.
+     *
+     * @return Quantidade de registros removidos.
+     */
+    private int reescrever(long base, Path segmento, Function<byte[], String> chave, Map<String, Long> ultimos) {
+        List<Registro> mantidos = new ArrayList<>();
+        int[] removidos = { 0 };
+        percorrer(mapearLeitura(segmento), (offset, dados) -> {
+            String valor = chave.apply(dados);
+            if (valor == null || ultimos.get(valor) == offset) {
+                mantidos.add(new Registro(offset, dados));
+            } else {
+                removidos[0]++;
+            }
+            return true;
+        });
+        if (removidos[0] == 0) {
+            return 0;
+        }
+
+        try {
+            if (mantidos.isEmpty()) {
+                trava.lock();
+                try {
+                    segmentos.remove(base);
+                } finally {
+                    trava.unlock();
+                }
+                Files.delete(segmento);
+                return removidos[0];
+            }
+
+            Path temporario = segmento.resolveSibling(segmento.getFileName() + ".compactando");
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (Registro registro : mantidos) {
+                    ByteBuffer buffer = ByteBuffer.allocate(CABECALHO + registro.dados().length);
+                    buffer.putInt(registro.dados().length)
+                            .putInt(crc(registro.offset(), registro.dados()))
+                            .putLong(registro.offset())
+                            .put(registro.dados())
+                            .flip();
+                    while (buffer.hasRemaining()) {
+                        canal.write(buffer);
+                    }
+                }
+                canal.force(true);
+            }
+            Files.move(temporario, segmento, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return removidos[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível compactar o segmento " + segmento + ".", e);
+        }
+    }
+
+    private static ByteBuffer mapearLeitura(Path segmento) {
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        } catch (NoSuchFileException e) {
+            // Removido por uma compactação concorrente: todos os seus registros eram obsoletos
+            return ByteBuffer.allocate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o segmento " + segmento + ".", e);
+        }
+    }
+
+    /**
+     * Percorre os registros íntegros de um segmento.
+     *
+     * @param segmento Conteúdo do segmento.
+     * @param visitante Recebe offset e dados de cada registro; retorna {@code false} para parar.
+     * @return Posição seguinte ao último registro íntegro.
+     */
+    static int percorrer(ByteBuffer segmento, Visitante visitante) {
+        int posicao = 0;
+        while (posicao + CABECALHO <= segmento.limit()) {
+            int tamanho = segmento.getInt(posicao);
+            if (tamanho <= 0 || posicao + CABECALHO + tamanho > segmento.limit()) {
+                break;
+            }
+            long offset = segmento.getLong(posicao + 8);
+            byte[] dados = new byte[tamanho];
+            segmento.get(posicao + CABECALHO, dados);
+            if (segmento.getInt(posicao + 4) != crc(offset, dados)) {
+                break;
+            }
+            posicao += CABECALHO + tamanho;
+            if (!visitante.visitar(offset, dados)) {
+                break;
+            }
+        }
+        return posicao;
+    }
+
+    private static int crc(long offset, byte[] dados) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(8).putLong(0, offset));
+        crc.update(dados);
+        return (int) crc.getValue();
+    }
+
+    private static long baseDe(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(0, nome.length() - EXTENSAO.length()));
+    }
+
+    /**
+     * Registro lido do journal.
+     *
+     * @param offset Offset do registro.
+     * @param dados Conteúdo do registro.
+     */
+    public record Registro(long offset, byte[] dados) {
+    }
+
+    /**
+     * Recebe os registros percorridos em um segmento.
+     */
+    @FunctionalInterface
+    interface Visitante {
+        boolean visitar(long offset, byte[] dados);
+    }
+
+    private record Espera(long offset, CompletableFuture<Void> futuro) {
+    }
+}
@@ -3,10 +3,15 @@ package com.atendimento.app.mappers;
 import com.atendimento.app.dto.AtendimentoRequest;
 import com.atendimento.app.dto.AtendimentoResponse;
 import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.filters.FasesRequisicao;
 import org.springframework.stereotype.Component;
 
 /**
  * Mapper para conversão entre DTOs e Entidade Atendimento.
+ *
+ * <p>
+ * O tempo das conversões é somado à fase {@code map} da requisição ({@link FasesRequisicao}).
+ * </p>
  */
 @Component
 public class AtendimentoMapper {
@@ -18,12 +23,14 @@ public class AtendimentoMapper {
      * @return Entidade Atendimento.
      */
     public Atendimento toEntity(AtendimentoRequest request) {
-        return Atendimento.builder()
-                .nomeCliente(request.getNomeCliente())
-                .cpf(request.getCpf())
-                .descricao(request.getDescricao())
-                .tipo(request.getTipo())
-                .build();
+        try (FasesRequisicao.Medicao medicao = FasesRequisicao.medir(FasesRequisicao.Fase.MAPEAMENTO)) {
+            return Atendimento.builder()
+                    .nomeCliente(request.getNomeCliente())
+                    .cpf(request.getCpf())
+                    .descricao(request.getDescricao())
+                    .tipo(request.getTipo())
+                    .build();
+        }
     }
 
     /**
@@ -33,13 +40,15 @@ public class AtendimentoMapper {
      * @return DTO de saída AtendimentoResponse.
      */
     public AtendimentoResponse toResponse(Atendimento atendimento) {
-        AtendimentoResponse response = new AtendimentoResponse();
-        response.setProtocolo(atendimento.getProtocolo());
-        response.setNomeCliente(atendimento.getNomeCliente());
-        response.setCpf(atendimento.getCpf());
-        response.setDescricao(atendimento.getDescricao());
-        response.setTipo(atendimento.getTipo());
-        response.setCreatedAt(atendimento.getCreatedAt());
-        return response;
+        try (FasesRequisicao.Medicao medicao = FasesRequisicao.medir(FasesRequisicao.Fase.MAPEAMENTO)) {
+            AtendimentoResponse response = new AtendimentoResponse();
+            response.setProtocolo(atendimento.getProtocolo());
+            response.setNomeCliente(atendimento.getNomeCliente());
+            response.setCpf(atendimento.getCpf());
+            response.setDescricao(atendimento.getDescricao());
+            response.setTipo(atendimento.getTipo());
+            response.setCreatedAt(atendimento.getCreatedAt());
+            return response;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.atendimento.app.mappers;
+
+import com.atendimento.app.dto.ResumoClienteResponse;
+import com.atendimento.app.entities.ResumoCliente;
+import com.atendimento.app.filters.FasesRequisicao;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper para conversão da entidade ResumoCliente em DTO.
+ *
+ * <p>
+ * O tempo das conversões é somado à fase {@code map} da requisição ({@link FasesRequisicao}).
+ * </p>
+ */
+@Component
+public class ResumoClienteMapper {
+
+    /**
+     * Converte uma entidade ResumoCliente em um DTO de saída (ResumoClienteResponse).
+     *
+     * @param resumo Entidade ResumoCliente.
+     * @return DTO de saída ResumoClienteResponse.
+     */
+    public ResumoClienteResponse toResponse(ResumoCliente resumo) {
+        try (FasesRequisicao.Medicao medicao = FasesRequisicao.medir(FasesRequisicao.Fase.MAPEAMENTO)) {
+            ResumoClienteResponse response = new ResumoClienteResponse();
+            response.setCpf(resumo.getCpf());
+            response.setNomeCliente(resumo.getNomeCliente());
+            response.setTotalAtendimentos(resumo.getTotalAtendimentos());
+            response.setUltimoContato(resumo.getUltimoContato());
+            response.setUltimoTipo(resumo.getUltimoTipo());
+            response.setUltimosProtocolos(resumo.getListaUltimosProtocolos());
+            return response;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.atendimento.app.repositories;
+
+import com.atendimento.app.entities.AtendimentoArquivado;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para a entidade {@link AtendimentoArquivado}.
+ */
+@Repository
+public interface AtendimentoArquivadoRepository extends JpaRepository<AtendimentoArquivado, Long> {
+
+    /**
+     * Busca um atendimento arquivado pelo protocolo.
+     *
+     * @param protocolo Número de protocolo.
+     * @return Um {@link Optional} contendo o atendimento arquivado, se existir.
+     */
+    Optional<AtendimentoArquivado> findByProtocolo(String protocolo);
+
+    /**
+     * Busca os atendimentos arquivados de um CPF, do mais antigo ao mais recente.
+     *
+     * @param cpf CPF do cliente.
+     * @return Lista de atendimentos arquivados.
+     */
+    List<AtendimentoArquivado> findByCpfOrderByIdAsc(String cpf);
+
+    /**
+     * Busca atendimentos arquivados por uma lista de protocolos.
+     *
+     * @param protocolos Números de protocolo.
+     * @return Lista de atendimentos arquivados encontrados.
+     */
+    List<AtendimentoArquivado> findByProtocoloIn(Collection<String> protocolos);
+
+    /**
+     * Busca atendimentos arquivados por uma lista de CPFs.
+     *
+     * @param cpfs CPFs dos clientes.
+     * @return Lista de atendimentos arquivados encontrados.
+     */
+    List<AtendimentoArquivado> findByCpfInOrderByIdAsc(Collection<String> cpfs);
+}
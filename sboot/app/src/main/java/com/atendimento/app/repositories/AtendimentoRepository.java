@@ -3,40 +3,105 @@ package com.atendimento.app.repositories;
 import com.atendimento.app.entities.Atendimento;
 import com.atendimento.app.entities.User;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositório para a entidade {@link Atendimento}.
+ *
+ * <p>
+ * Os métodos que devolvem vários atendimentos carregam o atendente no mesmo SELECT
+ * ({@code @EntityGraph}). Assim, a quantidade de comandos não cresce com a quantidade de
+ * atendentes distintos no resultado, mesmo com o cache de usuários vazio.
+ * </p>
  */
 @Repository
 public interface AtendimentoRepository extends JpaRepository<Atendimento, Long> {
 
+    /**
+     * Lista todos os atendimentos, com os respectivos atendentes.
+     *
+     * @return Todos os atendimentos.
+     */
+    @Override
+    @EntityGraph(attributePaths = "atendente")
+    List<Atendimento> findAll();
+
+    /**
+     * Busca atendimentos pelos IDs, com os respectivos atendentes.
+     *
+     * @param ids IDs dos atendimentos.
+     * @return Atendimentos encontrados.
+     */
+    @Override
+    @EntityGraph(attributePaths = "atendente")
+    List<Atendimento> findAllById(Iterable<Long> ids);
+
     /**
      * Busca atendimentos pelo CPF do cliente.
      *
      * @param cpf CPF do cliente.
      * @return Lista de atendimentos associados ao CPF.
      */
+    @EntityGraph(attributePaths = "atendente")
     List<Atendimento> findByCpf(String cpf);
 
+    /**
+     * Busca, de forma paginada, atendimentos pelo CPF do cliente.
+     *
+     * @param cpf CPF do cliente.
+     * @param pageable Paginação e ordenação.
+     * @return Página de atendimentos associados ao CPF.
+     */
+    @EntityGraph(attributePaths = "atendente")
+    Page<Atendimento> findByCpf(String cpf, Pageable pageable);
+
     /**
      * Busca um atendimento pelo número de protocolo.
      *
      * @param protocolo Número do protocolo.
      * @return O atendimento, se encontrado.
      */
+    @EntityGraph(attributePaths = "atendente")
     Optional<Atendimento> findByProtocolo(String protocolo);
 
+    /**
+     * Busca atendimentos de vários CPFs em uma única consulta (IN).
+     *
+     * @param cpfs CPFs dos clientes.
+     * @return Lista de atendimentos associados aos CPFs.
+     */
+    @EntityGraph(attributePaths = "atendente")
+    List<Atendimento> findByCpfIn(Collection<String> cpfs);
+
+    /**
+     * Busca atendimentos de vários protocolos em uma única consulta (IN).
+     *
+     * @param protocolos Números de protocolo.
+     * @return Lista de atendimentos encontrados.
+     */
+    @EntityGraph(attributePaths = "atendente")
+    List<Atendimento> findByProtocoloIn(Collection<String> protocolos);
+
     /**
      * Busca atendimentos por tipo.
      * 
-     * @param tipo Tipo do atendimento.
+     * @param tipo Tipo do atendimento (deve estar cadastrado no dicionário de tipos).
      * @return Lista de atendimentos com o tipo especificado.
      */
+    @EntityGraph(attributePaths = "atendente")
     List<Atendimento> findAllByTipo(String tipo);
 
     /**
@@ -45,5 +110,155 @@ public interface AtendimentoRepository extends JpaRepository<Atendimento, Long>
      * @param atendente O atendente responsável.
      * @return Lista de atendimentos associados ao atendente.
      */
+    @EntityGraph(attributePaths = "atendente")
     List<Atendimento> findAllByAtendente(User atendente);
+
+    /**
+     * Busca atendimentos em um intervalo de data/hora, com filtros opcionais por tipo e atendente.
+     *
+     * <p>O intervalo é convertido nos dias correspondentes para que a consulta use o índice
+     * composto (data_referencia, tipo_id, atendente_id).</p>
+     *
+     * @param inicio Início do intervalo (inclusivo).
+     * @param fim Fim do intervalo (exclusivo).
+     * @param tipo Tipo do atendimento, ou {@code null} para todos.
+     * @param atendenteId ID do atendente, ou {@code null} para todos.
+     * @param pageable Paginação e ordenação.
+     * @return Página de atendimentos do período.
+     */
+    default Page<Atendimento> findAllByPeriodo(LocalDateTime inicio, LocalDateTime fim, String tipo,
+                                               Long atendenteId, Pageable pageable) {
+        return findAllByDiasEPeriodo(inicio.toLocalDate(), fim.minusNanos(1).toLocalDate(), inicio, fim,
+                tipo, atendenteId, pageable);
+    }
+
+    /**
+     * Consulta usada por {@link #findAllByPeriodo}; os dias devem corresponder ao intervalo informado.
+     */
+    @Query("select a from Atendimento a "
+            + "where a.dataReferencia between :diaInicio and :diaFim "
+            + "and a.dataHora >= :inicio and a.dataHora < :fim "
+            + "and (:tipo is null or a.tipo = :tipo) "
+            + "and (:atendenteId is null or a.atendente.id = :atendenteId)")
+    @EntityGraph(attributePaths = "atendente")
+    Page<Atendimento> findAllByDiasEPeriodo(@Param("diaInicio") LocalDate diaInicio,
+                                            @Param("diaFim") LocalDate diaFim,
+                                            @Param("inicio") LocalDateTime inicio,
+                                            @Param("fim") LocalDateTime fim,
+                                            @Param("tipo") String tipo,
+                                            @Param("atendenteId") Long atendenteId,
+                                            Pageable pageable);
+
+    /**
+     * Seleciona os IDs dos atendimentos de um período, com filtros opcionais de tipo e atendente.
+     *
+     * @param inicio Início do período (inclusivo).
+     * @param fim Fim do período (exclusivo).
+     * @param tipo Tipo do atendimento, ou {@code null} para todos.
+     * @param atendenteId ID do atendente, ou {@code null} para todos.
+     * @param pageable Limite de resultados.
+     * @return IDs dos atendimentos, em ordem crescente.
+     */
+    default List<Long> findIdsByPeriodo(LocalDateTime inicio, LocalDateTime fim, String tipo,
+                                        Long atendenteId, Pageable pageable) {
+        return findIdsByDiasEPeriodo(inicio.toLocalDate(), fim.minusNanos(1).toLocalDate(), inicio, fim,
+                tipo, atendenteId, pageable);
+    }
+
+    /**
+     * Consulta usada por {@link #findIdsByPeriodo}; os dias devem corresponder ao intervalo informado.
+     */
+    @Query("select a.id from Atendimento a "
+            + "where a.dataReferencia between :diaInicio and :diaFim "
+            + "and a.dataHora >= :inicio and a.dataHora < :fim "
+            + "and (:tipo is null or a.tipo = :tipo) "
+            + "and (:atendenteId is null or a.atendente.id = :atendenteId) "
+            + "order by a.id")
+    List<Long> findIdsByDiasEPeriodo(@Param("diaInicio") LocalDate diaInicio,
+                                     @Param("diaFim") LocalDate diaFim,
+                                     @Param("inicio") LocalDateTime inicio,
+                                     @Param("fim") LocalDateTime fim,
+                                     @Param("tipo") String tipo,
+                                     @Param("atendenteId") Long atendenteId,
+                                     Pageable pageable);
+
+    /**
+     * Seleciona os IDs dos atendimentos anteriores ao dia informado, candidatos ao arquivamento.
+     *
+     * @param limite Dia a partir do qual os atendimentos não são selecionados.
+     * @param pageable Limite de resultados.
+     * @return IDs dos atendimentos, em ordem crescente.
+     */
+    @Query("select a.id from Atendimento a where a.dataReferencia < :limite order by a.id")
+    List<Long> findIdsAnterioresA(@Param("limite") LocalDate limite, Pageable pageable);
+
+    /**
+     * Busca o protocolo e o CPF de um atendimento, sem carregá-lo.
+     *
+     * @param id ID do atendimento.
+     * @return Um {@link Optional} com a identificação, se o atendimento existir.
+     */
+    @Query("select a.protocolo as protocolo, a.cpf as cpf from Atendimento a where a.id = :id")
+    Optional<IdentificacaoAtendimento> findIdentificacaoById(@Param("id") Long id);
+
+    /**
+     * Atualiza a descrição de um atendimento em um único UPDATE, sem carregá-lo antes.
+     *
+     * @param id ID do atendimento.
+     * @param descricao Nova descrição.
+     * @param atualizadoEm Data/hora da atualização (o UPDATE em lote não passa pela auditoria).
+     * @return Quantidade de linhas alteradas (0 se o atendimento não existir).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Atendimento a set a.descricao = :descricao, a.versao = a.versao + 1, a.updatedAt = :atualizadoEm "
+            + "where a.id = :id")
+    int atualizarDescricao(@Param("id") Long id,
+                           @Param("descricao") String descricao,
+                           @Param("atualizadoEm") LocalDateTime atualizadoEm);
+
+    /**
+     * Atualiza a descrição de um atendimento apenas se ele ainda estiver na versão esperada.
+     *
+     * @param id ID do atendimento.
+     * @param descricao Nova descrição.
+     * @param versao Versão esperada.
+     * @param atualizadoEm Data/hora da atualização (o UPDATE em lote não passa pela auditoria).
+     * @return Quantidade de linhas alteradas (0 se o atendimento não existir ou estiver em outra versão).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Atendimento a set a.descricao = :descricao, a.versao = a.versao + 1, a.updatedAt = :atualizadoEm "
+            + "where a.id = :id and a.versao = :versao")
+    int atualizarDescricao(@Param("id") Long id,
+                           @Param("descricao") String descricao,
+                           @Param("versao") Long versao,
+                           @Param("atualizadoEm") LocalDateTime atualizadoEm);
+
+    /**
+     * Conta os atendimentos de cada par nome do cliente/CPF.
+     *
+     * @return Contagens por cliente.
+     */
+    @Query("select a.nomeCliente as nomeCliente, a.cpf as cpf, count(a) as total "
+            + "from Atendimento a group by a.nomeCliente, a.cpf")
+    List<ContagemCliente> contarPorCliente();
+
+    /**
+     * Projeção com a quantidade de atendimentos de um cliente.
+     */
+    interface ContagemCliente {
+        String getNomeCliente();
+
+        String getCpf();
+
+        long getTotal();
+    }
+
+    /**
+     * Projeção com o protocolo e o CPF de um atendimento.
+     */
+    interface IdentificacaoAtendimento {
+        String getProtocolo();
+
+        String getCpf();
+    }
 }
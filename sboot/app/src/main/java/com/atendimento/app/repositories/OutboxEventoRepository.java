@@ -0,0 +1,94 @@
+package com.atendimento.app.repositories;
+
+import com.atendimento.app.entities.OutboxEvento;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório para a entidade {@link OutboxEvento}.
+ */
+@Repository
+public interface OutboxEventoRepository extends JpaRepository<OutboxEvento, Long> {
+
+    /**
+     * Seleciona os IDs dos eventos pendentes prontos para envio e não reservados.
+     *
+     * <p>Um evento só é selecionado se todos os eventos pendentes anteriores do mesmo
+     * atendimento também estiverem prontos, e portanto no mesmo lote, antes dele: enquanto
+     * um evento aguarda um reenvio ou está reservado por outro despacho, os posteriores do
+     * mesmo atendimento esperam.</p>
+     *
+     * @param agora Data/hora atual.
+     * @param pageable Limite de resultados.
+     * @return IDs dos eventos, em ordem de criação.
+     */
+    default List<Long> findIdsDisponiveis(LocalDateTime agora, Pageable pageable) {
+        return findIdsDisponiveis(OutboxEvento.Status.PENDENTE, agora, pageable);
+    }
+
+    /**
+     * Consulta usada por {@link #findIdsDisponiveis(LocalDateTime, Pageable)}.
+     */
+    @Query("select e.id from OutboxEvento e "
+            + "where e.status = :status and e.disponivelEm <= :agora "
+            + "and (e.reivindicadoAte is null or e.reivindicadoAte < :agora) "
+            + "and not exists (select 1 from OutboxEvento anterior "
+            + "where anterior.atendimentoId = e.atendimentoId and anterior.id < e.id and anterior.status = :status "
+            + "and (anterior.disponivelEm > :agora or anterior.reivindicadoAte >= :agora)) "
+            + "order by e.id")
+    List<Long> findIdsDisponiveis(@Param("status") OutboxEvento.Status status,
+                                  @Param("agora") LocalDateTime agora,
+                                  Pageable pageable);
+
+    /**
+     * Reserva os eventos informados que ainda não estiverem reservados por outro despacho.
+     *
+     * @param ids IDs dos eventos.
+     * @param reivindicacao Identificador do lote.
+     * @param ate Fim da reserva.
+     * @param agora Data/hora atual.
+     * @return Quantidade de eventos reservados.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update OutboxEvento e set e.reivindicacao = :reivindicacao, e.reivindicadoAte = :ate "
+            + "where e.id in :ids and (e.reivindicadoAte is null or e.reivindicadoAte < :agora)")
+    int reivindicar(@Param("ids") Collection<Long> ids,
+                    @Param("reivindicacao") String reivindicacao,
+                    @Param("ate") LocalDateTime ate,
+                    @Param("agora") LocalDateTime agora);
+
+    /**
+     * Libera a reserva dos eventos informados, sem contar uma tentativa.
+     *
+     * @param ids IDs dos eventos.
+     * @return Quantidade de eventos liberados.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update OutboxEvento e set e.reivindicacao = null, e.reivindicadoAte = null where e.id in :ids")
+    int liberar(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca os eventos reservados por um lote.
+     *
+     * @param reivindicacao Identificador do lote.
+     * @return Eventos do lote, em ordem de criação.
+     */
+    List<OutboxEvento> findAllByReivindicacaoOrderByIdAsc(String reivindicacao);
+
+    /**
+     * Conta os eventos em uma situação.
+     *
+     * @param status Situação dos eventos.
+     * @return Quantidade de eventos.
+     */
+    long countByStatus(OutboxEvento.Status status);
+}
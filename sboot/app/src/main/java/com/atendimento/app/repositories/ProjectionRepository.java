@@ -0,0 +1,114 @@
+package com.atendimento.app.repositories;
+
+import com.atendimento.app.utils.Fieldset;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repositório para consultas projetadas (sparse fieldsets).
+ *
+ * <p>
+ * Apenas as colunas correspondentes aos campos solicitados entram no SELECT, e o
+ * resultado é montado como mapas ordenados, de modo que a serialização JSON também
+ * contenha somente esses campos. Associações só são unidas (LEFT JOIN) quando algum
+ * campo aninhado é solicitado.
+ * </p>
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Executa uma consulta projetada sobre a entidade informada.
+     *
+     * @param entidade Classe da entidade consultada.
+     * @param fieldset Campos a serem projetados.
+     * @param filtros Filtros de igualdade (caminho do atributo para valor).
+     * @return Lista de linhas contendo apenas os campos solicitados.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> buscar(Class<?> entidade, Fieldset fieldset, Map<String, Object> filtros) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entidade);
+        Map<String, From<?, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selecoes = new ArrayList<>();
+        fieldset.getCampos().values().forEach(caminhos ->
+                caminhos.forEach(caminho -> selecoes.add(resolverSelecao(root, joins, caminho))));
+        query.multiselect(selecoes);
+
+        List<Predicate> predicados = new ArrayList<>();
+        filtros.forEach((caminho, valor) -> predicados.add(cb.equal(resolverFiltro(root, caminho), valor)));
+        query.where(predicados.toArray(Predicate[]::new));
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tupla -> montarLinha(tupla, fieldset))
+                .toList();
+    }
+
+    /**
+     * Resolve um caminho de seleção, unindo a associação com LEFT JOIN quando necessário.
+     */
+    private Path<?> resolverSelecao(Root<?> root, Map<String, From<?, ?>> joins, String caminho) {
+        int ponto = caminho.indexOf('.');
+        if (ponto < 0) {
+            return root.get(caminho);
+        }
+        From<?, ?> join = joins.computeIfAbsent(caminho.substring(0, ponto), a -> root.join(a, JoinType.LEFT));
+        return join.get(caminho.substring(ponto + 1));
+    }
+
+    /**
+     * Resolve um caminho de filtro; filtros por ID de associação usam a própria FK, sem JOIN.
+     */
+    private Path<?> resolverFiltro(Root<?> root, String caminho) {
+        Path<?> path = root;
+        for (String parte : caminho.split("\\.")) {
+            path = path.get(parte);
+        }
+        return path;
+    }
+
+    /**
+     * Monta uma linha do resultado respeitando a ordem e o aninhamento dos campos.
+     */
+    private Map<String, Object> montarLinha(Tuple tupla, Fieldset fieldset) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        int indice = 0;
+        for (Map.Entry<String, List<String>> campo : fieldset.getCampos().entrySet()) {
+            List<String> caminhos = campo.getValue();
+            if (caminhos.size() == 1 && caminhos.get(0).indexOf('.') < 0) {
+                linha.put(campo.getKey(), tupla.get(indice++));
+                continue;
+            }
+            Map<String, Object> aninhado = new LinkedHashMap<>();
+            for (String caminho : caminhos) {
+                aninhado.put(caminho.substring(caminho.indexOf('.') + 1), tupla.get(indice++));
+            }
+            linha.put(campo.getKey(), aninhado);
+        }
+        return linha;
+    }
+}
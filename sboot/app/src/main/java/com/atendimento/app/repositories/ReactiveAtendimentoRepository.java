@@ -0,0 +1,92 @@
+package com.atendimento.app.repositories;
+
+import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.services.ArquivoAtendimentoService;
+import com.atendimento.app.services.TipoAtendimentoService;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositório reativo (R2DBC) para as consultas de atendimentos de alto volume.
+ *
+ * <p>
+ * Lê apenas as colunas usadas no AtendimentoResponse e monta entidades {@link Atendimento}
+ * desanexadas, que são convertidas pelo mesmo AtendimentoMapper das rotas MVC.
+ * </p>
+ *
+ * <p>
+ * Como no {@code AtendimentoService}, as consultas por CPF incluem os atendimentos
+ * arquivados ({@link ArquivoAtendimentoService}), e as por protocolo recorrem ao arquivo
+ * quando não o encontram na tabela quente. O arquivo é lido pelo JPA, bloqueante, e por
+ * isso em {@link Schedulers#boundedElastic()}.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(name = {"atendimento.shards.enabled", "atendimento.replica.enabled"}, havingValue = "false", matchIfMissing = true)
+public class ReactiveAtendimentoRepository {
+
+    private static final String SELECT = "select protocolo, nome_cliente, cpf, descricao, tipo_id, data_hora, created_at "
+            + "from atendimentos ";
+
+    @Autowired
+    private DatabaseClient reactiveDatabaseClient;
+
+    @Autowired
+    private TipoAtendimentoService tipoAtendimentoService;
+
+    @Autowired
+    private ArquivoAtendimentoService arquivoAtendimentoService;
+
+    /**
+     * Busca atendimentos pelo CPF do cliente: primeiro os arquivados (mais antigos), depois os
+     * da tabela quente.
+     *
+     * @param cpf CPF do cliente.
+     * @return Fluxo de atendimentos associados ao CPF.
+     */
+    public Flux<Atendimento> findByCpf(String cpf) {
+        Flux<Atendimento> arquivados = Mono.fromCallable(() -> arquivoAtendimentoService.consultarPorCpf(cpf))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(lista -> lista);
+        return Flux.concat(arquivados, reactiveDatabaseClient.sql(SELECT + "where cpf = :cpf")
+                .bind("cpf", cpf)
+                .map((row, metadata) -> mapear(row))
+                .all());
+    }
+
+    /**
+     * Busca um atendimento pelo número de protocolo; se não estiver na tabela quente, busca no arquivo.
+     *
+     * @param protocolo Número do protocolo.
+     * @return O atendimento, se encontrado.
+     */
+    public Mono<Atendimento> findByProtocolo(String protocolo) {
+        return reactiveDatabaseClient.sql(SELECT + "where protocolo = :protocolo")
+                .bind("protocolo", protocolo)
+                .map((row, metadata) -> mapear(row))
+                .one()
+                .switchIfEmpty(Mono.defer(() -> Mono.fromCallable(() -> arquivoAtendimentoService.consultarPorProtocolo(protocolo))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(Mono::justOrEmpty)));
+    }
+
+    private Atendimento mapear(Row row) {
+        return Atendimento.builder()
+                .protocolo(row.get("protocolo", String.class))
+                .nomeCliente(row.get("nome_cliente", String.class))
+                .cpf(row.get("cpf", String.class))
+                .descricao(row.get("descricao", String.class))
+                .tipo(tipoAtendimentoService.nomeDe(row.get("tipo_id", Integer.class)))
+                .dataHora(row.get("data_hora", LocalDateTime.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.atendimento.app.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.atendimento.app.entities.ResumoCliente;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repositório para a entidade {@link ResumoCliente}.
+ */
+public interface ResumoClienteRepository extends JpaRepository<ResumoCliente, String> {
+
+    /**
+     * Busca o resumo de um cliente bloqueando a linha para atualização.
+     *
+     * <p>Serializa atualizações concorrentes do mesmo cliente (ex.: dois atendimentos
+     * simultâneos para o mesmo CPF), sem afetar clientes diferentes.</p>
+     *
+     * @param cpf CPF do cliente.
+     * @return Um {@link Optional} contendo o resumo, se existir.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ResumoCliente r where r.cpf = :cpf")
+    Optional<ResumoCliente> findByCpfParaAtualizacao(@Param("cpf") String cpf);
+
+    /**
+     * Busca os resumos de vários clientes em uma única consulta, bloqueando as linhas para atualização.
+     *
+     * <p>As linhas são bloqueadas em ordem de CPF, para que duas edições em lote sobre os
+     * mesmos clientes não se bloqueiem mutuamente.</p>
+     *
+     * @param cpfs CPFs dos clientes.
+     * @return Resumos existentes, em ordem de CPF.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ResumoCliente r where r.cpf in :cpfs order by r.cpf")
+    List<ResumoCliente> findAllByCpfInParaAtualizacao(@Param("cpfs") Collection<String> cpfs);
+
+    /**
+     * Cria o resumo vazio de um cliente, caso ainda não exista, na transação em andamento.
+     *
+     * <p>Usado no primeiro atendimento do cliente, para que exista uma linha a bloquear com
+     * {@link #findByCpfParaAtualizacao(String)}. O {@code merge} do SQL padrão (aceito pelo H2 e
+     * pelo PostgreSQL 15+) não altera a linha se outro atendimento já a tiver criado.</p>
+     *
+     * @param cpf CPF do cliente.
+     * @param bucket Bucket virtual do CPF.
+     */
+    @Modifying
+    @Query(value = "merge into resumos_clientes r using (values (:cpf, :bucket)) as novo (cpf, bucket) on r.cpf = novo.cpf "
+            + "when not matched then insert (cpf, bucket, total_atendimentos, versao) values (novo.cpf, novo.bucket, 0, 0)",
+            nativeQuery = true)
+    void inserirVazio(@Param("cpf") String cpf, @Param("bucket") int bucket);
+}
@@ -0,0 +1,21 @@
+package com.atendimento.app.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.atendimento.app.entities.TipoAtendimento;
+
+/**
+ * Repositório para a entidade {@link TipoAtendimento}.
+ */
+public interface TipoAtendimentoRepository extends JpaRepository<TipoAtendimento, Integer> {
+
+    /**
+     * Verifica se existe um tipo com o nome informado, sem diferenciar maiúsculas.
+     *
+     * @param nome Nome do tipo, já sem espaços nas pontas e em minúsculas.
+     * @return {@code true} se o tipo existir.
+     */
+    @Query("select count(t) > 0 from TipoAtendimento t where lower(t.nome) = :nome")
+    boolean existsByNomeNormalizado(String nome);
+}
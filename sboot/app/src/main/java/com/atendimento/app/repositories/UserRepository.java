@@ -3,7 +3,11 @@ package com.atendimento.app.repositories;
 import java.util.Optional;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
 
 import com.atendimento.app.entities.User;
 
@@ -13,6 +17,12 @@ import com.atendimento.app.entities.User;
  * Esta interface fornece métodos para operações de persistência
  * e consultas personalizadas relacionadas aos usuários.
  * </p>
+ *
+ * <p>
+ * As consultas por nome de usuário e por papel ficam no cache de consultas (região
+ * {@code usuarios-consultas}); qualquer alteração na tabela {@code users} feita pelo
+ * Hibernate invalida os resultados.
+ * </p>
  */
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -22,6 +32,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username O nome de usuário.
      * @return Um {@link Optional} contendo o usuário, se encontrado.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "usuarios-consultas")
+    })
     Optional<User> findByUsername(String username);
 
     /**
@@ -30,6 +44,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username O nome de usuário.
      * @return Um {@link Optional} contendo o usuário, se encontrado e não bloqueado.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "usuarios-consultas")
+    })
     Optional<User> findByUsernameAndIsLockedFalse(String username);
 
     /**
@@ -45,5 +63,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param role O papel do usuário.
      * @return Uma lista de usuários com o papel especificado.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "usuarios-consultas")
+    })
     List<User> findAllByRole(com.atendimento.app.entities.Role role);
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.atendimento.app.security;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * {@link PasswordEncoder} que limita quantas operações de hash rodam ao mesmo tempo.
+ *
+ * <p>
+ * O BCrypt consome CPU (centenas de milissegundos com fator 12). Com threads virtuais,
+ * rajadas de login poderiam disparar centenas de hashes simultâneos, disputando os
+ * núcleos com o restante da aplicação. O {@link Semaphore} não usa {@code synchronized}
+ * e, portanto, não prende a thread portadora enquanto a requisição aguarda a vez.
+ * </p>
+ *
+ * <p>
+ * O tempo de cada hash ({@code atendimento.bcrypt}) é medido separadamente da espera pela
+ * vez ({@code atendimento.bcrypt.espera}): o primeiro acompanha o fator de custo, o segundo
+ * mostra quando as rajadas de login excedem os núcleos disponíveis.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permissoes;
+    private final Timer espera;
+    private final Timer codificacao;
+    private final Timer verificacaoAceita;
+    private final Timer verificacaoRecusada;
+
+    /**
+     * Construtor para BoundedPasswordEncoder, sem métricas.
+     *
+     * @param delegate Codificador real.
+     * @param maxConcorrencia Quantidade máxima de operações simultâneas.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcorrencia) {
+        this(delegate, maxConcorrencia, new CompositeMeterRegistry());
+    }
+
+    /**
+     * Construtor para BoundedPasswordEncoder.
+     *
+     * @param delegate Codificador real.
+     * @param maxConcorrencia Quantidade máxima de operações simultâneas.
+     * @param registro Registro das métricas de tempo e de espera.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcorrencia, MeterRegistry registro) {
+        this.delegate = delegate;
+        this.permissoes = new Semaphore(maxConcorrencia, true);
+        this.espera = Timer.builder("atendimento.bcrypt.espera")
+                .description("Espera por uma vaga para calcular o hash")
+                .register(registro);
+        this.codificacao = hash(registro, "codificacao", "-");
+        this.verificacaoAceita = hash(registro, "verificacao", "aceita");
+        this.verificacaoRecusada = hash(registro, "verificacao", "recusada");
+        Gauge.builder("atendimento.bcrypt.fila", permissoes, Semaphore::getQueueLength)
+                .description("Operações aguardando uma vaga")
+                .register(registro);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long inicio = adquirir();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            permissoes.release();
+            codificacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long inicio = adquirir();
+        boolean aceita = false;
+        try {
+            aceita = delegate.matches(rawPassword, encodedPassword);
+            return aceita;
+        } finally {
+            permissoes.release();
+            Timer verificacao = aceita ? verificacaoAceita : verificacaoRecusada;
+            verificacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Aguarda a vez e registra a espera.
+     *
+     * @return Instante (nanoTime) em que a vaga foi obtida.
+     */
+    private long adquirir() {
+        long inicio = System.nanoTime();
+        permissoes.acquireUninterruptibly();
+        long obtida = System.nanoTime();
+        espera.record(obtida - inicio, TimeUnit.NANOSECONDS);
+        return obtida;
+    }
+
+    private static Timer hash(MeterRegistry registro, String operacao, String resultado) {
+        return Timer.builder("atendimento.bcrypt")
+                .description("Tempo de cálculo do hash BCrypt, sem a espera")
+                .tag("operacao", operacao)
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+}
@@ -1,13 +1,19 @@
 package com.atendimento.app.security;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.atendimento.app.filters.FasesRequisicao;
 import com.atendimento.app.services.AuthService;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,24 +25,54 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Filtro que autentica as requisições pelo token JWT do cabeçalho "Authorization".
+ *
+ * <p>
+ * A coleta do Prometheus ({@code /actuator/prometheus}) pode usar, em vez de um JWT, o token
+ * fixo {@code atendimento.metricas.token}: o coletor não faz login, e um JWT de administrador
+ * expiraria. Esse token só dá acesso à coleta (papel {@code METRICAS}). Vazio, desabilita
+ * essa alternativa.
+ * </p>
+ *
+ * <p>
+ * A verificação de saúde ({@code /actuator/health}) dispensa o token, pois é consultada por
+ * balanceadores e orquestradores.
+ * </p>
+ */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
 
+    /**
+     * Papel concedido ao coletor de métricas.
+     */
+    public static final String ROLE_METRICAS = "METRICAS";
+
+    private static final String CAMINHO_PROMETHEUS = "/actuator/prometheus";
+    private static final String CAMINHO_SAUDE = "/actuator/health";
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
     @Autowired
     private AuthService authService;
 
+    @Value("${atendimento.metricas.token:}")
+    private String tokenMetricas;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         try {
-            // Ignorar validação para rotas públicas (ex.: /auth/**)
+            // Ignorar validação para rotas públicas (ex.: /auth/**) e para a verificação de saúde
             String path = request.getRequestURI();
+            if (path.equals(CAMINHO_SAUDE) || path.startsWith(CAMINHO_SAUDE + "/")) {
+                filterChain.doFilter(request, response);
+                return;
+            }
             if (path.startsWith("/auth/")) {
                 logger.info("Ignorando validação de JWT para a rota pública: {}", path);
                 filterChain.doFilter(request, response);
@@ -46,21 +82,36 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             // Resolve o token do cabeçalho "Authorization"
             String token = resolveToken(request);
 
-            // Valida o token
-            if (token == null || !jwtTokenProvider.validateToken(token)) {
+            // Coleta do Prometheus com o token de coleta
+            if (path.equals(CAMINHO_PROMETHEUS) && isTokenMetricas(token)) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        "prometheus", null, List.of(new SimpleGrantedAuthority("ROLE_" + ROLE_METRICAS))));
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            // Valida o token e obtém o nome de usuário
+            String username;
+            try (FasesRequisicao.Medicao medicao = FasesRequisicao.medir(FasesRequisicao.Fase.JWT)) {
+                username = token != null && jwtTokenProvider.validateToken(token)
+                        ? jwtTokenProvider.getUsernameFromToken(token)
+                        : null;
+            }
+            if (username == null) {
                 logger.warn("Token inválido ou expirado. Método: {}, IP: {}, Endpoint: {}",
                         request.getMethod(), request.getRemoteAddr(), request.getRequestURI());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token inválido ou expirado");
                 return;
             }
 
-            // Obtém o nome de usuário do token
-            String username = jwtTokenProvider.getUsernameFromToken(token);
             logger.info("Autenticando usuário: {}, Método: {}, IP: {}, Endpoint: {}",
                     username, request.getMethod(), request.getRemoteAddr(), request.getRequestURI());
 
             // Carrega os detalhes do usuário e autentica
-            UserDetails userDetails = authService.loadUserByUsername(username);
+            UserDetails userDetails;
+            try (FasesRequisicao.Medicao medicao = FasesRequisicao.medir(FasesRequisicao.Fase.USUARIO)) {
+                userDetails = authService.loadUserByUsername(username);
+            }
             UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(auth);
@@ -76,6 +127,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Compara o token com o token de coleta em tempo constante.
+     *
+     * @param token Token recebido.
+     * @return true se o token de coleta estiver configurado e for igual ao recebido.
+     */
+    private boolean isTokenMetricas(String token) {
+        return token != null && !tokenMetricas.isEmpty() && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), tokenMetricas.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Resolve o token JWT do cabeçalho "Authorization".
      *
@@ -1,9 +1,14 @@
 package com.atendimento.app.security;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -13,6 +18,9 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 
 @Component
 public class JwtTokenProvider {
@@ -28,6 +36,24 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    /**
+     * Resultados possíveis da validação, usados como etiqueta do timer {@code atendimento.jwt.validacao}.
+     */
+    private static final List<String> RESULTADOS_VALIDACAO = List.of("valido", "expirado", "assinatura", "invalido");
+
+    // Sem registro de métricas (ex.: fora do Spring), os timers não registram nada
+    private Map<String, Timer> timersValidacao = timersValidacao(new CompositeMeterRegistry());
+
+    /**
+     * Registra o timer da validação de tokens, com uma série por resultado.
+     *
+     * @param registro Registro de métricas da aplicação.
+     */
+    @Autowired(required = false)
+    void registrarMetricas(MeterRegistry registro) {
+        timersValidacao = timersValidacao(registro);
+    }
+
     /**
      * Gera um token JWT para o usuário autenticado.
      *
@@ -75,18 +101,25 @@ public class JwtTokenProvider {
      * @return `true` se o token for válido, `false` caso contrário.
      */
     public boolean validateToken(String token) {
+        long inicio = System.nanoTime();
+        String resultado = "invalido";
         try {
             Jwts.parserBuilder()
                 .setSigningKey(jwtSecret.getBytes())
                 .build()
                 .parseClaimsJws(token);
+            resultado = "valido";
             return true;
         } catch (ExpiredJwtException e) {
+            resultado = "expirado";
             logger.warn("Token expirado: {}", e.getMessage());
         } catch (SecurityException e) {
+            resultado = "assinatura";
             logger.warn("Falha de segurança no token: {}", e.getMessage());
         } catch (Exception e) {
             logger.warn("Falha na validação do token. Erro: {}", e.getMessage());
+        } finally {
+            timersValidacao.get(resultado).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
         return false;
     }
@@ -126,4 +159,15 @@ public class JwtTokenProvider {
     public long getRefreshExpirationMs() {
         return refreshExpirationMs;
     }
+
+    private static Map<String, Timer> timersValidacao(MeterRegistry registro) {
+        Map<String, Timer> timers = new HashMap<>();
+        for (String resultado : RESULTADOS_VALIDACAO) {
+            timers.put(resultado, Timer.builder("atendimento.jwt.validacao")
+                    .description("Validação de tokens JWT, por resultado")
+                    .tag("resultado", resultado)
+                    .register(registro));
+        }
+        return timers;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.datasource.ShardRouter;
+import com.atendimento.app.filters.ConcurrencyLimitFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tarefa agendada que move atendimentos antigos para o armazenamento frio.
+ *
+ * <p>
+ * Cada execução arquiva blocos pequenos, em transações separadas, com uma pausa entre
+ * eles. Antes de cada bloco, a utilização dos limitadores de concorrência é consultada:
+ * se algum grupo de rotas estiver acima do limiar configurado, a execução é encerrada e
+ * o restante fica para a próxima, sem competir com o tráfego de pico.
+ * </p>
+ */
+@Service
+public class ArquivamentoScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivamentoScheduler.class);
+
+    @Autowired
+    private ArquivoAtendimentoService arquivoAtendimentoService;
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${atendimento.arquivamento.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${atendimento.arquivamento.idade-dias:365}")
+    private int idadeDias;
+
+    @Value("${atendimento.arquivamento.tamanho-bloco:200}")
+    private int tamanhoBloco;
+
+    @Value("${atendimento.arquivamento.max-blocos-por-execucao:50}")
+    private int maxBlocos;
+
+    @Value("${atendimento.arquivamento.pausa-ms:200}")
+    private long pausaMs;
+
+    @Value("${atendimento.arquivamento.utilizacao-maxima:0.5}")
+    private double utilizacaoMaxima;
+
+    /**
+     * Arquiva, em blocos, os atendimentos mais antigos que a idade configurada.
+     */
+    @Scheduled(cron = "${atendimento.arquivamento.cron:0 */10 * * * *}")
+    public void arquivar() {
+        if (!habilitado) {
+            return;
+        }
+
+        LocalDate limite = LocalDate.now().minusDays(idadeDias);
+        int total = 0;
+        for (int bloco = 0; bloco < maxBlocos; bloco++) {
+            double utilizacao = concurrencyLimitFilter.getUtilizacaoMaxima();
+            if (utilizacao >= utilizacaoMaxima) {
+                logger.info("Arquivamento adiado: utilização de {} acima do limiar de {}.", utilizacao, utilizacaoMaxima);
+                break;
+            }
+
+            // Com sharding, cada shard arquiva o próprio bloco
+            List<Integer> arquivados = shardRouter.emTodos(false,
+                    () -> arquivoAtendimentoService.arquivarBloco(limite, tamanhoBloco));
+            total += arquivados.stream().mapToInt(Integer::intValue).sum();
+            if (arquivados.stream().allMatch(quantidade -> quantidade < tamanhoBloco)) {
+                break;
+            }
+
+            try {
+                Thread.sleep(pausaMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (total > 0) {
+            logger.info("{} atendimentos anteriores a {} movidos para o arquivo.", total, limite);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.entities.AtendimentoArquivado;
+import com.atendimento.app.repositories.AtendimentoArquivadoRepository;
+import com.atendimento.app.repositories.AtendimentoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serviço do armazenamento frio de atendimentos.
+ *
+ * <p>
+ * Move atendimentos antigos da tabela quente para {@code atendimentos_arquivados}, como
+ * JSON comprimido, e os recupera quando uma consulta não os encontra na tabela quente.
+ * </p>
+ */
+@Service
+public class ArquivoAtendimentoService {
+
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    @Autowired
+    private AtendimentoArquivadoRepository atendimentoArquivadoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Arquiva um bloco de atendimentos anteriores ao dia informado.
+     *
+     * <p>
+     * A cópia para o arquivo e a remoção da tabela quente ocorrem na mesma transação, de
+     * modo que um atendimento nunca fica ausente das duas tabelas nem presente em ambas.
+     * </p>
+     *
+     * @param limite Dia a partir do qual os atendimentos permanecem na tabela quente.
+     * @param tamanho Quantidade máxima de atendimentos arquivados.
+     * @return Quantidade de atendimentos arquivados.
+     */
+    @Transactional
+    public int arquivarBloco(LocalDate limite, int tamanho) {
+        List<Long> ids = atendimentoRepository.findIdsAnterioresA(limite, PageRequest.of(0, tamanho));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<AtendimentoArquivado> arquivados = atendimentoRepository.findAllById(ids).stream()
+                .map(atendimento -> AtendimentoArquivado.builder()
+                        .id(atendimento.getId())
+                        .protocolo(atendimento.getProtocolo())
+                        .cpf(atendimento.getCpf())
+                        .dataReferencia(atendimento.getDataReferencia())
+                        .bucket(atendimento.getBucket())
+                        .arquivadoEm(agora)
+                        .conteudo(compactar(atendimento))
+                        .build())
+                .toList();
+        atendimentoArquivadoRepository.saveAll(arquivados);
+        atendimentoRepository.deleteAllByIdInBatch(ids);
+        return arquivados.size();
+    }
+
+    /**
+     * Consulta um atendimento arquivado pelo protocolo.
+     *
+     * @param protocolo Número de protocolo.
+     * @return O atendimento, se arquivado.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Atendimento> consultarPorProtocolo(String protocolo) {
+        return atendimentoArquivadoRepository.findByProtocolo(protocolo).map(this::descompactar);
+    }
+
+    /**
+     * Consulta os atendimentos arquivados de um CPF.
+     *
+     * @param cpf CPF do cliente.
+     * @return Atendimentos arquivados, do mais antigo ao mais recente.
+     */
+    @Transactional(readOnly = true)
+    public List<Atendimento> consultarPorCpf(String cpf) {
+        return atendimentoArquivadoRepository.findByCpfOrderByIdAsc(cpf).stream()
+                .map(this::descompactar)
+                .toList();
+    }
+
+    /**
+     * Consulta atendimentos arquivados de vários protocolos.
+     *
+     * @param protocolos Números de protocolo.
+     * @return Atendimentos indexados por protocolo; protocolos não arquivados não aparecem.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Atendimento> consultarPorProtocolos(Collection<String> protocolos) {
+        Map<String, Atendimento> encontrados = new LinkedHashMap<>();
+        atendimentoArquivadoRepository.findByProtocoloIn(protocolos).forEach(arquivado ->
+                encontrados.put(arquivado.getProtocolo(), descompactar(arquivado)));
+        return encontrados;
+    }
+
+    /**
+     * Consulta atendimentos arquivados de vários CPFs.
+     *
+     * @param cpfs CPFs dos clientes.
+     * @return Atendimentos agrupados por CPF; CPFs sem atendimentos arquivados não aparecem.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<Atendimento>> consultarPorCpfs(Collection<String> cpfs) {
+        Map<String, List<Atendimento>> agrupados = new LinkedHashMap<>();
+        atendimentoArquivadoRepository.findByCpfInOrderByIdAsc(cpfs).forEach(arquivado ->
+                agrupados.computeIfAbsent(arquivado.getCpf(), cpf -> new ArrayList<>()).add(descompactar(arquivado)));
+        return agrupados;
+    }
+
+    /**
+     * Serializa o atendimento em JSON comprimido com gzip.
+     */
+    private byte[] compactar(Atendimento atendimento) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, atendimento);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao compactar o atendimento " + atendimento.getProtocolo(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restaura o atendimento a partir do conteúdo comprimido.
+     */
+    private Atendimento descompactar(AtendimentoArquivado arquivado) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(arquivado.getConteudo()))) {
+            Atendimento atendimento = objectMapper.readValue(gzip, Atendimento.class);
+            atendimento.setDataReferencia(arquivado.getDataReferencia()); // Não faz parte do JSON
+            return atendimento;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao descompactar o atendimento " + arquivado.getProtocolo(), e);
+        }
+    }
+}
@@ -1,13 +1,38 @@
 package com.atendimento.app.services;
 
+import com.atendimento.app.datasource.MapaShards;
+import com.atendimento.app.datasource.ShardRouter;
+import com.atendimento.app.dto.EdicaoLoteResponse;
 import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.events.AtendimentoEvent;
+import com.atendimento.app.exceptions.ConflitoVersaoException;
 import com.atendimento.app.repositories.AtendimentoRepository;
+import com.atendimento.app.repositories.ProjectionRepository;
+import com.atendimento.app.utils.Fieldset;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.OptionalInt;
 
 /**
  * Serviço para gerenciar a lógica de negócios relacionada a atendimentos.
@@ -18,44 +43,501 @@ public class AtendimentoService {
     @Autowired
     private AtendimentoRepository atendimentoRepository;
 
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private ResumoClienteService resumoClienteService;
+
+    @Autowired
+    private ArquivoAtendimentoService arquivoAtendimentoService;
+
+    @Autowired
+    private TipoAtendimentoService tipoAtendimentoService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${atendimento.consulta-lote.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
     /**
-     * Salva um novo atendimento no banco de dados.
+     * Salva um novo atendimento no banco de dados e atualiza o resumo do cliente.
      *
      * @param atendimento Objeto de atendimento a ser salvo.
      * @return Atendimento salvo.
      */
+    @Transactional
     public Atendimento criarAtendimento(Atendimento atendimento) {
-        // Gera um número de protocolo único
-        atendimento.setProtocolo(gerarProtocolo());
-        return atendimentoRepository.save(atendimento);
+        // Grava e devolve o tipo na forma cadastrada, e não como o cliente o escreveu
+        atendimento.setTipo(tipoCadastrado(atendimento.getTipo()));
+        // Gera um número de protocolo único, que carrega o bucket do CPF (ver MapaShards)
+        atendimento.setProtocolo(MapaShards.gerarProtocolo(MapaShards.bucketDe(atendimento.getCpf())));
+        Atendimento salvo = shardRouter.paraCpf(atendimento.getCpf(), false, () -> {
+            Atendimento novo = atendimentoRepository.save(atendimento);
+            resumoClienteService.registrarCriacao(novo);
+            eventPublisher.publishEvent(new AtendimentoEvent(AtendimentoEvent.Tipo.CRIADO, novo.getId(),
+                    novo.getProtocolo(), novo.getCpf(), Map.of(), novo.getAtendente().getUsername(), LocalDateTime.now()));
+            return novo;
+        });
+        autocompleteService.registrar(salvo.getNomeCliente(), salvo.getCpf());
+        // O tipo já está na forma cadastrada (ver tipoCadastrado), nunca como o cliente o escreveu:
+        // uma série por tipo cadastrado pelo administrador
+        meterRegistry.counter("atendimento.atendimentos.criados", "tipo", salvo.getTipo()).increment();
+        return salvo;
+    }
+
+    /**
+     * Atualiza a descrição de um atendimento em um único UPDATE, sem carregá-lo antes.
+     *
+     * <p>
+     * Quando a versão esperada é informada, a atualização só ocorre se o atendimento ainda
+     * estiver nessa versão; caso contrário, é lançado {@link ConflitoVersaoException} com o
+     * estado atual. O resumo do cliente não é afetado, pois apenas a descrição muda.
+     * </p>
+     *
+     * @param id ID do atendimento.
+     * @param novaDescricao Nova descrição.
+     * @param versaoEsperada Versão esperada (If-Match), ou {@code null} para sobrescrever.
+     * @param autor Usuário que realizou a edição.
+     * @return {@code true} se o atendimento foi atualizado; {@code false} se não foi encontrado.
+     * @throws ConflitoVersaoException Caso o atendimento esteja em outra versão.
+     */
+    @Transactional
+    public boolean editarAtendimento(Long id, String novaDescricao, Long versaoEsperada, String autor) {
+        // O ID não identifica o shard: a edição é tentada em cada shard até encontrar o atendimento
+        return shardRouter.primeiroEncontrado(false, () -> editarNoShard(id, novaDescricao, versaoEsperada, autor))
+                .orElse(false);
+    }
+
+    /**
+     * Edita a descrição no shard atual.
+     *
+     * @return {@code true} se atualizado, ou vazio se o atendimento não está neste shard.
+     */
+    private Optional<Boolean> editarNoShard(Long id, String novaDescricao, Long versaoEsperada, String autor) {
+        LocalDateTime agora = LocalDateTime.now();
+        int alterados = versaoEsperada == null
+                ? atendimentoRepository.atualizarDescricao(id, novaDescricao, agora)
+                : atendimentoRepository.atualizarDescricao(id, novaDescricao, versaoEsperada, agora);
+        if (alterados > 0) {
+            // Lido na mesma transação do shard, para que o evento identifique o atendimento e o cliente
+            AtendimentoRepository.IdentificacaoAtendimento identificacao =
+                    atendimentoRepository.findIdentificacaoById(id).orElseThrow();
+            eventPublisher.publishEvent(new AtendimentoEvent(AtendimentoEvent.Tipo.EDITADO, id,
+                    identificacao.getProtocolo(), identificacao.getCpf(), Map.of("descricao", novaDescricao), autor,
+                    agora));
+            return Optional.of(true);
+        }
+        if (versaoEsperada == null) {
+            return Optional.empty();
+        }
+
+        // Nenhuma linha alterada: o atendimento não existe ou está em outra versão
+        Atendimento atual = atendimentoRepository.findById(id).orElse(null);
+        if (atual == null) {
+            return Optional.empty();
+        }
+        throw new ConflitoVersaoException(atual);
+    }
+
+    /**
+     * Altera a descrição e/ou o tipo de vários atendimentos em uma única transação.
+     *
+     * <p>
+     * Os atendimentos são carregados em blocos e as alterações são enviadas ao banco como
+     * UPDATEs em lote (ver {@code hibernate.jdbc.batch_size}) ao final de cada bloco. Cada
+     * atendimento alterado gera um {@link AtendimentoEvent}. Um conflito de versão com outra
+     * edição desfaz a transação inteira (com sharding, a transação de cada shard).
+     * </p>
+     *
+     * @param ids IDs dos atendimentos (duplicados são ignorados).
+     * @param novaDescricao Nova descrição, ou {@code null} para mantê-la.
+     * @param novoTipo Novo tipo, ou {@code null} para mantê-lo.
+     * @param autor Usuário que realizou a edição.
+     * @return Resultado de cada ID, na ordem informada.
+     */
+    @Transactional
+    public Map<Long, EdicaoLoteResponse.Resultado> editarEmLote(Collection<Long> ids, String novaDescricao,
+                                                               String novoTipo, String autor) {
+        Map<Long, EdicaoLoteResponse.Resultado> resultados = new LinkedHashMap<>();
+        ids.forEach(id -> resultados.put(id, EdicaoLoteResponse.Resultado.NAO_ENCONTRADO));
+        LocalDateTime agora = LocalDateTime.now();
+        // Compara com o tipo na forma cadastrada: "dúvida" não altera um atendimento "Dúvida"
+        String tipo = tipoCadastrado(novoTipo);
+
+        // Cada shard altera os IDs que possui; os demais continuam como não encontrados
+        shardRouter.emTodos(false, () -> editarEmLoteNoShard(ids, novaDescricao, tipo, autor, agora))
+                .forEach(resultados::putAll);
+        return resultados;
+    }
+
+    /**
+     * Edita, no shard atual, os atendimentos encontrados entre os IDs informados.
+     */
+    private Map<Long, EdicaoLoteResponse.Resultado> editarEmLoteNoShard(Collection<Long> ids, String novaDescricao,
+                                                                       String novoTipo, String autor,
+                                                                       LocalDateTime agora) {
+        Map<Long, EdicaoLoteResponse.Resultado> resultados = new LinkedHashMap<>();
+        for (List<Long> bloco : emBlocos(ids)) {
+            List<Atendimento> tiposAlterados = new ArrayList<>();
+            for (Atendimento atendimento : atendimentoRepository.findAllById(bloco)) {
+                Map<String, Object> alteracoes = new LinkedHashMap<>();
+                if (novaDescricao != null && !novaDescricao.equals(atendimento.getDescricao())) {
+                    atendimento.setDescricao(novaDescricao);
+                    alteracoes.put("descricao", novaDescricao);
+                }
+                if (novoTipo != null && !novoTipo.equals(atendimento.getTipo())) {
+                    atendimento.setTipo(novoTipo);
+                    alteracoes.put("tipo", novoTipo);
+                    tiposAlterados.add(atendimento);
+                }
+
+                if (alteracoes.isEmpty()) {
+                    resultados.put(atendimento.getId(), EdicaoLoteResponse.Resultado.SEM_ALTERACAO);
+                    continue;
+                }
+                resultados.put(atendimento.getId(), EdicaoLoteResponse.Resultado.ATUALIZADO);
+                eventPublisher.publishEvent(new AtendimentoEvent(AtendimentoEvent.Tipo.EDITADO, atendimento.getId(),
+                        atendimento.getProtocolo(), atendimento.getCpf(), alteracoes, autor, agora));
+            }
+            resumoClienteService.registrarEdicoes(tiposAlterados); // Uma consulta de resumos por bloco
+            atendimentoRepository.flush(); // Envia os UPDATEs do bloco em lote
+        }
+        return resultados;
+    }
+
+    /**
+     * Seleciona os IDs dos atendimentos de um período, limitados à quantidade informada.
+     *
+     * @param inicio Início do período (inclusivo).
+     * @param fim Fim do período (exclusivo).
+     * @param tipo Tipo do atendimento (opcional).
+     * @param atendenteId ID do atendente (opcional).
+     * @param limite Quantidade máxima de IDs retornados.
+     * @return IDs dos atendimentos, em ordem crescente.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> selecionarIdsPorPeriodo(LocalDateTime inicio, LocalDateTime fim, String tipo,
+                                              Long atendenteId, int limite) {
+        List<Long> ids = shardRouter.listarEmTodos(() -> atendimentoRepository.findIdsByPeriodo(inicio, fim, tipo,
+                atendenteId, PageRequest.of(0, limite)), Comparator.naturalOrder());
+        return ids.size() > limite ? ids.subList(0, limite) : ids;
+    }
+
+    /**
+     * Lista todos os atendimentos.
+     *
+     * @return Atendimentos de todos os shards, em ordem de ID.
+     */
+    public List<Atendimento> listarTodos() {
+        return shardRouter.listarEmTodos(atendimentoRepository::findAll, Comparator.comparing(Atendimento::getId));
+    }
+
+    /**
+     * Lista todos os atendimentos, projetando apenas os campos solicitados.
+     *
+     * @param fieldset Campos a serem retornados.
+     * @return Atendimentos parciais de todos os shards, em ordem de ID.
+     */
+    public List<Map<String, Object>> listarTodos(Fieldset fieldset) {
+        return listarProjetadosEmTodos(fieldset, Map.of());
+    }
+
+    /**
+     * Lista os atendimentos registrados por um atendente.
+     *
+     * @param atendente Atendente.
+     * @return Atendimentos de todos os shards, em ordem de ID.
+     */
+    public List<Atendimento> listarPorAtendente(User atendente) {
+        return shardRouter.listarEmTodos(() -> atendimentoRepository.findAllByAtendente(atendente),
+                Comparator.comparing(Atendimento::getId));
+    }
+
+    /**
+     * Lista os atendimentos registrados por um atendente, projetando apenas os campos solicitados.
+     *
+     * @param atendenteId ID do atendente.
+     * @param fieldset Campos a serem retornados.
+     * @return Atendimentos parciais de todos os shards, em ordem de ID.
+     */
+    public List<Map<String, Object>> listarPorAtendente(Long atendenteId, Fieldset fieldset) {
+        return listarProjetadosEmTodos(fieldset, Map.of("atendente.id", atendenteId));
+    }
+
+    /**
+     * Projeta os atendimentos de todos os shards e os combina em ordem de ID.
+     *
+     * <p>
+     * Cada shard já devolve suas linhas em ordem de ID; o ID é sempre projetado para que a
+     * combinação siga a mesma ordem, e removido das linhas quando não foi solicitado.
+     * </p>
+     */
+    private List<Map<String, Object>> listarProjetadosEmTodos(Fieldset fieldset, Map<String, Object> filtros) {
+        Fieldset comId = fieldset.incluindo("id", List.of("id"));
+        List<Map<String, Object>> linhas = shardRouter.listarEmTodos(
+                () -> projectionRepository.buscar(Atendimento.class, comId, filtros),
+                Comparator.comparing((Map<String, Object> linha) -> (Long) linha.get("id")));
+        if (comId != fieldset) {
+            linhas.forEach(linha -> linha.remove("id"));
+        }
+        return linhas;
     }
 
     /**
-     * Consulta atendimentos pelo CPF do cliente.
+     * Consulta atendimentos pelo CPF do cliente, na tabela quente e no arquivo.
      *
      * @param cpf CPF do cliente.
-     * @return Lista de atendimentos associados ao CPF.
+     * @return Lista de atendimentos associados ao CPF, em ordem de ID.
      */
     public List<Atendimento> consultarPorCpf(String cpf) {
-        return atendimentoRepository.findByCpf(cpf);
+        return shardRouter.paraCpf(cpf, true, () ->
+                combinarComArquivo(atendimentoRepository.findByCpf(cpf), arquivoAtendimentoService.consultarPorCpf(cpf)));
     }
 
     /**
-     * Consulta um atendimento pelo número de protocolo.
+     * Consulta, de forma paginada, o histórico de atendimentos de um cliente, incluindo os arquivados.
+     *
+     * <p>
+     * Sem atendimentos arquivados, a página vem direto da tabela quente. Caso contrário, as
+     * primeiras linhas da tabela quente até o fim da página são combinadas com os arquivados
+     * do cliente (poucos por CPF) e ordenadas em memória.
+     * </p>
+     *
+     * @param cpf CPF do cliente.
+     * @param pageable Paginação e ordenação.
+     * @return Página de atendimentos associados ao CPF.
+     */
+    public Page<Atendimento> consultarHistorico(String cpf, Pageable pageable) {
+        return shardRouter.paraCpf(cpf, true, () -> {
+            List<Atendimento> arquivados = arquivoAtendimentoService.consultarPorCpf(cpf);
+            if (arquivados.isEmpty()) {
+                return atendimentoRepository.findByCpf(cpf, pageable);
+            }
+
+            int ate = (pageable.getPageNumber() + 1) * pageable.getPageSize();
+            Page<Atendimento> recentes = atendimentoRepository.findByCpf(cpf, PageRequest.of(0, ate, pageable.getSort()));
+            List<Atendimento> combinados = new ArrayList<>(recentes.getContent());
+            combinados.addAll(arquivados);
+            combinados.sort(ShardRouter.comparador(pageable.getSort()));
+
+            int inicio = (int) Math.min(pageable.getOffset(), combinados.size());
+            int fim = Math.min(inicio + pageable.getPageSize(), combinados.size());
+            return new PageImpl<>(new ArrayList<>(combinados.subList(inicio, fim)), pageable,
+                    recentes.getTotalElements() + arquivados.size());
+        });
+    }
+
+    /**
+     * Consulta um atendimento pelo número de protocolo; se não estiver na tabela quente, consulta o arquivo.
      *
      * @param protocolo Número de protocolo.
      * @return O atendimento, se encontrado.
      */
     public Optional<Atendimento> consultarPorProtocolo(String protocolo) {
-        return atendimentoRepository.findByProtocolo(protocolo);
+        return shardRouter.paraProtocolo(protocolo, () -> atendimentoRepository.findByProtocolo(protocolo)
+                .or(() -> arquivoAtendimentoService.consultarPorProtocolo(protocolo)));
+    }
+
+    /**
+     * Consulta atendimentos pelo CPF do cliente, na tabela quente e no arquivo, projetando
+     * apenas os campos solicitados.
+     *
+     * @param cpf CPF do cliente.
+     * @param fieldset Campos a serem retornados.
+     * @return Lista de atendimentos parciais associados ao CPF, em ordem de ID.
+     */
+    public List<Map<String, Object>> consultarPorCpf(String cpf, Fieldset fieldset) {
+        return shardRouter.paraCpf(cpf, true, () -> {
+            List<Atendimento> arquivados = arquivoAtendimentoService.consultarPorCpf(cpf);
+            if (arquivados.isEmpty()) {
+                return projectionRepository.buscar(Atendimento.class, fieldset, Map.of("cpf", cpf));
+            }
+
+            // O ID ordena a combinação; é removido das linhas quando não foi solicitado
+            Fieldset comId = fieldset.incluindo("id", List.of("id"));
+            List<Map<String, Object>> parciais = new ArrayList<>(
+                    projectionRepository.buscar(Atendimento.class, comId, Map.of("cpf", cpf)));
+            arquivados.forEach(atendimento -> parciais.add(projetar(atendimento, comId)));
+            parciais.sort(Comparator.comparing((Map<String, Object> linha) -> (Long) linha.get("id")));
+            if (comId != fieldset) {
+                parciais.forEach(linha -> linha.remove("id"));
+            }
+            return parciais;
+        });
+    }
+
+    /**
+     * Consulta um atendimento pelo número de protocolo, projetando apenas os campos solicitados.
+     *
+     * @param protocolo Número de protocolo.
+     * @param fieldset Campos a serem retornados.
+     * @return O atendimento parcial, se encontrado.
+     */
+    public Optional<Map<String, Object>> consultarPorProtocolo(String protocolo, Fieldset fieldset) {
+        return shardRouter.paraProtocolo(protocolo, () ->
+                projectionRepository.buscar(Atendimento.class, fieldset, Map.of("protocolo", protocolo))
+                        .stream()
+                        .findFirst()
+                        .or(() -> arquivoAtendimentoService.consultarPorProtocolo(protocolo)
+                                .map(atendimento -> projetar(atendimento, fieldset))));
+    }
+
+    /**
+     * Consulta atendimentos em um intervalo de data/hora.
+     *
+     * @param inicio Início do intervalo (inclusivo).
+     * @param fim Fim do intervalo (exclusivo).
+     * @param tipo Tipo do atendimento, ou {@code null} para todos.
+     * @param atendenteId ID do atendente, ou {@code null} para todos.
+     * @param pageable Paginação e ordenação.
+     * @return Página de atendimentos do período.
+     */
+    public Page<Atendimento> consultarPorPeriodo(LocalDateTime inicio, LocalDateTime fim, String tipo,
+                                                 Long atendenteId, Pageable pageable) {
+        return shardRouter.paginarEmTodos(pageable,
+                pagina -> atendimentoRepository.findAllByPeriodo(inicio, fim, tipo, atendenteId, pagina));
+    }
+
+    /**
+     * Consulta atendimentos de vários CPFs, em blocos de consultas IN.
+     *
+     * @param cpfs CPFs dos clientes (duplicados são ignorados).
+     * @return Atendimentos agrupados por CPF, na ordem das chaves; CPFs sem atendimentos não aparecem.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<Atendimento>> consultarPorCpfs(Collection<String> cpfs) {
+        Map<String, List<Atendimento>> agrupados = shardRouter.porShard(cpfs,
+                cpf -> OptionalInt.of(MapaShards.bucketDe(cpf)), this::consultarPorCpfsNoShard);
+        return ordenarPorChaves(cpfs, agrupados);
+    }
+
+    /**
+     * Consulta, no shard atual, os atendimentos dos CPFs informados.
+     */
+    private Map<String, List<Atendimento>> consultarPorCpfsNoShard(Collection<String> cpfs) {
+        Map<String, List<Atendimento>> agrupados = new LinkedHashMap<>();
+        for (List<String> bloco : emBlocos(cpfs)) {
+            atendimentoRepository.findByCpfIn(bloco).forEach(atendimento ->
+                    agrupados.computeIfAbsent(atendimento.getCpf(), cpf -> new ArrayList<>()).add(atendimento));
+        }
+
+        // Os atendimentos arquivados completam o histórico de cada CPF
+        for (List<String> bloco : emBlocos(cpfs)) {
+            arquivoAtendimentoService.consultarPorCpfs(bloco).forEach((cpf, arquivados) ->
+                    agrupados.put(cpf, combinarComArquivo(agrupados.getOrDefault(cpf, List.of()), arquivados)));
+        }
+        return agrupados;
+    }
+
+    /**
+     * Consulta atendimentos de vários protocolos, em blocos de consultas IN.
+     *
+     * @param protocolos Números de protocolo (duplicados são ignorados).
+     * @return Atendimentos indexados por protocolo, na ordem das chaves; protocolos inexistentes não aparecem.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Atendimento> consultarPorProtocolos(Collection<String> protocolos) {
+        Map<String, Atendimento> encontrados = shardRouter.porShard(protocolos,
+                MapaShards::bucketDoProtocolo, this::consultarPorProtocolosNoShard);
+        return ordenarPorChaves(protocolos, encontrados);
+    }
+
+    /**
+     * Consulta, no shard atual, os atendimentos dos protocolos informados.
+     */
+    private Map<String, Atendimento> consultarPorProtocolosNoShard(Collection<String> protocolos) {
+        Map<String, Atendimento> encontrados = new LinkedHashMap<>();
+        for (List<String> bloco : emBlocos(protocolos)) {
+            atendimentoRepository.findByProtocoloIn(bloco).forEach(atendimento ->
+                    encontrados.put(atendimento.getProtocolo(), atendimento));
+        }
+
+        // Protocolos ausentes da tabela quente são procurados no arquivo
+        List<String> ausentes = protocolos.stream().filter(protocolo -> !encontrados.containsKey(protocolo)).toList();
+        for (List<String> bloco : emBlocos(ausentes)) {
+            encontrados.putAll(arquivoAtendimentoService.consultarPorProtocolos(bloco));
+        }
+        return encontrados;
+    }
+
+    /**
+     * Combina os atendimentos da tabela quente com os arquivados do mesmo cliente, em ordem de ID.
+     */
+    private static List<Atendimento> combinarComArquivo(List<Atendimento> recentes, List<Atendimento> arquivados) {
+        if (arquivados.isEmpty()) {
+            return recentes;
+        }
+        List<Atendimento> combinados = new ArrayList<>(arquivados);
+        combinados.addAll(recentes);
+        combinados.sort(Comparator.comparing(Atendimento::getId));
+        return combinados;
+    }
+
+    /**
+     * Monta a linha projetada de um atendimento já carregado (ex.: vindo do arquivo).
+     */
+    private static Map<String, Object> projetar(Atendimento atendimento, Fieldset fieldset) {
+        BeanWrapper bean = new BeanWrapperImpl(atendimento);
+        Map<String, Object> linha = new LinkedHashMap<>();
+        fieldset.getCampos().forEach((campo, caminhos) -> {
+            if (caminhos.size() == 1 && caminhos.get(0).indexOf('.') < 0) {
+                linha.put(campo, bean.getPropertyValue(caminhos.get(0)));
+                return;
+            }
+            Map<String, Object> aninhado = new LinkedHashMap<>();
+            caminhos.forEach(caminho -> aninhado.put(caminho.substring(caminho.indexOf('.') + 1), bean.getPropertyValue(caminho)));
+            linha.put(campo, aninhado);
+        });
+        return linha;
+    }
+
+    /**
+     * Remove chaves duplicadas e divide o restante em blocos do tamanho configurado.
+     */
+    private <T> List<List<T>> emBlocos(Collection<T> chaves) {
+        List<T> distintas = new ArrayList<>(new LinkedHashSet<>(chaves));
+        List<List<T>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < distintas.size(); inicio += tamanhoBloco) {
+            blocos.add(distintas.subList(inicio, Math.min(inicio + tamanhoBloco, distintas.size())));
+        }
+        return blocos;
+    }
+
+    /**
+     * Reordena os resultados conforme a ordem das chaves solicitadas.
+     */
+    private static <T> Map<String, T> ordenarPorChaves(Collection<String> chaves, Map<String, T> resultados) {
+        Map<String, T> ordenados = new LinkedHashMap<>();
+        for (String chave : chaves) {
+            T valor = resultados.get(chave);
+            if (valor != null) {
+                ordenados.putIfAbsent(chave, valor);
+            }
+        }
+        return ordenados;
     }
 
     /**
-     * Gera um número de protocolo único.
+     * Retorna o tipo na forma cadastrada.
      *
-     * @return Número de protocolo.
+     * @throws IllegalArgumentException Caso o tipo não esteja cadastrado.
      */
-    private String gerarProtocolo() {
-        return UUID.randomUUID().toString();
+    private String tipoCadastrado(String tipo) {
+        if (tipo == null) {
+            return null;
+        }
+        return tipoAtendimentoService.nomeCadastrado(tipo)
+                .orElseThrow(() -> new IllegalArgumentException("Tipo de atendimento desconhecido: " + tipo));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,254 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.datasource.ShardRouter;
+import com.atendimento.app.dto.SugestaoResponse;
+import com.atendimento.app.repositories.AtendimentoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço de autocompletar nomes de clientes.
+ *
+ * <p>
+ * Os nomes são indexados em uma trie compacta, sem acentos e em minúsculas. Cada nó
+ * guarda os filhos em vetores ordenados (busca binária) e as K entradas (nome + CPF)
+ * mais frequentes sob aquele prefixo, de modo que uma sugestão custa apenas percorrer
+ * os caracteres do prefixo. O índice é carregado do banco na inicialização e atualizado
+ * a cada atendimento criado.
+ * </p>
+ *
+ * <p>
+ * O consumo de memória é limitado pelo número de entradas e de nós; ao atingir o limite,
+ * novos clientes deixam de ser indexados (os já indexados continuam sendo atualizados).
+ * </p>
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${atendimento.autocomplete.top-k:10}")
+    private int topK;
+
+    @Value("${atendimento.autocomplete.max-entradas:200000}")
+    private int maxEntradas;
+
+    @Value("${atendimento.autocomplete.max-nos:2000000}")
+    private int maxNos;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final No raiz = new No();
+    private final Map<String, Entrada> entradas = new HashMap<>();
+    private int totalNos = 1;
+    private boolean limiteAtingido;
+
+    /**
+     * Carrega o índice com os clientes já atendidos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        // Com sharding, cada CPF pertence a um único shard, então as contagens não se repetem
+        List<List<AtendimentoRepository.ContagemCliente>> porShard =
+                shardRouter.emTodos(true, atendimentoRepository::contarPorCliente);
+        porShard.forEach(contagens -> contagens.forEach(c -> registrar(c.getNomeCliente(), c.getCpf(), c.getTotal())));
+        logger.info("Índice de autocompletar carregado com {} clientes ({} nós).", entradas.size(), totalNos);
+    }
+
+    /**
+     * Registra um atendimento do cliente no índice.
+     *
+     * @param nomeCliente Nome do cliente.
+     * @param cpf CPF do cliente.
+     */
+    public void registrar(String nomeCliente, String cpf) {
+        registrar(nomeCliente, cpf, 1);
+    }
+
+    /**
+     * Retorna os clientes mais frequentes cujo nome começa com o prefixo informado.
+     *
+     * @param prefixo Prefixo digitado (acentos e maiúsculas são ignorados).
+     * @param limite Quantidade máxima de sugestões (limitada ao top-K configurado).
+     * @return Sugestões ordenadas por frequência.
+     */
+    public List<SugestaoResponse> sugerir(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        if (chave.isEmpty() || limite < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            No no = raiz;
+            for (int i = 0; i < chave.length() && no != null; i++) {
+                no = no.filho(chave.charAt(i));
+            }
+            if (no == null) {
+                return List.of();
+            }
+            int quantidade = Math.min(limite, no.top.length);
+            List<SugestaoResponse> sugestoes = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                sugestoes.add(new SugestaoResponse(no.top[i].nomeCliente, no.top[i].cpf));
+            }
+            return sugestoes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Incrementa a frequência do par nome/CPF e atualiza o top-K dos nós do caminho.
+     */
+    private void registrar(String nomeCliente, String cpf, long ocorrencias) {
+        String chave = normalizar(nomeCliente);
+        if (chave.isEmpty() || cpf == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Entrada entrada = entradas.get(cpf + '|' + chave);
+            if (entrada == null) {
+                if (entradas.size() >= maxEntradas) {
+                    avisarLimite();
+                    return;
+                }
+                entrada = new Entrada(nomeCliente.trim(), cpf);
+                entradas.put(cpf + '|' + chave, entrada);
+            }
+            entrada.ocorrencias += ocorrencias;
+
+            No no = raiz;
+            for (int i = 0; i < chave.length(); i++) {
+                No proximo = no.filho(chave.charAt(i));
+                if (proximo == null) {
+                    if (totalNos >= maxNos) {
+                        avisarLimite();
+                        return;
+                    }
+                    proximo = no.adicionarFilho(chave.charAt(i));
+                    totalNos++;
+                }
+                proximo.atualizarTop(entrada, topK);
+                no = proximo;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void avisarLimite() {
+        if (!limiteAtingido) {
+            limiteAtingido = true;
+            logger.warn("Limite de memória do autocompletar atingido ({} entradas, {} nós); novos clientes não serão indexados.",
+                    entradas.size(), totalNos);
+        }
+    }
+
+    /**
+     * Remove acentos, converte para minúsculas e normaliza os espaços.
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Par nome/CPF indexado e sua frequência.
+     */
+    private static final class Entrada {
+        private final String nomeCliente;
+        private final String cpf;
+        private long ocorrencias;
+
+        private Entrada(String nomeCliente, String cpf) {
+            this.nomeCliente = nomeCliente;
+            this.cpf = cpf;
+        }
+    }
+
+    /**
+     * Nó da trie, com filhos em vetores paralelos ordenados pelo caractere.
+     */
+    private static final class No {
+        private char[] chaves = new char[0];
+        private No[] filhos = new No[0];
+        private Entrada[] top = new Entrada[0];
+
+        private No filho(char c) {
+            int indice = Arrays.binarySearch(chaves, c);
+            return indice >= 0 ? filhos[indice] : null;
+        }
+
+        private No adicionarFilho(char c) {
+            int posicao = -(Arrays.binarySearch(chaves, c) + 1);
+            char[] novasChaves = new char[chaves.length + 1];
+            No[] novosFilhos = new No[filhos.length + 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, posicao);
+            System.arraycopy(filhos, 0, novosFilhos, 0, posicao);
+            System.arraycopy(chaves, posicao, novasChaves, posicao + 1, chaves.length - posicao);
+            System.arraycopy(filhos, posicao, novosFilhos, posicao + 1, filhos.length - posicao);
+            No novo = new No();
+            novasChaves[posicao] = c;
+            novosFilhos[posicao] = novo;
+            chaves = novasChaves;
+            filhos = novosFilhos;
+            return novo;
+        }
+
+        /**
+         * Insere ou reposiciona a entrada no top-K, mantendo a ordem decrescente de frequência.
+         */
+        private void atualizarTop(Entrada entrada, int k) {
+            int posicao = -1;
+            for (int i = 0; i < top.length; i++) {
+                if (top[i] == entrada) {
+                    posicao = i;
+                    break;
+                }
+            }
+            if (posicao < 0) {
+                if (top.length < k) {
+                    top = Arrays.copyOf(top, top.length + 1);
+                } else if (top.length == 0 || top[top.length - 1].ocorrencias >= entrada.ocorrencias) {
+                    return;
+                }
+                posicao = top.length - 1;
+                top[posicao] = entrada;
+            }
+            while (posicao > 0 && top[posicao - 1].ocorrencias < entrada.ocorrencias) {
+                top[posicao] = top[posicao - 1];
+                top[posicao - 1] = entrada;
+                posicao--;
+            }
+        }
+    }
+}
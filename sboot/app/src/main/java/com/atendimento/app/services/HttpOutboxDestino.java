@@ -0,0 +1,54 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.entities.OutboxEvento;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Entrega os eventos do outbox por HTTP (POST do JSON do evento).
+ *
+ * <p>
+ * O ID do evento segue no cabeçalho {@code Idempotency-Key}, para que o destino descarte
+ * reenvios. Respostas fora da faixa 2xx são tratadas como falha.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "atendimento.outbox.enabled", havingValue = "true")
+public class HttpOutboxDestino implements OutboxDestino {
+
+    private final RestClient restClient;
+
+    /**
+     * Construtor para HttpOutboxDestino.
+     *
+     * @param url URL que recebe os eventos.
+     * @param timeout Tempo máximo de conexão e de resposta.
+     */
+    public HttpOutboxDestino(@Value("${atendimento.outbox.url}") String url,
+                             @Value("${atendimento.outbox.timeout:5s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder()
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public void entregar(OutboxEvento evento) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", String.valueOf(evento.getId()))
+                .header("X-Evento-Tipo", evento.getTipo())
+                .body(evento.getPayload())
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
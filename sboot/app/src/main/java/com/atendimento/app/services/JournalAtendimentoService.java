@@ -0,0 +1,259 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.events.AtendimentoEvent;
+import com.atendimento.app.events.UsuarioEvent;
+import com.atendimento.app.journal.EntradaJournal;
+import com.atendimento.app.journal.JournalSegmentado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Serviço do journal de alterações de atendimentos e usuários.
+ *
+ * <p>
+ * Cada criação e edição de atendimento e cada bloqueio de usuário é acrescentado, após o
+ * commit, a um {@link JournalSegmentado} em disco, sem escritas adicionais no banco. O
+ * journal pode ser relido a partir de qualquer offset, para auditoria e para reconstruir
+ * caches ou índices de busca.
+ * </p>
+ *
+ * <p>
+ * Com {@code aguardar-gravacao}, a espera pelo disco é feita uma única vez por transação:
+ * as entradas de todos os eventos da transação são acrescentadas primeiro, e a última
+ * sincronização da transação aguarda o maior offset (o que confirma também os anteriores).
+ * Uma edição em lote de 1000 atendimentos espera uma gravação, e não 1000.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "atendimento.journal.enabled", havingValue = "true")
+public class JournalAtendimentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalAtendimentoService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${atendimento.journal.diretorio}")
+    private Path diretorio;
+
+    @Value("${atendimento.journal.tamanho-segmento-mb:64}")
+    private int tamanhoSegmentoMb;
+
+    @Value("${atendimento.journal.intervalo-gravacao-ms:10}")
+    private long intervaloGravacaoMs;
+
+    @Value("${atendimento.journal.aguardar-gravacao:true}")
+    private boolean aguardarGravacao;
+
+    @Value("${atendimento.journal.timeout-gravacao-ms:1000}")
+    private long timeoutGravacaoMs;
+
+    private JournalSegmentado journal;
+
+    /**
+     * Abre o journal no diretório configurado.
+     *
+     * @throws IOException Caso o diretório não possa ser aberto.
+     */
+    @PostConstruct
+    public void abrir() throws IOException {
+        journal = new JournalSegmentado(diretorio, tamanhoSegmentoMb * 1024 * 1024,
+                Duration.ofMillis(intervaloGravacaoMs));
+        logger.info("Journal aberto em {} (próximo offset: {}).", diretorio, journal.getProximoOffset());
+    }
+
+    /**
+     * Fecha o journal, gravando em disco os registros pendentes.
+     *
+     * @throws IOException Caso o segmento ativo não possa ser fechado.
+     */
+    @PreDestroy
+    public void fechar() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Prepara a espera única pela gravação das entradas da transação em andamento.
+     *
+     * <p>Executado na publicação do evento, ainda dentro da transação. A sincronização
+     * registrada tem a menor precedência, e por isso roda depois de {@link #registrar}
+     * para todos os eventos da transação.</p>
+     */
+    @EventListener({ AtendimentoEvent.class, UsuarioEvent.class })
+    public void prepararEspera() {
+        if (!aguardarGravacao || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        EsperaTransacao espera = new EsperaTransacao();
+        TransactionSynchronizationManager.bindResource(this, espera);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(JournalAtendimentoService.this);
+                // Entradas de transações internas (REQUIRES_NEW) confirmadas também são aguardadas
+                if (espera.ultimoOffset >= 0) {
+                    aguardar(espera.ultimoOffset);
+                }
+            }
+        });
+    }
+
+    /**
+     * Registra a criação ou edição de um atendimento, após o commit da transação.
+     *
+     * @param evento Evento de alteração do atendimento.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void registrar(AtendimentoEvent evento) {
+        gravar(EntradaJournal.de(evento));
+    }
+
+    /**
+     * Registra o bloqueio de um usuário.
+     *
+     * @param evento Evento de alteração do usuário.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void registrar(UsuarioEvent evento) {
+        gravar(EntradaJournal.de(evento));
+    }
+
+    /**
+     * Lê entradas a partir de um offset.
+     *
+     * @param desde Offset inicial (inclusivo).
+     * @param limite Quantidade máxima de entradas.
+     * @return Entradas lidas, com seus offsets.
+     */
+    public List<EntradaJournal> reproduzir(long desde, int limite) {
+        return journal.ler(desde, limite).stream()
+                .map(registro -> ler(registro).comOffset(registro.offset()))
+                .toList();
+    }
+
+    /**
+     * Entrega todas as entradas a partir de um offset, em blocos, a um consumidor (ex.:
+     * reconstrução de cache ou de índice de busca).
+     *
+     * @param desde Offset inicial (inclusivo).
+     * @param consumidor Recebe cada entrada, em ordem de offset.
+     * @return Offset seguinte à última entrada entregue.
+     */
+    public long reproduzir(long desde, Consumer<EntradaJournal> consumidor) {
+        long proximo = desde;
+        List<EntradaJournal> bloco;
+        while (!(bloco = reproduzir(proximo, 1000)).isEmpty()) {
+            bloco.forEach(consumidor);
+            proximo = bloco.get(bloco.size() - 1).offset() + 1;
+        }
+        return proximo;
+    }
+
+    /**
+     * Compacta os segmentos fechados, mantendo a entrada mais recente de cada tipo,
+     * registro e conjunto de campos alterados.
+     *
+     * @return Quantidade de entradas removidas.
+     */
+    public int compactar() {
+        return journal.compactar(dados -> ler(dados).chaveCompactacao());
+    }
+
+    /**
+     * Retorna o offset que será atribuído à próxima entrada.
+     *
+     * @return Próximo offset.
+     */
+    public long getProximoOffset() {
+        return journal.getProximoOffset();
+    }
+
+    /**
+     * Retorna a quantidade de segmentos em disco.
+     *
+     * @return Quantidade de segmentos.
+     */
+    public int getQuantidadeSegmentos() {
+        return journal.getQuantidadeSegmentos();
+    }
+
+    private void gravar(EntradaJournal entrada) {
+        // A alteração já foi confirmada no banco: uma falha aqui é registrada, sem desfazê-la
+        long offset;
+        try {
+            offset = journal.adicionar(objectMapper.writeValueAsBytes(entrada));
+        } catch (Exception e) {
+            logger.error("Falha ao gravar no journal a entrada {} do registro {}.", entrada.tipo(), entrada.id(), e);
+            return;
+        }
+        if (!aguardarGravacao) {
+            return;
+        }
+        EsperaTransacao espera = (EsperaTransacao) TransactionSynchronizationManager.getResource(this);
+        if (espera != null) {
+            espera.ultimoOffset = offset;
+        } else {
+            aguardar(offset);
+        }
+    }
+
+    private void aguardar(long offset) {
+        try {
+            journal.aguardarGravacao(offset).get(timeoutGravacaoMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrompido ao aguardar a gravação do journal até o offset {}.", offset);
+        } catch (Exception e) {
+            logger.error("Falha ao aguardar a gravação do journal até o offset {}.", offset, e);
+        }
+    }
+
+    private EntradaJournal ler(JournalSegmentado.Registro registro) {
+        return ler(registro.dados());
+    }
+
+    private EntradaJournal ler(byte[] dados) {
+        try {
+            return objectMapper.readValue(dados, EntradaJournal.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Entrada do journal ilegível.", e);
+        }
+    }
+
+    /**
+     * Maior offset acrescentado pela transação, aguardado ao seu término.
+     */
+    private static final class EsperaTransacao {
+
+        private long ultimoOffset = -1;
+    }
+}
@@ -0,0 +1,108 @@
+package com.atendimento.app.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de manutenção do H2 em arquivo (perfil {@code duravel}).
+ *
+ * <p>
+ * Executa checkpoints periódicos, que gravam no arquivo as alterações pendentes, e backups
+ * online ({@code BACKUP TO}), que copiam o banco de forma consistente sem interromper as
+ * requisições. Apenas os backups mais recentes são mantidos. Com o H2 em memória, não faz
+ * nada.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "atendimento.h2.manutencao.enabled", havingValue = "true")
+public class ManutencaoH2Service {
+
+    private static final Logger logger = LoggerFactory.getLogger(ManutencaoH2Service.class);
+
+    private static final DateTimeFormatter CARIMBO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String PREFIXO_BACKUP = "atendimento-";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${atendimento.h2.backup.diretorio}")
+    private Path diretorioBackup;
+
+    @Value("${atendimento.h2.backup.retencao:7}")
+    private int retencao;
+
+    /**
+     * Grava no arquivo as alterações pendentes.
+     */
+    @Scheduled(fixedDelayString = "${atendimento.h2.checkpoint-intervalo-ms:60000}",
+            initialDelayString = "${atendimento.h2.checkpoint-intervalo-ms:60000}")
+    public void checkpoint() {
+        if (bancoEmArquivo()) {
+            jdbcTemplate.execute("CHECKPOINT");
+        }
+    }
+
+    /**
+     * Gera um backup online do banco e remove os backups além da retenção.
+     *
+     * @return Arquivo do backup, ou {@code null} se o banco não estiver em arquivo.
+     */
+    @Scheduled(cron = "${atendimento.h2.backup.cron:0 0 2 * * *}")
+    public Path backup() {
+        if (!bancoEmArquivo()) {
+            logger.debug("Banco H2 em memória; backup ignorado.");
+            return null;
+        }
+
+        try {
+            Files.createDirectories(diretorioBackup);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de backups " + diretorioBackup + ".", e);
+        }
+        Path arquivo = diretorioBackup.resolve(PREFIXO_BACKUP + LocalDateTime.now().format(CARIMBO) + ".zip");
+        long inicio = System.nanoTime();
+        jdbcTemplate.execute("BACKUP TO '" + arquivo.toAbsolutePath().toString().replace("'", "''") + "'");
+        logger.info("Backup do banco gerado em {} ({} ms).", arquivo, (System.nanoTime() - inicio) / 1_000_000);
+
+        removerBackupsAntigos();
+        return arquivo;
+    }
+
+    private void removerBackupsAntigos() {
+        try (Stream<Path> arquivos = Files.list(diretorioBackup)) {
+            // O carimbo no nome ordena os backups do mais antigo ao mais recente
+            List<Path> backups = arquivos
+                    .filter(arquivo -> arquivo.getFileName().toString().startsWith(PREFIXO_BACKUP))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+            for (Path antigo : backups.subList(Math.min(retencao, backups.size()), backups.size())) {
+                Files.delete(antigo);
+                logger.info("Backup antigo removido: {}", antigo);
+            }
+        } catch (IOException e) {
+            logger.warn("Não foi possível remover backups antigos de {}.", diretorioBackup, e);
+        }
+    }
+
+    private boolean bancoEmArquivo() {
+        String url = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+        return url != null && url.startsWith("jdbc:h2:file:");
+    }
+}
@@ -0,0 +1,18 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.entities.OutboxEvento;
+
+/**
+ * Destino externo dos eventos do outbox (CRM, notificações etc.).
+ */
+public interface OutboxDestino {
+
+    /**
+     * Entrega um evento. A entrega é "pelo menos uma vez": o destino deve descartar
+     * repetições pelo ID do evento.
+     *
+     * @param evento Evento a entregar.
+     * @throws Exception Caso a entrega falhe; o evento será reenviado mais tarde.
+     */
+    void entregar(OutboxEvento evento) throws Exception;
+}
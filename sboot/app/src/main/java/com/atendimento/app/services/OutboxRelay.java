@@ -0,0 +1,159 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.datasource.ShardRouter;
+import com.atendimento.app.entities.OutboxEvento;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tarefa agendada que despacha os eventos do outbox aos sistemas externos.
+ *
+ * <p>
+ * Em cada execução, percorre os shards (apenas um, sem sharding) reservando lotes de
+ * eventos e entregando-os em paralelo, com no máximo
+ * {@code atendimento.outbox.concorrencia} envios simultâneos. Os eventos de um mesmo
+ * atendimento são entregues em sequência, na ordem de criação; se um falhar, os seguintes
+ * do atendimento voltam para a fila sem serem enviados e só seguem depois dele. Os envios
+ * acontecem fora de transação; o resultado do lote é gravado em seguida, em uma transação
+ * curta. A reserva permite várias instâncias da aplicação despachando ao mesmo tempo.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "atendimento.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxDestino outboxDestino;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${atendimento.outbox.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Value("${atendimento.outbox.concorrencia:8}")
+    private int concorrencia;
+
+    @Value("${atendimento.outbox.reserva:60s}")
+    private Duration reserva;
+
+    @Value("${atendimento.outbox.max-lotes-por-execucao:20}")
+    private int maxLotes;
+
+    private ExecutorService executor;
+
+    /**
+     * Cria o executor que limita os envios simultâneos.
+     */
+    @PostConstruct
+    public void iniciar() {
+        executor = Executors.newFixedThreadPool(concorrencia, Thread.ofPlatform().daemon().name("outbox-", 0).factory());
+    }
+
+    /**
+     * Encerra o executor de envios.
+     */
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Despacha os eventos disponíveis de todos os shards.
+     */
+    @Scheduled(fixedDelayString = "${atendimento.outbox.intervalo-ms:1000}")
+    public void despachar() {
+        for (int shard = 0; shard < shardRouter.getQuantidadeShards(); shard++) {
+            int atual = shard;
+            for (int lote = 0; lote < maxLotes; lote++) {
+                String reivindicacao = UUID.randomUUID().toString();
+                List<OutboxEvento> eventos = shardRouter.emShard(atual, false,
+                        () -> outboxService.reivindicar(reivindicacao, tamanhoLote, reserva));
+                if (eventos.isEmpty()) {
+                    break;
+                }
+
+                Set<Long> entregues = ConcurrentHashMap.newKeySet();
+                Map<Long, String> falhas = new ConcurrentHashMap<>();
+                Set<Long> adiados = ConcurrentHashMap.newKeySet();
+                CompletableFuture.allOf(porAtendimento(eventos).stream()
+                        .map(sequencia -> CompletableFuture.runAsync(
+                                () -> entregarEmOrdem(sequencia, entregues, falhas, adiados), executor))
+                        .toArray(CompletableFuture[]::new))
+                        .join();
+
+                shardRouter.emShard(atual, false, () -> {
+                    outboxService.concluir(entregues, falhas, adiados);
+                    return null;
+                });
+                if (!falhas.isEmpty()) {
+                    logger.warn("Outbox: {} eventos entregues e {} reagendados no shard {}.", entregues.size(),
+                            falhas.size(), atual);
+                }
+                if (eventos.size() < tamanhoLote) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrupa os eventos do lote por atendimento, mantendo a ordem de criação em cada grupo.
+     * Eventos sem atendimento formam grupos de um evento.
+     */
+    private static List<List<OutboxEvento>> porAtendimento(List<OutboxEvento> eventos) {
+        Map<Long, List<OutboxEvento>> grupos = new LinkedHashMap<>();
+        List<List<OutboxEvento>> sequencias = new ArrayList<>();
+        for (OutboxEvento evento : eventos) {
+            if (evento.getAtendimentoId() == null) {
+                sequencias.add(List.of(evento));
+            } else {
+                grupos.computeIfAbsent(evento.getAtendimentoId(), id -> new ArrayList<>()).add(evento);
+            }
+        }
+        sequencias.addAll(grupos.values());
+        return sequencias;
+    }
+
+    /**
+     * Entrega os eventos de um atendimento em ordem, parando no primeiro que falhar.
+     */
+    private void entregarEmOrdem(List<OutboxEvento> sequencia, Set<Long> entregues, Map<Long, String> falhas,
+                                 Set<Long> adiados) {
+        for (int i = 0; i < sequencia.size(); i++) {
+            OutboxEvento evento = sequencia.get(i);
+            try {
+                outboxDestino.entregar(evento);
+                entregues.add(evento.getId());
+            } catch (Exception e) {
+                falhas.put(evento.getId(), String.valueOf(e.getMessage()));
+                sequencia.subList(i + 1, sequencia.size()).forEach(seguinte -> adiados.add(seguinte.getId()));
+                return;
+            }
+        }
+    }
+}
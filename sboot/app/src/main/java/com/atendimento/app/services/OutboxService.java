@@ -0,0 +1,157 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.entities.OutboxEvento;
+import com.atendimento.app.events.AtendimentoEvent;
+import com.atendimento.app.repositories.OutboxEventoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Serviço do outbox transacional de eventos de atendimentos.
+ *
+ * <p>
+ * Os eventos são gravados na transação que altera o atendimento; {@link OutboxRelay}
+ * reserva-os em lotes, entrega-os e informa o resultado aqui. Eventos entregues são
+ * removidos; falhas são reagendadas com espera exponencial até o limite de tentativas,
+ * após o qual o evento fica como {@link OutboxEvento.Status#FALHOU} para análise.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "atendimento.outbox.enabled", havingValue = "true")
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    @Autowired
+    private OutboxEventoRepository outboxEventoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${atendimento.outbox.max-tentativas:10}")
+    private int maxTentativas;
+
+    @Value("${atendimento.outbox.espera-inicial:1s}")
+    private Duration esperaInicial;
+
+    @Value("${atendimento.outbox.espera-maxima:10m}")
+    private Duration esperaMaxima;
+
+    /**
+     * Grava o evento no outbox, na transação que alterou o atendimento.
+     *
+     * @param evento Evento de alteração do atendimento.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(AtendimentoEvent evento) {
+        LocalDateTime agora = LocalDateTime.now();
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento do atendimento "
+                    + evento.atendimentoId() + ".", e);
+        }
+        outboxEventoRepository.save(OutboxEvento.builder()
+                .tipo("ATENDIMENTO_" + evento.tipo())
+                .atendimentoId(evento.atendimentoId())
+                .payload(payload)
+                .criadoEm(agora)
+                .disponivelEm(agora)
+                .build());
+    }
+
+    /**
+     * Reserva um lote de eventos prontos para envio.
+     *
+     * @param reivindicacao Identificador único do lote.
+     * @param tamanho Quantidade máxima de eventos.
+     * @param reserva Duração da reserva; se o despacho não concluir nesse prazo, os eventos
+     *                voltam a ficar disponíveis.
+     * @return Eventos reservados.
+     */
+    @Transactional
+    public List<OutboxEvento> reivindicar(String reivindicacao, int tamanho, Duration reserva) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> ids = outboxEventoRepository.findIdsDisponiveis(agora, PageRequest.of(0, tamanho));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Outro despacho pode ter reservado parte dos IDs entre a consulta e o UPDATE
+        outboxEventoRepository.reivindicar(ids, reivindicacao, agora.plus(reserva), agora);
+        return outboxEventoRepository.findAllByReivindicacaoOrderByIdAsc(reivindicacao);
+    }
+
+    /**
+     * Registra o resultado do envio de um lote.
+     *
+     * @param entregues IDs dos eventos entregues, que são removidos.
+     * @param falhas Mensagem de erro de cada evento não entregue.
+     * @param adiados IDs dos eventos não enviados por falha de um evento anterior do mesmo
+     *                atendimento; a reserva é liberada sem contar uma tentativa.
+     */
+    @Transactional
+    public void concluir(Collection<Long> entregues, Map<Long, String> falhas, Collection<Long> adiados) {
+        if (!entregues.isEmpty()) {
+            outboxEventoRepository.deleteAllByIdInBatch(entregues);
+        }
+        if (!adiados.isEmpty()) {
+            outboxEventoRepository.liberar(adiados);
+        }
+        if (falhas.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (OutboxEvento evento : outboxEventoRepository.findAllById(falhas.keySet())) {
+            int tentativas = evento.getTentativas() + 1;
+            evento.setTentativas(tentativas);
+            evento.setUltimoErro(abreviar(falhas.get(evento.getId())));
+            evento.setReivindicacao(null);
+            evento.setReivindicadoAte(null);
+            if (tentativas >= maxTentativas) {
+                evento.setStatus(OutboxEvento.Status.FALHOU);
+                logger.error("Evento {} do outbox descartado após {} tentativas: {}", evento.getId(), tentativas,
+                        evento.getUltimoErro());
+            } else {
+                evento.setDisponivelEm(agora.plus(espera(tentativas)));
+            }
+        }
+    }
+
+    /**
+     * Espera antes da próxima tentativa: exponencial, limitada e com variação aleatória
+     * (entre metade e o total), para que destinos recém-recuperados não recebam todos os
+     * reenvios ao mesmo tempo.
+     */
+    private Duration espera(int tentativas) {
+        long exponencial = esperaInicial.toMillis() << Math.min(tentativas - 1, 20);
+        long limite = Math.min(exponencial, esperaMaxima.toMillis());
+        return Duration.ofMillis(limite / 2 + ThreadLocalRandom.current().nextLong(limite / 2 + 1));
+    }
+
+    private static String abreviar(String mensagem) {
+        if (mensagem == null) {
+            return null;
+        }
+        return mensagem.length() <= 500 ? mensagem : mensagem.substring(0, 500);
+    }
+}
@@ -0,0 +1,263 @@
+package com.atendimento.app.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço que mantém as partições mensais da tabela {@code atendimentos}.
+ *
+ * <p>
+ * Só atua quando a tabela está particionada no PostgreSQL (ver
+ * {@code db/postgresql/V1__particionar_atendimentos.sql}); no H2 não faz nada. Diariamente,
+ * cria as partições dos próximos meses e, se houver retenção configurada, remove as
+ * partições inteiras que a ultrapassaram, em vez de executar um DELETE sobre a tabela.
+ * </p>
+ *
+ * <p>
+ * O PostgreSQL recusa criar uma partição quando a partição padrão já tem linhas no
+ * intervalo dela. Nesse caso, a partição padrão é desanexada, as linhas do mês são movidas
+ * para a nova partição e a padrão é anexada de volta, tudo na mesma transação.
+ * </p>
+ *
+ * <p>
+ * Com o arquivamento habilitado, a retenção precisa cobrir a idade de arquivamento (a
+ * aplicação não inicia caso contrário), e partições que ainda tenham linhas não são
+ * removidas: seus atendimentos só saem da tabela quando arquivados.
+ * </p>
+ */
+@Service
+public class ParticaoAtendimentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParticaoAtendimentoService.class);
+
+    /**
+     * Tabela particionada.
+     */
+    public static final String TABELA = "atendimentos";
+
+    /**
+     * Partição padrão, criada por {@code V1__particionar_atendimentos.sql}.
+     */
+    public static final String PARTICAO_PADRAO = TABELA + "_padrao";
+
+    /**
+     * Menor duração de um mês, usada para converter a retenção em dias.
+     */
+    private static final int DIAS_POR_MES_MINIMO = 28;
+
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTICAO_MENSAL = Pattern.compile("_p(\\d{6})$");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${atendimento.particoes.meses-futuros:3}")
+    private int mesesFuturos;
+
+    @Value("${atendimento.particoes.retencao-meses:0}")
+    private int retencaoMeses;
+
+    @Value("${atendimento.arquivamento.enabled:true}")
+    private boolean arquivamentoHabilitado;
+
+    @Value("${atendimento.arquivamento.idade-dias:365}")
+    private int idadeArquivamentoDias;
+
+    /**
+     * Verifica se a retenção não remove partições com atendimentos ainda não arquivados.
+     *
+     * @throws IllegalStateException Caso a retenção seja menor que a idade de arquivamento.
+     */
+    @PostConstruct
+    public void validarRetencao() {
+        if (retencaoMeses > 0 && arquivamentoHabilitado
+                && (long) retencaoMeses * DIAS_POR_MES_MINIMO < idadeArquivamentoDias) {
+            throw new IllegalStateException(String.format(
+                    "atendimento.particoes.retencao-meses (%d) precisa ser de ao menos %d meses para cobrir "
+                            + "atendimento.arquivamento.idade-dias (%d).",
+                    retencaoMeses, retencaoMinimaMeses(idadeArquivamentoDias), idadeArquivamentoDias));
+        }
+    }
+
+    /**
+     * Cria as partições futuras e aplica a retenção, na inicialização e diariamente.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${atendimento.particoes.cron:0 0 3 * * *}")
+    public void manterParticoes() {
+        if (!tabelaParticionada()) {
+            logger.debug("Tabela {} não particionada; manutenção de partições ignorada.", TABELA);
+            return;
+        }
+
+        YearMonth atual = YearMonth.now();
+        List<String> particoes = listarParticoes();
+        for (int i = 0; i <= mesesFuturos; i++) {
+            YearMonth mes = atual.plusMonths(i);
+            if (!particoes.contains(nomeParticao(TABELA, mes))) {
+                criarParticao(mes, particoes.contains(PARTICAO_PADRAO));
+            }
+        }
+
+        if (retencaoMeses > 0) {
+            YearMonth limite = atual.minusMonths(retencaoMeses);
+            for (String particao : particoes) {
+                YearMonth mes = mesDaParticao(particao);
+                if (mes == null || !mes.isBefore(limite)) {
+                    continue;
+                }
+                if (arquivamentoHabilitado && possuiLinhas(particao)) {
+                    logger.warn("Partição {} anterior a {} mantida: ainda possui atendimentos não arquivados.",
+                            particao, limite);
+                    continue;
+                }
+                logger.info("Removendo a partição {} (anterior a {}).", particao, limite);
+                jdbcTemplate.execute("drop table if exists " + particao);
+            }
+        }
+    }
+
+    /**
+     * Cria a partição do mês, movendo para ela as linhas do mês que estejam na partição padrão.
+     */
+    private void criarParticao(YearMonth mes, boolean possuiPadrao) {
+        if (!possuiPadrao || !padraoPossuiLinhasDoMes(mes)) {
+            jdbcTemplate.execute(ddlCriarParticao(TABELA, mes));
+            return;
+        }
+
+        logger.info("Movendo as linhas de {} da partição {} para {}.", mes, PARTICAO_PADRAO, nomeParticao(TABELA, mes));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String ddl : ddlCriarParticaoComPadrao(TABELA, mes)) {
+                jdbcTemplate.execute(ddl);
+            }
+        });
+    }
+
+    private boolean padraoPossuiLinhasDoMes(YearMonth mes) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + PARTICAO_PADRAO + " where data_referencia >= ? and data_referencia < ?)",
+                Boolean.class, mes.atDay(1), mes.plusMonths(1).atDay(1)));
+    }
+
+    private boolean possuiLinhas(String particao) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + particao + ")", Boolean.class));
+    }
+
+    /**
+     * Indica se a tabela de atendimentos é uma tabela particionada do PostgreSQL.
+     *
+     * @return {@code true} se a tabela estiver particionada.
+     */
+    public boolean tabelaParticionada() {
+        String produto = jdbcTemplate.execute((ConnectionCallback<String>) conexao ->
+                conexao.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(produto)) {
+            return false;
+        }
+        Integer total = jdbcTemplate.queryForObject(
+                "select count(*) from pg_partitioned_table p join pg_class c on c.oid = p.partrelid where c.relname = ?",
+                Integer.class, TABELA);
+        return total != null && total > 0;
+    }
+
+    private List<String> listarParticoes() {
+        return jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i "
+                        + "join pg_class c on c.oid = i.inhrelid "
+                        + "join pg_class p on p.oid = i.inhparent "
+                        + "where p.relname = ?",
+                String.class, TABELA);
+    }
+
+    /**
+     * Nome da partição mensal de uma tabela.
+     *
+     * @param tabela Tabela particionada.
+     * @param mes Mês da partição.
+     * @return Nome da partição (ex.: {@code atendimentos_p202501}).
+     */
+    static String nomeParticao(String tabela, YearMonth mes) {
+        return tabela + "_p" + mes.format(SUFIXO);
+    }
+
+    /**
+     * Comando que cria, se ainda não existir, a partição mensal de uma tabela.
+     *
+     * @param tabela Tabela particionada por {@code data_referencia}.
+     * @param mes Mês da partição.
+     * @return Comando DDL.
+     */
+    static String ddlCriarParticao(String tabela, YearMonth mes) {
+        return "create table if not exists " + nomeParticao(tabela, mes)
+                + " partition of " + tabela
+                + " for values from ('" + mes.atDay(1) + "') to ('" + mes.plusMonths(1).atDay(1) + "')";
+    }
+
+    /**
+     * Comandos que criam a partição mensal quando a partição padrão tem linhas do mês.
+     *
+     * <p>A padrão é desanexada para que a criação não seja recusada; as linhas do mês são
+     * inseridas pela tabela particionada, que as direciona à nova partição. Os comandos
+     * devem ser executados na mesma transação.</p>
+     *
+     * @param tabela Tabela particionada por {@code data_referencia}, com a partição padrão
+     *               {@code <tabela>_padrao}.
+     * @param mes Mês da partição.
+     * @return Comandos SQL, na ordem de execução.
+     */
+    static List<String> ddlCriarParticaoComPadrao(String tabela, YearMonth mes) {
+        String padrao = tabela + "_padrao";
+        String intervalo = " where data_referencia >= '" + mes.atDay(1)
+                + "' and data_referencia < '" + mes.plusMonths(1).atDay(1) + "'";
+        return List.of(
+                "alter table " + tabela + " detach partition " + padrao,
+                ddlCriarParticao(tabela, mes),
+                "insert into " + tabela + " select * from " + padrao + intervalo,
+                "delete from " + padrao + intervalo,
+                "alter table " + tabela + " attach partition " + padrao + " default");
+    }
+
+    /**
+     * Menor retenção, em meses, que cobre a idade de arquivamento.
+     *
+     * @param idadeDias Idade de arquivamento, em dias.
+     * @return Retenção mínima, em meses.
+     */
+    static int retencaoMinimaMeses(int idadeDias) {
+        return (idadeDias + DIAS_POR_MES_MINIMO - 1) / DIAS_POR_MES_MINIMO;
+    }
+
+    /**
+     * Extrai o mês do nome de uma partição mensal.
+     *
+     * @param particao Nome da partição.
+     * @return Mês da partição, ou {@code null} se não for uma partição mensal (ex.: a padrão).
+     */
+    static YearMonth mesDaParticao(String particao) {
+        Matcher matcher = PARTICAO_MENSAL.matcher(particao);
+        return matcher.find() ? YearMonth.parse(matcher.group(1), SUFIXO) : null;
+    }
+}
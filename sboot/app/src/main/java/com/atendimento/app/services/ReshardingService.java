@@ -0,0 +1,138 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.datasource.MapaShards;
+import com.atendimento.app.datasource.ShardDataSources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Serviço de redistribuição de buckets entre shards.
+ *
+ * <p>
+ * Um bucket é movido copiando suas linhas para o shard de destino, atualizando o mapa e só
+ * então removendo as linhas da origem. Durante a cópia, as escritas no bucket aguardam a
+ * trava de movimentação; as leituras continuam na origem até o mapa ser atualizado.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "atendimento.shards.enabled", havingValue = "true")
+public class ReshardingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReshardingService.class);
+
+    /**
+     * Tabelas distribuídas pelo bucket do CPF.
+     */
+    static final List<String> TABELAS = List.of("atendimentos", "resumos_clientes", "atendimentos_arquivados");
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private MapaShards mapaShards;
+
+    /**
+     * Move um bucket para outro shard.
+     *
+     * @param bucket Bucket a mover.
+     * @param destino Shard de destino.
+     * @return Quantidade de linhas copiadas (0 se o bucket já estiver no destino).
+     * @throws IllegalArgumentException Caso o bucket ou o shard não existam.
+     */
+    public int moverBucket(int bucket, int destino) {
+        if (bucket < 0 || bucket >= MapaShards.NUM_BUCKETS) {
+            throw new IllegalArgumentException("Bucket inválido: " + bucket);
+        }
+        if (destino < 0 || destino >= shardDataSources.size()) {
+            throw new IllegalArgumentException("Shard inválido: " + destino);
+        }
+
+        Lock trava = mapaShards.travaMovimentacao(bucket);
+        trava.lock();
+        try {
+            int origem = mapaShards.shardDoBucket(bucket);
+            if (origem == destino) {
+                return 0;
+            }
+            JdbcTemplate de = new JdbcTemplate(shardDataSources.get(origem));
+            JdbcTemplate para = new JdbcTemplate(shardDataSources.get(destino));
+
+            int copiadas = 0;
+            try {
+                for (String tabela : TABELAS) {
+                    copiadas += copiar(de, para, tabela, bucket);
+                }
+            } catch (RuntimeException e) {
+                // A origem continua valendo; descarta a cópia parcial
+                TABELAS.forEach(tabela -> para.update("delete from " + tabela + " where bucket = ?", bucket));
+                throw e;
+            }
+
+            mapaShards.atribuir(bucket, destino);
+            TABELAS.forEach(tabela -> de.update("delete from " + tabela + " where bucket = ?", bucket));
+            logger.info("Bucket {} movido do shard {} para o shard {} ({} linhas).", bucket, origem, destino, copiadas);
+            return copiadas;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Redistribui os buckets para que cada shard fique com a mesma quantidade (diferença
+     * máxima de um), movendo o mínimo de buckets. Usado após a inclusão de um shard.
+     *
+     * @return Shard de destino de cada bucket movido.
+     */
+    public Map<Integer, Integer> rebalancear() {
+        int numShards = shardDataSources.size();
+        int[] distribuicao = mapaShards.distribuicao();
+        int[] alvo = new int[numShards];
+        for (int shard = 0; shard < numShards; shard++) {
+            alvo[shard] = MapaShards.NUM_BUCKETS / numShards + (shard < MapaShards.NUM_BUCKETS % numShards ? 1 : 0);
+        }
+
+        Deque<Integer> excedentes = new ArrayDeque<>();
+        for (int bucket = MapaShards.NUM_BUCKETS - 1; bucket >= 0; bucket--) {
+            int shard = mapaShards.shardDoBucket(bucket);
+            if (distribuicao[shard] > alvo[shard]) {
+                excedentes.add(bucket);
+                distribuicao[shard]--;
+            }
+        }
+
+        Map<Integer, Integer> movimentos = new LinkedHashMap<>();
+        for (int shard = 0; shard < numShards; shard++) {
+            while (distribuicao[shard] < alvo[shard] && !excedentes.isEmpty()) {
+                int bucket = excedentes.poll();
+                moverBucket(bucket, shard);
+                movimentos.put(bucket, shard);
+                distribuicao[shard]++;
+            }
+        }
+        return movimentos;
+    }
+
+    private static int copiar(JdbcTemplate de, JdbcTemplate para, String tabela, int bucket) {
+        List<Map<String, Object>> linhas = de.queryForList("select * from " + tabela + " where bucket = ?", bucket);
+        if (linhas.isEmpty()) {
+            return 0;
+        }
+        List<String> colunas = new ArrayList<>(linhas.get(0).keySet());
+        String sql = "insert into " + tabela + " (" + String.join(", ", colunas) + ") values ("
+                + String.join(", ", colunas.stream().map(coluna -> "?").toList()) + ")";
+        para.batchUpdate(sql, linhas.stream().map(linha -> colunas.stream().map(linha::get).toArray()).toList());
+        return linhas.size();
+    }
+}
@@ -0,0 +1,96 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.datasource.MapaShards;
+import com.atendimento.app.datasource.ShardRouter;
+import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.entities.ResumoCliente;
+import com.atendimento.app.repositories.ResumoClienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço que mantém o resumo materializado do histórico de cada cliente.
+ *
+ * <p>
+ * As atualizações exigem uma transação em andamento, para que o resumo seja gravado
+ * junto com o atendimento que o alterou.
+ * </p>
+ */
+@Service
+public class ResumoClienteService {
+
+    @Autowired
+    private ResumoClienteRepository resumoClienteRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    /**
+     * Atualiza o resumo do cliente com um atendimento recém-criado.
+     *
+     * <p>No primeiro atendimento do cliente, o resumo é criado vazio na própria transação do
+     * atendimento e então bloqueado como nos demais, sem ocupar uma segunda conexão do pool. Se
+     * a transação for desfeita, o resumo vazio é desfeito junto. Dois primeiros atendimentos
+     * simultâneos do mesmo CPF esperam um pelo outro na chave primária; o segundo falha com
+     * chave duplicada se o primeiro confirmar e pode ser repetido.</p>
+     *
+     * @param atendimento Atendimento criado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCriacao(Atendimento atendimento) {
+        String cpf = atendimento.getCpf();
+        ResumoCliente resumo = resumoClienteRepository.findByCpfParaAtualizacao(cpf)
+                .orElseGet(() -> {
+                    resumoClienteRepository.inserirVazio(cpf, MapaShards.bucketDe(cpf));
+                    return resumoClienteRepository.findByCpfParaAtualizacao(cpf).orElseThrow();
+                });
+        resumo.registrar(atendimento);
+    }
+
+    /**
+     * Atualiza os resumos dos clientes após a edição de vários atendimentos.
+     *
+     * <p>Somente a edição do atendimento mais recente de cada cliente altera o resumo (último
+     * tipo). Os resumos são lidos em uma única consulta, qualquer que seja a quantidade de
+     * atendimentos.</p>
+     *
+     * @param atendimentos Atendimentos editados.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarEdicoes(Collection<Atendimento> atendimentos) {
+        if (atendimentos.isEmpty()) {
+            return;
+        }
+        Map<String, Atendimento> porProtocolo = new HashMap<>();
+        atendimentos.forEach(atendimento -> porProtocolo.put(atendimento.getProtocolo(), atendimento));
+        Set<String> cpfs = atendimentos.stream().map(Atendimento::getCpf).collect(Collectors.toSet());
+
+        for (ResumoCliente resumo : resumoClienteRepository.findAllByCpfInParaAtualizacao(cpfs)) {
+            Atendimento ultimo = porProtocolo.get(resumo.getUltimoProtocolo());
+            if (ultimo != null) {
+                resumo.setUltimoTipo(ultimo.getTipo());
+            }
+        }
+    }
+
+    /**
+     * Consulta o resumo de um cliente.
+     *
+     * @param cpf CPF do cliente.
+     * @return O resumo, se o cliente possuir atendimentos.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResumoCliente> consultar(String cpf) {
+        return shardRouter.paraCpf(cpf, true, () -> resumoClienteRepository.findById(cpf)
+                .filter(resumo -> resumo.getTotalAtendimentos() > 0));
+    }
+}
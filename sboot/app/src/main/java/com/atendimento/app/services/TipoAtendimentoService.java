@@ -0,0 +1,221 @@
+package com.atendimento.app.services;
+
+import com.atendimento.app.datasource.ReplicadorTipos;
+import com.atendimento.app.entities.TipoAtendimento;
+import com.atendimento.app.repositories.TipoAtendimentoRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Dicionário em memória dos tipos de atendimento.
+ *
+ * <p>
+ * Mantém o mapeamento bidirecional nome ↔ chave carregado na inicialização. As leituras
+ * não usam bloqueio: cada novo tipo gera novas cópias imutáveis dos mapas, publicadas
+ * atomicamente. Os nomes são comparados sem diferenciar maiúsculas e espaços nas pontas,
+ * mas sempre devolvidos na forma cadastrada.
+ * </p>
+ *
+ * <p>
+ * Um nome ou chave ausente do dicionário é procurado na tabela antes de ser dado como
+ * inexistente: tipos cadastrados por outra instância da aplicação são carregados na
+ * primeira vez em que aparecem. A busca usa uma transação própria, pois o dicionário
+ * também é consultado pelo conversor do JPA durante o flush.
+ * </p>
+ */
+@Service
+public class TipoAtendimentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TipoAtendimentoService.class);
+
+    @Autowired
+    private TipoAtendimentoRepository tipoAtendimentoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<ReplicadorTipos> replicadorTipos;
+
+    @Value("${atendimento.tipos.padrao:Reclamação,Sugestão,Dúvida,Elogio,Solicitação}")
+    private List<String> tiposPadrao;
+
+    private final ReentrantLock escrita = new ReentrantLock();
+
+    private volatile Map<String, Integer> idsPorNome = Map.of();
+    private volatile Map<Integer, String> nomesPorId = Map.of();
+
+    /**
+     * Carrega o dicionário, cadastrando os tipos padrão caso a tabela esteja vazia.
+     */
+    @PostConstruct
+    public void carregar() {
+        if (tipoAtendimentoRepository.count() == 0) {
+            logger.info("Cadastrando tipos de atendimento padrão: {}", tiposPadrao);
+            tipoAtendimentoRepository.saveAll(tiposPadrao.stream()
+                    .map(nome -> TipoAtendimento.builder().nome(nome.trim()).build())
+                    .toList());
+        }
+        publicar(tipoAtendimentoRepository.findAll());
+        logger.info("Dicionário de tipos de atendimento carregado com {} tipos.", nomesPorId.size());
+    }
+
+    /**
+     * Retorna a chave de um tipo pelo nome.
+     *
+     * @param nome Nome do tipo.
+     * @return A chave, ou {@link Optional#empty()} se o tipo não existir.
+     */
+    public Optional<Integer> idDe(String nome) {
+        if (nome == null) {
+            return Optional.empty();
+        }
+        String chave = normalizar(nome);
+        Integer id = idsPorNome.get(chave);
+        if (id == null && recarregarSeAusente(() -> idsPorNome.containsKey(chave),
+                () -> tipoAtendimentoRepository.existsByNomeNormalizado(chave))) {
+            id = idsPorNome.get(chave);
+        }
+        return Optional.ofNullable(id);
+    }
+
+    /**
+     * Retorna o nome cadastrado de um tipo pela chave.
+     *
+     * @param id Chave do tipo.
+     * @return O nome, ou {@code null} se a chave não existir.
+     */
+    public String nomeDe(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String nome = nomesPorId.get(id);
+        if (nome == null && recarregarSeAusente(() -> nomesPorId.containsKey(id),
+                () -> tipoAtendimentoRepository.existsById(id))) {
+            nome = nomesPorId.get(id);
+        }
+        return nome;
+    }
+
+    /**
+     * Retorna o nome de um tipo na forma cadastrada (ex.: {@code " dúvida"} → {@code "Dúvida"}).
+     *
+     * @param nome Nome do tipo, em qualquer caixa.
+     * @return O nome cadastrado, ou {@link Optional#empty()} se o tipo não existir.
+     */
+    public Optional<String> nomeCadastrado(String nome) {
+        return idDe(nome).map(this::nomeDe);
+    }
+
+    /**
+     * Verifica se um tipo está cadastrado.
+     *
+     * @param nome Nome do tipo.
+     * @return {@code true} se o tipo existir.
+     */
+    public boolean existe(String nome) {
+        return idDe(nome).isPresent();
+    }
+
+    /**
+     * Lista os nomes de todos os tipos cadastrados.
+     *
+     * @return Nomes dos tipos, em ordem de chave.
+     */
+    public List<String> listar() {
+        return List.copyOf(nomesPorId.values());
+    }
+
+    /**
+     * Cadastra um novo tipo, ou retorna o existente com o mesmo nome.
+     *
+     * @param nome Nome do tipo.
+     * @return O nome cadastrado do tipo.
+     */
+    public String registrar(String nome) {
+        escrita.lock();
+        try {
+            // Inclui os cadastrados por outra instância, evitando a violação da unicidade do nome
+            Integer existente = idDe(nome).orElse(null);
+            if (existente != null) {
+                return nomesPorId.get(existente);
+            }
+            TipoAtendimento novo = tipoAtendimentoRepository.save(TipoAtendimento.builder().nome(nome.trim()).build());
+            publicar(tipoAtendimentoRepository.findAll());
+            // Com sharding, a FK de tipo_id exige o tipo em todos os shards
+            replicadorTipos.ifAvailable(ReplicadorTipos::sincronizar);
+            logger.info("Tipo de atendimento cadastrado: {} (chave {})", novo.getNome(), novo.getId());
+            return novo.getNome();
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Recarrega o dicionário se o item ausente existir na tabela.
+     *
+     * @param presente Verifica se o item já está no dicionário (outra thread pode tê-lo carregado).
+     * @param cadastrado Verifica se o item existe na tabela.
+     * @return {@code true} se o dicionário foi recarregado.
+     */
+    private boolean recarregarSeAusente(BooleanSupplier presente, BooleanSupplier cadastrado) {
+        escrita.lock();
+        try {
+            if (presente.getAsBoolean()) {
+                return true;
+            }
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transacao.setReadOnly(true);
+            Boolean recarregado = transacao.execute(status -> {
+                if (!cadastrado.getAsBoolean()) {
+                    return false;
+                }
+                publicar(tipoAtendimentoRepository.findAll());
+                return true;
+            });
+            if (Boolean.TRUE.equals(recarregado)) {
+                logger.info("Dicionário de tipos de atendimento recarregado com {} tipos.", nomesPorId.size());
+            }
+            return Boolean.TRUE.equals(recarregado);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Substitui os mapas do dicionário pelos tipos informados.
+     */
+    private void publicar(List<TipoAtendimento> tipos) {
+        Map<String, Integer> ids = new HashMap<>();
+        Map<Integer, String> nomes = new TreeMap<>();
+        tipos.forEach(tipo -> {
+            ids.put(normalizar(tipo.getNome()), tipo.getId());
+            nomes.put(tipo.getId(), tipo.getNome());
+        });
+        nomesPorId = Collections.unmodifiableMap(nomes);
+        idsPorNome = Map.copyOf(ids);
+    }
+
+    private static String normalizar(String nome) {
+        return nome.trim().toLowerCase(Locale.ROOT);
+    }
+}
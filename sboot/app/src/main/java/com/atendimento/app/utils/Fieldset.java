@@ -0,0 +1,135 @@
+package com.atendimento.app.utils;
+
+import com.atendimento.app.exceptions.InvalidFieldsException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Seleção de campos (sparse fieldset) solicitada pelo parâmetro {@code fields}.
+ *
+ * <p>
+ * Cada recurso possui uma lista branca que associa o nome do campo no JSON aos
+ * caminhos de atributos da entidade que precisam ser projetados na consulta. Campos
+ * com mais de um caminho (ex.: {@code atendente}) são devolvidos como objeto aninhado.
+ * </p>
+ */
+public final class Fieldset {
+
+    /**
+     * Campos de atendimento disponíveis para os atendentes (mesmos do AtendimentoResponse).
+     */
+    public static final Map<String, List<String>> ATENDIMENTO_PUBLICO = campos(
+            "protocolo", List.of("protocolo"),
+            "nomeCliente", List.of("nomeCliente"),
+            "cpf", List.of("cpf"),
+            "descricao", List.of("descricao"),
+            "tipo", List.of("tipo"),
+            "createdAt", List.of("createdAt"));
+
+    /**
+     * Campos de atendimento disponíveis para os supervisores.
+     */
+    public static final Map<String, List<String>> ATENDIMENTO = campos(
+            "id", List.of("id"),
+            "protocolo", List.of("protocolo"),
+            "nomeCliente", List.of("nomeCliente"),
+            "cpf", List.of("cpf"),
+            "descricao", List.of("descricao"),
+            "tipo", List.of("tipo"),
+            "dataHora", List.of("dataHora"),
+            "createdAt", List.of("createdAt"),
+            "updatedAt", List.of("updatedAt"),
+            "versao", List.of("versao"),
+            "atendente", List.of("atendente.id", "atendente.username", "atendente.role"));
+
+    /**
+     * Campos de usuário disponíveis para os administradores (a senha nunca é exposta).
+     */
+    public static final Map<String, List<String>> USUARIO = campos(
+            "id", List.of("id"),
+            "username", List.of("username"),
+            "role", List.of("role"),
+            "locked", List.of("isLocked"),
+            "createdAt", List.of("createdAt"),
+            "updatedAt", List.of("updatedAt"));
+
+    private final Map<String, List<String>> campos;
+
+    private Fieldset(Map<String, List<String>> campos) {
+        this.campos = Collections.unmodifiableMap(campos);
+    }
+
+    /**
+     * Interpreta o parâmetro {@code fields} (nomes separados por vírgula) contra a lista branca.
+     *
+     * @param fields Valor do parâmetro, possivelmente nulo.
+     * @param permitidos Lista branca do recurso.
+     * @return A seleção de campos, ou {@link Optional#empty()} quando nenhum campo foi solicitado.
+     * @throws InvalidFieldsException Caso algum campo não pertença à lista branca.
+     */
+    public static Optional<Fieldset> parse(String fields, Map<String, List<String>> permitidos) {
+        if (fields == null || fields.isBlank()) {
+            return Optional.empty();
+        }
+
+        Map<String, List<String>> selecionados = new LinkedHashMap<>();
+        List<String> invalidos = new ArrayList<>();
+        for (String campo : fields.split(",")) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            List<String> caminhos = permitidos.get(nome);
+            if (caminhos == null) {
+                invalidos.add(nome);
+            } else {
+                selecionados.put(nome, caminhos);
+            }
+        }
+
+        if (!invalidos.isEmpty()) {
+            throw new InvalidFieldsException(invalidos, permitidos.keySet());
+        }
+        return selecionados.isEmpty() ? Optional.empty() : Optional.of(new Fieldset(selecionados));
+    }
+
+    /**
+     * Retorna os campos selecionados, na ordem solicitada, com os respectivos caminhos.
+     *
+     * @return Mapa de nome do campo para caminhos de atributos.
+     */
+    public Map<String, List<String>> getCampos() {
+        return campos;
+    }
+
+    /**
+     * Retorna uma seleção que também projeta o campo informado, acrescentado ao final.
+     *
+     * @param nome Nome do campo.
+     * @param caminhos Caminhos de atributos do campo.
+     * @return Esta seleção, se já contiver o campo; caso contrário, uma nova seleção com ele.
+     */
+    public Fieldset incluindo(String nome, List<String> caminhos) {
+        if (campos.containsKey(nome)) {
+            return this;
+        }
+        Map<String, List<String>> selecionados = new LinkedHashMap<>(campos);
+        selecionados.put(nome, caminhos);
+        return new Fieldset(selecionados);
+    }
+
+    private static Map<String, List<String>> campos(Object... pares) {
+        Map<String, List<String>> mapa = new LinkedHashMap<>();
+        for (int i = 0; i < pares.length; i += 2) {
+            @SuppressWarnings("unchecked")
+            List<String> caminhos = (List<String>) pares[i + 1];
+            mapa.put((String) pares[i], caminhos);
+        }
+        return Collections.unmodifiableMap(mapa);
+    }
+}
@@ -0,0 +1,36 @@
+package com.atendimento.app.utils;
+
+import com.atendimento.app.services.TipoAtendimentoService;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Converte o nome do tipo de atendimento na chave inteira gravada no banco, e vice-versa.
+ *
+ * <p>
+ * A conversão usa o dicionário em memória, sem acessar a tabela de tipos. O serviço é
+ * obtido sob demanda para não criar dependência circular com o EntityManagerFactory.
+ * </p>
+ */
+@Converter
+public class TipoAtendimentoConverter implements AttributeConverter<String, Integer> {
+
+    @Autowired
+    private ObjectProvider<TipoAtendimentoService> tipoAtendimentoService;
+
+    @Override
+    public Integer convertToDatabaseColumn(String tipo) {
+        if (tipo == null) {
+            return null;
+        }
+        return tipoAtendimentoService.getObject().idDe(tipo)
+                .orElseThrow(() -> new IllegalArgumentException("Tipo de atendimento desconhecido: " + tipo));
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return tipoAtendimentoService.getObject().nomeDe(id);
+    }
+}
@@ -0,0 +1,23 @@
+package com.atendimento.app.utils;
+
+import com.atendimento.app.services.TipoAtendimentoService;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Validador que consulta o dicionário em memória de tipos de atendimento.
+ */
+public class TipoAtendimentoValidator implements ConstraintValidator<TipoAtendimentoValido, String> {
+
+    @Autowired
+    private TipoAtendimentoService tipoAtendimentoService;
+
+    @Override
+    public boolean isValid(String tipo, ConstraintValidatorContext context) {
+        if (tipo == null || tipo.isBlank()) {
+            return true; // A obrigatoriedade é verificada por @NotBlank
+        }
+        return tipoAtendimentoService.existe(tipo);
+    }
+}
@@ -0,0 +1,24 @@
+package com.atendimento.app.utils;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Anotação personalizada para validar se o tipo de atendimento está cadastrado.
+ */
+@Constraint(validatedBy = TipoAtendimentoValidator.class)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TipoAtendimentoValido {
+
+    String message() default "Tipo de atendimento desconhecido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
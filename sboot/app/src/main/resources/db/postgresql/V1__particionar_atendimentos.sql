@@ -0,0 +1,57 @@
+-- Converte a tabela atendimentos (criada pelo Hibernate) em uma tabela particionada
+-- por mês de data_referencia (dia de data_hora).
+--
+-- Executar uma única vez, com a aplicação parada, após a primeira inicialização com o
+-- perfil "postgres". As partições futuras passam a ser criadas pela tarefa
+-- ParticaoAtendimentoService; a retenção remove partições inteiras (DROP TABLE).
+--
+-- No PostgreSQL, chaves primárias e restrições únicas de tabelas particionadas precisam
+-- conter a chave de partição. Por isso a unicidade global do protocolo (gerado a partir
+-- de UUID) passa a ser garantida pela aplicação; o índice único cobre (protocolo, dia).
+
+begin;
+
+alter table atendimentos rename to atendimentos_legado;
+alter table atendimentos_legado drop constraint if exists atendimentos_pkey;
+
+create table atendimentos (
+    like atendimentos_legado including defaults including identity
+) partition by range (data_referencia);
+
+alter table atendimentos add primary key (id, data_referencia);
+alter table atendimentos add constraint uk_atendimentos_protocolo_dia unique (protocolo, data_referencia);
+alter table atendimentos add constraint fk_atendimentos_atendente foreign key (atendente_id) references users (id);
+alter table atendimentos add constraint fk_atendimentos_tipo foreign key (tipo_id) references tipos_atendimento (id);
+
+create index idx_atendimentos_data_tipo_atendente on atendimentos (data_referencia, tipo_id, atendente_id);
+create index idx_atendimentos_cpf_data_hora on atendimentos (cpf, data_hora);
+create index idx_atendimentos_protocolo on atendimentos (protocolo);
+
+-- Linhas fora das partições mensais (ex.: datas futuras não previstas) caem aqui
+create table atendimentos_padrao partition of atendimentos default;
+
+-- Uma partição por mês com dados, do mês mais antigo até três meses à frente
+do $$
+declare
+    mes date;
+    ultimo date := date_trunc('month', current_date) + interval '3 months';
+begin
+    select coalesce(date_trunc('month', min(data_referencia)), date_trunc('month', current_date))
+      into mes
+      from atendimentos_legado;
+    while mes <= ultimo loop
+        execute format(
+            'create table if not exists %I partition of atendimentos for values from (%L) to (%L)',
+            'atendimentos_p' || to_char(mes, 'YYYYMM'), mes, mes + interval '1 month');
+        mes := mes + interval '1 month';
+    end loop;
+end $$;
+
+insert into atendimentos select * from atendimentos_legado;
+
+select setval(pg_get_serial_sequence('atendimentos', 'id'), coalesce(max(id), 0) + 1, false)
+  from atendimentos;
+
+drop table atendimentos_legado;
+
+commit;
@@ -3,7 +3,7 @@ package com.atendimento.app;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "atendimento.journal.diretorio=target/journal/${random.uuid}")
 class AppApplicationTests {
 
 	@Test
@@ -0,0 +1,139 @@
+package com.atendimento.app.configurations;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.repositories.UserRepository;
+import com.atendimento.app.security.JwtTokenProvider;
+import com.atendimento.app.services.AuthService;
+
+/**
+ * Testa a coleta do Prometheus e as métricas da aplicação.
+ */
+@SpringBootTest(properties = {
+        "atendimento.metricas.token=token-de-coleta-de-teste",
+        "atendimento.journal.diretorio=target/journal/${random.uuid}"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasTest {
+
+    private static final String TOKEN_COLETA = "Bearer token-de-coleta-de-teste";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void coletaPublicaAsMetricasDaAplicacao() throws Exception {
+        String jwt = "Bearer " + jwt(Role.USER);
+        mockMvc.perform(post("/atendimentos").header("Authorization", jwt)
+                .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+
+        String coleta = mockMvc.perform(get("/actuator/prometheus").header("Authorization", TOKEN_COLETA))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertSerie(coleta, "atendimento_validacao_falhas_total", "origem=\"corpo\"", "campo=\"cpf\"");
+        assertSerie(coleta, "atendimento_jwt_validacao_seconds_count", "resultado=\"valido\"");
+        assertSerie(coleta, "atendimento_bcrypt_seconds_count", "operacao=\"codificacao\"");
+        assertSerie(coleta, "http_server_requests_seconds_count", "controlador=\"AtendimentoController.criarAtendimento\"", "status=\"400\"");
+        assertSerie(coleta, "atendimento_cache_hibernate_gets_total", "regiao=\"usuarios\"", "resultado=\"acerto\"");
+        assertSerie(coleta, "atendimento_limites_limite", "grupo=\"USER\"");
+        assertSerie(coleta, "atendimento_limites_rejeicoes_total", "grupo=\"SUPERVISOR\"");
+    }
+
+    @Test
+    void atendimentosCriadosSaoEtiquetadosComOTipoCadastrado() throws Exception {
+        mockMvc.perform(post("/atendimentos").header("Authorization", "Bearer " + jwt(Role.USER))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"nomeCliente": "Cliente Métricas", "cpf": "52998224725",
+                         "descricao": "Tipo escrito pelo cliente", "tipo": " DÚVIDA "}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tipo").value("Dúvida"));
+
+        String coleta = mockMvc.perform(get("/actuator/prometheus").header("Authorization", TOKEN_COLETA))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertSerie(coleta, "atendimento_atendimentos_criados_total", "tipo=\"Dúvida\"");
+        assertTrue(coleta.lines().noneMatch(linha -> linha.contains("DÚVIDA")), "Tipo do cliente usado como etiqueta");
+    }
+
+    @Test
+    void tokenDeColetaNaoDaAcessoAOutrosEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", TOKEN_COLETA))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer outro-token"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + jwt(Role.USER)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void saudeEPublicaEOsDemaisEndpointsSaoDeAdministradores() throws Exception {
+        // O corpo traz o estado mesmo quando algum indicador está fora (503)
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(jsonPath("$.status").exists());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + jwt(Role.USER)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + jwt(Role.ADMIN)))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Gera um JWT para um usuário novo do papel informado.
+     */
+    private String jwt(Role role) {
+        User usuario = userRepository.save(User.builder()
+                .username("metricas-" + UUID.randomUUID().toString().substring(0, 8))
+                .password(passwordEncoder.encode("senha-segura"))
+                .role(role)
+                .build());
+        UserDetails principal = authService.loadUserByUsername(usuario.getUsername());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static void assertSerie(String coleta, String metrica, String... etiquetas) {
+        boolean encontrada = coleta.lines()
+                .filter(linha -> linha.startsWith(metrica + "{"))
+                .anyMatch(linha -> Arrays.stream(etiquetas).allMatch(linha::contains));
+        assertTrue(encontrada, () -> "Série " + metrica + Arrays.toString(etiquetas) + " ausente na coleta");
+    }
+}
@@ -0,0 +1,151 @@
+package com.atendimento.app.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.events.AtendimentoEvent;
+import com.atendimento.app.repositories.UserRepository;
+import com.atendimento.app.security.JwtTokenProvider;
+import com.atendimento.app.services.AtendimentoService;
+import com.atendimento.app.services.AuthService;
+
+/**
+ * Testa a edição de atendimentos com {@code If-Match}: ETag da nova versão, 409 com o estado
+ * atual em caso de conflito e o evento de edição.
+ */
+@SpringBootTest(properties = "atendimento.journal.diretorio=target/journal/${random.uuid}")
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class EdicaoAtendimentoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AtendimentoService atendimentoService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    private User supervisor;
+    private Atendimento atendimento;
+
+    @BeforeEach
+    void setUp() {
+        User atendente = usuario(Role.USER);
+        supervisor = usuario(Role.SUPERVISOR);
+        atendimento = atendimentoService.criarAtendimento(Atendimento.builder()
+                .nomeCliente("Cliente Edição")
+                .cpf("11144477735")
+                .descricao("Descrição original")
+                .tipo("Dúvida")
+                .atendente(atendente)
+                .build());
+    }
+
+    @Test
+    void edicaoComVersaoAtualDevolveNovaEtagEPublicaOEvento() throws Exception {
+        String etag = mockMvc.perform(comoSupervisor(get("/supervisor/atendimentos/protocolo/{protocolo}",
+                        atendimento.getProtocolo())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        long versao = Long.parseLong(etag.replace("\"", ""));
+
+        mockMvc.perform(comoSupervisor(patch("/supervisor/atendimentos/{id}/editar", atendimento.getId())
+                        .param("novaDescricao", "Descrição revisada")
+                        .header(HttpHeaders.IF_MATCH, etag)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (versao + 1) + "\""));
+
+        List<AtendimentoEvent> edicoes = eventos.stream(AtendimentoEvent.class)
+                .filter(evento -> evento.tipo() == AtendimentoEvent.Tipo.EDITADO)
+                .toList();
+        assertEquals(1, edicoes.size());
+        assertEquals(atendimento.getId(), edicoes.get(0).atendimentoId());
+        assertEquals(atendimento.getProtocolo(), edicoes.get(0).protocolo());
+        assertEquals(atendimento.getCpf(), edicoes.get(0).cpf());
+        assertEquals(Map.of("descricao", "Descrição revisada"), edicoes.get(0).alteracoes());
+    }
+
+    @Test
+    void edicaoSobreVersaoDesatualizadaDevolve409ComOEstadoAtual() throws Exception {
+        long versaoLida = atendimento.getVersao();
+        atendimentoService.editarAtendimento(atendimento.getId(), "Edição concorrente", versaoLida, "outro");
+        eventos.clear();
+
+        mockMvc.perform(comoSupervisor(patch("/supervisor/atendimentos/{id}/editar", atendimento.getId())
+                        .param("novaDescricao", "Edição atrasada")
+                        .header(HttpHeaders.IF_MATCH, "\"" + versaoLida + "\"")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.atual.descricao").value("Edição concorrente"))
+                .andExpect(jsonPath("$.atual.versao").value(versaoLida + 1));
+
+        assertEquals(0, eventos.stream(AtendimentoEvent.class).count());
+    }
+
+    @Test
+    void edicaoSemIfMatchSobrescreveQualquerVersao() throws Exception {
+        atendimentoService.editarAtendimento(atendimento.getId(), "Edição concorrente", null, "outro");
+
+        mockMvc.perform(comoSupervisor(patch("/supervisor/atendimentos/{id}/editar", atendimento.getId())
+                        .param("novaDescricao", "Última edição")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void ifMatchInvalidoDevolve400() throws Exception {
+        mockMvc.perform(comoSupervisor(patch("/supervisor/atendimentos/{id}/editar", atendimento.getId())
+                        .param("novaDescricao", "Descrição revisada")
+                        .header(HttpHeaders.IF_MATCH, "\"abc\"")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private User usuario(Role role) {
+        return userRepository.save(User.builder()
+                .username("edicao-" + UUID.randomUUID().toString().substring(0, 8))
+                .password("senha-segura")
+                .role(role)
+                .build());
+    }
+
+    private MockHttpServletRequestBuilder comoSupervisor(MockHttpServletRequestBuilder requisicao) {
+        UserDetails principal = authService.loadUserByUsername(supervisor.getUsername());
+        String token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return requisicao.header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,488 @@
+package com.atendimento.app.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.repositories.UserRepository;
+import com.atendimento.app.security.JwtTokenProvider;
+import com.atendimento.app.services.AtendimentoService;
+import com.atendimento.app.services.AuthService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Orçamento de comandos SQL por endpoint.
+ *
+ * <p>
+ * Cada cenário é executado com massas de dados de tamanhos diferentes ({@link #TAMANHOS}),
+ * com o cache de segundo nível vazio. A quantidade de comandos preparados pelo Hibernate na
+ * requisição deve ser a mesma em todos os tamanhos (sem N+1) e não pode passar do orçamento
+ * do endpoint, somado ao da autenticação ({@link #ORCAMENTO_AUTENTICACAO}) nas requisições
+ * com JWT. Os endpoints reativos usam R2DBC e não passam pelo Hibernate, e os de
+ * sharding só existem com o perfil {@code shards}; por isso ficam fora deste teste.
+ * </p>
+ */
+@SpringBootTest(properties = "atendimento.journal.diretorio=target/journal/${random.uuid}")
+@AutoConfigureMockMvc
+class OrcamentoConsultasTest {
+
+    private static final int[] TAMANHOS = {1, 4, 16};
+
+    /**
+     * SELECT do usuário feito pelo {@code JwtAuthFilter} em cada requisição autenticada: com o
+     * cache de segundo nível vazio, a busca por nome de usuário vai ao banco.
+     */
+    private static final long ORCAMENTO_AUTENTICACAO = 1;
+
+    private static final AtomicLong SEQUENCIA_CPF = new AtomicLong(ThreadLocalRandom.current().nextLong(100_000_000L, 800_000_000L));
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+
+    /** Dias distintos e futuros para as consultas por período, fora do alcance do arquivamento. */
+    private static final AtomicInteger SEQUENCIA_DIA = new AtomicInteger(ThreadLocalRandom.current().nextInt(0, 10_000));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AtendimentoService atendimentoService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    /** Indica se a requisição do cenário em preparação foi autenticada com JWT. */
+    private boolean autenticada;
+
+    @Nested
+    class AtendimentoControllerOrcamento {
+
+        @Test
+        void consultaPorCpf() throws Exception {
+            // Tabela quente e atendimentos arquivados do cliente
+            assertOrcamento(2, tamanho -> {
+                String cpf = cpf();
+                for (int i = 0; i < tamanho; i++) {
+                    criarAtendimento(cpf, usuario(Role.USER), null);
+                }
+                return comoUsuario(get("/atendimentos/cpf/{cpf}", cpf));
+            });
+        }
+
+        @Test
+        void consultaHistorico() throws Exception {
+            // Tabela quente e atendimentos arquivados do cliente
+            assertOrcamento(2, tamanho -> {
+                String cpf = cpf();
+                for (int i = 0; i < tamanho; i++) {
+                    criarAtendimento(cpf, usuario(Role.USER), null);
+                }
+                return comoUsuario(get("/atendimentos/cpf/{cpf}/historico", cpf).param("size", "100"));
+            });
+        }
+
+        @Test
+        void consultaPorProtocolo() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                String cpf = cpf();
+                Atendimento atendimento = null;
+                for (int i = 0; i < tamanho; i++) {
+                    atendimento = criarAtendimento(cpf, usuario(Role.USER), null);
+                }
+                return comoUsuario(get("/atendimentos/protocolo/{protocolo}", atendimento.getProtocolo()));
+            });
+        }
+
+        @Test
+        void consultaResumo() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                String cpf = cpf();
+                for (int i = 0; i < tamanho; i++) {
+                    criarAtendimento(cpf, usuario(Role.USER), null);
+                }
+                return comoUsuario(get("/atendimentos/cpf/{cpf}/resumo", cpf));
+            });
+        }
+
+        @Test
+        void consultaEmLotePorCpfs() throws Exception {
+            // Tabela quente e atendimentos arquivados do cliente
+            assertOrcamento(2, tamanho -> {
+                List<String> cpfs = new ArrayList<>();
+                for (int i = 0; i < tamanho; i++) {
+                    String cpf = cpf();
+                    criarAtendimento(cpf, usuario(Role.USER), null);
+                    cpfs.add(cpf);
+                }
+                return comoUsuario(json(post("/atendimentos/cpf/lote"), Map.of("chaves", cpfs)));
+            });
+        }
+
+        @Test
+        void consultaEmLotePorProtocolos() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                List<String> protocolos = new ArrayList<>();
+                for (int i = 0; i < tamanho; i++) {
+                    protocolos.add(criarAtendimento(cpf(), usuario(Role.USER), null).getProtocolo());
+                }
+                return comoUsuario(json(post("/atendimentos/protocolo/lote"), Map.of("chaves", protocolos)));
+            });
+        }
+
+        @Test
+        void criacao() throws Exception {
+            // INSERT do atendimento e, no primeiro atendimento do cliente, SELECT ... FOR UPDATE sem
+            // resultado, INSERT do resumo vazio, novo SELECT ... FOR UPDATE e UPDATE do resumo
+            assertOrcamento(5, tamanho -> {
+                for (int i = 0; i < tamanho; i++) {
+                    criarAtendimento(cpf(), usuario(Role.USER), null);
+                }
+                return comoUsuario(json(post("/atendimentos"), Map.of(
+                        "nomeCliente", "Cliente Orçamento",
+                        "cpf", cpf(),
+                        "descricao", "Criação medida pelo orçamento de consultas",
+                        "tipo", "Dúvida")));
+            });
+        }
+
+        @Test
+        void tiposESugestoesNaoConsultamOBanco() throws Exception {
+            assertOrcamento(0, tamanho -> comoUsuario(get("/atendimentos/tipos")));
+            assertOrcamento(0, tamanho -> comoUsuario(get("/atendimentos/sugestoes").param("prefixo", "Cli")));
+        }
+    }
+
+    @Nested
+    class SupervisorControllerOrcamento {
+
+        @Test
+        void listagem() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                for (int i = 0; i < tamanho; i++) {
+                    criarAtendimento(cpf(), usuario(Role.USER), null);
+                }
+                return comoSupervisor(get("/supervisor/atendimentos"));
+            });
+        }
+
+        @Test
+        void listagemComCampos() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                for (int i = 0; i < tamanho; i++) {
+                    criarAtendimento(cpf(), usuario(Role.USER), null);
+                }
+                return comoSupervisor(get("/supervisor/atendimentos").param("fields", "protocolo,atendente"));
+            });
+        }
+
+        @Test
+        void consultaPorPeriodo() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                LocalDateTime dia = LocalDate.of(2099, 1, 1).plusDays(SEQUENCIA_DIA.incrementAndGet()).atStartOfDay();
+                for (int i = 0; i < tamanho; i++) {
+                    criarAtendimento(cpf(), usuario(Role.USER), dia.plusMinutes(i));
+                }
+                return comoSupervisor(get("/supervisor/atendimentos/periodo")
+                        .param("inicio", dia.toString())
+                        .param("fim", dia.plusDays(1).toString())
+                        .param("size", "100"));
+            });
+        }
+
+        @Test
+        void consultaPorAtendente() throws Exception {
+            // Busca do atendente e dos atendimentos
+            assertOrcamento(2, tamanho -> {
+                User atendente = usuario(Role.USER);
+                for (int i = 0; i < tamanho; i++) {
+                    criarAtendimento(cpf(), atendente, null);
+                }
+                return comoSupervisor(get("/supervisor/atendimentos/atendente/{id}", atendente.getId()));
+            });
+        }
+
+        @Test
+        void consultaPorProtocolo() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                Atendimento atendimento = null;
+                for (int i = 0; i < tamanho; i++) {
+                    atendimento = criarAtendimento(cpf(), usuario(Role.USER), null);
+                }
+                return comoSupervisor(get("/supervisor/atendimentos/protocolo/{protocolo}", atendimento.getProtocolo()));
+            });
+        }
+
+        @Test
+        void edicao() throws Exception {
+            // UPDATE versionado e SELECT do protocolo e do CPF para o evento de edição
+            assertOrcamento(2, tamanho -> {
+                Atendimento atendimento = null;
+                for (int i = 0; i < tamanho; i++) {
+                    atendimento = criarAtendimento(cpf(), usuario(Role.USER), null);
+                }
+                return comoSupervisor(patch("/supervisor/atendimentos/{id}/editar", atendimento.getId())
+                        .param("novaDescricao", "Descrição revisada"));
+            });
+        }
+
+        @Test
+        void edicaoEmLote() throws Exception {
+            // SELECT dos atendimentos e dos resumos, e um UPDATE em lote para cada tabela
+            assertOrcamento(4, tamanho -> {
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < tamanho; i++) {
+                    ids.add(criarAtendimento(cpf(), usuario(Role.USER), null).getId());
+                }
+                return comoSupervisor(json(post("/supervisor/atendimentos/editar-lote"), Map.of(
+                        "ids", ids,
+                        "descricao", "Descrição revisada em lote",
+                        "tipo", "Sugestão")));
+            });
+        }
+    }
+
+    @Nested
+    class AdminUserControllerOrcamento {
+
+        @Test
+        void listagem() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                for (int i = 0; i < tamanho; i++) {
+                    usuario(Role.USER);
+                }
+                return comoAdmin(get("/admin/users"));
+            });
+        }
+
+        @Test
+        void listagemDeBloqueados() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                for (int i = 0; i < tamanho; i++) {
+                    User bloqueado = usuario(Role.USER);
+                    bloqueado.setLocked(true);
+                    userRepository.save(bloqueado);
+                }
+                return comoAdmin(get("/admin/users/blocked"));
+            });
+        }
+
+        @Test
+        void bloqueio() throws Exception {
+            // Busca e UPDATE do usuário (com a sessão aberta na requisição, sem novo SELECT no save)
+            assertOrcamento(2, tamanho -> {
+                User usuario = null;
+                for (int i = 0; i < tamanho; i++) {
+                    usuario = usuario(Role.USER);
+                }
+                return comoAdmin(patch("/admin/users/{id}/block", usuario.getId()));
+            });
+        }
+    }
+
+    @Nested
+    class AdminControllersOrcamento {
+
+        @Test
+        void cadastroDeTipo() throws Exception {
+            // Busca do nome na tabela (outra instância pode tê-lo cadastrado), INSERT do tipo e recarga do dicionário
+            assertOrcamento(3, tamanho -> comoAdmin(post("/admin/tipos").param("nome", "Tipo " + SEQUENCIA.incrementAndGet())));
+        }
+
+        @Test
+        void consultasDeAcompanhamentoNaoConsultamOBanco() throws Exception {
+            assertOrcamento(0, tamanho -> comoAdmin(get("/admin/cache")));
+            assertOrcamento(0, tamanho -> comoAdmin(get("/admin/jdbc")));
+            assertOrcamento(0, tamanho -> comoAdmin(get("/admin/limites")));
+            assertOrcamento(0, tamanho -> comoAdmin(get("/admin/journal")));
+        }
+    }
+
+    @Nested
+    class AuthControllerOrcamento {
+
+        @Test
+        void login() throws Exception {
+            assertOrcamento(1, tamanho -> {
+                for (int i = 1; i < tamanho; i++) {
+                    usuario(Role.USER);
+                }
+                User usuario = usuario(Role.USER);
+                return json(post("/auth/login"), Map.of("username", usuario.getUsername(), "password", "senha-segura"));
+            });
+        }
+
+        @Test
+        void registro() throws Exception {
+            // Verificação do nome e INSERT do usuário
+            assertOrcamento(2, tamanho -> {
+                for (int i = 0; i < tamanho; i++) {
+                    usuario(Role.USER);
+                }
+                return json(post("/auth/register"), Map.of(
+                        "username", "orc-novo-" + SEQUENCIA.incrementAndGet(),
+                        "password", "senha-segura",
+                        "role", "USER"));
+            });
+        }
+    }
+
+    /**
+     * Prepara o cenário com a massa de dados de um tamanho e devolve a requisição a medir.
+     */
+    @FunctionalInterface
+    interface Cenario {
+        RequestBuilder preparar(int tamanho) throws Exception;
+    }
+
+    /**
+     * Executa o cenário em todos os tamanhos e verifica que a quantidade de comandos SQL é
+     * a mesma em todos e não passa do orçamento.
+     */
+    private void assertOrcamento(long orcamento, Cenario cenario) throws Exception {
+        Map<Integer, Long> comandos = new LinkedHashMap<>();
+        autenticada = false;
+        for (int tamanho : TAMANHOS) {
+            RequestBuilder requisicao = cenario.preparar(tamanho);
+            comandos.put(tamanho, contarComandos(requisicao));
+        }
+        long maximo = autenticada ? orcamento + ORCAMENTO_AUTENTICACAO : orcamento;
+        assertEquals(1, new HashSet<>(comandos.values()).size(),
+                () -> "A quantidade de comandos SQL cresce com a massa de dados (tamanho=comandos): " + comandos);
+        assertTrue(comandos.get(TAMANHOS[0]) <= maximo,
+                () -> "Comandos SQL acima do orçamento de " + maximo + " (tamanho=comandos): " + comandos);
+    }
+
+    /**
+     * Conta os comandos preparados pelo Hibernate durante a requisição, com o cache vazio.
+     */
+    private long contarComandos(RequestBuilder requisicao) throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics estatisticas = sessionFactory.getStatistics();
+        estatisticas.clear();
+        mockMvc.perform(requisicao).andExpect(status().is2xxSuccessful());
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    private User usuario(Role role) {
+        return userRepository.save(User.builder()
+                .username("orc-" + SEQUENCIA.incrementAndGet() + "-" + ThreadLocalRandom.current().nextInt(1_000_000))
+                .password(passwordEncoder.encode("senha-segura"))
+                .role(role)
+                .build());
+    }
+
+    private Atendimento criarAtendimento(String cpf, User atendente, LocalDateTime dataHora) {
+        return atendimentoService.criarAtendimento(Atendimento.builder()
+                .nomeCliente("Cliente Orçamento")
+                .cpf(cpf)
+                .descricao("Massa do orçamento de consultas")
+                .tipo("Dúvida")
+                .dataHora(dataHora)
+                .atendente(atendente)
+                .build());
+    }
+
+    private MockHttpServletRequestBuilder comoUsuario(MockHttpServletRequestBuilder requisicao) {
+        return autenticada(requisicao, usuario(Role.USER));
+    }
+
+    private MockHttpServletRequestBuilder comoSupervisor(MockHttpServletRequestBuilder requisicao) {
+        return autenticada(requisicao, usuario(Role.SUPERVISOR));
+    }
+
+    private MockHttpServletRequestBuilder comoAdmin(MockHttpServletRequestBuilder requisicao) {
+        return autenticada(requisicao, usuario(Role.ADMIN));
+    }
+
+    /**
+     * Autentica a requisição com um JWT, pelo mesmo {@code JwtAuthFilter} das requisições reais.
+     * A busca do usuário pelo filtro é contada à parte ({@link #ORCAMENTO_AUTENTICACAO}).
+     */
+    private MockHttpServletRequestBuilder autenticada(MockHttpServletRequestBuilder requisicao, User usuario) {
+        autenticada = true;
+        UserDetails principal = authService.loadUserByUsername(usuario.getUsername());
+        String token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return requisicao.header("Authorization", "Bearer " + token);
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder requisicao, Object corpo) throws Exception {
+        return requisicao.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(corpo));
+    }
+
+    /**
+     * Gera um CPF válido e ainda não usado no teste.
+     */
+    private static String cpf() {
+        String base = String.format("%09d", SEQUENCIA_CPF.incrementAndGet());
+        int[] digitos = new int[11];
+        for (int i = 0; i < 9; i++) {
+            digitos[i] = base.charAt(i) - '0';
+        }
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+
+        StringBuilder cpf = new StringBuilder();
+        for (int digito : digitos) {
+            cpf.append(digito);
+        }
+        return cpf.toString();
+    }
+
+    private static int digitoVerificador(int[] digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (quantidade + 1 - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,91 @@
+package com.atendimento.app.datasource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compara a vazão de inserções e consultas do H2 em memória, em arquivo com as opções
+ * padrão e em arquivo com as opções do perfil {@code duravel}.
+ *
+ * <p>
+ * Executado apenas sob demanda:
+ * {@code ./mvnw test -Dtest=H2DurabilidadeBenchmarkTest -Dbenchmark=true}. Cada inserção é
+ * uma transação, como na criação de atendimentos; as consultas usam o índice por CPF.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class H2DurabilidadeBenchmarkTest {
+
+    private static final int INSERCOES = 20_000;
+    private static final int CONSULTAS = 50_000;
+    private static final int AQUECIMENTO = 2_000;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void compararMemoriaEArquivo() throws Exception {
+        System.out.printf("%-18s %15s %15s%n", "modo", "inserções/s", "consultas/s");
+        medir("memória", "jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        medir("arquivo (padrão)", "jdbc:h2:file:" + diretorio.resolve("padrao").toAbsolutePath() + "/atendimento");
+        medir("arquivo (durável)", H2DuravelTest.urlDuravel(diretorio.resolve("duravel")));
+    }
+
+    private static void medir(String modo, String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            connection.createStatement().execute("create table atendimentos (id bigint auto_increment primary key, "
+                    + "cpf varchar(11), descricao varchar(500))");
+            connection.createStatement().execute("create index idx_cpf on atendimentos (cpf)");
+
+            inserir(connection, AQUECIMENTO);
+            long inicio = System.nanoTime();
+            inserir(connection, INSERCOES);
+            double insercoesPorSegundo = INSERCOES / ((System.nanoTime() - inicio) / 1e9);
+
+            consultar(connection, AQUECIMENTO);
+            inicio = System.nanoTime();
+            consultar(connection, CONSULTAS);
+            double consultasPorSegundo = CONSULTAS / ((System.nanoTime() - inicio) / 1e9);
+
+            System.out.printf("%-18s %15.0f %15.0f%n", modo, insercoesPorSegundo, consultasPorSegundo);
+        }
+    }
+
+    private static void inserir(Connection connection, int quantidade) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into atendimentos (cpf, descricao) values (?, ?)")) {
+            for (int i = 0; i < quantidade; i++) {
+                insert.setString(1, cpf(i));
+                insert.setString(2, "Atendimento de teste " + i);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private static void consultar(Connection connection, int quantidade) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "select id, descricao from atendimentos where cpf = ?")) {
+            for (int i = 0; i < quantidade; i++) {
+                select.setString(1, cpf(i % INSERCOES));
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getLong(1);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String cpf(int i) {
+        return String.format("%011d", i);
+    }
+}
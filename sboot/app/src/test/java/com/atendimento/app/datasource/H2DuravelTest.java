@@ -0,0 +1,148 @@
+package com.atendimento.app.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.atendimento.app.services.ManutencaoH2Service;
+
+/**
+ * Testa o H2 em arquivo com as opções do perfil {@code duravel}: recuperação após a
+ * queda do processo e backups online.
+ */
+class H2DuravelTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void bancoReabreConsistenteAposQuedaDoProcesso() throws Exception {
+        String url = urlDuravel(diretorio.resolve("crash"));
+        Process escritor = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), Escritor.class.getName(), url)
+                .redirectErrorStream(true)
+                .start();
+
+        long confirmado = 0;
+        try (BufferedReader saida = new BufferedReader(
+                new InputStreamReader(escritor.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while (confirmado < 2000 && (linha = saida.readLine()) != null) {
+                if (linha.startsWith("OK ")) {
+                    confirmado = Long.parseLong(linha.substring(3));
+                }
+            }
+            assertTrue(confirmado >= 2000, "O processo escritor terminou antes do esperado.");
+
+            // Espera mais que WRITE_DELAY para que os commits já informados estejam no arquivo
+            Thread.sleep(1000);
+            escritor.destroyForcibly();
+            assertTrue(escritor.waitFor(10, TimeUnit.SECONDS));
+        } finally {
+            escritor.destroyForcibly();
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select count(*), max(lote) from eventos")) {
+            rs.next();
+            long linhas = rs.getLong(1);
+            long ultimoLote = rs.getLong(2);
+            // Cada transação grava duas linhas: nenhuma pode ter sido recuperada pela metade
+            assertEquals(0, linhas % 2);
+            assertEquals(linhas / 2, ultimoLote);
+            assertTrue(ultimoLote >= confirmado, "Commits confirmados antes da queda foram perdidos.");
+        }
+    }
+
+    @Test
+    void backupOnlineMantemApenasOsMaisRecentes() throws Exception {
+        String url = urlDuravel(diretorio.resolve("backup"));
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            connection.createStatement().execute("create table eventos (lote bigint, parte varchar(1))");
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+            ManutencaoH2Service manutencao = new ManutencaoH2Service();
+            Path backups = diretorio.resolve("backups");
+            ReflectionTestUtils.setField(manutencao, "jdbcTemplate", jdbcTemplate);
+            ReflectionTestUtils.setField(manutencao, "diretorioBackup", backups);
+            ReflectionTestUtils.setField(manutencao, "retencao", 2);
+
+            // Backups antigos, com carimbos anteriores ao atual
+            Files.createDirectories(backups);
+            Files.createFile(backups.resolve("atendimento-20000101-000000.zip"));
+            Files.createFile(backups.resolve("atendimento-20000102-000000.zip"));
+
+            Path backup = manutencao.backup();
+
+            assertNotNull(backup);
+            assertTrue(Files.size(backup) > 0);
+            try (Stream<Path> arquivos = Files.list(backups)) {
+                assertEquals(2, arquivos.count());
+            }
+            assertTrue(Files.exists(backups.resolve("atendimento-20000102-000000.zip")));
+        }
+    }
+
+    /**
+     * URL do H2 em arquivo com as opções de {@code application-duravel.properties}.
+     */
+    static String urlDuravel(Path banco) throws IOException {
+        Properties perfil = new Properties();
+        try (InputStream entrada = H2DuravelTest.class.getResourceAsStream("/application-duravel.properties")) {
+            perfil.load(entrada);
+        }
+        return "jdbc:h2:file:" + banco.toAbsolutePath() + "/atendimento;" + perfil.getProperty("atendimento.h2.opcoes");
+    }
+
+    /**
+     * Processo que grava continuamente, em transações de duas linhas, até ser encerrado.
+     */
+    public static class Escritor {
+
+        public static void main(String[] args) throws SQLException {
+            try (Connection connection = DriverManager.getConnection(args[0], "sa", "")) {
+                connection.createStatement().execute("create table if not exists eventos (lote bigint, parte varchar(1))");
+                connection.setAutoCommit(false);
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "insert into eventos (lote, parte) values (?, ?)")) {
+                    for (long lote = 1; ; lote++) {
+                        insert.setLong(1, lote);
+                        insert.setString(2, "a");
+                        insert.executeUpdate();
+                        insert.setString(2, "b");
+                        insert.executeUpdate();
+                        connection.commit();
+                        if (lote % 100 == 0) {
+                            System.out.println("OK " + lote);
+                            System.out.flush();
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.atendimento.app.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.core.RepositoryInformation;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Testa a medição dos comandos e o registro de consultas lentas sobre um H2 em memória.
+ */
+class InstrumentacaoJdbcListenerTest {
+
+    private SimpleMeterRegistry registro;
+
+    @BeforeEach
+    void criarRegistro() {
+        registro = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void registraFormatoDosParametrosSemOsValores() throws SQLException {
+        InstrumentacaoJdbcListener ouvinte = new InstrumentacaoJdbcListener(registro, Duration.ZERO, 10);
+        DataSource dataSource = instrumentar("jdbc:h2:mem:instrumentacao1", ouvinte);
+
+        try (Connection conexao = dataSource.getConnection()) {
+            criarTabela(conexao);
+            try (PreparedStatement comando = conexao.prepareStatement(
+                    "insert into clientes (cpf, nome, idade) values (?, ?, ?)")) {
+                comando.setString(1, "52998224725");
+                comando.setString(2, "Maria");
+                comando.setNull(3, Types.INTEGER);
+                comando.executeUpdate();
+            }
+        }
+
+        InstrumentacaoJdbcListener.ConsultaLenta insercao = ouvinte.getConsultasLentas().get(0);
+        assertEquals("insert", insercao.tipo());
+        assertEquals("[String, String, null]", insercao.parametros());
+        assertEquals("-", insercao.endpoint());
+        assertFalse(insercao.toString().contains("52998224725"), "O valor do CPF não pode ser registrado");
+    }
+
+    @Test
+    void agrupaOTempoPorMetodoDeOrigem() throws SQLException {
+        InstrumentacaoJdbcListener ouvinte = new InstrumentacaoJdbcListener(registro, Duration.ofMinutes(1), 10);
+        DataSource dataSource = instrumentar("jdbc:h2:mem:instrumentacao2", ouvinte);
+
+        ClientesRepository repositorio = comOrigem(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement("select * from clientes where cpf = ?")) {
+                comando.setString(1, "52998224725");
+                comando.executeQuery().close();
+            }
+        });
+
+        try (Connection conexao = dataSource.getConnection()) {
+            criarTabela(conexao);
+            for (int i = 0; i < 3; i++) {
+                repositorio.buscar(conexao);
+            }
+        }
+
+        Timer selects = registro.find("atendimento.jdbc.consultas").tag("tipo", "select").timer();
+        assertEquals(3, selects.count());
+        assertEquals("ClientesRepository.buscar", selects.getId().getTag("origem"));
+        assertNull(OrigemConsulta.atual());
+        assertEquals(List.of(), ouvinte.getConsultasLentas());
+    }
+
+    @Test
+    void mantemApenasAsConsultasLentasMaisRecentes() throws SQLException {
+        InstrumentacaoJdbcListener ouvinte = new InstrumentacaoJdbcListener(registro, Duration.ZERO, 2);
+        DataSource dataSource = instrumentar("jdbc:h2:mem:instrumentacao3", ouvinte);
+
+        try (Connection conexao = dataSource.getConnection(); Statement comando = conexao.createStatement()) {
+            comando.execute("select 1");
+            comando.execute("select 2");
+            comando.execute("select 3");
+        }
+
+        List<InstrumentacaoJdbcListener.ConsultaLenta> lentas = ouvinte.getConsultasLentas();
+        assertEquals(List.of("select 3", "select 2"), lentas.stream().map(InstrumentacaoJdbcListener.ConsultaLenta::sql).toList());
+        assertEquals(3.0, registro.counter("atendimento.jdbc.consultas.lentas").count());
+    }
+
+    /**
+     * Envolve o repositório no interceptador usado nos repositórios do Spring Data.
+     */
+    private static ClientesRepository comOrigem(ClientesRepository alvo) {
+        RepositoryInformation informacoes = mock(RepositoryInformation.class);
+        doReturn(ClientesRepository.class).when(informacoes).getRepositoryInterface();
+
+        ProxyFactory proxy = new ProxyFactory(alvo);
+        proxy.addInterface(ClientesRepository.class);
+        proxy.addAdvice(OrigemConsulta.interceptador(informacoes));
+        return (ClientesRepository) proxy.getProxy();
+    }
+
+    private static DataSource instrumentar(String url, InstrumentacaoJdbcListener ouvinte) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL(url + ";DB_CLOSE_DELAY=-1");
+        return ProxyDataSourceBuilder.create(h2).listener(ouvinte).build();
+    }
+
+    private static void criarTabela(Connection conexao) throws SQLException {
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("create table clientes (cpf varchar(11), nome varchar(100), idade int)");
+        }
+    }
+
+    interface ClientesRepository {
+        void buscar(Connection conexao) throws SQLException;
+    }
+}
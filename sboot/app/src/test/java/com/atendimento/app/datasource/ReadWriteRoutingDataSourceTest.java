@@ -0,0 +1,146 @@
+package com.atendimento.app.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Testa o roteamento entre duas instâncias H2 em memória (primário e réplica).
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicReference<String> usuario = new AtomicReference<>();
+    private final AtomicBoolean replicaFora = new AtomicBoolean();
+    private final RelogioManual relogio = new RelogioManual();
+
+    private ReadWriteRoutingDataSource roteador;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primario = criarBanco("primario");
+        DataSource replica = new DelegatingDataSource(criarBanco("replica")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaFora.get()) {
+                    throw new SQLException("Réplica fora do ar");
+                }
+                return super.getConnection();
+            }
+        };
+
+        roteador = new ReadWriteRoutingDataSource(primario, replica,
+                new LeituraPropriaGuard(Duration.ofSeconds(5), relogio), usuario::get);
+        roteador.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteador);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @Test
+    void leituraSomenteLeituraVaiParaReplica() {
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void escritaEForaDeTransacaoVaoParaPrimario() {
+        assertEquals("primario", escrita.execute(status -> origem()));
+        assertEquals("primario", origem());
+    }
+
+    @Test
+    void usuarioLeAsPropriasEscritasNoPrimarioDuranteAJanela() {
+        usuario.set("supervisor");
+        escrita.execute(status -> origem());
+
+        assertEquals("primario", leitura.execute(status -> origem()));
+
+        usuario.set("outro");
+        assertEquals("replica", leitura.execute(status -> origem()));
+
+        usuario.set("supervisor");
+        relogio.avancar(Duration.ofSeconds(6));
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void replicaIndisponivelDesviaLeiturasParaPrimario() {
+        replicaFora.set(true);
+        assertFalse(roteador.verificarReplica(1));
+        assertEquals("primario", leitura.execute(status -> origem()));
+
+        replicaFora.set(false);
+        assertTrue(roteador.verificarReplica(1));
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("select nome from origem", String.class);
+    }
+
+    private static DataSource criarBanco(String nome) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nome + "_roteamento;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists origem (nome varchar(20))");
+        jdbc.execute("delete from origem");
+        jdbc.update("insert into origem (nome) values (?)", nome);
+        return dataSource;
+    }
+
+    /**
+     * Relógio controlado pelo teste.
+     */
+    private static final class RelogioManual extends Clock {
+
+        private final AtomicLong millis = new AtomicLong(Instant.parse("2025-01-01T00:00:00Z").toEpochMilli());
+
+        void avancar(Duration duracao) {
+            millis.addAndGet(duracao.toMillis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.atendimento.app.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.atendimento.app.services.ReshardingService;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Testa o sharding de atendimentos sobre três instâncias H2 em memória.
+ */
+class ShardingTest {
+
+    private ShardDataSources shards;
+    private DataSource roteado;
+
+    @BeforeEach
+    void setUp() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:shard" + shard + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            pools.add(dataSource);
+
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("create table atendimentos (id bigint primary key, cpf varchar(14), bucket int)");
+            jdbc.execute("create table resumos_clientes (cpf varchar(14) primary key, total bigint, bucket int)");
+            jdbc.execute("create table atendimentos_arquivados (id bigint primary key, cpf varchar(14), bucket int)");
+            jdbc.update("insert into atendimentos (id, cpf, bucket) values (?, ?, ?)", shard * 1000L, "shard" + shard, -1);
+        }
+        shards = new ShardDataSources(pools);
+
+        ShardRoutingDataSource roteador = new ShardRoutingDataSource(shards.getTodos());
+        roteador.afterPropertiesSet();
+        roteado = new LazyConnectionDataSourceProxy(roteador);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.close();
+    }
+
+    @Test
+    void bucketDependeApenasDosDigitosDoCpf() {
+        int bucket = MapaShards.bucketDe("529.982.247-25");
+        assertEquals(bucket, MapaShards.bucketDe("52998224725"));
+        assertTrue(bucket >= 0 && bucket < MapaShards.NUM_BUCKETS);
+    }
+
+    @Test
+    void cpfsSeEspalhamPorTodosOsBuckets() {
+        long distintos = IntStream.range(0, 20_000)
+                .map(i -> MapaShards.bucketDe(String.format("%011d", 10_000_000_000L + i * 7919L)))
+                .distinct()
+                .count();
+        assertEquals(MapaShards.NUM_BUCKETS, distintos);
+    }
+
+    @Test
+    void protocoloCarregaOBucket() {
+        String protocolo = MapaShards.gerarProtocolo(0x3ff);
+        assertTrue(protocolo.startsWith("3ff-"));
+        assertEquals(OptionalInt.of(0x3ff), MapaShards.bucketDoProtocolo(protocolo));
+        assertEquals(OptionalInt.empty(), MapaShards.bucketDoProtocolo(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void protocoloComBucketInexistenteNaoTemShard() {
+        assertEquals(OptionalInt.empty(), MapaShards.bucketDoProtocolo("fff-x"));
+        assertEquals(OptionalInt.empty(), MapaShards.bucketDoProtocolo(String.format("%03x-x", MapaShards.NUM_BUCKETS)));
+        assertEquals(OptionalInt.of(MapaShards.NUM_BUCKETS - 1),
+                MapaShards.bucketDoProtocolo(MapaShards.gerarProtocolo(MapaShards.NUM_BUCKETS - 1)));
+    }
+
+    @Test
+    void conexaoVaiAoShardDoContexto() {
+        JdbcTemplate jdbc = new JdbcTemplate(roteado);
+        assertEquals("shard0", jdbc.queryForObject("select cpf from atendimentos", String.class));
+        assertEquals("shard2", ShardContext.executar(2,
+                () -> jdbc.queryForObject("select cpf from atendimentos", String.class)));
+        assertEquals("shard0", jdbc.queryForObject("select cpf from atendimentos", String.class));
+    }
+
+    @Test
+    void mapaPersistidoSobreviveAoRecarregamento() {
+        MapaShards mapa = new MapaShards(shards.get(0), 3);
+        mapa.carregar();
+        assertEquals(2, mapa.shardDoBucket(5));
+
+        mapa.atribuir(5, 0);
+        MapaShards recarregado = new MapaShards(shards.get(0), 3);
+        recarregado.carregar();
+        assertEquals(0, recarregado.shardDoBucket(5));
+    }
+
+    @Test
+    void moverBucketCopiaERemoveDaOrigem() {
+        MapaShards mapa = new MapaShards(shards.get(0), 3);
+        mapa.carregar();
+        int bucket = 7; // shard 1 na distribuição inicial
+        JdbcTemplate origem = new JdbcTemplate(shards.get(1));
+        origem.update("insert into atendimentos (id, cpf, bucket) values (?, ?, ?)", 101L, "a", bucket);
+        origem.update("insert into atendimentos (id, cpf, bucket) values (?, ?, ?)", 102L, "a", bucket);
+        origem.update("insert into resumos_clientes (cpf, total, bucket) values (?, ?, ?)", "a", 2L, bucket);
+
+        ReshardingService resharding = reshardingService(mapa);
+        assertEquals(3, resharding.moverBucket(bucket, 2));
+
+        JdbcTemplate destino = new JdbcTemplate(shards.get(2));
+        assertEquals(2, mapa.shardDoBucket(bucket));
+        assertEquals(2, destino.queryForObject("select count(*) from atendimentos where bucket = ?", Integer.class, bucket));
+        assertEquals(1, destino.queryForObject("select count(*) from resumos_clientes where bucket = ?", Integer.class, bucket));
+        assertEquals(0, origem.queryForObject("select count(*) from atendimentos where bucket = ?", Integer.class, bucket));
+    }
+
+    @Test
+    void rebalancearDistribuiBucketsParaNovoShard() {
+        // Mapa criado com dois shards; um terceiro é incluído depois
+        new MapaShards(shards.get(0), 2).carregar();
+        MapaShards mapa = new MapaShards(shards.get(0), 3);
+        mapa.carregar();
+        assertEquals(0, mapa.distribuicao()[2]);
+
+        Map<Integer, Integer> movimentos = reshardingService(mapa).rebalancear();
+
+        int[] distribuicao = mapa.distribuicao();
+        assertEquals(342, distribuicao[0]);
+        assertEquals(341, distribuicao[1]);
+        assertEquals(341, distribuicao[2]);
+        assertEquals(341, movimentos.size());
+    }
+
+    @Test
+    void paginacaoCombinaOrdemDeTodosOsShards() {
+        MapaShards mapa = new MapaShards(shards.get(0), 3);
+        mapa.carregar();
+        for (int shard = 0; shard < 3; shard++) {
+            JdbcTemplate jdbc = new JdbcTemplate(shards.get(shard));
+            for (int i = 1; i <= 4; i++) {
+                jdbc.update("insert into atendimentos (id, cpf, bucket) values (?, ?, ?)", i * 3L + shard, "x", 0);
+            }
+        }
+
+        ShardRouter router = new ShardRouter();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("mapaShards", mapa));
+        ReflectionTestUtils.setField(router, "mapaShards", beanFactory.getBeanProvider(MapaShards.class));
+        ReflectionTestUtils.setField(router, "transactionManager", new DataSourceTransactionManager(roteado));
+
+        JdbcTemplate jdbc = new JdbcTemplate(roteado);
+        Page<Linha> pagina = router.paginarEmTodos(PageRequest.of(1, 4, Sort.by("id").descending()), pageable -> {
+            List<Linha> linhas = jdbc.query("select id from atendimentos where bucket = 0 order by id desc limit ? offset ?",
+                    (rs, i) -> new Linha(rs.getLong(1)), pageable.getPageSize(), pageable.getOffset());
+            long total = jdbc.queryForObject("select count(*) from atendimentos where bucket = 0", Long.class);
+            return new PageImpl<>(linhas, pageable, total);
+        });
+
+        assertEquals(12, pagina.getTotalElements());
+        assertEquals(List.of(10L, 9L, 8L, 7L), pagina.getContent().stream().map(Linha::getId).toList());
+    }
+
+    @Test
+    void comparadorSemOrdenacaoSegueOId() {
+        List<Linha> linhas = new ArrayList<>(List.of(new Linha(5L), new Linha(2L), new Linha(9L), new Linha(1L)));
+        linhas.sort(ShardRouter.comparador(Sort.unsorted()));
+        assertEquals(List.of(1L, 2L, 5L, 9L), linhas.stream().map(Linha::getId).toList());
+    }
+
+    private ReshardingService reshardingService(MapaShards mapa) {
+        ReshardingService resharding = new ReshardingService();
+        ReflectionTestUtils.setField(resharding, "shardDataSources", shards);
+        ReflectionTestUtils.setField(resharding, "mapaShards", mapa);
+        return resharding;
+    }
+
+    /**
+     * Linha mínima para a ordenação por propriedade.
+     */
+    public static class Linha {
+        private final Long id;
+
+        Linha(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.atendimento.app.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testa o ajuste do limite do {@link AdaptiveLimiter} a partir de latências fixas, em uma
+ * única thread (sem disputa pelo bloqueio de atualização).
+ */
+class AdaptiveLimiterTest {
+
+    private static final long RAPIDA = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long LENTA = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void limiteCresceComLatenciaEstavelAteOMaximo() {
+        AdaptiveLimiter limitador = new AdaptiveLimiter(10, 2, 40, 1.5);
+
+        rodada(limitador, RAPIDA);
+        assertTrue(limitador.getLimite() > 10, "Limite não cresceu: " + limitador.getLimite());
+
+        for (int i = 0; i < 50; i++) {
+            rodada(limitador, RAPIDA);
+        }
+        assertEquals(40, limitador.getLimite());
+    }
+
+    @Test
+    void limiteDiminuiQuandoALatenciaSobeENaoPassaDoMinimo() {
+        AdaptiveLimiter limitador = new AdaptiveLimiter(20, 5, 40, 1.5);
+        rodada(limitador, RAPIDA);
+        int referencia = limitador.getLimite();
+
+        rodada(limitador, LENTA);
+        assertTrue(limitador.getLimite() < referencia,
+                "Limite não diminuiu: " + referencia + " -> " + limitador.getLimite());
+
+        // Com tolerância baixa, o gradiente fica no mínimo (0,5) e o limite converge para baixo
+        AdaptiveLimiter sobPressao = new AdaptiveLimiter(6, 5, 40, 0.5);
+        rodada(sobPressao, RAPIDA);
+        for (int i = 0; i < 20; i++) {
+            rodada(sobPressao, LENTA);
+        }
+        assertEquals(5, sobPressao.getLimite());
+    }
+
+    @Test
+    void latenciaComPoucoUsoOuComErroNaoAlteraOLimite() {
+        AdaptiveLimiter limitador = new AdaptiveLimiter(10, 2, 40, 1.5);
+        rodada(limitador, RAPIDA);
+        int limite = limitador.getLimite();
+
+        // Menos da metade do limite em uso: a latência não indica a capacidade
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limitador.tentarAdquirir(1.0));
+            limitador.liberar(LENTA, true);
+        }
+        assertEquals(limite, limitador.getLimite());
+
+        // Requisições com erro não são amostradas
+        ocupar(limitador, limite);
+        for (int i = 0; i < limite; i++) {
+            limitador.liberar(LENTA, false);
+        }
+        assertEquals(limite, limitador.getLimite());
+        assertEquals(0, limitador.getEmAndamento());
+    }
+
+    @Test
+    void fracaoReduzAsVagasDisponiveisEContaAsRejeicoes() {
+        AdaptiveLimiter limitador = new AdaptiveLimiter(10, 2, 40, 1.5);
+
+        ocupar(limitador, 5);
+        assertFalse(limitador.tentarAdquirir(0.5));
+        assertTrue(limitador.tentarAdquirir(1.0));
+        assertEquals(1, limitador.getRejeicoes());
+        assertEquals(0.6, limitador.getUtilizacao(), 1e-9);
+    }
+
+    /**
+     * Ocupa todas as vagas do limite atual e libera cada uma com a latência informada.
+     */
+    private static void rodada(AdaptiveLimiter limitador, long rttNanos) {
+        int vagas = limitador.getLimite();
+        ocupar(limitador, vagas);
+        assertFalse(limitador.tentarAdquirir(1.0));
+        for (int i = 0; i < vagas; i++) {
+            limitador.liberar(rttNanos, true);
+        }
+    }
+
+    private static void ocupar(AdaptiveLimiter limitador, int vagas) {
+        for (int i = 0; i < vagas; i++) {
+            assertTrue(limitador.tentarAdquirir(1.0));
+        }
+    }
+}
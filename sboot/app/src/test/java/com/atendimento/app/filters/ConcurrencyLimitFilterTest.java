@@ -0,0 +1,103 @@
+package com.atendimento.app.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.atendimento.app.configurations.GrupoRota;
+
+/**
+ * Testa o descarte por grupo de rotas do {@link ConcurrencyLimitFilter}. As vagas são
+ * ocupadas diretamente nos limitadores, sem requisições concorrentes.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        // Limite fixo de 4 por grupo; sob pressão, os grupos de menor prioridade ficam com metade
+        filtro = new ConcurrencyLimitFilter(4, 4, 4, 1.5, 0.5);
+    }
+
+    @Test
+    void grupoNoLimiteRecebe503ComRetryAfter() throws Exception {
+        ocupar(GrupoRota.USER, 4);
+
+        MockFilterChain cadeia = new MockFilterChain();
+        MockHttpServletResponse resposta = executar("/atendimentos/cpf/11144477735", cadeia);
+
+        assertEquals(503, resposta.getStatus());
+        assertEquals("1", resposta.getHeader("Retry-After"));
+        assertTrue(resposta.getContentAsString().contains("\"grupo\": \"USER\""));
+        assertNull(cadeia.getRequest(), "A requisição descartada não deveria seguir na cadeia");
+        assertEquals(1, filtro.getLimitadores().get(GrupoRota.USER).getRejeicoes());
+    }
+
+    @Test
+    void requisicaoAceitaLiberaAVaga() throws Exception {
+        MockFilterChain cadeia = new MockFilterChain();
+        MockHttpServletResponse resposta = executar("/atendimentos", cadeia);
+
+        assertEquals(200, resposta.getStatus());
+        assertNotNull(cadeia.getRequest());
+        assertEquals(0, filtro.getLimitadores().get(GrupoRota.USER).getEmAndamento());
+    }
+
+    @Test
+    void pressaoNoGrupoPrioritarioReduzAsVagasDosDemais() throws Exception {
+        ocupar(GrupoRota.SUPERVISOR, 2);
+
+        // Sem pressão nos atendentes, supervisores usam o limite inteiro
+        assertEquals(200, executar("/supervisor/atendimentos/periodo", new MockFilterChain()).getStatus());
+
+        // Com os atendentes acima de 90% do limite, supervisores ficam com 4 * 0,5 = 2 vagas
+        ocupar(GrupoRota.USER, 4);
+        assertEquals(503, executar("/supervisor/atendimentos/periodo", new MockFilterChain()).getStatus());
+
+        // Administradores (prioridade 1) também ficam abaixo dos atendentes
+        ocupar(GrupoRota.ADMIN, 2);
+        assertEquals(503, executar("/admin/users", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void pressaoNosGruposDeMenorPrioridadeNaoReduzOPrioritario() throws Exception {
+        ocupar(GrupoRota.SUPERVISOR, 4);
+        ocupar(GrupoRota.ADMIN, 4);
+        ocupar(GrupoRota.USER, 3);
+
+        assertEquals(200, executar("/atendimentos", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void rotasForaDosGruposNaoPassamPeloLimitador() throws Exception {
+        for (GrupoRota grupo : GrupoRota.values()) {
+            ocupar(grupo, 4);
+        }
+
+        MockFilterChain cadeia = new MockFilterChain();
+        assertEquals(200, executar("/actuator/health", cadeia).getStatus());
+        assertNotNull(cadeia.getRequest());
+    }
+
+    private void ocupar(GrupoRota grupo, int vagas) {
+        AdaptiveLimiter limitador = filtro.getLimitadores().get(grupo);
+        for (int i = 0; i < vagas; i++) {
+            assertTrue(limitador.tentarAdquirir(1.0));
+        }
+    }
+
+    private MockHttpServletResponse executar(String caminho, MockFilterChain cadeia) throws Exception {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", caminho);
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        filtro.doFilter(requisicao, resposta, cadeia);
+        return resposta;
+    }
+}
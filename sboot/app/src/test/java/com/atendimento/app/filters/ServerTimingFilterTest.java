@@ -0,0 +1,96 @@
+package com.atendimento.app.filters;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.repositories.UserRepository;
+import com.atendimento.app.security.JwtTokenProvider;
+import com.atendimento.app.services.AuthService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Testa o cabeçalho {@code Server-Timing} e os histogramas por fase da requisição.
+ */
+@SpringBootTest(properties = "atendimento.journal.diretorio=target/journal/${random.uuid}")
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void administradorRecebeAsFasesDaRequisicao() throws Exception {
+        String cabecalho = mockMvc.perform(get("/admin/users").header("Authorization", "Bearer " + jwt(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.CABECALHO);
+
+        assertNotNull(cabecalho, "Cabeçalho Server-Timing ausente");
+        for (String fase : new String[] {"jwt;dur=", "usuario;dur=", "banco;dur=", "json;dur=", "total;dur="}) {
+            assertTrue(cabecalho.contains(fase), () -> "Fase " + fase + " ausente em: " + cabecalho);
+        }
+    }
+
+    @Test
+    void usuarioComumNaoRecebeOCabecalhoMasAsFasesSaoRegistradas() throws Exception {
+        long servicos = contagem("servico");
+
+        mockMvc.perform(get("/atendimentos/tipos").header("Authorization", "Bearer " + jwt(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.CABECALHO));
+
+        assertTrue(contagem("servico") > servicos, "Fase servico não registrada");
+        assertTrue(contagem("json") > 0, "Fase json não registrada");
+    }
+
+    private long contagem(String fase) {
+        Timer histograma = meterRegistry.find("atendimento.requisicao.fase").tag("fase", fase).timer();
+        return histograma == null ? 0 : histograma.count();
+    }
+
+    /**
+     * Gera um JWT para um usuário novo do papel informado.
+     */
+    private String jwt(Role role) {
+        User usuario = userRepository.save(User.builder()
+                .username("timing-" + UUID.randomUUID().toString().substring(0, 8))
+                .password(passwordEncoder.encode("senha-segura"))
+                .role(role)
+                .build());
+        UserDetails principal = authService.loadUserByUsername(usuario.getUsername());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,150 @@
+package com.atendimento.app.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Testa o journal segmentado sobre um diretório temporário.
+ */
+class JournalSegmentadoTest {
+
+    private static final int TAMANHO_SEGMENTO = 256;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void reproduzAPartirDeUmOffset() throws IOException {
+        try (JournalSegmentado journal = abrir()) {
+            IntStream.range(0, 5).forEach(i -> journal.adicionar(bytes("evento-" + i)));
+
+            List<JournalSegmentado.Registro> registros = journal.ler(2, 10);
+            assertEquals(List.of(2L, 3L, 4L), registros.stream().map(JournalSegmentado.Registro::offset).toList());
+            assertEquals("evento-2", texto(registros.get(0)));
+            assertEquals(2, journal.ler(0, 2).size());
+        }
+    }
+
+    @Test
+    void rolaSegmentosEContinuaAposReabrir() throws IOException {
+        try (JournalSegmentado journal = abrir()) {
+            // 16 bytes de cabeçalho + 40 de dados: quatro registros por segmento
+            IntStream.range(0, 10).forEach(i -> journal.adicionar(bytes(String.format("%040d", i))));
+            assertEquals(3, journal.getQuantidadeSegmentos());
+        }
+
+        try (JournalSegmentado journal = abrir()) {
+            assertEquals(10, journal.getProximoOffset());
+            assertEquals(10, journal.adicionar(bytes("depois")));
+            List<JournalSegmentado.Registro> registros = journal.ler(0, 100);
+            assertEquals(11, registros.size());
+            assertEquals(String.format("%040d", 5), texto(registros.get(5)));
+        }
+    }
+
+    @Test
+    void descartaRegistroCorrompidoNoFimDoSegmento() throws IOException {
+        try (JournalSegmentado journal = abrir()) {
+            journal.adicionar(bytes("integro"));
+            journal.adicionar(bytes("corrompido"));
+        }
+        // Altera um byte dos dados do segundo registro
+        try (RandomAccessFile arquivo = new RandomAccessFile(unicoSegmento().toFile(), "rw")) {
+            long posicao = JournalSegmentado.CABECALHO + "integro".length() + JournalSegmentado.CABECALHO;
+            arquivo.seek(posicao);
+            arquivo.write('X');
+        }
+
+        try (JournalSegmentado journal = abrir()) {
+            assertEquals(1, journal.getProximoOffset());
+            assertEquals(List.of("integro"), journal.ler(0, 10).stream().map(JournalSegmentadoTest::texto).toList());
+            assertEquals(1, journal.adicionar(bytes("substituto")));
+            assertEquals("substituto", texto(journal.ler(1, 1).get(0)));
+        }
+    }
+
+    @Test
+    void gravacaoEmGrupoConfirmaTodosOsRegistrosAnteriores() throws Exception {
+        try (JournalSegmentado journal = abrir()) {
+            long primeiro = journal.adicionar(bytes("a"));
+            long segundo = journal.adicionar(bytes("b"));
+            CompletableFuture<Void> espera = journal.aguardarGravacao(segundo);
+            espera.get(5, TimeUnit.SECONDS);
+            assertTrue(journal.aguardarGravacao(primeiro).isDone());
+        }
+    }
+
+    @Test
+    void compactacaoMantemUltimoRegistroDeCadaChaveEOsOffsets() throws IOException {
+        try (JournalSegmentado journal = abrir()) {
+            // Chave = primeira letra; os segmentos fechados recebem a:0..3 e b:0..3
+            for (int i = 0; i < 4; i++) {
+                journal.adicionar(bytes(String.format("a%039d", i)));
+                journal.adicionar(bytes(String.format("b%039d", i)));
+            }
+            journal.adicionar(bytes(String.format("c%039d", 0)));
+
+            int removidos = journal.compactar(dados -> new String(dados, 0, 1, StandardCharsets.UTF_8));
+
+            assertEquals(6, removidos);
+            List<JournalSegmentado.Registro> registros = journal.ler(0, 100);
+            assertEquals(List.of(6L, 7L, 8L), registros.stream().map(JournalSegmentado.Registro::offset).toList());
+            assertEquals(String.format("a%039d", 3), texto(registros.get(0)));
+        }
+
+        try (JournalSegmentado journal = abrir()) {
+            assertEquals(9, journal.getProximoOffset());
+            assertEquals(3, journal.ler(0, 100).size());
+        }
+    }
+
+    @Test
+    void diretorioEmUsoNaoPodeSerAbertoNovamente() throws IOException {
+        try (JournalSegmentado journal = abrir()) {
+            journal.adicionar(bytes("primeira instancia"));
+            assertThrows(IOException.class, this::abrir);
+            assertEquals(1, journal.adicionar(bytes("continua gravando")));
+        }
+
+        // Fechado o primeiro, a trava é liberada
+        try (JournalSegmentado journal = abrir()) {
+            assertEquals(2, journal.getProximoOffset());
+        }
+    }
+
+    private JournalSegmentado abrir() throws IOException {
+        return new JournalSegmentado(diretorio, TAMANHO_SEGMENTO, Duration.ofMillis(5));
+    }
+
+    private Path unicoSegmento() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            List<Path> segmentos = arquivos.filter(arquivo -> arquivo.toString().endsWith(".log")).toList();
+            assertEquals(1, segmentos.size());
+            return segmentos.get(0);
+        }
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String texto(JournalSegmentado.Registro registro) {
+        return new String(registro.dados(), StandardCharsets.UTF_8);
+    }
+}
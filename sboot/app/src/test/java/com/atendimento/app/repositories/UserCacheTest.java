@@ -0,0 +1,93 @@
+package com.atendimento.app.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Testa o cache de segundo nível de usuários pelas estatísticas do Hibernate.
+ */
+@SpringBootTest(properties = "atendimento.journal.diretorio=target/journal/${random.uuid}")
+class UserCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics estatisticas;
+    private User atendente;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        atendente = userRepository.save(User.builder()
+                .username("cache-" + UUID.randomUUID().toString().substring(0, 8))
+                .password("senha-segura")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    void atendimentoCarregaAtendenteSemConsultarUsuarios() {
+        Long id = transactionTemplate.execute(status -> atendimentoRepository.save(Atendimento.builder()
+                .nomeCliente("Cliente Cache")
+                .cpf("52998224725")
+                .descricao("Teste do cache de usuários")
+                .tipo("Dúvida")
+                .protocolo("cache-" + UUID.randomUUID())
+                .atendente(atendente)
+                .build()).getId());
+        // IDs gerados pelo banco (IDENTITY): a inserção não grava o usuário no cache, a primeira carga sim
+        userRepository.findById(atendente.getId());
+
+        estatisticas.clear();
+        for (int i = 0; i < 3; i++) {
+            String username = transactionTemplate.execute(status ->
+                    atendimentoRepository.findById(id).orElseThrow().getAtendente().getUsername());
+            assertEquals(atendente.getUsername(), username);
+        }
+
+        assertEquals(0, estatisticas.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertTrue(estatisticas.getSecondLevelCacheHitCount() >= 3);
+    }
+
+    @Test
+    void consultaPorNomeUsaCacheEEInvalidadaNaAlteracao() {
+        userRepository.findByUsername(atendente.getUsername());
+        estatisticas.clear();
+
+        userRepository.findByUsername(atendente.getUsername());
+        assertEquals(1, estatisticas.getQueryCacheHitCount());
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+
+        atendente.setLocked(true);
+        userRepository.save(atendente);
+        estatisticas.clear();
+
+        assertTrue(userRepository.findByUsername(atendente.getUsername()).orElseThrow().isLocked());
+        assertEquals(0, estatisticas.getQueryCacheHitCount());
+    }
+}
@@ -0,0 +1,146 @@
+package com.atendimento.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.repositories.AtendimentoRepository;
+import com.atendimento.app.repositories.UserRepository;
+import com.atendimento.app.utils.Fieldset;
+
+/**
+ * Testa o arquivamento de atendimentos e as consultas que combinam a tabela quente com o arquivo.
+ */
+@SpringBootTest(properties = "atendimento.journal.diretorio=target/journal/${random.uuid}")
+class ArquivoAtendimentoServiceTest {
+
+    /** Dia limite do arquivamento, distante dos atendimentos criados pelos demais testes. */
+    private static final LocalDate LIMITE = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private ArquivoAtendimentoService arquivoAtendimentoService;
+
+    @Autowired
+    private AtendimentoService atendimentoService;
+
+    @Autowired
+    private AtendimentoRepository atendimentoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User atendente;
+    private String cpf;
+
+    @BeforeEach
+    void setUp() {
+        atendente = userRepository.save(User.builder()
+                .username("arquivo-" + UUID.randomUUID().toString().substring(0, 8))
+                .password("senha-segura")
+                .role(Role.USER)
+                .build());
+        cpf = cpf(ThreadLocalRandom.current().nextLong(800_000_000L, 1_000_000_000L));
+    }
+
+    @Test
+    void arquivarBlocoMoveApenasOsAnterioresAoLimite() {
+        Atendimento antigo = criar(LocalDateTime.of(2000, 3, 1, 10, 0));
+        Atendimento recente = criar(LocalDateTime.now());
+
+        assertTrue(arquivarTodos() >= 1);
+
+        assertFalse(atendimentoRepository.findById(antigo.getId()).isPresent());
+        assertTrue(atendimentoRepository.findById(recente.getId()).isPresent());
+        Atendimento arquivado = arquivoAtendimentoService.consultarPorProtocolo(antigo.getProtocolo()).orElseThrow();
+        assertEquals(antigo.getId(), arquivado.getId());
+        assertEquals(antigo.getDescricao(), arquivado.getDescricao());
+        assertEquals(LocalDate.of(2000, 3, 1), arquivado.getDataReferencia());
+    }
+
+    @Test
+    void consultasPorCpfCombinamTabelaQuenteEArquivo() {
+        Atendimento primeiro = criar(LocalDateTime.of(2000, 3, 1, 10, 0));
+        Atendimento segundo = criar(LocalDateTime.of(2000, 6, 1, 10, 0));
+        Atendimento recente = criar(LocalDateTime.now());
+        arquivarTodos();
+
+        List<String> esperados = List.of(primeiro.getProtocolo(), segundo.getProtocolo(), recente.getProtocolo());
+        assertEquals(esperados, protocolos(atendimentoService.consultarPorCpf(cpf)));
+        assertEquals(esperados, protocolos(atendimentoService.consultarPorCpfs(List.of(cpf)).get(cpf)));
+        assertEquals(primeiro.getProtocolo(),
+                atendimentoService.consultarPorProtocolo(primeiro.getProtocolo()).orElseThrow().getProtocolo());
+
+        Fieldset fieldset = Fieldset.parse("protocolo", Fieldset.ATENDIMENTO).orElseThrow();
+        List<Map<String, Object>> parciais = atendimentoService.consultarPorCpf(cpf, fieldset);
+        assertEquals(esperados, parciais.stream().map(linha -> linha.get("protocolo")).toList());
+        assertEquals(List.of(Map.of("protocolo", primeiro.getProtocolo())), parciais.subList(0, 1));
+
+        Sort maisRecentes = Sort.by("dataHora").descending();
+        Page<Atendimento> pagina = atendimentoService.consultarHistorico(cpf, PageRequest.of(0, 2, maisRecentes));
+        assertEquals(3, pagina.getTotalElements());
+        assertEquals(List.of(recente.getProtocolo(), segundo.getProtocolo()), protocolos(pagina.getContent()));
+        pagina = atendimentoService.consultarHistorico(cpf, PageRequest.of(1, 2, maisRecentes));
+        assertEquals(List.of(primeiro.getProtocolo()), protocolos(pagina.getContent()));
+    }
+
+    private Atendimento criar(LocalDateTime dataHora) {
+        return atendimentoService.criarAtendimento(Atendimento.builder()
+                .nomeCliente("Cliente Arquivo")
+                .cpf(cpf)
+                .descricao("Atendimento de " + dataHora.toLocalDate())
+                .tipo("Dúvida")
+                .dataHora(dataHora)
+                .atendente(atendente)
+                .build());
+    }
+
+    private int arquivarTodos() {
+        int total = 0;
+        int arquivados;
+        while ((arquivados = arquivoAtendimentoService.arquivarBloco(LIMITE, 100)) > 0) {
+            total += arquivados;
+        }
+        return total;
+    }
+
+    private static List<String> protocolos(List<Atendimento> atendimentos) {
+        return atendimentos.stream().map(Atendimento::getProtocolo).toList();
+    }
+
+    /**
+     * Gera um CPF válido a partir dos nove primeiros dígitos.
+     */
+    private static String cpf(long base) {
+        String digitos = String.format("%09d", base);
+        int primeiro = digitoVerificador(digitos, 9);
+        int segundo = digitoVerificador(digitos + primeiro, 10);
+        return digitos + primeiro + segundo;
+    }
+
+    private static int digitoVerificador(String digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += (digitos.charAt(i) - '0') * (quantidade + 1 - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,87 @@
+package com.atendimento.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.atendimento.app.dto.SugestaoResponse;
+
+/**
+ * Testa a trie do {@link AutocompleteService}, sem contexto do Spring nem banco.
+ */
+class AutocompleteServiceTest {
+
+    @Test
+    void acentosMaiusculasEEspacosSaoIgnoradosNaBusca() {
+        AutocompleteService autocomplete = servico(10, 100, 1000);
+        autocomplete.registrar("José  Conceição", "11144477735");
+
+        for (String prefixo : new String[] {"jose", "JOSÉ", "  José   Conc", "jose conceicao"}) {
+            assertEquals(List.of("José  Conceição"), nomes(autocomplete, prefixo, 10), prefixo);
+        }
+        assertEquals(List.of(), nomes(autocomplete, "joao", 10));
+        assertEquals(List.of(), nomes(autocomplete, "   ", 10));
+    }
+
+    @Test
+    void sugestoesSeguemAFrequenciaEFicamLimitadasAoTopK() {
+        AutocompleteService autocomplete = servico(2, 100, 1000);
+        registrar(autocomplete, "Ana Lima", "11144477735", 1);
+        registrar(autocomplete, "Ana Souza", "52998224725", 3);
+        registrar(autocomplete, "Ana Reis", "39053344705", 2);
+
+        assertEquals(List.of("Ana Souza", "Ana Reis"), nomes(autocomplete, "ana", 10));
+        assertEquals(List.of("Ana Souza"), nomes(autocomplete, "ana", 1));
+
+        // Ao ultrapassar os demais, a entrada que estava fora do top-K entra na primeira posição
+        registrar(autocomplete, "Ana Lima", "11144477735", 3);
+        assertEquals(List.of("Ana Lima", "Ana Souza"), nomes(autocomplete, "ana", 10));
+        // Prefixos mais longos mantêm o próprio top-K
+        assertEquals(List.of("Ana Reis"), nomes(autocomplete, "ana r", 10));
+    }
+
+    @Test
+    void limiteDeEntradasInterrompeANovaIndexacaoMasNaoAAtualizacao() {
+        AutocompleteService autocomplete = servico(10, 2, 1000);
+        registrar(autocomplete, "Bruno Alves", "11144477735", 1);
+        registrar(autocomplete, "Bruna Dias", "52998224725", 1);
+        registrar(autocomplete, "Bruno Costa", "39053344705", 5);
+
+        assertEquals(List.of(), nomes(autocomplete, "bruno c", 10));
+
+        registrar(autocomplete, "Bruna Dias", "52998224725", 1);
+        assertEquals(List.of("Bruna Dias", "Bruno Alves"), nomes(autocomplete, "brun", 10));
+    }
+
+    @Test
+    void limiteDeNosInterrompeACriacaoDeNovosNos() {
+        // Raiz + "a" + "b"
+        AutocompleteService autocomplete = servico(10, 100, 3);
+        autocomplete.registrar("Ab", "11144477735");
+        autocomplete.registrar("Ac", "52998224725");
+
+        assertEquals(List.of("Ab"), nomes(autocomplete, "ab", 10));
+        assertEquals(List.of(), nomes(autocomplete, "ac", 10));
+    }
+
+    private static AutocompleteService servico(int topK, int maxEntradas, int maxNos) {
+        AutocompleteService autocomplete = new AutocompleteService();
+        ReflectionTestUtils.setField(autocomplete, "topK", topK);
+        ReflectionTestUtils.setField(autocomplete, "maxEntradas", maxEntradas);
+        ReflectionTestUtils.setField(autocomplete, "maxNos", maxNos);
+        return autocomplete;
+    }
+
+    private static void registrar(AutocompleteService autocomplete, String nome, String cpf, int vezes) {
+        for (int i = 0; i < vezes; i++) {
+            autocomplete.registrar(nome, cpf);
+        }
+    }
+
+    private static List<String> nomes(AutocompleteService autocomplete, String prefixo, int limite) {
+        return autocomplete.sugerir(prefixo, limite).stream().map(SugestaoResponse::getNomeCliente).toList();
+    }
+}
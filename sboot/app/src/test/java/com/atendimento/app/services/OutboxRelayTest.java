@@ -0,0 +1,156 @@
+package com.atendimento.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.atendimento.app.events.AtendimentoEvent;
+import com.atendimento.app.repositories.OutboxEventoRepository;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Testa o outbox com um receptor HTTP local no lugar do sistema externo.
+ */
+@SpringBootTest(properties = {
+        "atendimento.outbox.enabled=true",
+        "atendimento.outbox.intervalo-ms=50",
+        "atendimento.outbox.espera-inicial=50ms",
+        "atendimento.outbox.espera-maxima=200ms",
+        "atendimento.journal.diretorio=target/journal/${random.uuid}"
+})
+class OutboxRelayTest {
+
+    private static final List<String> recebidos = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger falhasRestantes = new AtomicInteger();
+    private static final HttpServer receptor = iniciarReceptor();
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxEventoRepository outboxEventoRepository;
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        registry.add("atendimento.outbox.url",
+                () -> "http://localhost:" + receptor.getAddress().getPort() + "/eventos");
+    }
+
+    @AfterAll
+    static void pararReceptor() {
+        receptor.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        recebidos.clear();
+        falhasRestantes.set(0);
+    }
+
+    @Test
+    void eventoConfirmadoEEntregueERemovido() {
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(evento(1L)));
+
+        aguardar(() -> recebidos.size() == 1 && outboxEventoRepository.count() == 0);
+        assertTrue(recebidos.get(0).contains("\"atendimentoId\":1"));
+    }
+
+    @Test
+    void eventoDeTransacaoDesfeitaNaoEEnviado() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(evento(2L));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventoRepository.count());
+    }
+
+    @Test
+    void falhaDoDestinoEReenviadaComEspera() {
+        falhasRestantes.set(2);
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(evento(3L)));
+
+        aguardar(() -> recebidos.size() == 3 && outboxEventoRepository.count() == 0);
+        assertEquals(0, falhasRestantes.get());
+    }
+
+    @Test
+    void eventosDoMesmoAtendimentoSeguemAOrdemMesmoComFalha() {
+        falhasRestantes.set(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(evento(4L));
+            eventPublisher.publishEvent(evento(4L, AtendimentoEvent.Tipo.EDITADO));
+        });
+
+        aguardar(() -> recebidos.size() == 3 && outboxEventoRepository.count() == 0);
+        // O primeiro envio falha; a edição só segue depois do reenvio bem-sucedido da criação
+        assertEquals(List.of("CRIADO", "CRIADO", "EDITADO"), recebidos.stream()
+                .map(corpo -> corpo.contains("\"EDITADO\"") ? "EDITADO" : "CRIADO")
+                .toList());
+    }
+
+    private static AtendimentoEvent evento(Long atendimentoId) {
+        return evento(atendimentoId, AtendimentoEvent.Tipo.CRIADO);
+    }
+
+    private static AtendimentoEvent evento(Long atendimentoId, AtendimentoEvent.Tipo tipo) {
+        return new AtendimentoEvent(tipo, atendimentoId, "001-protocolo", "52998224725",
+                Map.of(), "atendente", LocalDateTime.now());
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!condicao.getAsBoolean()) {
+            if (System.currentTimeMillis() > limite) {
+                throw new AssertionError("Condição não atendida em 10 s (recebidos: " + recebidos.size() + ").");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static HttpServer iniciarReceptor() {
+        try {
+            HttpServer servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            servidor.createContext("/eventos", troca -> {
+                try (InputStream corpo = troca.getRequestBody()) {
+                    recebidos.add(new String(corpo.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                int status = falhasRestantes.getAndUpdate(restantes -> Math.max(restantes - 1, 0)) > 0 ? 500 : 204;
+                troca.sendResponseHeaders(status, -1);
+                troca.close();
+            });
+            servidor.start();
+            return servidor;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
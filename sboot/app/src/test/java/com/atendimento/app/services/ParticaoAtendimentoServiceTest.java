@@ -0,0 +1,137 @@
+package com.atendimento.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Testa a geração das partições mensais e, com um PostgreSQL disponível, a poda de partições
+ * e a criação de partições sobre linhas da partição padrão.
+ *
+ * <p>
+ * Os testes com PostgreSQL só são executados com {@code -Dpostgres.url=jdbc:postgresql://...}
+ * (e, se necessário, {@code -Dpostgres.user} e {@code -Dpostgres.password}).
+ * </p>
+ */
+class ParticaoAtendimentoServiceTest {
+
+    @Test
+    void geraParticaoMensalComLimitesDoMes() {
+        assertEquals("atendimentos_p202502", ParticaoAtendimentoService.nomeParticao("atendimentos", YearMonth.of(2025, 2)));
+        assertEquals("create table if not exists atendimentos_p202512 partition of atendimentos "
+                        + "for values from ('2025-12-01') to ('2026-01-01')",
+                ParticaoAtendimentoService.ddlCriarParticao("atendimentos", YearMonth.of(2025, 12)));
+    }
+
+    @Test
+    void identificaMesApenasDeParticoesMensais() {
+        assertEquals(YearMonth.of(2024, 7), ParticaoAtendimentoService.mesDaParticao("atendimentos_p202407"));
+        assertNull(ParticaoAtendimentoService.mesDaParticao("atendimentos_padrao"));
+    }
+
+    @Test
+    void particaoSobreLinhasDaPadraoDesanexaMoveEReanexa() {
+        assertEquals(List.of(
+                        "alter table atendimentos detach partition atendimentos_padrao",
+                        "create table if not exists atendimentos_p202503 partition of atendimentos "
+                                + "for values from ('2025-03-01') to ('2025-04-01')",
+                        "insert into atendimentos select * from atendimentos_padrao "
+                                + "where data_referencia >= '2025-03-01' and data_referencia < '2025-04-01'",
+                        "delete from atendimentos_padrao "
+                                + "where data_referencia >= '2025-03-01' and data_referencia < '2025-04-01'",
+                        "alter table atendimentos attach partition atendimentos_padrao default"),
+                ParticaoAtendimentoService.ddlCriarParticaoComPadrao("atendimentos", YearMonth.of(2025, 3)));
+    }
+
+    @Test
+    void retencaoPrecisaCobrirAIdadeDeArquivamento() {
+        assertEquals(14, ParticaoAtendimentoService.retencaoMinimaMeses(365));
+
+        ParticaoAtendimentoService servico = new ParticaoAtendimentoService();
+        ReflectionTestUtils.setField(servico, "arquivamentoHabilitado", true);
+        ReflectionTestUtils.setField(servico, "idadeArquivamentoDias", 365);
+        ReflectionTestUtils.setField(servico, "retencaoMeses", 12);
+        assertThrows(IllegalStateException.class, servico::validarRetencao);
+
+        ReflectionTestUtils.setField(servico, "retencaoMeses", 14);
+        servico.validarRetencao();
+
+        // Sem arquivamento, a retenção é a única remoção e pode ser qualquer uma
+        ReflectionTestUtils.setField(servico, "arquivamentoHabilitado", false);
+        ReflectionTestUtils.setField(servico, "retencaoMeses", 1);
+        servico.validarRetencao();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+    void criacaoDeParticaoMoveAsLinhasDaPadrao() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getProperty("postgres.url"),
+                System.getProperty("postgres.user", "postgres"), System.getProperty("postgres.password", ""));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String tabela = "atendimentos_padrao_teste";
+
+        jdbc.execute("drop table if exists " + tabela + " cascade");
+        jdbc.execute("create table " + tabela + " (id bigint, data_referencia date not null) "
+                + "partition by range (data_referencia)");
+        jdbc.execute("create table " + tabela + "_padrao partition of " + tabela + " default");
+        try {
+            jdbc.update("insert into " + tabela + " values (1, '2025-03-10'), (2, '2025-05-10')");
+
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status ->
+                    ParticaoAtendimentoService.ddlCriarParticaoComPadrao(tabela, YearMonth.of(2025, 3))
+                            .forEach(jdbc::execute));
+
+            assertEquals(List.of(1L), jdbc.queryForList("select id from " + tabela + "_p202503", Long.class));
+            assertEquals(List.of(2L), jdbc.queryForList("select id from " + tabela + "_padrao", Long.class));
+        } finally {
+            jdbc.execute("drop table if exists " + tabela + " cascade");
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+    void consultaPorPeriodoLeApenasAsParticoesDoIntervalo() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getProperty("postgres.url"),
+                System.getProperty("postgres.user", "postgres"), System.getProperty("postgres.password", ""));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String tabela = "atendimentos_poda_teste";
+
+        jdbc.execute("drop table if exists " + tabela + " cascade");
+        jdbc.execute("create table " + tabela + " (id bigint, data_referencia date not null, data_hora timestamp, "
+                + "tipo_id integer, atendente_id bigint) partition by range (data_referencia)");
+        try {
+            for (int mes = 1; mes <= 6; mes++) {
+                jdbc.execute(ParticaoAtendimentoService.ddlCriarParticao(tabela, YearMonth.of(2025, mes)));
+            }
+
+            // Mesmo predicado de AtendimentoRepository.findAllByDiasEPeriodo
+            List<String> plano = jdbc.queryForList("explain select id from " + tabela
+                    + " where data_referencia between ? and ? and data_hora >= ? and data_hora < ?",
+                    String.class,
+                    LocalDate.of(2025, 3, 10), LocalDate.of(2025, 4, 5),
+                    LocalDate.of(2025, 3, 10).atStartOfDay(), LocalDate.of(2025, 4, 6).atStartOfDay());
+            String texto = String.join("\n", plano);
+
+            assertTrue(texto.contains(tabela + "_p202503"), texto);
+            assertTrue(texto.contains(tabela + "_p202504"), texto);
+            assertFalse(texto.contains(tabela + "_p202502"), texto);
+            assertFalse(texto.contains(tabela + "_p202505"), texto);
+        } finally {
+            jdbc.execute("drop table if exists " + tabela + " cascade");
+        }
+    }
+}
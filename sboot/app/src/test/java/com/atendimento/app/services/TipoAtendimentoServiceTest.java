@@ -0,0 +1,81 @@
+package com.atendimento.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.TipoAtendimento;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.repositories.TipoAtendimentoRepository;
+import com.atendimento.app.repositories.UserRepository;
+
+/**
+ * Testa o dicionário de tipos de atendimento e a chave estrangeira de {@code tipo_id}.
+ */
+@SpringBootTest(properties = "atendimento.journal.diretorio=target/journal/${random.uuid}")
+class TipoAtendimentoServiceTest {
+
+    @Autowired
+    private TipoAtendimentoService tipoAtendimentoService;
+
+    @Autowired
+    private TipoAtendimentoRepository tipoAtendimentoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tipoCadastradoPorOutraInstanciaECarregadoNaPrimeiraConsulta() {
+        String nome = "Externo " + UUID.randomUUID().toString().substring(0, 8);
+        // Gravado direto na tabela, sem passar pelo dicionário desta instância
+        TipoAtendimento tipo = tipoAtendimentoRepository.save(TipoAtendimento.builder().nome(nome).build());
+
+        assertEquals(tipo.getId(), tipoAtendimentoService.idDe(" " + nome.toUpperCase() + " ").orElseThrow());
+        assertEquals(nome, tipoAtendimentoService.nomeDe(tipo.getId()));
+        assertTrue(tipoAtendimentoService.listar().contains(nome));
+    }
+
+    @Test
+    void chaveCadastradaPorOutraInstanciaECarregadaNaLeitura() {
+        String nome = "Externo " + UUID.randomUUID().toString().substring(0, 8);
+        TipoAtendimento tipo = tipoAtendimentoRepository.save(TipoAtendimento.builder().nome(nome).build());
+
+        assertEquals(nome, tipoAtendimentoService.nomeDe(tipo.getId()));
+    }
+
+    @Test
+    void tipoInexistenteContinuaAusente() {
+        assertFalse(tipoAtendimentoService.existe("Tipo que não existe"));
+        assertNull(tipoAtendimentoService.nomeDe(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void chaveEstrangeiraRecusaTipoInexistente() {
+        User atendente = userRepository.save(User.builder()
+                .username("tipo-" + UUID.randomUUID().toString().substring(0, 8))
+                .password("senha-segura")
+                .role(Role.USER)
+                .build());
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into atendimentos (nome_cliente, cpf, descricao, tipo_id, data_hora, data_referencia, "
+                        + "protocolo, versao, atendente_id) values (?, ?, ?, ?, current_timestamp, ?, ?, 0, ?)",
+                "Cliente", "11144477735", "Descrição", Integer.MAX_VALUE, LocalDate.now(),
+                UUID.randomUUID().toString(), atendente.getId()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.atendimento.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atendimento.app.dto.AtendimentoRequest;
+import com.atendimento.app.dto.AtendimentoResponse;
+import com.atendimento.app.entities.Atendimento;
+import com.atendimento.app.mappers.AtendimentoMapper;
+
+/**
+ * Conversões entre DTOs e a entidade de atendimento, feitas em toda criação e consulta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AtendimentoMapperBenchmark {
+
+    private final AtendimentoMapper mapper = new AtendimentoMapper();
+    private AtendimentoRequest request;
+    private Atendimento atendimento;
+
+    @Setup
+    public void preparar() {
+        request = new AtendimentoRequest();
+        request.setNomeCliente("Maria da Silva");
+        request.setCpf("52998224725");
+        request.setDescricao("Cliente relata cobrança em duplicidade na fatura do mês.");
+        request.setTipo("Reclamação");
+
+        atendimento = mapper.toEntity(request);
+        atendimento.setProtocolo("1a3-0f8fad5b-d9cb-469f-a165-70867728950e");
+        atendimento.setCreatedAt(LocalDateTime.of(2025, 5, 1, 10, 30));
+    }
+
+    @Benchmark
+    public Atendimento toEntity() {
+        return mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public AtendimentoResponse toResponse() {
+        return mapper.toResponse(atendimento);
+    }
+}
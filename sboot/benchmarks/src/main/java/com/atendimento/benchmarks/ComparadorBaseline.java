@@ -0,0 +1,154 @@
+package com.atendimento.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara o resultado de uma execução do JMH (formato JSON) com a baseline.
+ *
+ * <p>
+ * Para cada benchmark (e combinação de {@code @Param}), compara o tempo médio por operação e
+ * a alocação por operação ({@code gc.alloc.rate.norm}, do profiler {@code gc}). Termina com
+ * código 1 se algum deles piorar mais que a tolerância. Com a atualização pedida, o resultado
+ * passa a ser a baseline; sem baseline e sem a atualização, termina com código 1, pois a
+ * ausência dela esconderia qualquer regressão.
+ * </p>
+ *
+ * <p>
+ * Uso: {@code ComparadorBaseline <resultado.json> <baseline.json> <tolerancia> <atualizar>}
+ * </p>
+ */
+public final class ComparadorBaseline {
+
+    private static final String ALOCACAO = "gc.alloc.rate.norm";
+
+    /**
+     * Alocações abaixo deste valor (bytes/op) são ruído da medição, e não regressões.
+     */
+    private static final double ALOCACAO_MINIMA = 16.0;
+
+    private ComparadorBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Uso: ComparadorBaseline <resultado.json> <baseline.json> <tolerancia> <atualizar>");
+            System.exit(2);
+        }
+        Path resultado = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double tolerancia = Double.parseDouble(args[2]);
+        boolean atualizar = Boolean.parseBoolean(args[3]);
+
+        if (!atualizar && !Files.exists(baseline)) {
+            System.err.println("Baseline não encontrada em " + baseline + ": nenhuma comparação foi feita.");
+            System.err.println("Gere-a na máquina de referência com -Djmh.atualizar-baseline=true e versione o arquivo.");
+            System.exit(1);
+        }
+        if (atualizar) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(resultado, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline gravada em " + baseline + ".");
+            return;
+        }
+
+        List<String> regressoes = comparar(ler(resultado), ler(baseline), tolerancia);
+        if (!regressoes.isEmpty()) {
+            System.err.println("Regressões acima de " + Math.round(tolerancia * 100) + "% em relação à baseline:");
+            regressoes.forEach(regressao -> System.err.println("  " + regressao));
+            System.exit(1);
+        }
+        System.out.println("Nenhuma regressão acima de " + Math.round(tolerancia * 100) + "% em relação à baseline.");
+    }
+
+    /**
+     * Compara as medições e imprime a tabela de variações.
+     *
+     * @param atuais Medições da execução.
+     * @param base Medições da baseline.
+     * @param tolerancia Piora máxima aceita (0.10 = 10%).
+     * @return Descrição das regressões encontradas.
+     */
+    static List<String> comparar(Map<String, Medicao> atuais, Map<String, Medicao> base, double tolerancia) {
+        List<String> regressoes = new ArrayList<>();
+        System.out.printf("%-70s %14s %14s %8s %12s %12s%n", "Benchmark", "Base", "Atual", "Var.", "Base B/op", "Atual B/op");
+        atuais.forEach((chave, atual) -> {
+            Medicao anterior = base.get(chave);
+            if (anterior == null) {
+                System.out.printf("%-70s %14s %14.1f %8s%n", chave, "-", atual.score(), "novo");
+                return;
+            }
+            double variacao = atual.score() / anterior.score() - 1;
+            System.out.printf("%-70s %14.1f %14.1f %+7.1f%% %12.1f %12.1f%n", chave, anterior.score(), atual.score(),
+                    variacao * 100, anterior.alocacao(), atual.alocacao());
+
+            if (variacao > tolerancia) {
+                regressoes.add(String.format("%s: %.1f -> %.1f %s (%+.1f%%)", chave, anterior.score(), atual.score(),
+                        atual.unidade(), variacao * 100));
+            }
+            if (atual.alocacao() > ALOCACAO_MINIMA && atual.alocacao() > anterior.alocacao() * (1 + tolerancia)) {
+                regressoes.add(String.format("%s: alocação %.1f -> %.1f B/op", chave, anterior.alocacao(), atual.alocacao()));
+            }
+        });
+        return regressoes;
+    }
+
+    /**
+     * Lê um arquivo de resultados do JMH, indexado por benchmark e parâmetros.
+     */
+    static Map<String, Medicao> ler(Path arquivo) throws IOException {
+        Map<String, Medicao> medicoes = new LinkedHashMap<>();
+        for (JsonNode execucao : new ObjectMapper().readTree(arquivo.toFile())) {
+            JsonNode primaria = execucao.path("primaryMetric");
+            medicoes.put(chave(execucao), new Medicao(
+                    primaria.path("score").asDouble(),
+                    primaria.path("scoreUnit").asText(),
+                    alocacao(execucao.path("secondaryMetrics"))));
+        }
+        return medicoes;
+    }
+
+    private static String chave(JsonNode execucao) {
+        String benchmark = execucao.path("benchmark").asText().replace("com.atendimento.benchmarks.", "");
+        JsonNode parametros = execucao.path("params");
+        if (parametros.isMissingNode() || parametros.isEmpty()) {
+            return benchmark;
+        }
+        Map<String, String> ordenados = new TreeMap<>();
+        parametros.fields().forEachRemaining(campo -> ordenados.put(campo.getKey(), campo.getValue().asText()));
+        return benchmark + ordenados;
+    }
+
+    /**
+     * Alocação por operação; versões antigas do JMH prefixam o nome das métricas com "·".
+     */
+    private static double alocacao(JsonNode secundarias) {
+        for (var campos = secundarias.fields(); campos.hasNext(); ) {
+            var campo = campos.next();
+            if (campo.getKey().replace("·", "").equals(ALOCACAO)) {
+                return campo.getValue().path("score").asDouble();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Medição de um benchmark.
+     *
+     * @param score Tempo médio por operação.
+     * @param unidade Unidade do tempo.
+     * @param alocacao Bytes alocados por operação (0 sem o profiler {@code gc}).
+     */
+    record Medicao(double score, String unidade, double alocacao) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.atendimento.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atendimento.app.utils.CPFConstraintValidator;
+
+/**
+ * Validação de CPF ({@code @ValidCPF}), executada na criação de atendimentos e na
+ * persistência da entidade.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CpfValidatorBenchmark {
+
+    /**
+     * CPF válido, válido com formatação, com dígito verificador errado e com dígitos repetidos.
+     */
+    @Param({"52998224725", "529.982.247-25", "52998224724", "11111111111"})
+    public String cpf;
+
+    private final CPFConstraintValidator validator = new CPFConstraintValidator();
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(cpf, null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.atendimento.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.security.JwtTokenProvider;
+import com.atendimento.app.security.UserPrincipal;
+
+/**
+ * Geração e validação de tokens JWT, executadas no login e em toda requisição autenticada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtTokenProvider = new JwtTokenProvider();
+        // Mesmos valores de application.properties
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "supersecretojwttokenchaveforte123456");
+        ReflectionTestUtils.setField(jwtTokenProvider, "expirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpirationMs", 86_400_000L);
+
+        UserPrincipal principal = new UserPrincipal(User.builder()
+                .id(1L)
+                .username("atendente.benchmark")
+                .password("senha-segura")
+                .role(Role.USER)
+                .build());
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = jwtTokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtTokenProvider.getUsernameFromToken(token);
+    }
+}
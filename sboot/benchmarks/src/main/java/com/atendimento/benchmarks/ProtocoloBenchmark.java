@@ -0,0 +1,39 @@
+package com.atendimento.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atendimento.app.datasource.MapaShards;
+
+/**
+ * Geração do protocolo de um novo atendimento: bucket do CPF e protocolo com o bucket.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ProtocoloBenchmark {
+
+    public String cpf = "529.982.247-25";
+
+    @Benchmark
+    public String gerarProtocolo() {
+        return MapaShards.gerarProtocolo(MapaShards.bucketDe(cpf));
+    }
+
+    @Benchmark
+    public int bucketDe() {
+        return MapaShards.bucketDe(cpf);
+    }
+}
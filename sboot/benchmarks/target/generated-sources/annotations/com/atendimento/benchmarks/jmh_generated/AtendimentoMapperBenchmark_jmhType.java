@@ -0,0 +1,4 @@
+package com.atendimento.benchmarks.jmh_generated;
+public class AtendimentoMapperBenchmark_jmhType extends AtendimentoMapperBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.atendimento.benchmarks.jmh_generated;
+public class CpfValidatorBenchmark_jmhType extends CpfValidatorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.atendimento.benchmarks.jmh_generated;
+public class ProtocoloBenchmark_jmhType extends ProtocoloBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.atendimento.benchmarks.jmh_generated;
+public class UserPrincipalBenchmark_jmhType extends UserPrincipalBenchmark_jmhType_B3 {
+}
+
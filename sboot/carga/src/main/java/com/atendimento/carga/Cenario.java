@@ -0,0 +1,15 @@
+package com.atendimento.carga;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Um tipo de requisição da mistura de carga.
+ *
+ * @param nome Nome do cenário no relatório (ex.: {@code GET /atendimentos/cpf/{cpf}}).
+ * @param chegadas Processo de chegada das requisições.
+ * @param requisicao Monta cada requisição; recebe o gerador do próprio cenário.
+ */
+public record Cenario(String nome, Chegadas chegadas, Function<SplittableRandom, HttpRequest> requisicao) {
+}
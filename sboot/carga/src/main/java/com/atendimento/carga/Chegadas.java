@@ -0,0 +1,108 @@
+package com.atendimento.carga;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Processo de chegada das requisições de um cenário.
+ *
+ * <p>
+ * A carga é de laço aberto: as requisições partem nos instantes definidos aqui, sem esperar
+ * pelas respostas anteriores. Se a aplicação ficar lenta, as requisições se acumulam, como
+ * aconteceria com clientes reais, em vez de o gerador desacelerar junto.
+ * </p>
+ */
+public interface Chegadas {
+
+    /**
+     * Intervalo até a próxima chegada.
+     *
+     * @param aleatorio Gerador do cenário.
+     * @return Intervalo em nanossegundos (0 para uma chegada simultânea à anterior).
+     */
+    long proximoIntervaloNanos(SplittableRandom aleatorio);
+
+    /**
+     * Taxa média de chegadas.
+     *
+     * @return Requisições por segundo.
+     */
+    double taxaMedia();
+
+    /**
+     * Chegadas independentes (processo de Poisson), com intervalos exponenciais.
+     *
+     * @param porSegundo Taxa média de chegadas.
+     * @return Processo de chegada.
+     */
+    static Chegadas poisson(double porSegundo) {
+        if (porSegundo <= 0) {
+            throw new IllegalArgumentException("A taxa de chegadas deve ser positiva.");
+        }
+        return new Chegadas() {
+            @Override
+            public long proximoIntervaloNanos(SplittableRandom aleatorio) {
+                return (long) (-Math.log(1 - aleatorio.nextDouble()) / porSegundo * 1_000_000_000L);
+            }
+
+            @Override
+            public double taxaMedia() {
+                return porSegundo;
+            }
+        };
+    }
+
+    /**
+     * Rajadas: {@code tamanho} chegadas simultâneas a cada {@code intervalo}.
+     *
+     * @param tamanho Chegadas por rajada.
+     * @param intervalo Intervalo entre rajadas.
+     * @return Processo de chegada.
+     */
+    static Chegadas rajadas(int tamanho, Duration intervalo) {
+        if (tamanho < 1 || intervalo.isNegative() || intervalo.isZero()) {
+            throw new IllegalArgumentException("Rajadas exigem tamanho e intervalo positivos.");
+        }
+        return new Chegadas() {
+            private int restantes = tamanho;
+
+            @Override
+            public long proximoIntervaloNanos(SplittableRandom aleatorio) {
+                if (--restantes > 0) {
+                    return 0;
+                }
+                restantes = tamanho;
+                return intervalo.toNanos();
+            }
+
+            @Override
+            public double taxaMedia() {
+                return tamanho * 1_000_000_000.0 / intervalo.toNanos();
+            }
+        };
+    }
+
+    /**
+     * Mesmo processo com a taxa multiplicada por {@code escala}.
+     *
+     * @param escala Fator da taxa (2.0 = o dobro de chegadas).
+     * @return Processo de chegada escalado.
+     */
+    default Chegadas escalada(double escala) {
+        if (escala == 1.0) {
+            return this;
+        }
+        Chegadas original = this;
+        return new Chegadas() {
+            @Override
+            public long proximoIntervaloNanos(SplittableRandom aleatorio) {
+                return (long) (original.proximoIntervaloNanos(aleatorio) / escala);
+            }
+
+            @Override
+            public double taxaMedia() {
+                return original.taxaMedia() * escala;
+            }
+        };
+    }
+}
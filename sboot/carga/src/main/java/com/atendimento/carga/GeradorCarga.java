@@ -0,0 +1,157 @@
+package com.atendimento.carga;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Executa a mistura de cenários em laço aberto e mede a latência de cada um.
+ *
+ * <p>
+ * Cada cenário tem uma thread agendadora que calcula o instante pretendido de cada chegada e
+ * dispara a requisição em uma thread virtual. A latência é medida a partir do instante
+ * pretendido, e não do envio efetivo: um atraso do gerador, ou da aplicação em aceitar a
+ * conexão, entra na medida em vez de ser omitido (omissão coordenada).
+ * </p>
+ *
+ * <p>
+ * Só entram no resultado as requisições pretendidas dentro da janela de medição, depois do
+ * aquecimento.
+ * </p>
+ */
+public class GeradorCarga {
+
+    /**
+     * Tempo limite de cada requisição; uma requisição que o excede conta como erro.
+     */
+    static final Duration TEMPO_LIMITE = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final List<Cenario> cenarios;
+    private final long semente;
+    private final AtomicInteger emVoo = new AtomicInteger();
+
+    private volatile long inicioMedicao = Long.MAX_VALUE;
+    private volatile long fimMedicao = Long.MAX_VALUE;
+
+    public GeradorCarga(HttpClient http, List<Cenario> cenarios, long semente) {
+        this.http = http;
+        this.cenarios = cenarios;
+        this.semente = semente;
+    }
+
+    /**
+     * Executa a carga: aquecimento seguido da medição.
+     *
+     * @param aquecimento Duração do aquecimento (requisições descartadas do resultado).
+     * @param duracao Duração da medição.
+     * @return Resultado de cada cenário, na ordem da mistura.
+     */
+    public List<ResultadoCenario> executar(Duration aquecimento, Duration duracao) throws InterruptedException {
+        long inicio = System.nanoTime();
+        inicioMedicao = inicio + aquecimento.toNanos();
+        fimMedicao = inicioMedicao + duracao.toNanos();
+
+        List<Medicao> medicoes = new ArrayList<>();
+        List<Thread> agendadores = new ArrayList<>();
+        SplittableRandom raiz = new SplittableRandom(semente);
+        for (Cenario cenario : cenarios) {
+            Medicao medicao = new Medicao(cenario);
+            medicoes.add(medicao);
+            SplittableRandom aleatorio = raiz.split(); // Sequência própria e reprodutível por cenário
+            agendadores.add(Thread.ofPlatform().name("carga-" + cenario.nome()).start(() -> agendar(medicao, aleatorio, inicio)));
+        }
+        for (Thread agendador : agendadores) {
+            agendador.join();
+        }
+        aguardarEmVoo();
+
+        double segundos = duracao.toNanos() / 1e9;
+        return medicoes.stream().map(medicao -> medicao.resultado(segundos)).toList();
+    }
+
+    private void agendar(Medicao medicao, SplittableRandom aleatorio, long inicio) {
+        Chegadas chegadas = medicao.cenario.chegadas();
+        long pretendido = inicio + chegadas.proximoIntervaloNanos(aleatorio);
+        while (pretendido < fimMedicao) {
+            long espera = pretendido - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            HttpRequest requisicao = medicao.cenario.requisicao().apply(aleatorio);
+            long instante = pretendido;
+            emVoo.incrementAndGet();
+            Thread.ofVirtual().start(() -> enviar(medicao, requisicao, instante));
+            pretendido += chegadas.proximoIntervaloNanos(aleatorio);
+        }
+    }
+
+    private void enviar(Medicao medicao, HttpRequest requisicao, long pretendido) {
+        int status;
+        try {
+            status = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        } finally {
+            emVoo.decrementAndGet();
+        }
+        if (pretendido >= inicioMedicao) {
+            medicao.registrar(status, System.nanoTime() - pretendido);
+        }
+    }
+
+    private void aguardarEmVoo() throws InterruptedException {
+        long limite = System.nanoTime() + TEMPO_LIMITE.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (emVoo.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * Medições de um cenário, registradas concorrentemente pelas threads virtuais.
+     */
+    private static final class Medicao {
+
+        private final Cenario cenario;
+        private final Recorder latencias = new Recorder(3);
+        private final LongAdder sucesso = new LongAdder();
+        private final LongAdder rejeitadas = new LongAdder();
+        private final LongAdder erros = new LongAdder();
+
+        private Medicao(Cenario cenario) {
+            this.cenario = cenario;
+        }
+
+        private void registrar(int status, long latenciaNanos) {
+            latencias.recordValue(Math.max(1, latenciaNanos / 1_000)); // Microssegundos
+            if (status >= 200 && status < 300) {
+                sucesso.increment();
+            } else if (status == 429 || status == 503) {
+                rejeitadas.increment(); // Recusada pelo limitador de concorrência
+            } else {
+                erros.increment();
+            }
+        }
+
+        private ResultadoCenario resultado(double segundos) {
+            Histogram histograma = latencias.getIntervalHistogram();
+            return new ResultadoCenario(cenario.nome(), cenario.chegadas().taxaMedia(), segundos,
+                    sucesso.sum(), rejeitadas.sum(), erros.sum(), histograma);
+        }
+    }
+}
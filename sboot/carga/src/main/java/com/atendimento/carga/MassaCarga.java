@@ -0,0 +1,224 @@
+package com.atendimento.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.atendimento.app.entities.Role;
+import com.atendimento.app.entities.User;
+import com.atendimento.app.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Massa de dados do teste de carga: usuários de cada papel, seus tokens, clientes e atendimentos.
+ *
+ * <p>
+ * Os usuários são gravados direto pelo repositório, já que o registro público não cria
+ * supervisores. Os atendimentos são criados pela API, pelo mesmo caminho usado na carga.
+ * </p>
+ */
+public class MassaCarga {
+
+    static final String SENHA = "senha-carga-123";
+
+    private final URI base;
+    private final HttpClient http;
+    private final ObjectMapper json;
+
+    private final Map<Role, List<User>> usuarios = new EnumMap<>(Role.class);
+    private final Map<Role, List<String>> tokens = new EnumMap<>(Role.class);
+    private final List<String> cpfs = new ArrayList<>();
+    private final List<String> nomes = new ArrayList<>();
+    private final List<String> protocolos = new ArrayList<>();
+    private List<String> tipos = List.of();
+
+    public MassaCarga(URI base, HttpClient http, ObjectMapper json) {
+        this.base = base;
+        this.http = http;
+        this.json = json;
+    }
+
+    /**
+     * Cadastra os usuários e obtém um token para cada um.
+     *
+     * @param contexto Contexto da aplicação iniciada.
+     * @param porPapel Usuários por papel.
+     */
+    public void criarUsuarios(ApplicationContext contexto, int porPapel) throws IOException, InterruptedException {
+        UserRepository userRepository = contexto.getBean(UserRepository.class);
+        // Um único hash para todos: cada BCrypt custa centenas de milissegundos
+        String senha = contexto.getBean(PasswordEncoder.class).encode(SENHA);
+
+        for (Role role : Role.values()) {
+            List<User> doPapel = new ArrayList<>();
+            List<String> tokensDoPapel = new ArrayList<>();
+            for (int i = 0; i < porPapel; i++) {
+                User user = userRepository.save(User.builder()
+                        .username("carga." + role.name().toLowerCase() + "." + i)
+                        .password(senha)
+                        .role(role)
+                        .build());
+                doPapel.add(user);
+                tokensDoPapel.add(login(user.getUsername()));
+            }
+            usuarios.put(role, doPapel);
+            tokens.put(role, tokensDoPapel);
+        }
+    }
+
+    /**
+     * Cria os atendimentos consultados pelos cenários de leitura.
+     *
+     * @param clientes Quantidade de clientes (CPFs distintos).
+     * @param atendimentos Quantidade de atendimentos (ao menos um por cliente), distribuídos entre os clientes.
+     * @param aleatorio Gerador da massa.
+     */
+    public void criarAtendimentos(int clientes, int atendimentos, SplittableRandom aleatorio)
+            throws IOException, InterruptedException {
+        if (atendimentos < clientes) {
+            throw new IllegalArgumentException("São necessários ao menos tantos atendimentos quanto clientes.");
+        }
+        tipos = List.of(json.readValue(enviar(autenticada(Role.USER, 0, "/atendimentos/tipos").GET().build()), String[].class));
+        for (int i = 0; i < clientes; i++) {
+            cpfs.add(gerarCpf(aleatorio));
+            nomes.add("Cliente Carga " + i);
+        }
+        for (int i = 0; i < atendimentos; i++) {
+            int cliente = i < clientes ? i : aleatorio.nextInt(clientes); // Todo cliente tem ao menos um atendimento
+            HttpRequest requisicao = criacao(aleatorio.nextInt(tokens.get(Role.USER).size()), cliente, aleatorio);
+            protocolos.add(json.readTree(enviar(requisicao)).path("protocolo").asText());
+        }
+    }
+
+    /**
+     * Requisição de login de um usuário qualquer da massa.
+     */
+    HttpRequest login(SplittableRandom aleatorio) {
+        Role role = Role.values()[aleatorio.nextInt(Role.values().length)];
+        List<User> doPapel = usuarios.get(role);
+        return postJson("/auth/login", Map.of(
+                "username", doPapel.get(aleatorio.nextInt(doPapel.size())).getUsername(),
+                "password", SENHA)).build();
+    }
+
+    /**
+     * Requisição de criação de atendimento para um cliente da massa.
+     */
+    HttpRequest criacao(SplittableRandom aleatorio) {
+        return criacao(aleatorio.nextInt(tokens.get(Role.USER).size()), aleatorio.nextInt(cpfs.size()), aleatorio);
+    }
+
+    /**
+     * Requisição GET autenticada com o token de um usuário qualquer do papel.
+     */
+    HttpRequest consulta(Role role, String caminho, SplittableRandom aleatorio) {
+        return autenticada(role, aleatorio.nextInt(tokens.get(role).size()), caminho).GET().build();
+    }
+
+    String cpf(SplittableRandom aleatorio) {
+        return cpfs.get(aleatorio.nextInt(cpfs.size()));
+    }
+
+    String protocolo(SplittableRandom aleatorio) {
+        return protocolos.get(aleatorio.nextInt(protocolos.size()));
+    }
+
+    Long atendente(SplittableRandom aleatorio) {
+        List<User> atendentes = usuarios.get(Role.USER);
+        return atendentes.get(aleatorio.nextInt(atendentes.size())).getId();
+    }
+
+    private HttpRequest criacao(int usuario, int cliente, SplittableRandom aleatorio) {
+        return autenticada(Role.USER, usuario, "/atendimentos")
+                .header("Content-Type", "application/json")
+                .POST(corpo(Map.of(
+                        "nomeCliente", nomes.get(cliente),
+                        "cpf", cpfs.get(cliente),
+                        "descricao", "Atendimento gerado pelo teste de carga",
+                        "tipo", tipos.get(aleatorio.nextInt(tipos.size())))))
+                .build();
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        String resposta = enviar(postJson("/auth/login", Map.of("username", username, "password", SENHA)).build());
+        return json.readTree(resposta).path("token").asText();
+    }
+
+    private HttpRequest.Builder autenticada(Role role, int usuario, String caminho) {
+        return HttpRequest.newBuilder(base.resolve(caminho))
+                .timeout(GeradorCarga.TEMPO_LIMITE)
+                .header("Authorization", "Bearer " + tokens.get(role).get(usuario));
+    }
+
+    private HttpRequest.Builder postJson(String caminho, Map<String, ?> corpo) {
+        return HttpRequest.newBuilder(base.resolve(caminho))
+                .timeout(GeradorCarga.TEMPO_LIMITE)
+                .header("Content-Type", "application/json")
+                .POST(corpo(corpo));
+    }
+
+    private HttpRequest.BodyPublisher corpo(Map<String, ?> corpo) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(json.writeValueAsString(corpo));
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao serializar o corpo da requisição.", e);
+        }
+    }
+
+    private String enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Falha ao preparar a massa em " + requisicao.uri() + ": HTTP "
+                    + resposta.statusCode() + " " + resposta.body());
+        }
+        return resposta.body();
+    }
+
+    /**
+     * Gera um CPF com dígitos verificadores válidos.
+     */
+    static String gerarCpf(SplittableRandom aleatorio) {
+        int[] digitos = new int[11];
+        do {
+            for (int i = 0; i < 9; i++) {
+                digitos[i] = aleatorio.nextInt(10);
+            }
+        } while (todosIguais(digitos));
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digito : digitos) {
+            cpf.append(digito);
+        }
+        return cpf.toString();
+    }
+
+    private static int digitoVerificador(int[] digitos, int posicao) {
+        int soma = 0;
+        for (int i = 0; i < posicao; i++) {
+            soma += digitos[i] * (posicao + 1 - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    private static boolean todosIguais(int[] digitos) {
+        for (int i = 1; i < 9; i++) {
+            if (digitos[i] != digitos[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
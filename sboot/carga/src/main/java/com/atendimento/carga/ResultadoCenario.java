@@ -0,0 +1,80 @@
+package com.atendimento.carga;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Resultado de um cenário na janela de medição.
+ *
+ * @param nome Nome do cenário.
+ * @param taxaAlvo Taxa de chegadas pretendida (requisições por segundo).
+ * @param segundos Duração da medição.
+ * @param sucesso Respostas 2xx.
+ * @param rejeitadas Respostas 429/503 do limitador de concorrência.
+ * @param erros Demais respostas, falhas de conexão e tempos limite.
+ * @param histograma Latências, em microssegundos.
+ */
+public record ResultadoCenario(String nome, double taxaAlvo, double segundos, long sucesso, long rejeitadas,
+        long erros, Histogram histograma) {
+
+    /**
+     * Requisições concluídas na medição.
+     */
+    public long requisicoes() {
+        return sucesso + rejeitadas + erros;
+    }
+
+    /**
+     * Vazão obtida, em respostas 2xx por segundo.
+     */
+    public double vazao() {
+        return sucesso / segundos;
+    }
+
+    /**
+     * Percentil da latência, em milissegundos.
+     *
+     * @param percentil Percentil entre 0 e 100 (ex.: 99.9).
+     */
+    public double latenciaMs(double percentil) {
+        return histograma.getValueAtPercentile(percentil) / 1_000.0;
+    }
+
+    /**
+     * Representação para o arquivo de resultados.
+     *
+     * <p>
+     * Além dos percentis, inclui o histograma completo (formato comprimido do HdrHistogram, em
+     * Base64). Assim, execuções diferentes podem ser somadas ou comparadas em qualquer percentil.
+     * </p>
+     */
+    public Map<String, Object> paraJson() {
+        Map<String, Object> latencia = new LinkedHashMap<>();
+        latencia.put("p50", latenciaMs(50));
+        latencia.put("p90", latenciaMs(90));
+        latencia.put("p99", latenciaMs(99));
+        latencia.put("p999", latenciaMs(99.9));
+        latencia.put("max", histograma.getMaxValue() / 1_000.0);
+        latencia.put("media", histograma.getMean() / 1_000.0);
+
+        ByteBuffer comprimido = ByteBuffer.allocate(histograma.getNeededByteBufferCapacity());
+        int tamanho = histograma.encodeIntoCompressedByteBuffer(comprimido);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("cenario", nome);
+        json.put("taxaAlvo", taxaAlvo);
+        json.put("vazao", vazao());
+        json.put("requisicoes", requisicoes());
+        json.put("sucesso", sucesso);
+        json.put("rejeitadas", rejeitadas);
+        json.put("erros", erros);
+        json.put("latenciaMs", latencia);
+        json.put("histograma", Base64.getEncoder().encodeToString(Arrays.copyOf(comprimido.array(), tamanho)));
+        return json;
+    }
+}
@@ -0,0 +1,148 @@
+package com.atendimento.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.atendimento.app.AppApplication;
+import com.atendimento.app.entities.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Teste de carga de ponta a ponta.
+ *
+ * <p>
+ * Sobe a aplicação no mesmo processo, com o H2 em memória e porta aleatória, cria a massa
+ * (usuários dos três papéis e atendimentos) e executa a mistura de cenários em laço aberto.
+ * Ao final, imprime vazão e percentis de latência por cenário e grava o resultado em JSON.
+ * </p>
+ *
+ * <p>
+ * Configuração por propriedades do sistema ({@code -Dcarga.*}); as demais propriedades
+ * ({@code -Dspring.*}, {@code -Datendimento.*}) chegam à aplicação normalmente.
+ * </p>
+ */
+public final class TesteCarga {
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration aquecimento = Duration.ofSeconds(Long.getLong("carga.aquecimento", 15));
+        Duration duracao = Duration.ofSeconds(Long.getLong("carga.duracao", 60));
+        double escala = Double.parseDouble(System.getProperty("carga.escala", "1.0"));
+        long semente = Long.getLong("carga.semente", 42);
+        double maxErros = Double.parseDouble(System.getProperty("carga.max-erros", "0.01"));
+        Path resultado = Path.of(System.getProperty("carga.resultado", "target/carga-result.json"));
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(AppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                        "atendimento.reativo.url=r2dbc:h2:mem:///carga",
+                        "atendimento.journal.diretorio=target/journal/${random.uuid}",
+                        "logging.level.com.atendimento.app=WARN") // O log por requisição em INFO dominaria a medição
+                .run(args);
+        List<ResultadoCenario> resultados;
+        try {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            URI base = URI.create("http://localhost:" + porta);
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            ObjectMapper json = new ObjectMapper();
+
+            System.out.println("Preparando a massa de dados...");
+            MassaCarga massa = new MassaCarga(base, http, json);
+            massa.criarUsuarios(contexto, 10);
+            massa.criarAtendimentos(200, 500, new SplittableRandom(semente));
+
+            System.out.printf("Executando a carga: %ds de aquecimento, %ds de medição, escala %.2f, semente %d.%n",
+                    aquecimento.toSeconds(), duracao.toSeconds(), escala, semente);
+            resultados = new GeradorCarga(http, mistura(massa, escala), semente).executar(aquecimento, duracao);
+        } finally {
+            contexto.close();
+        }
+
+        imprimir(resultados);
+        gravar(resultado, resultados, aquecimento, duracao, escala, semente);
+
+        long requisicoes = resultados.stream().mapToLong(ResultadoCenario::requisicoes).sum();
+        long falhas = resultados.stream().mapToLong(r -> r.erros() + r.rejeitadas()).sum();
+        if (requisicoes == 0 || falhas > requisicoes * maxErros) {
+            System.err.printf("Falhas acima do limite: %d de %d requisições (máximo de %.1f%%).%n",
+                    falhas, requisicoes, maxErros * 100);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Mistura de cenários, com as taxas de chegada de um dia de pico por nó.
+     *
+     * @param massa Massa de dados.
+     * @param escala Fator aplicado a todas as taxas.
+     * @return Cenários da carga.
+     */
+    static List<Cenario> mistura(MassaCarga massa, double escala) {
+        return List.of(
+                // Início de turno: vários atendentes entram ao mesmo tempo
+                new Cenario("POST /auth/login", Chegadas.rajadas(20, Duration.ofSeconds(10)).escalada(escala),
+                        massa::login),
+                new Cenario("POST /atendimentos", Chegadas.poisson(40).escalada(escala),
+                        massa::criacao),
+                new Cenario("GET /atendimentos/cpf/{cpf}", Chegadas.poisson(80).escalada(escala),
+                        aleatorio -> massa.consulta(Role.USER, "/atendimentos/cpf/" + massa.cpf(aleatorio), aleatorio)),
+                new Cenario("GET /atendimentos/protocolo/{protocolo}", Chegadas.poisson(80).escalada(escala),
+                        aleatorio -> massa.consulta(Role.USER, "/atendimentos/protocolo/" + massa.protocolo(aleatorio), aleatorio)),
+                new Cenario("GET /supervisor/atendimentos/periodo", Chegadas.poisson(10).escalada(escala),
+                        aleatorio -> massa.consulta(Role.SUPERVISOR, "/supervisor/atendimentos/periodo?periodo=HOJE&size=50", aleatorio)),
+                new Cenario("GET /supervisor/atendimentos/atendente/{id}", Chegadas.poisson(5).escalada(escala),
+                        aleatorio -> massa.consulta(Role.SUPERVISOR, "/supervisor/atendimentos/atendente/" + massa.atendente(aleatorio), aleatorio)),
+                new Cenario("GET /admin/users", Chegadas.poisson(1).escalada(escala),
+                        aleatorio -> massa.consulta(Role.ADMIN, "/admin/users", aleatorio)));
+    }
+
+    private static void imprimir(List<ResultadoCenario> resultados) {
+        System.out.printf("%-45s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "Cenário", "Alvo/s", "Vazão/s", "Rejeit.", "Erros", "p50 ms", "p99 ms", "p999 ms", "máx ms");
+        for (ResultadoCenario r : resultados) {
+            System.out.printf("%-45s %9.1f %9.1f %9d %9d %9.2f %9.2f %9.2f %9.2f%n",
+                    r.nome(), r.taxaAlvo(), r.vazao(), r.rejeitadas(), r.erros(),
+                    r.latenciaMs(50), r.latenciaMs(99), r.latenciaMs(99.9), r.histograma().getMaxValue() / 1_000.0);
+        }
+    }
+
+    private static void gravar(Path arquivo, List<ResultadoCenario> resultados, Duration aquecimento, Duration duracao,
+            double escala, long semente) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("data", OffsetDateTime.now().toString());
+        json.put("aquecimentoSegundos", aquecimento.toSeconds());
+        json.put("duracaoSegundos", duracao.toSeconds());
+        json.put("escala", escala);
+        json.put("semente", semente);
+        json.put("processadores", Runtime.getRuntime().availableProcessors());
+        json.put("cenarios", resultados.stream().map(ResultadoCenario::paraJson).toList());
+
+        if (arquivo.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), json);
+        System.out.println("Resultado gravado em " + arquivo + ".");
+    }
+}